@@ -0,0 +1,150 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Platform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.Arena;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platforms held as game objects with platforms held in an {@link EntityStore} and in an
+ * {@link OffHeapEntityStore}: a full collision sweep of every platform against a box, and building
+ * the platforms of a level.
+ * Run with {@code -prof gc} to see the bytes allocated per platform by the build benchmarks.
+ * <p>
+ * The object list is shuffled, as platforms built chunk by chunk while streaming end up
+ * scattered over the heap rather than in level order.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityStoreBenchmark {
+    private static final double SPACING = 300;
+    private static final double PLATFORM_WIDTH = 180;
+    private static final double PLATFORM_HEIGHT = 25;
+    private static final double PROBE_SIZE = 2_000;
+
+    @Param({"10000", "100000"})
+    private int platformCount;
+
+    private LevelData level;
+    private List<Platform> objects;
+    private EntityStore store;
+    private OffHeapEntityStore offHeap;
+    private Platform probe;
+
+    /**
+     * Builds a square level with a jittered lattice of platforms and a probe box in its middle.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int side = (int) Math.ceil(Math.sqrt(platformCount));
+        double extent = side * SPACING;
+        level = new LevelData(extent, extent, 0, 0);
+        for (int i = 0; i < platformCount; i++) {
+            level.addPlatform((i % side) * SPACING + random.nextDouble() * 100,
+                    (double) (i / side) * SPACING + random.nextDouble() * 100, PLATFORM_WIDTH, PLATFORM_HEIGHT);
+        }
+        objects = level.createPlatforms();
+        Collections.shuffle(objects, random);
+        store = EntityStore.copyOf(level.getPlatformStore());
+        offHeap = OffHeapEntityStore.copyOf(store, Arena.global());
+        probe = new Platform(extent / 2, extent / 2, PROBE_SIZE, PROBE_SIZE);
+    }
+
+    /**
+     * Counts the platform objects the probe intersects.
+     *
+     * @return the number of hits
+     */
+    @Benchmark
+    public int sweepObjects() {
+        int hits = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            if (probe.intersects(objects.get(i))) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Counts the stored platforms the probe intersects.
+     *
+     * @return the number of hits
+     */
+    @Benchmark
+    public int sweepStore() {
+        int hits = 0;
+        double x = probe.getX();
+        double y = probe.getY();
+        double width = probe.getWidth();
+        double height = probe.getHeight();
+        for (int i = 0; i < store.size(); i++) {
+            if (store.intersects(i, x, y, width, height)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Counts the off-heap platforms the probe intersects.
+     *
+     * @return the number of hits
+     */
+    @Benchmark
+    public int sweepOffHeap() {
+        int hits = 0;
+        double x = probe.getX();
+        double y = probe.getY();
+        double width = probe.getWidth();
+        double height = probe.getHeight();
+        for (int i = 0; i < offHeap.size(); i++) {
+            if (offHeap.intersects(i, x, y, width, height)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Creates a game object for every platform of the level.
+     *
+     * @return the platforms
+     */
+    @Benchmark
+    public List<Platform> buildObjects() {
+        return level.createPlatforms();
+    }
+
+    /**
+     * Copies the platforms of the level into a new store.
+     *
+     * @return the store
+     */
+    @Benchmark
+    public EntityStore buildStore() {
+        return store.copy();
+    }
+}
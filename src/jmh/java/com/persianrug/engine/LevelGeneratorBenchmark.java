@@ -0,0 +1,73 @@
+package com.persianrug.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to generate levels of increasing size on pools of one and more
+ * threads. The level is the same on every pool, so only the time should change.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LevelGeneratorBenchmark {
+    private static final long SEED = 42;
+    private static final double DENSITY = 0.9;
+
+    @Param({"30000", "100000"})
+    private double levelSize;
+
+    @Param({"1", "4"})
+    private int parallelism;
+
+    private LevelGenerator generator;
+    private ForkJoinPool pool;
+
+    /**
+     * Creates the generator and the pool to run it on.
+     */
+    @Setup
+    public void setUp() {
+        generator = new LevelGenerator(SEED, levelSize, levelSize, DENSITY, LevelGenerator.DifficultyCurve.DEFAULT);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Shuts the pool down.
+     */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Generates the level.
+     *
+     * @return the level
+     * @throws IOException if the quiz bank cannot be loaded
+     */
+    @Benchmark
+    public LevelData generate() throws IOException {
+        return generator.generate(pool);
+    }
+}
@@ -0,0 +1,67 @@
+package com.persianrug.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to parse level files of increasing size.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelLoaderBenchmark {
+    @Param({"100", "10000", "100000"})
+    private int platformCount;
+
+    private String levelText;
+
+    /**
+     * Builds a level with the given number of random platforms and one item per hundred platforms.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder("bounds 100000 100000\nspawn 300 99000\n");
+        text.append("quiz 0 Which keyword is used to inherit a class in Java?|extends|implements|inherits|using\n");
+        for (int i = 0; i < platformCount; i++) {
+            text.append("platform ").append(random.nextInt(100_000)).append(' ')
+                    .append(random.nextInt(100_000)).append(" 180 25\n");
+            if (i % 100 == 0) {
+                text.append("item ").append(random.nextInt(100_000)).append(' ')
+                        .append(random.nextInt(100_000)).append(" 0\n");
+            }
+        }
+        levelText = text.toString();
+    }
+
+    /**
+     * Parses the level text into level data.
+     *
+     * @return the parsed level
+     * @throws IOException if the level is malformed
+     */
+    @Benchmark
+    public LevelData parse() throws IOException {
+        return LevelLoader.parse(new StringReader(levelText), "benchmark");
+    }
+}
@@ -0,0 +1,117 @@
+package com.persianrug.engine;
+
+import com.persianrug.utils.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.foreign.Arena;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from nothing to a world ready for its first frame: loading the level, and
+ * creating a world, which indexes the platforms into chunks and makes the chunks around the
+ * spawn point resident. A level parsed from text is compared with the same level compiled into
+ * a {@link LevelFile}, whose platforms and chunk index are mapped instead of built.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LevelStartupBenchmark {
+    private static final double AREA_PER_PLATFORM = 100_000;
+
+    @Param({"100000", "1000000"})
+    private int platformCount;
+
+    private Path directory;
+    private Path textLevel;
+    private Path compiledLevel;
+
+    /**
+     * Writes a square level with the given number of random platforms and one item per hundred
+     * platforms, as text and compiled.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("level-startup");
+        textLevel = directory.resolve("level.txt");
+        compiledLevel = directory.resolve("level" + LevelFile.EXTENSION);
+        int side = (int) Math.sqrt(platformCount * AREA_PER_PLATFORM);
+        Random random = new Random(42);
+        try (Writer out = Files.newBufferedWriter(textLevel, StandardCharsets.UTF_8)) {
+            out.write("bounds " + side + " " + side + "\nspawn 300 " + (side - 1000) + "\n");
+            out.write("quiz 0 Which keyword is used to inherit a class in Java?|extends|implements|inherits|using\n");
+            for (int i = 0; i < platformCount; i++) {
+                out.write("platform " + random.nextInt(side) + " " + random.nextInt(side) + " 180 25\n");
+                if (i % 100 == 0) {
+                    out.write("item " + random.nextInt(side) + " " + random.nextInt(side) + " 0\n");
+                }
+            }
+        }
+        LevelCompiler.compile(textLevel, compiledLevel, Constants.CHUNK_SIZE);
+    }
+
+    /**
+     * Deletes the level files.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(textLevel);
+        Files.deleteIfExists(compiledLevel);
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Parses the level text and creates a world, the way the game starts today.
+     *
+     * @return the world
+     * @throws IOException if the level cannot be read
+     */
+    @Benchmark
+    public GameWorld textLevel() throws IOException {
+        GameWorld world = new GameWorld(LevelLoader.load(textLevel));
+        world.getChunkManager().awaitLoads();
+        return world;
+    }
+
+    /**
+     * Maps the compiled level and creates a world. The mapping is released after each operation
+     * rather than left to the garbage collector.
+     *
+     * @return the state hash of the world
+     * @throws IOException if the level cannot be read
+     */
+    @Benchmark
+    public long compiledLevel() throws IOException {
+        try (Arena arena = Arena.ofShared()) {
+            GameWorld world = new GameWorld(LevelFile.open(compiledLevel, arena));
+            world.getChunkManager().awaitLoads();
+            return world.stateHash();
+        }
+    }
+}
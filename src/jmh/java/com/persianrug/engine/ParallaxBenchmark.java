@@ -0,0 +1,120 @@
+package com.persianrug.engine;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-frame cost of drawing a scrolling background at increasing window sizes,
+ * comparing the original nested tiling loop with the pre-composited and pattern-filled layers.
+ * Each frame clears the whole canvas first so the canvas command buffer does not grow.
+ * Without a window this measures recording the draw commands, not rasterizing them.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallaxBenchmark {
+    private static final int TILE_SIZE = 128;
+    private static final double PARALLAX_X = 0.5;
+    private static final double PARALLAX_Y = 0.3;
+    private static final double CAMERA_STEP = 7.3;
+
+    @Param({"800x600", "1920x1080", "3840x2160"})
+    private String windowSize;
+
+    private double width;
+    private double height;
+    private GraphicsContext gc;
+    private WritableImage tile;
+    private ParallaxBackground composited;
+    private ParallaxBackground patterned;
+    private double cameraX = 0;
+
+    /**
+     * Creates a canvas of the window size and a background tile to repeat.
+     */
+    @Setup
+    public void setUp() {
+        String[] size = windowSize.split("x");
+        width = Double.parseDouble(size[0]);
+        height = Double.parseDouble(size[1]);
+        gc = new Canvas(width, height).getGraphicsContext2D();
+        tile = new WritableImage(TILE_SIZE, TILE_SIZE);
+        composited = new ParallaxBackground(width, height);
+        composited.addLayer(tile, PARALLAX_X, PARALLAX_Y);
+        patterned = new ParallaxBackground(width, height);
+        patterned.addLayer(tile, PARALLAX_X, PARALLAX_Y);
+        patterned.setPatternFill(true);
+    }
+
+    /**
+     * Draws the background with one blit per visible copy of the tile, as the renderer used to.
+     *
+     * @return the graphics context, so the work is not eliminated
+     */
+    @Benchmark
+    public GraphicsContext nestedLoop() {
+        gc.clearRect(0, 0, width, height);
+        double bgX = -nextCameraX() * PARALLAX_X;
+        double bgY = -cameraX * PARALLAX_Y;
+        for (double y = bgY % TILE_SIZE; y < height; y += TILE_SIZE) {
+            for (double x = bgX % TILE_SIZE; x < width; x += TILE_SIZE) {
+                gc.drawImage(tile, x, y, TILE_SIZE, TILE_SIZE);
+            }
+        }
+        return gc;
+    }
+
+    /**
+     * Draws the background with a single blit from the pre-composited buffer.
+     *
+     * @return the graphics context, so the work is not eliminated
+     */
+    @Benchmark
+    public GraphicsContext composited() {
+        gc.clearRect(0, 0, width, height);
+        composited.render(gc, nextCameraX(), cameraX);
+        return gc;
+    }
+
+    /**
+     * Draws the background with a single image-pattern fill.
+     *
+     * @return the graphics context, so the work is not eliminated
+     */
+    @Benchmark
+    public GraphicsContext pattern() {
+        gc.clearRect(0, 0, width, height);
+        patterned.render(gc, nextCameraX(), cameraX);
+        return gc;
+    }
+
+    /**
+     * Scrolls the camera a little every frame, wrapping before it loses precision.
+     *
+     * @return the new camera position
+     */
+    private double nextCameraX() {
+        cameraX = (cameraX + CAMERA_STEP) % 100_000;
+        return cameraX;
+    }
+}
@@ -0,0 +1,115 @@
+package com.persianrug.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary save codec with the Java serialization it replaced.
+ * The encoded sizes of both formats are printed once per trial.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveCodecBenchmark {
+    @Param({"20", "1000"})
+    private int itemCount;
+
+    private GameSaveManager.GameSave save;
+    private byte[] binary;
+    private byte[] serialized;
+
+    /**
+     * Builds a save with every third item collected and encodes it in both formats.
+     *
+     * @throws IOException if serialization fails
+     */
+    @Setup
+    public void setUp() throws IOException {
+        boolean[] collected = new boolean[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            collected[i] = i % 3 == 0;
+        }
+        save = new GameSaveManager.GameSave(1234.5, 6789.25, itemCount / 3, collected);
+        binary = SaveCodec.encode(save);
+        serialized = serialize(save);
+        System.out.printf("%n%d items: binary %d bytes, serialized %d bytes%n",
+                itemCount, binary.length, serialized.length);
+    }
+
+    /**
+     * Encodes the save with the binary codec.
+     *
+     * @return the encoded save
+     */
+    @Benchmark
+    public byte[] binaryEncode() {
+        return SaveCodec.encode(save);
+    }
+
+    /**
+     * Decodes the save with the binary codec.
+     *
+     * @return the decoded save
+     * @throws IOException if decoding fails
+     */
+    @Benchmark
+    public GameSaveManager.GameSave binaryDecode() throws IOException {
+        return SaveCodec.decode(binary);
+    }
+
+    /**
+     * Encodes the save with Java serialization.
+     *
+     * @return the serialized save
+     * @throws IOException if serialization fails
+     */
+    @Benchmark
+    public byte[] serializedEncode() throws IOException {
+        return serialize(save);
+    }
+
+    /**
+     * Decodes the save with Java serialization.
+     *
+     * @param blackhole sink for the decoded save
+     * @throws IOException            if deserialization fails
+     * @throws ClassNotFoundException if the save class cannot be found
+     */
+    @Benchmark
+    public void serializedDecode(final Blackhole blackhole) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            blackhole.consume(ois.readObject());
+        }
+    }
+
+    private static byte[] serialize(final GameSaveManager.GameSave save) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(save);
+        }
+        return bytes.toByteArray();
+    }
+}
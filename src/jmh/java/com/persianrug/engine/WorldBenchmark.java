@@ -0,0 +1,124 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Quiz;
+import com.persianrug.utils.GameLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-tick simulation hot paths in worlds of increasing size.
+ * Platforms are laid out at a constant density, so a flat result across sizes
+ * means the cost depends on what is near the player rather than on the level size.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldBenchmark {
+    private static final double SPACING = 300;
+    private static final double PLATFORM_WIDTH = 180;
+    private static final double PLATFORM_HEIGHT = 25;
+    private static final int PLATFORMS_PER_ITEM = 50;
+
+    @Param({"1000", "10000", "100000"})
+    private int platformCount;
+
+    private GameWorld world;
+    private final TickInput runRight = new TickInput();
+    private final WorldSnapshot snapshot = new WorldSnapshot();
+
+    /**
+     * Builds a square level with a jittered lattice of platforms and items kept away
+     * from the floor, so the running player never opens a quiz.
+     */
+    @Setup
+    public void setUp() {
+        GameLogger.setLevel(GameLogger.Level.OFF);
+        Random random = new Random(42);
+        int side = (int) Math.ceil(Math.sqrt(platformCount));
+        double extent = side * SPACING;
+        LevelData level = new LevelData(extent, extent, 100, extent - 100);
+        for (int i = 0; i < platformCount; i++) {
+            level.addPlatform((i % side) * SPACING + random.nextDouble() * 100,
+                    (double) (i / side) * SPACING + random.nextDouble() * 100, PLATFORM_WIDTH, PLATFORM_HEIGHT);
+        }
+        int quiz = level.addQuiz(new Quiz("Which keyword is used to inherit a class in Java?",
+                new String[]{"extends", "implements", "inherits", "using"}, 0));
+        for (int i = 0; i < platformCount / PLATFORMS_PER_ITEM; i++) {
+            level.addItem(random.nextDouble() * extent, random.nextDouble() * (extent / 2), quiz, null);
+        }
+        world = new GameWorld(level);
+        runRight.set(false, true, false, false, false);
+    }
+
+    /**
+     * Puts the player back at the spawn point before each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void resetWorld() {
+        world.reset();
+    }
+
+    /**
+     * Runs one gameplay tick: input, item checks, movement, streaming and collisions.
+     *
+     * @return the world, so the work is not eliminated
+     */
+    @Benchmark
+    public GameWorld tick() {
+        world.tick(runRight);
+        return world;
+    }
+
+    /**
+     * Checks the player against the ground and the platforms near it.
+     *
+     * @return the world, so the work is not eliminated
+     */
+    @Benchmark
+    public GameWorld checkCollisions() {
+        world.checkCollisions();
+        return world;
+    }
+
+    /**
+     * Checks the player against the items near it.
+     *
+     * @return the world, so the work is not eliminated
+     */
+    @Benchmark
+    public GameWorld checkItemCollisions() {
+        world.checkItemCollisions();
+        return world;
+    }
+
+    /**
+     * Captures the world into a reused snapshot, as a replay does once a second.
+     * The level has one item per fifty platforms, so this also shows how the cost grows with items.
+     *
+     * @return the snapshot, so the work is not eliminated
+     */
+    @Benchmark
+    public WorldSnapshot captureSnapshot() {
+        world.captureSnapshot(snapshot);
+        return snapshot;
+    }
+}
@@ -0,0 +1,62 @@
+package com.persianrug.entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the bounding-box test every collision check is built on.
+ * Pairs are drawn from a mix of overlapping and separate boxes so the branch is not predictable.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameObjectBenchmark {
+    private static final int PAIRS = 1024;
+
+    private final GameObject[] first = new GameObject[PAIRS];
+    private final GameObject[] second = new GameObject[PAIRS];
+    private int next = 0;
+
+    /**
+     * Creates random platform pairs, about half of which overlap.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < PAIRS; i++) {
+            double x = random.nextDouble() * 1000;
+            double y = random.nextDouble() * 1000;
+            first[i] = new Platform(x, y, 180, 25);
+            second[i] = new Platform(x + random.nextDouble() * 360 - 180, y + random.nextDouble() * 50 - 25, 180, 25);
+        }
+    }
+
+    /**
+     * Tests one pair for overlap.
+     *
+     * @return whether the pair overlaps
+     */
+    @Benchmark
+    public boolean intersects() {
+        int i = next;
+        next = (i + 1) & (PAIRS - 1);
+        return first[i].intersects(second[i]);
+    }
+}
@@ -0,0 +1,58 @@
+package com.persianrug.entity;
+
+import com.persianrug.utils.GameLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one step of the player's movement physics while it runs and jumps.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+    private static final int JUMP_INTERVAL = 64;
+
+    private Player player;
+    private int step = 0;
+
+    /**
+     * Creates a player on the ground with logging off, so debug output is not measured.
+     */
+    @Setup
+    public void setUp() {
+        GameLogger.setLevel(GameLogger.Level.OFF);
+        player = new Player(300, 7440);
+    }
+
+    /**
+     * Runs right, jumping now and then, and advances the physics by one step.
+     *
+     * @return the player, so the work is not eliminated
+     */
+    @Benchmark
+    public Player update() {
+        if (++step % JUMP_INTERVAL == 0) {
+            player.jump();
+        }
+        player.moveRight();
+        player.update();
+        return player;
+    }
+}
@@ -0,0 +1,78 @@
+package com.persianrug.entity;
+
+import com.persianrug.utils.GameLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures looking up and answering the quiz of a touched item, and finding a quiz by value.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuizBenchmark {
+    private static final int QUIZ_COUNT = 20;
+    private static final int OPTIONS = 4;
+
+    private final Item[] items = new Item[QUIZ_COUNT];
+    private final Quiz[] probes = new Quiz[QUIZ_COUNT];
+    private final Map<Quiz, Integer> bank = new HashMap<>();
+    private int next = 0;
+
+    /**
+     * Creates items holding distinct quizzes and equal copies of the quizzes to look up.
+     */
+    @Setup
+    public void setUp() {
+        GameLogger.setLevel(GameLogger.Level.OFF);
+        for (int i = 0; i < QUIZ_COUNT; i++) {
+            String[] options = {"Option A " + i, "Option B " + i, "Option C " + i, "Option D " + i};
+            Quiz quiz = new Quiz("Question " + i + "?", options, i % OPTIONS);
+            items[i] = new Item(i * 100, 0, null, quiz);
+            probes[i] = new Quiz("Question " + i + "?", options.clone(), i % OPTIONS);
+            bank.put(quiz, i);
+        }
+    }
+
+    /**
+     * Gets the quiz of the next item and checks an answer against it.
+     *
+     * @return whether the answer was correct
+     */
+    @Benchmark
+    public boolean answer() {
+        int i = next;
+        next = (i + 1) % QUIZ_COUNT;
+        return items[i].getQuiz().checkAnswer(i & (OPTIONS - 1));
+    }
+
+    /**
+     * Finds a quiz in a hash map by an equal but distinct instance.
+     *
+     * @return the index stored for the quiz
+     */
+    @Benchmark
+    public Integer lookup() {
+        int i = next;
+        next = (i + 1) % QUIZ_COUNT;
+        return bank.get(probes[i]);
+    }
+}
@@ -1,5 +1,6 @@
 package com.persianrug.engine;
 
+import com.persianrug.entity.GameObject;
 import com.persianrug.entity.Player;
 import com.persianrug.utils.Constants;
 
@@ -21,12 +22,46 @@ public class Camera {
      */
     private double y;
 
+    /**
+     * The x-coordinate of the camera before the last update.
+     */
+    private double previousX;
+
+    /**
+     * The y-coordinate of the camera before the last update.
+     */
+    private double previousY;
+
+    /**
+     * The width of the level the camera is kept inside.
+     */
+    private double levelWidth = Constants.LEVEL_WIDTH;
+
+    /**
+     * The height of the level the camera is kept inside.
+     */
+    private double levelHeight = Constants.LEVEL_HEIGHT;
+
     /**
      * Constructs a Camera with an initial position at (0, 0).
      */
     public Camera() {
         this.x = 0;
         this.y = 0;
+        this.previousX = 0;
+        this.previousY = 0;
+    }
+
+    /**
+     * Sets the bounds of the level the camera is kept inside.
+     * Until this is called the bounds are {@link Constants#LEVEL_WIDTH} by {@link Constants#LEVEL_HEIGHT}.
+     *
+     * @param width  the width of the level
+     * @param height the height of the level
+     */
+    public void setLevelBounds(final double width, final double height) {
+        this.levelWidth = width;
+        this.levelHeight = height;
     }
 
     /**
@@ -37,6 +72,9 @@ public class Camera {
      * @param player the player whose position determines the camera's position
      */
     public void update(final Player player) {
+        previousX = x;
+        previousY = y;
+
         x = player.getX() - (double) Constants.WINDOW_WIDTH / 2 + player.getWidth() / 2;
         y = player.getY() - (double) Constants.WINDOW_HEIGHT / 2 + player.getHeight() / 2;
 
@@ -47,11 +85,11 @@ public class Camera {
             y = 0;
         }
 
-        if (x > Constants.LEVEL_WIDTH - Constants.WINDOW_WIDTH) {
-            x = Constants.LEVEL_WIDTH - Constants.WINDOW_WIDTH;
+        if (x > levelWidth - Constants.WINDOW_WIDTH) {
+            x = levelWidth - Constants.WINDOW_WIDTH;
         }
-        if (y > Constants.LEVEL_HEIGHT - Constants.WINDOW_HEIGHT) {
-            y = Constants.LEVEL_HEIGHT - Constants.WINDOW_HEIGHT;
+        if (y > levelHeight - Constants.WINDOW_HEIGHT) {
+            y = levelHeight - Constants.WINDOW_HEIGHT;
         }
     }
 
@@ -72,4 +110,39 @@ public class Camera {
     public double getY() {
         return y;
     }
+
+    /**
+     * Checks if an object overlaps the visible window at the given camera position.
+     *
+     * @param object  the object to test
+     * @param cameraX the x-coordinate of the camera
+     * @param cameraY the y-coordinate of the camera
+     * @return {@code true} if any part of the object is inside the window
+     */
+    public static boolean isInView(final GameObject object, final double cameraX, final double cameraY) {
+        return object.getX() < cameraX + Constants.WINDOW_WIDTH
+                && object.getX() + object.getWidth() > cameraX
+                && object.getY() < cameraY + Constants.WINDOW_HEIGHT
+                && object.getY() + object.getHeight() > cameraY;
+    }
+
+    /**
+     * Gets the x-coordinate blended between the previous and current camera position.
+     *
+     * @param alpha the interpolation factor, 0 for the previous and 1 for the current position
+     * @return the interpolated x-coordinate
+     */
+    public double getInterpolatedX(final double alpha) {
+        return previousX + (x - previousX) * alpha;
+    }
+
+    /**
+     * Gets the y-coordinate blended between the previous and current camera position.
+     *
+     * @param alpha the interpolation factor, 0 for the previous and 1 for the current position
+     * @return the interpolated y-coordinate
+     */
+    public double getInterpolatedY(final double alpha) {
+        return previousY + (y - previousY) * alpha;
+    }
 }
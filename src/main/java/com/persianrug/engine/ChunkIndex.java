@@ -0,0 +1,250 @@
+package com.persianrug.engine;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * The assignment of a level's platforms to the square chunks {@link ChunkManager} streams.
+ * <p>
+ * Each platform is listed in every chunk its bounds overlap. The entries of all chunks are
+ * stored back to back, and a table of starts gives the offset of each chunk's first entry plus
+ * one trailing element holding the total. Both tables are int buffers, so an index is either
+ * built on the heap when a level is loaded or read in place from a compiled {@link LevelFile}.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+final class ChunkIndex {
+    private final double chunkSize;
+    private final int columns;
+    private final int rows;
+
+    /**
+     * For each chunk, the offset of its first entry in {@link #entries}, plus one trailing
+     * element holding the total.
+     */
+    private final IntBuffer starts;
+
+    /**
+     * The platform indices of all chunks, stored back to back.
+     */
+    private final IntBuffer entries;
+
+    /**
+     * Wraps the tables of an index. Nothing is copied, but both tables are scanned once so that
+     * a damaged index is rejected here rather than when a chunk is streamed in.
+     *
+     * @param chunkSize     the side length of a chunk in pixels
+     * @param columns       the number of chunk columns
+     * @param rows          the number of chunk rows
+     * @param platformCount the number of platforms the entries refer to
+     * @param starts        the start of each chunk's entries, plus the total
+     * @param entries       the platform indices of all chunks
+     * @throws IllegalArgumentException if the tables do not fit together
+     */
+    ChunkIndex(final double chunkSize, final int columns, final int rows, final int platformCount,
+               final IntBuffer starts, final IntBuffer entries) {
+        if (!(chunkSize > 0) || columns <= 0 || rows <= 0 || (long) columns * rows + 1 != starts.limit()) {
+            throw new IllegalArgumentException("Chunk table does not match a " + columns + "x" + rows + " grid");
+        }
+        if (starts.get(0) != 0 || starts.get(columns * rows) != entries.limit()) {
+            throw new IllegalArgumentException("Chunk table does not match its " + entries.limit() + " entries");
+        }
+        for (int chunk = 0; chunk < columns * rows; chunk++) {
+            if (starts.get(chunk) > starts.get(chunk + 1)) {
+                throw new IllegalArgumentException("Chunk " + chunk + " ends before it starts");
+            }
+        }
+        for (int i = 0; i < entries.limit(); i++) {
+            int platform = entries.get(i);
+            if (platform < 0 || platform >= platformCount) {
+                throw new IllegalArgumentException("Entry " + i + " refers to platform " + platform
+                        + " of " + platformCount);
+            }
+        }
+        this.chunkSize = chunkSize;
+        this.columns = columns;
+        this.rows = rows;
+        this.starts = starts;
+        this.entries = entries;
+    }
+
+    /**
+     * Assigns the platforms of a level to chunks.
+     *
+     * @param bounds    the platform bounds
+     * @param width     the width of the level in pixels
+     * @param height    the height of the level in pixels
+     * @param chunkSize the side length of a chunk in pixels, must be positive
+     * @return the index
+     */
+    static ChunkIndex build(final EntityBounds bounds, final double width, final double height,
+                            final double chunkSize) {
+        int columns = chunksAlong(width, chunkSize);
+        int rows = chunksAlong(height, chunkSize);
+        int chunkCount = columns * rows;
+        int platformCount = bounds.size();
+
+        // First pass counts entries per chunk, second pass fills them in
+        int[] start = new int[chunkCount + 1];
+        for (int i = 0; i < platformCount; i++) {
+            for (int row = cell(bounds.getY(i), chunkSize, rows);
+                 row <= cell(bounds.getY(i) + bounds.getHeight(i), chunkSize, rows); row++) {
+                for (int column = cell(bounds.getX(i), chunkSize, columns);
+                     column <= cell(bounds.getX(i) + bounds.getWidth(i), chunkSize, columns); column++) {
+                    start[row * columns + column + 1]++;
+                }
+            }
+        }
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            start[chunk + 1] += start[chunk];
+        }
+        int[] entry = new int[start[chunkCount]];
+        int[] fill = Arrays.copyOf(start, chunkCount);
+        for (int i = 0; i < platformCount; i++) {
+            for (int row = cell(bounds.getY(i), chunkSize, rows);
+                 row <= cell(bounds.getY(i) + bounds.getHeight(i), chunkSize, rows); row++) {
+                for (int column = cell(bounds.getX(i), chunkSize, columns);
+                     column <= cell(bounds.getX(i) + bounds.getWidth(i), chunkSize, columns); column++) {
+                    entry[fill[row * columns + column]++] = i;
+                }
+            }
+        }
+        return new ChunkIndex(chunkSize, columns, rows, platformCount, IntBuffer.wrap(start), IntBuffer.wrap(entry));
+    }
+
+    /**
+     * Gets the number of chunks needed to cover a length.
+     *
+     * @param extent    the length in pixels
+     * @param chunkSize the side length of a chunk
+     * @return the chunk count, at least one
+     */
+    static int chunksAlong(final double extent, final double chunkSize) {
+        return Math.max(1, (int) Math.ceil(extent / chunkSize));
+    }
+
+    /**
+     * Converts a coordinate to a chunk coordinate, clamped to the level.
+     *
+     * @param value     the coordinate
+     * @param chunkSize the side length of a chunk
+     * @param limit     the number of chunks along the axis
+     * @return the chunk coordinate
+     */
+    private static int cell(final double value, final double chunkSize, final int limit) {
+        int cell = (int) Math.floor(value / chunkSize);
+        if (cell < 0) {
+            return 0;
+        }
+        return Math.min(cell, limit - 1);
+    }
+
+    /**
+     * Checks if this index divides a level the way a chunk manager with the given chunk size would.
+     *
+     * @param level        the level
+     * @param requiredSize the chunk size in pixels
+     * @return {@code true} if the index can be used for the level at that chunk size
+     */
+    boolean fits(final LevelData level, final double requiredSize) {
+        return chunkSize == requiredSize
+                && columns == chunksAlong(level.getWidth(), requiredSize)
+                && rows == chunksAlong(level.getHeight(), requiredSize);
+    }
+
+    /**
+     * Converts an x-coordinate to a clamped chunk column.
+     *
+     * @param x the x-coordinate
+     * @return the column index
+     */
+    int column(final double x) {
+        return cell(x, chunkSize, columns);
+    }
+
+    /**
+     * Converts a y-coordinate to a clamped chunk row.
+     *
+     * @param y the y-coordinate
+     * @return the row index
+     */
+    int row(final double y) {
+        return cell(y, chunkSize, rows);
+    }
+
+    /**
+     * Gets the position of a chunk's first entry.
+     *
+     * @param chunk the chunk index
+     * @return the position in the entry table
+     */
+    int start(final int chunk) {
+        return starts.get(chunk);
+    }
+
+    /**
+     * Gets the position after a chunk's last entry.
+     *
+     * @param chunk the chunk index
+     * @return the position in the entry table
+     */
+    int end(final int chunk) {
+        return starts.get(chunk + 1);
+    }
+
+    /**
+     * Gets the platform listed at a position of the entry table.
+     *
+     * @param position the position, between a chunk's start and end
+     * @return the platform index
+     */
+    int entry(final int position) {
+        return entries.get(position);
+    }
+
+    /**
+     * Gets the side length of a chunk.
+     *
+     * @return the chunk size in pixels
+     */
+    double getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Gets the number of chunk columns.
+     *
+     * @return the column count
+     */
+    int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the number of chunk rows.
+     *
+     * @return the row count
+     */
+    int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the total number of chunks.
+     *
+     * @return the chunk count
+     */
+    int getChunkCount() {
+        return columns * rows;
+    }
+
+    /**
+     * Gets the total number of entries over all chunks.
+     *
+     * @return the entry count
+     */
+    int getEntryCount() {
+        return entries.limit();
+    }
+}
@@ -0,0 +1,548 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Platform;
+import com.persianrug.utils.Constants;
+import com.persianrug.utils.GameLogger;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Streams the platforms of a level in square chunks around the player.
+ * <p>
+ * The level is divided into chunks of a fixed size, and each platform is assigned to every
+ * chunk its bounds overlap. Only resident chunks have platform objects and only they are
+ * visible to {@link #query}; collision checks use {@link #queryIndices}, which reads the
+ * level's platform bounds and never touches the objects. Every tick {@link #update}
+ * requests the chunks around the player, plus the chunks the player will reach soon at its
+ * current velocity, and the platform objects are built on a background thread. Finished chunks are activated on the
+ * game thread at the next update, and chunks far from the player are evicted once the
+ * resident chunks exceed the memory budget.
+ * <p>
+ * {@link #ensureResident} loads any missing chunk synchronously. The world calls it for the
+ * area the player sweeps through each tick, so collisions never depend on loader timing.
+ * The prefetch keeps this from happening during normal play.
+ * <p>
+ * All methods except the background loading itself must be called from the game thread.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+public class ChunkManager implements SpatialIndex<Platform> {
+    private static final long ESTIMATED_PLATFORM_BYTES = 96;
+    private static final long ESTIMATED_CHUNK_BYTES = 64;
+    private static final int PREFETCH_TICKS = Constants.TICKS_PER_SECOND / 2;
+    private static final int INITIAL_QUERY_CAPACITY = 64;
+    private static final byte UNLOADED = 0;
+    private static final byte LOADING = 1;
+    private static final byte RESIDENT = 2;
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Builds chunk contents in the background, shared by all chunk managers.
+     */
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("chunk-loader").factory());
+
+    /**
+     * Receives the area of every chunk that is loaded or evicted.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        /**
+         * Called on the game thread after the platforms in an area changed.
+         *
+         * @param minX the left edge of the chunk
+         * @param minY the top edge of the chunk
+         * @param maxX the right edge of the chunk
+         * @param maxY the bottom edge of the chunk
+         */
+        void chunkChanged(double minX, double minY, double maxX, double maxY);
+    }
+
+    /**
+     * A chunk whose platforms have been built and are waiting to be activated.
+     *
+     * @param chunk     the chunk index
+     * @param platforms the platform objects, in the order of the chunk's entries, or {@code null}
+     *                  if the chunk failed to build
+     */
+    private record LoadedChunk(int chunk, Platform[] platforms) {
+    }
+
+    private final LevelData level;
+
+    /**
+     * The bounds of the level's platforms, read directly by queries.
+     */
+    private final EntityBounds bounds;
+    private final double chunkSize;
+    private final int columns;
+    private final long memoryBudget;
+
+    /**
+     * The platforms listed in each chunk, precomputed by a compiled level or built here.
+     */
+    private final ChunkIndex index;
+
+    private final byte[] chunkState;
+    private final int[] wantedStamp;
+    private int wantStamp = 0;
+    private int[] residentChunks = new int[INITIAL_QUERY_CAPACITY];
+    private int residentChunkCount = 0;
+    private long residentBytes = 0;
+
+    /**
+     * The live platform object of each level platform, or {@code null} if no resident chunk holds it.
+     */
+    private final Platform[] live;
+
+    /**
+     * The number of resident chunks holding each level platform.
+     */
+    private final int[] references;
+    private int residentPlatformCount = 0;
+
+    private final Queue<LoadedChunk> completed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingLoads = new AtomicInteger();
+
+    private final int[] visitedStamp;
+    private int queryStamp = 0;
+    private int[] found = new int[INITIAL_QUERY_CAPACITY];
+
+    private ChangeListener changeListener = null;
+    private long loadCount = 0;
+    private long evictionCount = 0;
+    private long synchronousLoadCount = 0;
+
+    /**
+     * Divides a level into chunks. No chunk is resident until it is requested.
+     *
+     * @param level        the level to stream
+     * @param chunkSize    the side length of a chunk in pixels, must be positive
+     * @param memoryBudget the approximate number of bytes resident chunks may use
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public ChunkManager(final LevelData level, final double chunkSize, final long memoryBudget) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.level = level;
+        this.bounds = level.getPlatformStore();
+        this.chunkSize = chunkSize;
+        this.memoryBudget = memoryBudget;
+        ChunkIndex precomputed = level.getChunkIndex();
+        this.index = precomputed != null && precomputed.fits(level, chunkSize)
+                ? precomputed : ChunkIndex.build(bounds, level.getWidth(), level.getHeight(), chunkSize);
+        this.columns = index.getColumns();
+        int chunkCount = index.getChunkCount();
+        int platformCount = level.getPlatformCount();
+
+        chunkState = new byte[chunkCount];
+        wantedStamp = new int[chunkCount];
+        live = new Platform[platformCount];
+        references = new int[platformCount];
+        visitedStamp = new int[platformCount];
+    }
+
+    /**
+     * Activates finished chunks, requests the chunks around and ahead of the player and
+     * evicts distant chunks if the budget is exceeded.
+     *
+     * @param centerX   the x-coordinate of the player's center
+     * @param centerY   the y-coordinate of the player's center
+     * @param velocityX the player's horizontal velocity in pixels per tick
+     * @param velocityY the player's vertical velocity in pixels per tick
+     */
+    public void update(final double centerX, final double centerY,
+                       final double velocityX, final double velocityY) {
+        drainCompleted();
+
+        wantStamp++;
+        if (wantStamp == Integer.MAX_VALUE) {
+            Arrays.fill(wantedStamp, 0);
+            wantStamp = 1;
+        }
+        double halfWidth = Constants.WINDOW_WIDTH / 2.0 + chunkSize / 2;
+        double halfHeight = Constants.WINDOW_HEIGHT / 2.0 + chunkSize / 2;
+        request(centerX - halfWidth, centerY - halfHeight, centerX + halfWidth, centerY + halfHeight);
+
+        double aheadX = centerX + velocityX * PREFETCH_TICKS;
+        double aheadY = centerY + velocityY * PREFETCH_TICKS;
+        request(aheadX - halfWidth, aheadY - halfHeight, aheadX + halfWidth, aheadY + halfHeight);
+
+        evictOverBudget(centerX, centerY);
+    }
+
+    /**
+     * Makes every chunk overlapping the rectangle resident, building missing chunks on the
+     * calling thread.
+     *
+     * @param minX the left edge of the rectangle
+     * @param minY the top edge of the rectangle
+     * @param maxX the right edge of the rectangle
+     * @param maxY the bottom edge of the rectangle
+     */
+    public void ensureResident(final double minX, final double minY, final double maxX, final double maxY) {
+        for (int row = index.row(minY); row <= index.row(maxY); row++) {
+            for (int column = index.column(minX); column <= index.column(maxX); column++) {
+                int chunk = row * columns + column;
+                if (chunkState[chunk] != RESIDENT) {
+                    activate(chunk, build(chunk));
+                    synchronousLoadCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the resident platforms overlapping the given rectangle.
+     * Platforms in chunks that are not resident are not reported.
+     *
+     * @param minX the left edge of the query rectangle
+     * @param minY the top edge of the query rectangle
+     * @param maxX the right edge of the query rectangle
+     * @param maxY the bottom edge of the query rectangle
+     * @param out  the list to fill with the found platforms; it is cleared first
+     */
+    @Override
+    public void query(final double minX, final double minY,
+                      final double maxX, final double maxY, final List<Platform> out) {
+        out.clear();
+        int count = queryIndices(minX, minY, maxX, maxY);
+        for (int i = 0; i < count; i++) {
+            out.add(live[found[i]]);
+        }
+    }
+
+    /**
+     * Finds the resident platforms overlapping the given rectangle by their index in the
+     * level's {@link EntityStore}, without touching platform objects. The indices are read
+     * with {@link #getFoundIndex(int)} and stay valid until the next query.
+     *
+     * @param minX the left edge of the query rectangle
+     * @param minY the top edge of the query rectangle
+     * @param maxX the right edge of the query rectangle
+     * @param maxY the bottom edge of the query rectangle
+     * @return the number of platforms found
+     */
+    public int queryIndices(final double minX, final double minY, final double maxX, final double maxY) {
+        queryStamp++;
+        if (queryStamp == Integer.MAX_VALUE) {
+            Arrays.fill(visitedStamp, 0);
+            queryStamp = 1;
+        }
+        int count = 0;
+
+        for (int row = index.row(minY); row <= index.row(maxY); row++) {
+            for (int column = index.column(minX); column <= index.column(maxX); column++) {
+                int chunk = row * columns + column;
+                if (chunkState[chunk] != RESIDENT) {
+                    continue;
+                }
+                for (int e = index.start(chunk); e < index.end(chunk); e++) {
+                    int platform = index.entry(e);
+                    if (visitedStamp[platform] == queryStamp) {
+                        continue;
+                    }
+                    visitedStamp[platform] = queryStamp;
+                    if (bounds.overlaps(platform, minX, minY, maxX, maxY)) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count * 2);
+                        }
+                        found[count++] = platform;
+                    }
+                }
+            }
+        }
+
+        Arrays.sort(found, 0, count);
+        return count;
+    }
+
+    /**
+     * Gets a platform found by the last {@link #queryIndices} call.
+     *
+     * @param i the position in the result, below the count it returned
+     * @return the index of the platform in the level
+     */
+    public int getFoundIndex(final int i) {
+        return found[i];
+    }
+
+    /**
+     * Gets the number of platforms held by resident chunks.
+     *
+     * @return the number of resident platforms
+     */
+    @Override
+    public int size() {
+        return residentPlatformCount;
+    }
+
+    /**
+     * Waits for all requested chunks to finish loading; they are activated by the next update.
+     * Intended for tests and tools that need a settled state.
+     */
+    void awaitLoads() {
+        while (pendingLoads.get() > 0) {
+            LockSupport.parkNanos(IDLE_WAIT_NANOS);
+        }
+    }
+
+    /**
+     * Requests every chunk overlapping the rectangle and marks it as wanted for this update.
+     *
+     * @param minX the left edge of the rectangle
+     * @param minY the top edge of the rectangle
+     * @param maxX the right edge of the rectangle
+     * @param maxY the bottom edge of the rectangle
+     */
+    private void request(final double minX, final double minY, final double maxX, final double maxY) {
+        for (int row = index.row(minY); row <= index.row(maxY); row++) {
+            for (int column = index.column(minX); column <= index.column(maxX); column++) {
+                int chunk = row * columns + column;
+                wantedStamp[chunk] = wantStamp;
+                if (chunkState[chunk] == UNLOADED) {
+                    chunkState[chunk] = LOADING;
+                    pendingLoads.incrementAndGet();
+                    LOADER.execute(() -> load(chunk));
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a chunk on the loader thread and hands it to the game thread. A chunk that fails
+     * to build is handed over without platforms, so it can be requested again, and the pending
+     * load is always counted down.
+     *
+     * @param chunk the chunk index
+     */
+    private void load(final int chunk) {
+        Platform[] platforms = null;
+        try {
+            platforms = build(chunk);
+        } catch (RuntimeException e) {
+            GameLogger.error("Failed to load chunk " + chunk + ": " + e);
+        } finally {
+            try {
+                completed.add(new LoadedChunk(chunk, platforms));
+            } finally {
+                pendingLoads.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Activates the chunks finished by the loader that are still waiting for it.
+     * Chunks made resident synchronously in the meantime are skipped, and chunks that
+     * failed to build are marked unloaded again.
+     */
+    private void drainCompleted() {
+        LoadedChunk loaded;
+        while ((loaded = completed.poll()) != null) {
+            if (chunkState[loaded.chunk()] != LOADING) {
+                continue;
+            }
+            if (loaded.platforms() == null) {
+                chunkState[loaded.chunk()] = UNLOADED;
+            } else {
+                activate(loaded.chunk(), loaded.platforms());
+            }
+        }
+    }
+
+    /**
+     * Builds the platform objects of a chunk. Safe to call from any thread.
+     *
+     * @param chunk the chunk index
+     * @return the platforms, in the order of the chunk's entries
+     */
+    private Platform[] build(final int chunk) {
+        Platform[] platforms = new Platform[index.end(chunk) - index.start(chunk)];
+        for (int e = index.start(chunk); e < index.end(chunk); e++) {
+            platforms[e - index.start(chunk)] = level.createPlatform(index.entry(e));
+        }
+        return platforms;
+    }
+
+    /**
+     * Makes a chunk resident, sharing the objects of platforms already held by another chunk.
+     *
+     * @param chunk     the chunk index
+     * @param platforms the built platforms of the chunk
+     */
+    private void activate(final int chunk, final Platform[] platforms) {
+        for (int e = index.start(chunk); e < index.end(chunk); e++) {
+            int platform = index.entry(e);
+            if (references[platform]++ == 0) {
+                live[platform] = platforms[e - index.start(chunk)];
+                residentPlatformCount++;
+            }
+        }
+        chunkState[chunk] = RESIDENT;
+        if (residentChunkCount == residentChunks.length) {
+            residentChunks = Arrays.copyOf(residentChunks, residentChunkCount * 2);
+        }
+        residentChunks[residentChunkCount++] = chunk;
+        residentBytes += chunkBytes(chunk);
+        loadCount++;
+        notifyChanged(chunk);
+    }
+
+    /**
+     * Evicts unwanted chunks, farthest from the player first, until the resident chunks
+     * fit the memory budget. Chunks wanted by the latest update are never evicted.
+     *
+     * @param centerX the x-coordinate of the player's center
+     * @param centerY the y-coordinate of the player's center
+     */
+    private void evictOverBudget(final double centerX, final double centerY) {
+        while (residentBytes > memoryBudget) {
+            int farthest = -1;
+            double farthestDistance = -1;
+            for (int i = 0; i < residentChunkCount; i++) {
+                int chunk = residentChunks[i];
+                if (wantedStamp[chunk] == wantStamp) {
+                    continue;
+                }
+                double dx = (chunk % columns + 0.5) * chunkSize - centerX;
+                double dy = (chunk / columns + 0.5) * chunkSize - centerY;
+                double distance = dx * dx + dy * dy;
+                if (distance > farthestDistance) {
+                    farthestDistance = distance;
+                    farthest = i;
+                }
+            }
+            if (farthest < 0) {
+                return;
+            }
+            evict(farthest);
+        }
+    }
+
+    /**
+     * Evicts a resident chunk, releasing platforms no other resident chunk holds.
+     *
+     * @param residentSlot the position of the chunk in {@link #residentChunks}
+     */
+    private void evict(final int residentSlot) {
+        int chunk = residentChunks[residentSlot];
+        for (int e = index.start(chunk); e < index.end(chunk); e++) {
+            int platform = index.entry(e);
+            if (--references[platform] == 0) {
+                live[platform] = null;
+                residentPlatformCount--;
+            }
+        }
+        chunkState[chunk] = UNLOADED;
+        residentChunks[residentSlot] = residentChunks[--residentChunkCount];
+        residentBytes -= chunkBytes(chunk);
+        evictionCount++;
+        notifyChanged(chunk);
+    }
+
+    /**
+     * Sets the listener told about every chunk that is loaded or evicted.
+     *
+     * @param listener the listener, or {@code null} for none
+     */
+    public void setChangeListener(final ChangeListener listener) {
+        this.changeListener = listener;
+    }
+
+    /**
+     * Tells the change listener, if any, that a chunk's platforms changed.
+     *
+     * @param chunk the chunk index
+     */
+    private void notifyChanged(final int chunk) {
+        if (changeListener != null) {
+            double minX = (chunk % columns) * chunkSize;
+            double minY = (double) (chunk / columns) * chunkSize;
+            changeListener.chunkChanged(minX, minY, minX + chunkSize, minY + chunkSize);
+        }
+    }
+
+    /**
+     * Estimates the memory a resident chunk uses.
+     *
+     * @param chunk the chunk index
+     * @return the estimated size in bytes
+     */
+    private long chunkBytes(final int chunk) {
+        return ESTIMATED_CHUNK_BYTES + ESTIMATED_PLATFORM_BYTES * (index.end(chunk) - index.start(chunk));
+    }
+
+    /**
+     * Gets the total number of chunks in the level.
+     *
+     * @return the chunk count
+     */
+    public int getChunkCount() {
+        return index.getChunkCount();
+    }
+
+    /**
+     * Gets the number of resident chunks.
+     *
+     * @return the resident chunk count
+     */
+    public int getResidentChunkCount() {
+        return residentChunkCount;
+    }
+
+    /**
+     * Gets the estimated memory used by resident chunks.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    /**
+     * Gets the memory budget for resident chunks.
+     *
+     * @return the budget in bytes
+     */
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Gets the number of chunk activations so far.
+     *
+     * @return the load count
+     */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Gets the number of chunk evictions so far.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the number of chunks that had to be built on the game thread because the
+     * prefetch had not loaded them in time.
+     *
+     * @return the synchronous load count
+     */
+    public long getSynchronousLoadCount() {
+        return synchronousLoadCount;
+    }
+}
@@ -0,0 +1,116 @@
+package com.persianrug.engine;
+
+/**
+ * Read access to the bounds, type ids and flags of a table of static entities, by index.
+ * Collision and culling loops read platforms and items through this interface, whether the
+ * table lives in heap arrays ({@link EntityStore}) or outside the heap ({@link OffHeapEntityStore}).
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+public interface EntityBounds {
+    /**
+     * Gets the number of entities in the table.
+     *
+     * @return the entity count
+     */
+    int size();
+
+    /**
+     * Gets the x-coordinate of an entity.
+     *
+     * @param index the entity index
+     * @return the x-coordinate
+     */
+    double getX(int index);
+
+    /**
+     * Gets the y-coordinate of an entity.
+     *
+     * @param index the entity index
+     * @return the y-coordinate
+     */
+    double getY(int index);
+
+    /**
+     * Gets the width of an entity.
+     *
+     * @param index the entity index
+     * @return the width
+     */
+    double getWidth(int index);
+
+    /**
+     * Gets the height of an entity.
+     *
+     * @param index the entity index
+     * @return the height
+     */
+    double getHeight(int index);
+
+    /**
+     * Gets the type id of an entity.
+     *
+     * @param index the entity index
+     * @return the type id
+     */
+    byte getType(int index);
+
+    /**
+     * Gets the flag bits of an entity.
+     *
+     * @param index the entity index
+     * @return the flags
+     */
+    int getFlags(int index);
+
+    /**
+     * Checks if a flag is set on an entity.
+     *
+     * @param index the entity index
+     * @param flag  the flag bit
+     * @return {@code true} if the flag is set
+     */
+    default boolean hasFlag(final int index, final int flag) {
+        return (getFlags(index) & flag) != 0;
+    }
+
+    /**
+     * Checks if an entity overlaps a box, with touching edges not counting as an overlap,
+     * the same test as {@link com.persianrug.entity.GameObject#intersects}.
+     *
+     * @param index the entity index
+     * @param boxX  the x-coordinate of the box
+     * @param boxY  the y-coordinate of the box
+     * @param boxW  the width of the box
+     * @param boxH  the height of the box
+     * @return {@code true} if the entity and the box intersect
+     */
+    default boolean intersects(final int index, final double boxX, final double boxY,
+                               final double boxW, final double boxH) {
+        double x = getX(index);
+        double y = getY(index);
+        return boxX < x + getWidth(index)
+                && boxX + boxW > x
+                && boxY < y + getHeight(index)
+                && boxY + boxH > y;
+    }
+
+    /**
+     * Checks if an entity touches or overlaps a rectangle given by its edges.
+     *
+     * @param index the entity index
+     * @param minX  the left edge of the rectangle
+     * @param minY  the top edge of the rectangle
+     * @param maxX  the right edge of the rectangle
+     * @param maxY  the bottom edge of the rectangle
+     * @return {@code true} if the entity reaches into the rectangle
+     */
+    default boolean overlaps(final int index, final double minX, final double minY,
+                             final double maxX, final double maxY) {
+        double x = getX(index);
+        double y = getY(index);
+        return x <= maxX && x + getWidth(index) >= minX
+                && y <= maxY && y + getHeight(index) >= minY;
+    }
+}
@@ -0,0 +1,105 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Item;
+import com.persianrug.entity.Platform;
+import com.persianrug.entity.Player;
+import com.persianrug.utils.GameLogger;
+import com.persianrug.utils.ImageCache;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Draws platforms, items and the player, keeping the entities themselves free of JavaFX so
+ * that the simulation can run without a graphics toolkit.
+ * <p>
+ * Each image is looked up in the {@link ImageCache} the first time it is drawn. A lookup that
+ * fails is logged once and the entity is skipped from then on.
+ *
+ * @author Homayoun Khoshi, Juhyun Park
+ * @version 2024
+ */
+final class EntityRenderer {
+    private static final String PLATFORM_IMAGE_PATH = "/images/platform.png";
+    private static final String LEFT_IMAGE_PATH = "/images/character_left.png";
+    private static final String RIGHT_IMAGE_PATH = "/images/character_right.png";
+
+    /**
+     * The images looked up so far by resource path, with {@code null} for those that failed.
+     */
+    private final Map<String, Image> images = new HashMap<>();
+
+    /**
+     * Draws a platform. Ground-level platforms are a solid color, floating platforms use an image.
+     *
+     * @param gc       the graphics context to draw on, in world coordinates
+     * @param platform the platform to draw
+     */
+    void renderPlatform(final GraphicsContext gc, final Platform platform) {
+        if (platform.isGroundPlatform()) {
+            gc.setFill(Color.SLATEGRAY);
+            gc.fillRect(platform.getX(), platform.getY(), platform.getWidth(), platform.getHeight());
+            return;
+        }
+        Image image = image(PLATFORM_IMAGE_PATH, "Platform");
+        if (image != null) {
+            gc.drawImage(image, platform.getX(), platform.getY(), platform.getWidth(), platform.getHeight());
+        }
+    }
+
+    /**
+     * Draws an item unless it has been collected.
+     *
+     * @param gc   the graphics context to draw on, in world coordinates
+     * @param item the item to draw
+     */
+    void renderItem(final GraphicsContext gc, final Item item) {
+        if (item.isCollected()) {
+            return;
+        }
+        Image image = image(item.getImagePath(), "Item");
+        if (image != null) {
+            gc.drawImage(image, item.getX(), item.getY(), item.getWidth(), item.getHeight());
+        }
+    }
+
+    /**
+     * Draws the player facing its direction of travel, with its waving animation, at a position
+     * interpolated between the last two simulation ticks.
+     *
+     * @param gc     the graphics context to draw on, in world coordinates
+     * @param player the player to draw
+     * @param alpha  the interpolation factor, 0 for the previous and 1 for the current position
+     */
+    void renderPlayer(final GraphicsContext gc, final Player player, final double alpha) {
+        Image image = image(player.isFacingRight() ? RIGHT_IMAGE_PATH : LEFT_IMAGE_PATH, "Character");
+        if (image != null) {
+            gc.drawImage(image, player.getInterpolatedX(alpha),
+                    player.getInterpolatedY(alpha) + player.getWaveHeight(), player.getWidth(), player.getHeight());
+        }
+    }
+
+    /**
+     * Gets an image, looking it up on first use.
+     *
+     * @param path the resource path of the image
+     * @param kind what the image shows, for the error message
+     * @return the image, or {@code null} if it could not be loaded
+     */
+    private Image image(final String path, final String kind) {
+        Image image = images.get(path);
+        if (image != null || images.containsKey(path)) {
+            return image;
+        }
+        try {
+            image = ImageCache.get(path);
+        } catch (Exception e) {
+            GameLogger.error(() -> kind + " image loading failed: " + e.getMessage());
+        }
+        images.put(path, image);
+        return image;
+    }
+}
@@ -0,0 +1,280 @@
+package com.persianrug.engine;
+
+import java.util.Arrays;
+
+/**
+ * Compact storage for the static entities of a level, one parallel primitive array per field.
+ * <p>
+ * Each entity is an axis-aligned box with a type id and a bitset of flags, stored at an index
+ * into the arrays. Collision and culling loops walk these arrays in index order instead of
+ * chasing references to game objects spread over the heap, and an entity costs
+ * {@value #BYTES_PER_ENTITY} bytes instead of a full object. Game objects for drawing are
+ * created from the store only where they are needed.
+ * <p>
+ * Coordinates are kept as doubles so that collisions give exactly the same results as the
+ * game objects they replace, which recorded replays depend on.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+public final class EntityStore implements EntityBounds {
+    /**
+     * The type id of a platform.
+     */
+    public static final byte TYPE_PLATFORM = 0;
+
+    /**
+     * The type id of a collectible item.
+     */
+    public static final byte TYPE_ITEM = 1;
+
+    /**
+     * The flag set on an item once it has been collected.
+     */
+    public static final int FLAG_COLLECTED = 1;
+
+    /**
+     * The array bytes used per entity: four doubles, a type id and a flag byte.
+     */
+    public static final int BYTES_PER_ENTITY = 4 * Double.BYTES + 2;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int count = 0;
+    private double[] x;
+    private double[] y;
+    private double[] width;
+    private double[] height;
+    private byte[] types;
+
+    /**
+     * The flag bits of each entity.
+     */
+    private byte[] flags;
+
+    /**
+     * Constructs an empty store.
+     */
+    public EntityStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty store with room for the given number of entities before it grows.
+     *
+     * @param capacity the initial capacity, at least one
+     */
+    public EntityStore(final int capacity) {
+        int size = Math.max(1, capacity);
+        x = new double[size];
+        y = new double[size];
+        width = new double[size];
+        height = new double[size];
+        types = new byte[size];
+        flags = new byte[size];
+    }
+
+    /**
+     * Appends an entity with no flags set.
+     *
+     * @param type    the type id of the entity
+     * @param entityX the x-coordinate of the entity
+     * @param entityY the y-coordinate of the entity
+     * @param entityW the width of the entity
+     * @param entityH the height of the entity
+     * @return the index of the new entity
+     */
+    public int add(final byte type, final double entityX, final double entityY,
+                   final double entityW, final double entityH) {
+        if (count == x.length) {
+            int capacity = count * 2;
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            width = Arrays.copyOf(width, capacity);
+            height = Arrays.copyOf(height, capacity);
+            types = Arrays.copyOf(types, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+        }
+        x[count] = entityX;
+        y[count] = entityY;
+        width[count] = entityW;
+        height[count] = entityH;
+        types[count] = type;
+        return count++;
+    }
+
+    /**
+     * Copies a table of entities, wherever it is stored, into a new store.
+     *
+     * @param source the entities to copy
+     * @return a store holding the same entities, types and flags
+     */
+    public static EntityStore copyOf(final EntityBounds source) {
+        if (source instanceof EntityStore store) {
+            return store.copy();
+        }
+        EntityStore copy = new EntityStore(source.size());
+        for (int i = 0; i < source.size(); i++) {
+            copy.add(source.getType(i), source.getX(i), source.getY(i), source.getWidth(i), source.getHeight(i));
+            copy.flags[i] = (byte) source.getFlags(i);
+        }
+        return copy;
+    }
+
+    /**
+     * Creates an independent copy of the store, trimmed to its size, so that flags can be
+     * changed without affecting the original.
+     *
+     * @return the copy
+     */
+    public EntityStore copy() {
+        EntityStore copy = new EntityStore(count);
+        copy.count = count;
+        System.arraycopy(x, 0, copy.x, 0, count);
+        System.arraycopy(y, 0, copy.y, 0, count);
+        System.arraycopy(width, 0, copy.width, 0, count);
+        System.arraycopy(height, 0, copy.height, 0, count);
+        System.arraycopy(types, 0, copy.types, 0, count);
+        System.arraycopy(flags, 0, copy.flags, 0, count);
+        return copy;
+    }
+
+    /**
+     * Checks if an entity overlaps a box, reading the arrays directly.
+     *
+     * @param index the entity index
+     * @param boxX  the x-coordinate of the box
+     * @param boxY  the y-coordinate of the box
+     * @param boxW  the width of the box
+     * @param boxH  the height of the box
+     * @return {@code true} if the entity and the box intersect
+     */
+    @Override
+    public boolean intersects(final int index, final double boxX, final double boxY,
+                              final double boxW, final double boxH) {
+        return boxX < x[index] + width[index]
+                && boxX + boxW > x[index]
+                && boxY < y[index] + height[index]
+                && boxY + boxH > y[index];
+    }
+
+    /**
+     * Checks if an entity touches or overlaps a rectangle given by its edges, reading the arrays directly.
+     *
+     * @param index the entity index
+     * @param minX  the left edge of the rectangle
+     * @param minY  the top edge of the rectangle
+     * @param maxX  the right edge of the rectangle
+     * @param maxY  the bottom edge of the rectangle
+     * @return {@code true} if the entity reaches into the rectangle
+     */
+    @Override
+    public boolean overlaps(final int index, final double minX, final double minY,
+                            final double maxX, final double maxY) {
+        return x[index] <= maxX && x[index] + width[index] >= minX
+                && y[index] <= maxY && y[index] + height[index] >= minY;
+    }
+
+    /**
+     * Checks if a flag is set on an entity.
+     *
+     * @param index the entity index
+     * @param flag  the flag bit
+     * @return {@code true} if the flag is set
+     */
+    @Override
+    public boolean hasFlag(final int index, final int flag) {
+        return (flags[index] & flag) != 0;
+    }
+
+    /**
+     * Gets the flag bits of an entity.
+     *
+     * @param index the entity index
+     * @return the flags
+     */
+    @Override
+    public int getFlags(final int index) {
+        return flags[index] & 0xFF;
+    }
+
+    /**
+     * Sets or clears a flag on an entity.
+     *
+     * @param index the entity index
+     * @param flag  the flag bit
+     * @param set   {@code true} to set the flag, {@code false} to clear it
+     */
+    public void setFlag(final int index, final int flag, final boolean set) {
+        if (set) {
+            flags[index] |= (byte) flag;
+        } else {
+            flags[index] &= (byte) ~flag;
+        }
+    }
+
+    /**
+     * Gets the number of entities in the store.
+     *
+     * @return the entity count
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the x-coordinate of an entity.
+     *
+     * @param index the entity index
+     * @return the x-coordinate
+     */
+    @Override
+    public double getX(final int index) {
+        return x[index];
+    }
+
+    /**
+     * Gets the y-coordinate of an entity.
+     *
+     * @param index the entity index
+     * @return the y-coordinate
+     */
+    @Override
+    public double getY(final int index) {
+        return y[index];
+    }
+
+    /**
+     * Gets the width of an entity.
+     *
+     * @param index the entity index
+     * @return the width
+     */
+    @Override
+    public double getWidth(final int index) {
+        return width[index];
+    }
+
+    /**
+     * Gets the height of an entity.
+     *
+     * @param index the entity index
+     * @return the height
+     */
+    @Override
+    public double getHeight(final int index) {
+        return height[index];
+    }
+
+    /**
+     * Gets the type id of an entity.
+     *
+     * @param index the entity index
+     * @return the type id
+     */
+    @Override
+    public byte getType(final int index) {
+        return types[index];
+    }
+}
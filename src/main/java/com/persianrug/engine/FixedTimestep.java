@@ -0,0 +1,123 @@
+package com.persianrug.engine;
+
+/**
+ * Converts variable frame timestamps into a whole number of fixed simulation ticks.
+ * Elapsed time is collected in an accumulator and drained in steps of a fixed length,
+ * so the simulation advances at the same rate regardless of the display refresh rate.
+ * The leftover time is exposed as an interpolation factor for rendering.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public class FixedTimestep {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * The length of one simulation tick in nanoseconds.
+     */
+    private final long stepNanos;
+
+    /**
+     * The maximum number of ticks that may be run for a single frame.
+     */
+    private final int maxStepsPerFrame;
+
+    /**
+     * The timestamp of the previous frame, or {@code -1} before the first frame.
+     */
+    private long lastTime = -1;
+
+    /**
+     * The elapsed time that has not been consumed by a tick yet.
+     */
+    private long accumulator = 0;
+
+    /**
+     * The total number of ticks dropped because a frame exceeded the catch-up limit.
+     */
+    private long droppedSteps = 0;
+
+    /**
+     * Constructs a FixedTimestep running at the given tick rate.
+     *
+     * @param ticksPerSecond   the number of simulation ticks per second, must be positive
+     * @param maxStepsPerFrame the maximum number of ticks run for one frame, must be positive
+     * @throws IllegalArgumentException if either argument is not positive
+     */
+    public FixedTimestep(final int ticksPerSecond, final int maxStepsPerFrame) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Ticks per second must be positive");
+        }
+        if (maxStepsPerFrame <= 0) {
+            throw new IllegalArgumentException("Max steps per frame must be positive");
+        }
+        this.stepNanos = NANOS_PER_SECOND / ticksPerSecond;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /**
+     * Records a new frame timestamp and returns how many ticks should be simulated.
+     * If more than the allowed number of ticks are due, the surplus time is discarded
+     * so that a slow frame cannot snowball into ever longer catch-up work.
+     *
+     * @param now the current timestamp in nanoseconds
+     * @return the number of ticks to simulate for this frame
+     */
+    public int advance(final long now) {
+        if (lastTime < 0) {
+            lastTime = now;
+            return 0;
+        }
+
+        long elapsed = now - lastTime;
+        lastTime = now;
+        if (elapsed > 0) {
+            accumulator += elapsed;
+        }
+
+        int steps = (int) Math.min(accumulator / stepNanos, maxStepsPerFrame);
+        accumulator -= steps * stepNanos;
+
+        if (accumulator >= stepNanos) {
+            droppedSteps += accumulator / stepNanos;
+            accumulator %= stepNanos;
+        }
+        return steps;
+    }
+
+    /**
+     * Gets how far the current frame lies between the last tick and the next one.
+     *
+     * @return the interpolation factor, from 0 (inclusive) to 1 (exclusive)
+     */
+    public double getAlpha() {
+        return (double) accumulator / stepNanos;
+    }
+
+    /**
+     * Forgets the previous timestamp and any accumulated time.
+     * Should be called when the loop is restarted so the pause is not simulated.
+     */
+    public void reset() {
+        lastTime = -1;
+        accumulator = 0;
+    }
+
+    /**
+     * Gets the length of one tick in nanoseconds.
+     *
+     * @return the tick length
+     */
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * Gets the total number of ticks dropped by the catch-up limit.
+     *
+     * @return the number of dropped ticks
+     */
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+}
@@ -0,0 +1,248 @@
+package com.persianrug.engine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Times the phases of each frame into one {@link TimingHistogram} per section.
+ * <p>
+ * Sections are timed with {@link #begin(Section)} and {@link #end(Section)}; the interval
+ * between animation pulses is recorded with {@link #frame(long)}. Different sections may nest,
+ * but a section must end before it begins again. Nothing is allocated while timing, so the
+ * profiler can stay on in normal play. The results can be written as CSV to compare builds.
+ * <p>
+ * Not thread-safe, but each section has a single writer: with a separate simulation thread the
+ * tick and input latency sections are timed there and the others on the JavaFX thread. Reports read
+ * from another thread may be off by the samples being recorded at that moment.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public class FrameProfiler {
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final double P50 = 50;
+    private static final double P95 = 95;
+    private static final double P99 = 99;
+    private static final String CSV_HEADER = "section,count,mean_us,p50_us,p95_us,p99_us,max_us";
+
+    /**
+     * The timed phases of a frame.
+     */
+    public enum Section {
+        /**
+         * The interval between two animation pulses.
+         */
+        FRAME,
+
+        /**
+         * All simulation ticks run in one pulse.
+         */
+        UPDATE,
+
+        /**
+         * A single gameplay tick, including input and camera.
+         */
+        TICK,
+
+        /**
+         * Platform collision checks of a tick.
+         */
+        COLLISIONS,
+
+        /**
+         * Drawing a whole frame.
+         */
+        RENDER,
+
+        /**
+         * Drawing the world, HUD and player.
+         */
+        RENDER_GAME,
+
+        /**
+         * Drawing the quiz overlay.
+         */
+        QUIZ_OVERLAY,
+
+        /**
+         * Drawing the fail screen overlay.
+         */
+        FAIL_OVERLAY,
+
+        /**
+         * Drawing the pause screen overlay.
+         */
+        PAUSE_OVERLAY,
+
+        /**
+         * Drawing the completion message.
+         */
+        COMPLETION_OVERLAY,
+
+        /**
+         * Drawing the main menu.
+         */
+        MENU,
+
+        /**
+         * The wait from a key event to the simulation tick that takes it.
+         */
+        INPUT_LATENCY
+    }
+
+    private static final Section[] SECTIONS = Section.values();
+
+    /**
+     * A profiler that records nothing, used when no profiler has been attached.
+     */
+    static final FrameProfiler DISABLED = new FrameProfiler(System::nanoTime, false);
+
+    private final LongSupplier clock;
+    private final boolean enabled;
+    private final TimingHistogram[] histograms = new TimingHistogram[SECTIONS.length];
+    private final long[] started = new long[SECTIONS.length];
+    private long lastPulse = 0;
+
+    /**
+     * Constructs a profiler timing with {@link System#nanoTime()}.
+     */
+    public FrameProfiler() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Constructs a profiler timing with the given clock.
+     *
+     * @param clock the source of timestamps in nanoseconds
+     */
+    public FrameProfiler(final LongSupplier clock) {
+        this(clock, true);
+    }
+
+    /**
+     * Constructs a profiler.
+     *
+     * @param clock   the source of timestamps in nanoseconds
+     * @param enabled whether anything is recorded
+     */
+    private FrameProfiler(final LongSupplier clock, final boolean enabled) {
+        this.clock = clock;
+        this.enabled = enabled;
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new TimingHistogram();
+        }
+    }
+
+    /**
+     * Marks the start of a section.
+     *
+     * @param section the section starting now
+     */
+    public void begin(final Section section) {
+        if (enabled) {
+            started[section.ordinal()] = clock.getAsLong();
+        }
+    }
+
+    /**
+     * Marks the end of a section and records its duration.
+     *
+     * @param section the section ending now
+     */
+    public void end(final Section section) {
+        if (enabled) {
+            histograms[section.ordinal()].record(clock.getAsLong() - started[section.ordinal()]);
+        }
+    }
+
+    /**
+     * Records a duration measured elsewhere.
+     *
+     * @param section the section the duration belongs to
+     * @param nanos   the duration in nanoseconds
+     */
+    public void record(final Section section, final long nanos) {
+        if (enabled) {
+            histograms[section.ordinal()].record(nanos);
+        }
+    }
+
+    /**
+     * Records the time since the previous animation pulse as a frame time.
+     *
+     * @param now the timestamp of this pulse in nanoseconds
+     */
+    public void frame(final long now) {
+        if (enabled && lastPulse != 0) {
+            histograms[Section.FRAME.ordinal()].record(now - lastPulse);
+        }
+        lastPulse = now;
+    }
+
+    /**
+     * Forgets the last pulse, so the time the loop spends stopped is not counted as a frame.
+     */
+    public void pause() {
+        lastPulse = 0;
+    }
+
+    /**
+     * Clears every section's histogram.
+     */
+    public void reset() {
+        for (TimingHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        lastPulse = 0;
+    }
+
+    /**
+     * Gets the histogram of a section.
+     *
+     * @param section the section
+     * @return the section's recorded durations
+     */
+    public TimingHistogram getHistogram(final Section section) {
+        return histograms[section.ordinal()];
+    }
+
+    /**
+     * Writes one CSV row per section with its count, mean, percentiles and maximum in microseconds.
+     *
+     * @param out the writer to write to
+     * @throws IOException if writing fails
+     */
+    public void writeCsv(final Writer out) throws IOException {
+        out.write(CSV_HEADER);
+        out.write('\n');
+        for (Section section : SECTIONS) {
+            TimingHistogram histogram = histograms[section.ordinal()];
+            out.write(String.format(Locale.ROOT, "%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f\n",
+                    section.name().toLowerCase(Locale.ROOT),
+                    histogram.getCount(),
+                    histogram.getMean() / NANOS_PER_MICRO,
+                    histogram.getPercentile(P50) / NANOS_PER_MICRO,
+                    histogram.getPercentile(P95) / NANOS_PER_MICRO,
+                    histogram.getPercentile(P99) / NANOS_PER_MICRO,
+                    histogram.getMax() / NANOS_PER_MICRO));
+        }
+    }
+
+    /**
+     * Writes the CSV report to a file, replacing it if it exists.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeCsv(final Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeCsv(out);
+        }
+    }
+}
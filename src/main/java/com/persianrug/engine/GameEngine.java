@@ -1,183 +1,70 @@
 package com.persianrug.engine;
 
-import com.persianrug.entity.Player;
-import com.persianrug.entity.Platform;
-import com.persianrug.entity.Item;
-import com.persianrug.entity.Quiz;
 import com.persianrug.utils.Constants;
+import com.persianrug.utils.GameEvents;
+import com.persianrug.utils.GameLogger;
+import com.persianrug.utils.ImageCache;
 import javafx.animation.AnimationTimer;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.Pane;
 import javafx.stage.Stage;
-import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.TextAlignment;
+import jdk.jfr.Recording;
 
-import java.net.URL;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.nio.file.Path;
 
 /**
  * Main game engine class that manages game state, rendering, and game loop.
- * Handles player movement, quiz interactions, and game progression.
+ * Adapts JavaFX keyboard input to the headless {@link GameWorld} simulation
+ * and hands each frame to a {@link GameRenderer}.
  *
  * @author Homayoun Khoshi, Juhyun Park
  * @version 2024
  */
 public class GameEngine {
-    private static final int INITIAL_PLAYER_X = 300;
-    private static final int INITIAL_PLAYER_Y_OFFSET = 20;
     private static final String GAME_TITLE = "Persian Rug";
     private static final String BACKGROUND_IMAGE_PATH = "/images/background.png";
+    private static final String STATIC_TILES_PROPERTY = "persianrug.render.tiles";
+    private static final String BACKGROUND_PATTERN_PROPERTY = "persianrug.render.backgroundPattern";
+    private static final String PROFILE_CSV_PROPERTY = "persianrug.profile.csv";
+    private static final String RECORDING_PROPERTY = "persianrug.jfr";
+    private static final String INPUT_LOG_PROPERTY = "persianrug.record";
+    private static final String REPLAY_PROPERTY = "persianrug.replay";
+    private static final String SIMULATION_THREAD_PROPERTY = "persianrug.simulation.thread";
+    private static final String OFF_HEAP_PROPERTY = "persianrug.level.offHeap";
+    private static final String LEVEL_PROPERTY = "persianrug.level";
     private static final int MENU_NEW_GAME = 0;
     private static final int MENU_LOAD_GAME = 1;
     private static final int MENU_EXIT = 2;
     private static final int PAUSE_RESUME = 0;
     private static final int PAUSE_SAVE = 1;
     private static final int PAUSE_MENU = 2;
-    private static final int QUIZ_OPTIONS_COUNT = 4;
-    private static final int QUIZ_INITIAL_OPTION = 0;
-    private static final double CLEAR_X = 0;
-    private static final double CLEAR_Y = 0;
-    private static final double PARALLAX_X = 0.5;
-    private static final double PARALLAX_Y = 0.3;
-    private static final double SCORE_BOX_X = 10;
-    private static final double SCORE_BOX_Y = 10;
-    private static final double SCORE_BOX_WIDTH = 150;
-    private static final double SCORE_BOX_HEIGHT = 40;
-    private static final double SCORE_TEXT_X = 20;
-    private static final double SCORE_TEXT_Y = 40;
-    private static final int SCORE_FONT_SIZE = 24;
-    private static final double OVERLAY_OPACITY = 0.7;
-    private static final double QUIZ_QUESTION_Y_OFFSET = 100;
-    private static final double QUIZ_OPTION_Y_SPACING = 40;
-    private static final double QUIZ_INSTRUCTION_Y_OFFSET = 200;
-    private static final int QUIZ_FONT_SIZE = 24;
-    private static final int INSTRUCTION_FONT_SIZE = 16;
-    private static final double FAIL_OVERLAY_OPACITY = 0.8;
-    private static final int FAIL_FONT_SIZE = 70;
-    private static final int FAIL_MESSAGE_FONT_SIZE = 20;
-    private static final double FAIL_MESSAGE_Y_OFFSET = 50;
-    private static final int COMPLETION_TITLE_FONT_SIZE = 72;
-    private static final int COMPLETION_TEXT_FONT_SIZE = 36;
-    private static final double COMPLETION_TITLE_Y_OFFSET = 60;
-    private static final double COMPLETION_TEXT_Y_OFFSET = 20;
-    private static final double COMPLETION_SCORE_Y_OFFSET = 70;
-    private static final double GROUND_OFFSET = 20.0;
-    private static final int GROUND_PLATFORM_HEIGHT = 20;
-    private static final int GROUND_PLATFORM_Y = 7480;
-    private static final int INITIAL_PLATFORM_START_X = 300;
-    private static final int INITIAL_PLATFORM_START_Y = 7000;
-    private static final int INITIAL_PLATFORM_X_STEP = 300;
-    private static final int INITIAL_PLATFORM_Y_STEP = 300;
-    private static final int SECTION1_COUNT = 6;
-    private static final int SECTION1_START_X = 1200;
-    private static final int SECTION1_START_Y = 6200;
-    private static final int SECTION1_X_SPACING = 400;
-    private static final int SECTION1_Y_SPACING = 200;
-    private static final int SECTION1_WIDTH_REDUCTION = 30;
-    private static final int SECTION1_SUB_WIDTH_REDUCTION = 80;
-    private static final int SECTION1_SUB_X_OFFSET = 200;
-    private static final int SECTION1_SUB_Y_OFFSET = 100;
-    private static final int SECTION2_COUNT = 5;
-    private static final int SECTION2_START_X = 3600;
-    private static final int SECTION2_START_Y = 5200;
-    private static final int SECTION2_X_SPACING = 350;
-    private static final int SECTION2_Y_SPACING = 250;
-    private static final int SECTION2_WIDTH_REDUCTION = 20;
-    private static final int SECTION2_SUB_WIDTH_REDUCTION = 70;
-    private static final int SECTION2_SUB_X_OFFSET = 175;
-    private static final int SECTION2_SUB_Y_OFFSET = 125;
-    private static final int SECTION3_COUNT = 6;
-    private static final int SECTION3_START_X = 2000;
-    private static final int SECTION3_START_Y = 4000;
-    private static final int SECTION3_X_SPACING = 400;
-    private static final int SECTION3_Y_SPACING = 200;
-    private static final int SECTION3_WIDTH_REDUCTION = 40;
-    private static final int SECTION3_SUB_WIDTH_REDUCTION = 90;
-    private static final int SECTION3_SUB_X_OFFSET = 200;
-    private static final int SECTION3_SUB_Y_OFFSET = 100;
-    private static final int SECTION4_COUNT = 5;
-    private static final int SECTION4_START_X = 4400;
-    private static final int SECTION4_START_Y = 3000;
-    private static final int SECTION4_X_SPACING = 380;
-    private static final int SECTION4_Y_SPACING = 220;
-    private static final int SECTION4_WIDTH_REDUCTION = 35;
-    private static final int SECTION4_SUB_WIDTH_REDUCTION = 85;
-    private static final int SECTION4_SUB_X_OFFSET = 190;
-    private static final int SECTION4_SUB_Y_OFFSET = 110;
-    private static final int SECTION5_COUNT = 8;
-    private static final int SECTION5_START_X = 2800;
-    private static final int SECTION5_START_Y = 2400;
-    private static final int SECTION5_X_SPACING = 300;
-    private static final int SECTION5_Y_SPACING = 180;
-    private static final int SECTION5_WIDTH_REDUCTION = 45;
-    private static final int SECTION5_SUB_WIDTH_REDUCTION = 100;
-    private static final int SECTION5_ALTERNATE_OFFSET = 200;
-    private static final int SECTION5_SUB_X_OFFSET = 150;
-    private static final int SECTION5_SUB_Y_OFFSET = 90;
-    private static final int SECTION6_COUNT = 6;
-    private static final int SECTION6_START_X = 4500;
-    private static final int SECTION6_START_Y = 1800;
-    private static final int SECTION6_X_SPACING = 350;
-    private static final int SECTION6_Y_SPACING = 150;
-    private static final int SECTION6_WIDTH_REDUCTION = 50;
-    private static final int FINAL_PLATFORM1_X = 6500;
-    private static final int FINAL_PLATFORM1_Y = 1000;
-    private static final int FINAL_PLATFORM2_X = 6800;
-    private static final int FINAL_PLATFORM2_Y = 800;
-    private static final int FINAL_PLATFORM3_X = 7100;
-    private static final int FINAL_PLATFORM3_Y = 600;
-    private static final int FINAL_PLATFORM4_Y = 500;
-    private static final int FINAL_PLATFORM5_X = 6400;
-    private static final int FINAL_PLATFORM5_Y = 450;
-    private static final int FINAL_PLATFORM6_X = 5900;
-    private static final int FINAL_PLATFORM6_Y = 400;
-    private static final int FINAL_PLATFORM7_X = 5300;
-    private static final int FINAL_PLATFORM7_Y = 380;
-    private static final int FINAL_PLATFORM8_X = 4700;
-    private static final int FINAL_PLATFORM8_Y = 370;
-    private static final int FINAL_PLATFORM9_X = 4100;
-    private static final int FINAL_PLATFORM10_X = 3500;
-    private static final int FINAL_PLATFORM10_Y = 360;
-    private static final int FINAL_PLATFORM11_X = 2900;
-    private static final int FINAL_PLATFORM11_Y = 350;
-    private static final int FINAL_PLATFORM12_X = 2300;
-    private static final int FINAL_PLATFORM12_Y = 300;
-    private static final int FINAL_PLATFORM13_X = 1700;
-    private static final int FINAL_PLATFORM14_X = 1100;
-    private static final int FINAL_PLATFORM15_X = 200;
-    private static final int FINAL_WIDTH_MULTIPLIER = 2;
-    private static final int FINAL_OFFSET1_X = 30;
-    private static final int FINAL_OFFSET2_X = 60;
-    private static final int FINAL_OFFSET3_X = 80;
-    private static final int FINAL_OFFSET4_X = 100;
-    private static final int FINAL_OFFSET5_X = 110;
-
-    private static final long FAIL_SCREEN_DURATION = 5000;
-    private GraphicsContext gc;
-    private Player player;
+    private static final int REPLAY_SEEK_TICKS = 10 * Constants.TICKS_PER_SECOND;
+    private GameRenderer renderer;
+    private GameWorld world;
+    private GameWorld view;
     private InputManager inputManager;
+    private final TickInput tickInput = new TickInput();
+    private final FrameProfiler profiler = new FrameProfiler();
     private AnimationTimer gameLoop;
+    private FixedTimestep timestep;
     private Camera camera;
-    private List<Platform> platforms;
-    private List<Item> items = new ArrayList<>();
-    private Image backgroundImage;
     private GameState gameState;
     private Menu menu;
-    private boolean jumpPressed = false;
-    private Item currentQuizItem = null;
-    private boolean showingQuiz = false;
-    private int selectedOption = 0;
-    private boolean showingFailScreen = false;
-    private long failStartTime = 0;
-    private int totalQuestions;
-    private int correctAnswers = 0;
-    private boolean gameCompleted = false;
+    private SaveStatus saveStatus = SaveStatus.NONE;
+    private boolean running = false;
+    private boolean loopActive = false;
+    private Recording recording = null;
+    private String levelId = System.getProperty(LEVEL_PROPERTY, LevelLoader.DEFAULT_LEVEL);
+    private InputLog inputLog = null;
+    private InputReplay replay = null;
+    private SnapshotExchange exchange = null;
+    private SimulationThread simulation = null;
 
     /**
      * Constructs a new GameEngine instance.
@@ -189,7 +76,7 @@ public class GameEngine {
     }
 
     /**
-     * Initializes the game components including canvas, player, input handling,
+     * Initializes the game components including canvas, world, input handling,
      * and game loop.
      *
      * @param stage The JavaFX stage to initialize the game on
@@ -198,32 +85,35 @@ public class GameEngine {
         Canvas canvas;
         // Create canvas
         canvas = new Canvas(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-        gc = canvas.getGraphicsContext2D();
 
-        // Create player
-        player = new Player(
-                INITIAL_PLAYER_X,
-                Constants.LEVEL_HEIGHT - Constants.PLAYER_HEIGHT - INITIAL_PLAYER_Y_OFFSET
-        );
+        // Create the simulation, or the replay of a recorded game
+        world = createWorld();
 
         // Initialize components
         inputManager = new InputManager();
         camera = new Camera();
+        camera.setLevelBounds(world.getLevel().getWidth(), world.getLevel().getHeight());
         menu = new Menu();
         gameState = GameState.MENU;
 
-        // Initialize platforms and items
-        platforms = new ArrayList<>();
-        items = new ArrayList<>();
-        initializePlatforms();
-        initializeItems();
-
-        // Load background image
-        URL resourceUrl = getClass().getResource(BACKGROUND_IMAGE_PATH);
-        if (resourceUrl == null) {
-            throw new RuntimeException("Resource not found: " + BACKGROUND_IMAGE_PATH);
+        // Load background image and create the renderer
+        Image backgroundImage = ImageCache.get(BACKGROUND_IMAGE_PATH);
+        renderer = new GameRenderer(canvas.getGraphicsContext2D(), backgroundImage);
+        renderer.setStaticLayerCacheEnabled(Boolean.getBoolean(STATIC_TILES_PROPERTY));
+        renderer.getBackground().setPatternFill(Boolean.getBoolean(BACKGROUND_PATTERN_PROPERTY));
+        renderer.setProfiler(profiler);
+        world.setProfiler(profiler);
+        inputManager.setProfiler(profiler);
+
+        // Optionally run the simulation on its own thread and draw a mirror of it
+        view = world;
+        if (Boolean.getBoolean(SIMULATION_THREAD_PROPERTY)) {
+            view = new GameWorld(world.getLevel());
+            exchange = new SnapshotExchange();
+            exchange.publish(world);
+            simulation = new SimulationThread(world, exchange, this::simulateTick,
+                    () -> javafx.application.Platform.runLater(this::handleSimulationHalt));
         }
-        backgroundImage = new Image(resourceUrl.toString());
 
         Pane root = new Pane(canvas);
         Scene scene = new Scene(root);
@@ -231,9 +121,18 @@ public class GameEngine {
         scene.setOnKeyPressed(e -> {
             inputManager.handleKeyPress(e.getCode());
             handleKeyPress(e.getCode());
+            if (e.getCode() == KeyCode.F3) {
+                renderer.setProfilerOverlayVisible(!renderer.isProfilerOverlayVisible());
+            }
             if (e.getCode() == KeyCode.SPACE && gameState == GameState.PLAYING) {
-                System.out.println("Space pressed!");
+                GameLogger.debug("Space pressed!");
             }
+            syncSimulation();
+            if (!gameState.isAnimated()) {
+                // Menu keys are handled here; keep them out of the first tick of the game
+                inputManager.skipEvents();
+            }
+            refresh();
         });
         scene.setOnKeyReleased(e -> inputManager.handleKeyRelease(e.getCode()));
 
@@ -242,15 +141,253 @@ public class GameEngine {
         stage.setTitle(GAME_TITLE);
         stage.setResizable(false);
 
-        // Create game loop
+        // Create game loop running the simulation at a fixed tick rate, unless it has a thread
+        // of its own. It only runs while the game is animated; static screens are drawn once
+        // and then on input.
+        timestep = new FixedTimestep(Constants.TICKS_PER_SECOND, Constants.MAX_TICKS_PER_FRAME);
         gameLoop = new AnimationTimer() {
             @Override
             public void handle(final long now) {
-                update();
-                render();
+                profiler.frame(now);
+                GameEvents.Frame event = GameEvents.isFrameEnabled() ? new GameEvents.Frame() : null;
+                long updateStart = System.nanoTime();
+                int ticks = simulation == null ? timestep.advance(now) : 0;
+                if (simulation == null) {
+                    profiler.begin(FrameProfiler.Section.UPDATE);
+                    for (int i = 0; i < ticks; i++) {
+                        update();
+                    }
+                    profiler.end(FrameProfiler.Section.UPDATE);
+                }
+                long renderStart = System.nanoTime();
+                renderFrame();
+                if (event != null) {
+                    commitFrameEvent(event, ticks, renderStart - updateStart, System.nanoTime() - renderStart);
+                }
+                if (!gameState.isAnimated()) {
+                    stopLoop();
+                }
             }
         };
     }
+
+    /**
+     * Creates the world to play in. If the {@code persianrug.replay} system property names an
+     * input log, the world is of the recorded level and the game starts by replaying it.
+     * Otherwise the level is the one named by {@code persianrug.level}, a resource, a text or
+     * compiled level file or a generated level id such as {@code generated:42}, or the default level.
+     * If {@code persianrug.level.offHeap} is set, the level's bounds are moved out of the heap.
+     *
+     * @return the new world
+     */
+    private GameWorld createWorld() {
+        String path = System.getProperty(REPLAY_PROPERTY);
+        if (path != null && !path.isBlank()) {
+            try {
+                InputLog log = InputLog.read(Path.of(path));
+                GameWorld replayWorld = InputReplay.createWorld(log);
+                replay = new InputReplay(log, replayWorld);
+                levelId = log.getLevelId();
+                GameLogger.info(() -> "Replaying " + log.getTickCount() + " ticks from " + path);
+                return replayWorld;
+            } catch (IOException e) {
+                GameLogger.error("Error loading replay: " + e.getMessage());
+            }
+        }
+        try {
+            LevelData level = LevelLoader.open(levelId);
+            if (Boolean.getBoolean(OFF_HEAP_PROPERTY) && level.getPlatformStore() instanceof EntityStore) {
+                level.moveOffHeap(Arena.ofAuto());
+            }
+            return new GameWorld(level);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Starts recording the input of a game that has just begun, if the {@code persianrug.record}
+     * system property names a file to write it to. A game still being recorded is written first.
+     */
+    private void beginInputLog() {
+        finishInputLog();
+        String path = System.getProperty(INPUT_LOG_PROPERTY);
+        if (path != null && !path.isBlank()) {
+            inputLog = new InputLog(levelId, 0, Constants.REPLAY_HASH_INTERVAL, world.createSave());
+        }
+    }
+
+    /**
+     * Writes the input of the game being recorded, if any, to the file named by the
+     * {@code persianrug.record} system property. Each recorded game replaces the previous one.
+     */
+    private void finishInputLog() {
+        if (inputLog == null) {
+            return;
+        }
+        String path = System.getProperty(INPUT_LOG_PROPERTY);
+        int ticks = inputLog.getTickCount();
+        try {
+            inputLog.write(Path.of(path));
+            GameLogger.info(() -> "Recorded " + ticks + " ticks of input to " + path);
+        } catch (IOException e) {
+            GameLogger.error("Error writing input log: " + e.getMessage());
+        }
+        inputLog = null;
+    }
+
+    /**
+     * Stops a running replay and reports whether it reproduced the recorded game.
+     */
+    private void endReplay() {
+        if (replay == null) {
+            return;
+        }
+        if (replay.getMismatchTick() >= 0) {
+            GameLogger.error("Replay diverged from the recording by tick " + replay.getMismatchTick());
+        } else {
+            int ticks = replay.getTick();
+            GameLogger.info(() -> "Replay matched the recording for " + ticks + " ticks");
+        }
+        replay = null;
+    }
+
+    /**
+     * Moves a running replay backwards or forwards and brings the camera along.
+     * A simulation thread is stopped while the replay seeks and then resumed.
+     *
+     * @param ticks the number of ticks to move by, negative to go back
+     */
+    private void seekReplay(final int ticks) {
+        if (simulation != null) {
+            simulation.deactivate();
+        }
+        replay.seek(replay.getTick() + ticks);
+        camera.update(world.getPlayer());
+        if (simulation != null) {
+            exchange.publish(world);
+            simulation.activate();
+        }
+    }
+
+    /**
+     * Hands the world to the simulation thread, if there is one, while the game is playing and
+     * takes it back otherwise. Changes made to the world while it was held here are published
+     * so that the screen shows them.
+     */
+    private void syncSimulation() {
+        if (simulation == null) {
+            return;
+        }
+        if (gameState == GameState.PLAYING) {
+            if (!simulation.isActive()) {
+                exchange.publish(world);
+                simulation.activate();
+            }
+        } else {
+            simulation.deactivate();
+            exchange.publish(world);
+        }
+    }
+
+    /**
+     * Draws the current frame. With a simulation thread the latest published tick is drawn
+     * as is, since the ticks in between frames are not known here.
+     */
+    private void renderFrame() {
+        if (exchange != null && exchange.take(view)) {
+            camera.update(view.getPlayer());
+        }
+        double alpha = simulation == null ? timestep.getAlpha() : 1.0;
+        renderer.render(gameState, view, camera, menu, alpha);
+    }
+
+    /**
+     * Fills in and commits a frame event for the pulse that just finished.
+     *
+     * @param event       the event created at the start of the pulse
+     * @param ticks       the number of simulation ticks run
+     * @param updateNanos the time spent running the ticks
+     * @param renderNanos the time spent drawing the frame
+     */
+    private void commitFrameEvent(final GameEvents.Frame event, final int ticks,
+                                  final long updateNanos, final long renderNanos) {
+        RenderStats stats = renderer.getRenderStats();
+        event.state = gameState.name();
+        event.ticks = ticks;
+        event.updateNanos = updateNanos;
+        event.renderNanos = renderNanos;
+        event.drawn = stats.getDrawn();
+        event.culled = stats.getCulled();
+        event.residentPlatforms = view.getChunkManager().size();
+        event.commit();
+    }
+
+    /**
+     * Starts a Flight Recorder recording of the game's events if the {@code persianrug.jfr}
+     * system property names a file to write it to.
+     */
+    private void startRecording() {
+        String path = System.getProperty(RECORDING_PROPERTY);
+        if (path == null || path.isBlank()) {
+            return;
+        }
+        try {
+            recording = GameEvents.startRecording(Path.of(path));
+            GameLogger.info(() -> "Recording flight events to " + path);
+        } catch (IOException | IllegalStateException e) {
+            GameLogger.error("Error starting flight recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the flight recording, if one is running, which writes it to its file.
+     */
+    private void stopRecording() {
+        if (recording != null) {
+            recording.stop();
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * Brings the screen up to date after input or a background event.
+     * Animated states are drawn by the running loop, which is restarted if it was idle;
+     * static states are redrawn once, right away.
+     */
+    private void refresh() {
+        if (!running) {
+            return;
+        }
+        if (gameState.isAnimated()) {
+            startLoop();
+        } else if (!loopActive) {
+            renderFrame();
+        }
+    }
+
+    /**
+     * Starts the animation timer if it is not already running.
+     * The timestep is reset so idle time is not simulated as a burst of ticks.
+     */
+    private void startLoop() {
+        if (!loopActive) {
+            timestep.reset();
+            gameLoop.start();
+            loopActive = true;
+        }
+    }
+
+    /**
+     * Stops the animation timer, leaving the last frame on screen.
+     */
+    private void stopLoop() {
+        gameLoop.stop();
+        loopActive = false;
+        profiler.pause();
+    }
+
     /**
      * Handles key press events based on current game state.
      * Routes input to appropriate handler based on whether game is in menu,
@@ -267,6 +404,8 @@ public class GameEngine {
                 if (code == KeyCode.ESCAPE) {
                     gameState = GameState.PAUSED;
                     menu.setPauseMenuOptions();
+                } else if (replay != null && (code == KeyCode.PAGE_UP || code == KeyCode.PAGE_DOWN)) {
+                    seekReplay(code == KeyCode.PAGE_UP ? -REPLAY_SEEK_TICKS : REPLAY_SEEK_TICKS);
                 }
                 break;
             case PAUSED:
@@ -294,12 +433,14 @@ public class GameEngine {
                 switch(menu.getSelectedOption()) {
                     case MENU_NEW_GAME:  // New Game
                         gameState = GameState.PLAYING;
-                        resetGame();
+                        world.reset();
+                        beginInputLog();
                         break;
                     case MENU_LOAD_GAME:  // Load Game
                         if (GameSaveManager.saveExists()) {
                             loadGame();
                             gameState = GameState.PLAYING;
+                            beginInputLog();
                         }
                         break;
                     case MENU_EXIT:  // Exit
@@ -331,12 +472,17 @@ public class GameEngine {
                         gameState = GameState.PLAYING;
                         break;
                     case PAUSE_SAVE:  // Save Game
-                        saveGame();
+                        if (saveStatus != SaveStatus.SAVING) {
+                            saveGame();
+                        }
                         break;
                     case PAUSE_MENU:  // Back to Menu
+                        endReplay();
+                        finishInputLog();
                         gameState = GameState.MENU;
                         menu.setMainMenuOptions();
-                        resetGame();
+                        world.reset();
+                        setSaveStatus(SaveStatus.NONE);
                         break;
                 }
                 break;
@@ -345,15 +491,25 @@ public class GameEngine {
 
     /**
      * Saves the current game state including player position, score, and collected items.
+     * The state is captured on the game thread and written in the background; the result
+     * is reported back on the JavaFX thread and shown on the pause screen.
      */
     private void saveGame() {
-        GameSaveManager.GameSave save = new GameSaveManager.GameSave(
-                player.getX(),
-                player.getY(),
-                correctAnswers,
-                items
-        );
-        GameSaveManager.saveGame(save);
+        setSaveStatus(SaveStatus.SAVING);
+        GameSaveManager.saveGameAsync(world.createSave()).whenComplete((ignored, error) ->
+                javafx.application.Platform.runLater(() ->
+                        setSaveStatus(error == null ? SaveStatus.SAVED : SaveStatus.FAILED)));
+    }
+
+    /**
+     * Updates the save status and the message the renderer shows for it.
+     *
+     * @param status the new save status
+     */
+    private void setSaveStatus(final SaveStatus status) {
+        saveStatus = status;
+        renderer.setSaveStatus(status);
+        refresh();
     }
 
     /**
@@ -363,15 +519,7 @@ public class GameEngine {
     private void loadGame() {
         GameSaveManager.GameSave save = GameSaveManager.loadGame();
         if (save != null) {
-            player = new Player(save.playerX, save.playerY);
-            correctAnswers = save.correctAnswers;
-
-            // Restore item collection states
-            for (int i = 0; i < save.collectedItems.length && i < items.size(); i++) {
-                if (save.collectedItems[i]) {
-                    items.get(i).collect();
-                }
-            }
+            world.restore(save);
         }
     }
 
@@ -390,555 +538,141 @@ public class GameEngine {
     }
 
     /**
-     * Updates game state during active gameplay.
-     * Handles player movement, quiz interactions, and collision detection.
+     * Advances the simulation by one tick during active gameplay and moves the camera.
      */
     private void updateGame() {
-        if (showingFailScreen) {
-            long currentTime = System.currentTimeMillis();
-            if (currentTime - failStartTime >= FAIL_SCREEN_DURATION) {
-                showingFailScreen = false;
-                gameState = GameState.MENU;
-                menu.setMainMenuOptions();
-                resetGame();
-            }
-            return;
-        }
-
-        if (!showingQuiz) {
-            handleGameplayInput();
-            checkItemCollisions();
-            updateGameEntities();
-        } else {
-            handleQuizInput();
-        }
-    }
-
-    /**
-     * Handles player input during regular gameplay.
-     */
-    private void handleGameplayInput() {
-        if (inputManager.isKeyPressed(KeyCode.LEFT)) {
-            player.moveLeft();
-        }
-        if (inputManager.isKeyPressed(KeyCode.RIGHT)) {
-            player.moveRight();
-        }
-        if (inputManager.isKeyPressed(KeyCode.UP) && !jumpPressed) {
-            player.jump();
-            jumpPressed = true;
-        }
-        if (!inputManager.isKeyPressed(KeyCode.UP)) {
-            jumpPressed = false;
-        }
-    }
-
-    /**
-     * Checks for collisions between player and collectible items.
-     */
-    private void checkItemCollisions() {
-        for (Item item : items) {
-            if (!item.isCollected() && player.intersects(item)) {
-                currentQuizItem = item;
-                showingQuiz = true;
-                selectedOption = QUIZ_INITIAL_OPTION;
-                break;
-            }
-        }
-    }
-
-    /**
-     * Updates positions and states of game entities.
-     */
-    private void updateGameEntities() {
-        player.update();
-        camera.update(player);
-        checkCollisions();
-    }
-
-    /**
-     * Handles player input during quiz interactions.
-     */
-    private void handleQuizInput() {
-        if (inputManager.isKeyPressed(KeyCode.UP) && !jumpPressed) {
-            selectedOption = (selectedOption - 1 + QUIZ_OPTIONS_COUNT) % QUIZ_OPTIONS_COUNT;
-            jumpPressed = true;
-        } else if (inputManager.isKeyPressed(KeyCode.DOWN) && !jumpPressed) {
-            selectedOption = (selectedOption + 1) % QUIZ_OPTIONS_COUNT;
-            jumpPressed = true;
-        } else if (inputManager.isKeyPressed(KeyCode.ENTER) && !jumpPressed) {
-            processQuizAnswer();
-            jumpPressed = true;
-        }
-
-        if (!inputManager.isKeyPressed(KeyCode.UP) &&
-                !inputManager.isKeyPressed(KeyCode.DOWN) &&
-                !inputManager.isKeyPressed(KeyCode.ENTER)) {
-            jumpPressed = false;
+        boolean carryOn = simulateTick();
+        camera.update(world.getPlayer());
+        if (!carryOn) {
+            handleSimulationHalt();
         }
     }
 
     /**
-     * Processes the player's quiz answer and updates game state accordingly.
+     * Runs one simulation tick. Takes the key events queued since the previous tick and copies
+     * the keys that are held or were tapped into the tick input, or takes the next tick of a
+     * replay, and steps the world. Runs on the simulation thread when there is one.
+     *
+     * @return {@code false} once the fail screen has run out or the replay has ended
      */
-    private void processQuizAnswer() {
-        if (currentQuizItem.getQuiz().checkAnswer(selectedOption)) {
-            currentQuizItem.collect();
-            showingQuiz = false;
-            currentQuizItem = null;
-            correctAnswers++;
-
-            if (correctAnswers == totalQuestions) {
-                gameCompleted = true;
-            }
+    private boolean simulateTick() {
+        profiler.begin(FrameProfiler.Section.TICK);
+        inputManager.poll();
+        if (replay != null) {
+            replay.step();
         } else {
-            showingFailScreen = true;
-            failStartTime = System.currentTimeMillis();
-            showingQuiz = false;
+            tickInput.set(
+                    inputManager.isActive(KeyCode.LEFT),
+                    inputManager.isActive(KeyCode.RIGHT),
+                    inputManager.isActive(KeyCode.UP),
+                    inputManager.isActive(KeyCode.DOWN),
+                    inputManager.isActive(KeyCode.ENTER)
+            );
+            world.tick(tickInput);
+            if (inputLog != null) {
+                inputLog.record(tickInput, world);
+            }
         }
+        profiler.end(FrameProfiler.Section.TICK);
+        return !world.isFailScreenExpired() && (replay == null || !replay.isFinished());
     }
 
     /**
-     * Renders the game based on current game state.
+     * Leaves gameplay after the simulation stopped: returns to the menu once the fail screen
+     * has run out, and pauses when a replay ends so the player can take over from there.
+     * Runs on the JavaFX thread.
      */
-    private void render() {
-        gc.clearRect(CLEAR_X, CLEAR_Y, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-
-        switch (gameState) {
-            case MENU:
-                menu.render(gc);
-                break;
-            case PLAYING:
-                renderGame();
-                break;
-            case PAUSED:
-                renderGame();
-                renderPauseScreen();
-                break;
+    private void handleSimulationHalt() {
+        if (gameState != GameState.PLAYING) {
+            return;
         }
+        if (simulation != null) {
+            simulation.deactivate();
+        }
+        if (world.isFailScreenExpired()) {
+            endReplay();
+            finishInputLog();
+            gameState = GameState.MENU;
+            menu.setMainMenuOptions();
+            world.reset();
+            setSaveStatus(SaveStatus.NONE);
+        } else if (replay != null && replay.isFinished()) {
+            endReplay();
+            gameState = GameState.PAUSED;
+            menu.setPauseMenuOptions();
+        }
+        syncSimulation();
+        refresh();
     }
 
     /**
-     * Renders the main game screen including background, score, platforms, items, and player.
+     * Writes the frame profile to the CSV file named by the {@code persianrug.profile.csv}
+     * system property, if it is set.
      */
-    private void renderGame() {
-        if (backgroundImage != null) {
-            double bgX = -camera.getX() * PARALLAX_X;
-            double bgY = -camera.getY() * PARALLAX_Y;
-
-            for (double y = bgY % backgroundImage.getHeight();
-                 y < Constants.WINDOW_HEIGHT;
-                 y += backgroundImage.getHeight()) {
-
-                for (double x = bgX % backgroundImage.getWidth();
-                     x < Constants.WINDOW_WIDTH;
-                     x += backgroundImage.getWidth()) {
-
-                    gc.drawImage(backgroundImage, x, y,
-                            backgroundImage.getWidth(), backgroundImage.getHeight());
-                }
-            }
-        }
-
-        gc.setFill(new Color(0, 0, 0, OVERLAY_OPACITY));
-        gc.fillRect(SCORE_BOX_X, SCORE_BOX_Y, SCORE_BOX_WIDTH, SCORE_BOX_HEIGHT);
-        gc.setFill(Color.WHITE);
-        gc.setFont(new Font("Arial Bold", SCORE_FONT_SIZE));
-        gc.setTextAlign(TextAlignment.LEFT);
-        gc.fillText("Score: " + correctAnswers + "/" + totalQuestions, SCORE_TEXT_X, SCORE_TEXT_Y);
-
-        gc.save();
-        gc.translate(-camera.getX(), -camera.getY());
-
-        for (Platform platform : platforms) {
-            platform.render(gc);
-        }
-
-        for (Item item : items) {
-            item.render(gc);
-        }
-
-        player.render(gc);
-
-        gc.restore();
-
-        if (showingQuiz && currentQuizItem != null) {
-            renderQuiz();
-        } else if (showingFailScreen) {
-            renderFailScreen();
+    private void writeProfile() {
+        String path = System.getProperty(PROFILE_CSV_PROPERTY);
+        if (path == null || path.isBlank()) {
+            return;
         }
-
-        if (correctAnswers == totalQuestions) {
-            renderCompletionMessage();
+        try {
+            profiler.writeCsv(Path.of(path));
+            GameLogger.info(() -> "Frame profile written to " + path);
+        } catch (IOException e) {
+            GameLogger.error("Error writing frame profile: " + e.getMessage());
         }
     }
 
     /**
-     * Renders the quiz interface including question and options.
-     */
-    private void renderQuiz() {
-        gc.setFill(new Color(0, 0, 0, OVERLAY_OPACITY));
-        gc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-
-        gc.setFill(Color.WHITE);
-        gc.setFont(new Font("Arial", QUIZ_FONT_SIZE));
-        gc.setTextAlign(TextAlignment.CENTER);
-
-        Quiz quiz = currentQuizItem.getQuiz();
-        gc.fillText(quiz.getQuestion(),
-                (double) Constants.WINDOW_WIDTH / 2, (double) Constants.WINDOW_HEIGHT / 2 - QUIZ_QUESTION_Y_OFFSET);
-
-        String[] options = quiz.getOptions();
-        for (int i = 0; i < options.length; i++) {
-            if (i == selectedOption) {
-                gc.setFill(Color.YELLOW);
-            } else {
-                gc.setFill(Color.WHITE);
-            }
-            gc.fillText((i + 1) + ". " + options[i],
-                    (double) Constants.WINDOW_WIDTH / 2,
-                    (double) Constants.WINDOW_HEIGHT / 2 + i * QUIZ_OPTION_Y_SPACING);
-        }
-
-        gc.setFill(Color.LIGHTGRAY);
-        gc.setFont(new Font("Arial", INSTRUCTION_FONT_SIZE));
-        gc.fillText("Use UP/DOWN to select, ENTER to answer",
-                (double) Constants.WINDOW_WIDTH / 2, (double) Constants.WINDOW_HEIGHT / 2 + QUIZ_INSTRUCTION_Y_OFFSET);
-    }
-
-    /**
-     * Renders the failure screen when a quiz is answered incorrectly.
-     */
-    private void renderFailScreen() {
-        gc.setFill(new Color(0, 0, 0, FAIL_OVERLAY_OPACITY));
-        gc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-
-        gc.setFill(Color.RED);
-        gc.setFont(new Font("Arial", FAIL_FONT_SIZE));
-        gc.setTextAlign(TextAlignment.CENTER);
-        gc.fillText("Failed!", (double) Constants.WINDOW_WIDTH / 2, (double) Constants.WINDOW_HEIGHT / 2);
-
-        gc.setFill(Color.WHITESMOKE);
-        gc.setFont(new Font("Arial", FAIL_MESSAGE_FONT_SIZE));
-        long remainingTime = (FAIL_SCREEN_DURATION - (System.currentTimeMillis() - failStartTime)) / 1000 + 1;
-        gc.fillText("Returning to menu in " + remainingTime + " seconds",
-                (double) Constants.WINDOW_WIDTH / 2, (double) Constants.WINDOW_HEIGHT / 2 + FAIL_MESSAGE_Y_OFFSET);
-    }
-
-    /**
-     * Renders the pause screen overlay.
+     * Gets the frame profiler timing the game loop.
+     *
+     * @return the profiler
      */
-    private void renderPauseScreen() {
-        gc.setFill(new Color(0, 0, 0, 0.5));
-        gc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-
-        menu.render(gc);
+    public FrameProfiler getProfiler() {
+        return profiler;
     }
 
     /**
-     * Renders the completion message when all quizzes are answered correctly.
+     * Gets the simulation driven by this engine.
+     *
+     * @return the game world
      */
-    private void renderCompletionMessage() {
-        gc.setFill(new Color(0, 0, 0, FAIL_OVERLAY_OPACITY));
-        gc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-
-        gc.setFill(Color.GOLD);
-        gc.setFont(new Font("Arial Bold", COMPLETION_TITLE_FONT_SIZE));
-        gc.setTextAlign(TextAlignment.CENTER);
-        gc.fillText("Congratulations!", (double) Constants.WINDOW_WIDTH / 2,
-                (double) Constants.WINDOW_HEIGHT / 2 - COMPLETION_TITLE_Y_OFFSET);
-
-        gc.setFill(Color.WHITE);
-        gc.setFont(new Font("Arial", COMPLETION_TEXT_FONT_SIZE));
-        gc.fillText("You've mastered Java OOP!", (double) Constants.WINDOW_WIDTH / 2,
-                (double) Constants.WINDOW_HEIGHT / 2 + COMPLETION_TEXT_Y_OFFSET);
-        gc.fillText("20/20 Correct Answers", (double) Constants.WINDOW_WIDTH / 2,
-                (double) Constants.WINDOW_HEIGHT / 2 + COMPLETION_SCORE_Y_OFFSET);
+    public GameWorld getWorld() {
+        return world;
     }
 
     /**
-     * Checks for collisions between the player and game objects.
-     * This includes ground collision and platform collisions.
+     * Gets the drawn and culled object counts of the last rendered frame.
+     *
+     * @return the render statistics
      */
-    private void checkCollisions() {
-        player.setOnGround(false);
-
-        // Check ground collision
-        if (player.getY() + player.getHeight() >= Constants.LEVEL_HEIGHT - GROUND_OFFSET) {
-            player.setOnGround(true);
-        }
-
-        // Check platform collisions
-        for (Platform platform : platforms) {
-            if (player.intersects(platform)) {
-                player.handlePlatformCollision(platform);
-            }
-        }
+    public RenderStats getRenderStats() {
+        return renderer.getRenderStats();
     }
 
     /**
-     * Resets the game state to its initial conditions.
-     * This includes:
-     * - Resetting quiz-related flags and counters
-     * - Creating a new player at the starting position
-     * - Reinitializing collectible items
+     * Gets the progress of the most recent save request.
+     *
+     * @return the save status
      */
-    private void resetGame() {
-        // Reset quiz state
-        showingQuiz = false;
-        showingFailScreen = false;
-        currentQuizItem = null;
-        selectedOption = 0;
-        correctAnswers = 0;
-        gameCompleted = false;
-
-        // Reset player position
-        player = new Player(
-                INITIAL_PLAYER_X,
-                Constants.LEVEL_HEIGHT - Constants.PLAYER_HEIGHT - GROUND_OFFSET
-        );
-
-        // Reset items
-        items.clear();
-        initializeItems();
+    public SaveStatus getSaveStatus() {
+        return saveStatus;
     }
 
-    /**
-     * Initializes all platforms in the game world.
-     * Creates a complex layout of platforms for the player to navigate,
-     * arranged in multiple sections with varying patterns.
-     */
-    private void initializePlatforms() {
-        platforms = new ArrayList<>();
-
-        // Ground platform
-        platforms.add(new Platform(0, GROUND_PLATFORM_Y, Constants.LEVEL_WIDTH, GROUND_PLATFORM_HEIGHT));
-
-        // Initial ascending platforms
-        for (int i = 0; i < 3; i++) {
-            platforms.add(new Platform(
-                    INITIAL_PLATFORM_START_X + (i * INITIAL_PLATFORM_X_STEP),
-                    INITIAL_PLATFORM_START_Y - (i * INITIAL_PLATFORM_Y_STEP),
-                    Constants.PLATFORM_WIDTH,
-                    Constants.PLATFORM_HEIGHT
-            ));
-        }
-
-        // Section 1: Ascending platforms with alternating sub-platforms
-        for (int i = 0; i < SECTION1_COUNT; i++) {
-            platforms.add(new Platform(
-                    SECTION1_START_X + (i * SECTION1_X_SPACING),
-                    SECTION1_START_Y - (i * SECTION1_Y_SPACING),
-                    Constants.PLATFORM_WIDTH - SECTION1_WIDTH_REDUCTION,
-                    Constants.PLATFORM_HEIGHT
-            ));
-
-            if (i % 2 == 0) {
-                platforms.add(new Platform(
-                        SECTION1_START_X + (i * SECTION1_X_SPACING) + SECTION1_SUB_X_OFFSET,
-                        SECTION1_START_Y - (i * SECTION1_Y_SPACING) + SECTION1_SUB_Y_OFFSET,
-                        Constants.PLATFORM_WIDTH - SECTION1_SUB_WIDTH_REDUCTION,
-                        Constants.PLATFORM_HEIGHT
-                ));
-            }
-        }
-
-        // Section 2: Descending platforms with alternating sub-platforms
-        for (int i = 0; i < SECTION2_COUNT; i++) {
-            platforms.add(new Platform(
-                    SECTION2_START_X - (i * SECTION2_X_SPACING),
-                    SECTION2_START_Y - (i * SECTION2_Y_SPACING),
-                    Constants.PLATFORM_WIDTH - SECTION2_WIDTH_REDUCTION,
-                    Constants.PLATFORM_HEIGHT
-            ));
-
-            if (i % 2 == 0) {
-                platforms.add(new Platform(
-                        SECTION2_START_X - (i * SECTION2_X_SPACING) - SECTION2_SUB_X_OFFSET,
-                        SECTION2_START_Y - (i * SECTION2_Y_SPACING) + SECTION2_SUB_Y_OFFSET,
-                        Constants.PLATFORM_WIDTH - SECTION2_SUB_WIDTH_REDUCTION,
-                        Constants.PLATFORM_HEIGHT
-                ));
-            }
-        }
-
-        // Section 3: Ascending platforms with alternating sub-platforms
-        for (int i = 0; i < SECTION3_COUNT; i++) {
-            platforms.add(new Platform(
-                    SECTION3_START_X + (i * SECTION3_X_SPACING),
-                    SECTION3_START_Y - (i * SECTION3_Y_SPACING),
-                    Constants.PLATFORM_WIDTH - SECTION3_WIDTH_REDUCTION,
-                    Constants.PLATFORM_HEIGHT
-            ));
-
-            if (i % 2 == 1) {
-                platforms.add(new Platform(
-                        SECTION3_START_X + (i * SECTION3_X_SPACING) + SECTION3_SUB_X_OFFSET,
-                        SECTION3_START_Y - (i * SECTION3_Y_SPACING) - SECTION3_SUB_Y_OFFSET,
-                        Constants.PLATFORM_WIDTH - SECTION3_SUB_WIDTH_REDUCTION,
-                        Constants.PLATFORM_HEIGHT
-                ));
-            }
-        }
-
-        // Section 4: Descending platforms with alternating sub-platforms
-        for (int i = 0; i < SECTION4_COUNT; i++) {
-            platforms.add(new Platform(
-                    SECTION4_START_X - (i * SECTION4_X_SPACING),
-                    SECTION4_START_Y - (i * SECTION4_Y_SPACING),
-                    Constants.PLATFORM_WIDTH - SECTION4_WIDTH_REDUCTION,
-                    Constants.PLATFORM_HEIGHT
-            ));
-
-            if (i % 2 == 0) {
-                platforms.add(new Platform(
-                        SECTION4_START_X - (i * SECTION4_X_SPACING) - SECTION4_SUB_X_OFFSET,
-                        SECTION4_START_Y - (i * SECTION4_Y_SPACING) + SECTION4_SUB_Y_OFFSET,
-                        Constants.PLATFORM_WIDTH - SECTION4_SUB_WIDTH_REDUCTION,
-                        Constants.PLATFORM_HEIGHT
-                ));
-            }
-        }
-
-        // Section 5: Zig-zag platforms with periodic sub-platforms
-        for (int i = 0; i < SECTION5_COUNT; i++) {
-            double xOffset = (i % 2 == 0) ? -SECTION5_ALTERNATE_OFFSET : SECTION5_ALTERNATE_OFFSET;
-            platforms.add(new Platform(
-                    SECTION5_START_X + xOffset + (i * SECTION5_X_SPACING),
-                    SECTION5_START_Y - (i * SECTION5_Y_SPACING),
-                    Constants.PLATFORM_WIDTH - SECTION5_WIDTH_REDUCTION,
-                    Constants.PLATFORM_HEIGHT
-            ));
-
-            if (i % 3 == 0) {
-                platforms.add(new Platform(
-                        SECTION5_START_X + xOffset + (i * SECTION5_X_SPACING) + SECTION5_SUB_X_OFFSET,
-                        SECTION5_START_Y - (i * SECTION5_Y_SPACING) - SECTION5_SUB_Y_OFFSET,
-                        Constants.PLATFORM_WIDTH - SECTION5_SUB_WIDTH_REDUCTION,
-                        Constants.PLATFORM_HEIGHT
-                ));
-            }
-        }
-
-        // Section 6: Final ascending platforms
-        for (int i = 0; i < SECTION6_COUNT; i++) {
-            platforms.add(new Platform(
-                    SECTION6_START_X + (i * SECTION6_X_SPACING),
-                    SECTION6_START_Y - (i * SECTION6_Y_SPACING),
-                    Constants.PLATFORM_WIDTH - SECTION6_WIDTH_REDUCTION,
-                    Constants.PLATFORM_HEIGHT
-            ));
-        }
-
-        // Final platforms
-        platforms.add(new Platform(FINAL_PLATFORM1_X, FINAL_PLATFORM1_Y,
-                Constants.PLATFORM_WIDTH, Constants.PLATFORM_HEIGHT));
-        platforms.add(new Platform(FINAL_PLATFORM2_X, FINAL_PLATFORM2_Y,
-                Constants.PLATFORM_WIDTH - FINAL_OFFSET1_X, Constants.PLATFORM_HEIGHT));
-        platforms.add(new Platform(FINAL_PLATFORM3_X, FINAL_PLATFORM3_Y,
-                Constants.PLATFORM_WIDTH - FINAL_OFFSET1_X, Constants.PLATFORM_HEIGHT));
-
-        platforms.add(new Platform(FINAL_PLATFORM2_X, FINAL_PLATFORM4_Y,
-                Constants.PLATFORM_WIDTH - FINAL_OFFSET2_X, Constants.PLATFORM_HEIGHT));
-        platforms.add(new Platform(FINAL_PLATFORM5_X, FINAL_PLATFORM5_Y,
-                Constants.PLATFORM_WIDTH - FINAL_OFFSET2_X, Constants.PLATFORM_HEIGHT));
-        platforms.add(new Platform(FINAL_PLATFORM6_X, FINAL_PLATFORM6_Y,
-                Constants.PLATFORM_WIDTH - FINAL_OFFSET2_X, Constants.PLATFORM_HEIGHT));
-
-        platforms.add(new Platform(FINAL_PLATFORM7_X, FINAL_PLATFORM7_Y,
-                Constants.PLATFORM_WIDTH - FINAL_OFFSET3_X, Constants.PLATFORM_HEIGHT));
-        platforms.add(new Platform(FINAL_PLATFORM8_X, FINAL_PLATFORM8_Y,
-                Constants.PLATFORM_WIDTH - FINAL_OFFSET3_X, Constants.PLATFORM_HEIGHT));
-
-        platforms.add(new Platform(FINAL_PLATFORM9_X, FINAL_PLATFORM8_Y,
-                Constants.PLATFORM_WIDTH - FINAL_OFFSET3_X, Constants.PLATFORM_HEIGHT));
-        platforms.add(new Platform(FINAL_PLATFORM10_X, FINAL_PLATFORM10_Y,
-                Constants.PLATFORM_WIDTH - FINAL_OFFSET3_X, Constants.PLATFORM_HEIGHT));
-        platforms.add(new Platform(FINAL_PLATFORM11_X, FINAL_PLATFORM11_Y,
-                Constants.PLATFORM_WIDTH - FINAL_OFFSET4_X, Constants.PLATFORM_HEIGHT));
-
-        platforms.add(new Platform(FINAL_PLATFORM12_X, FINAL_PLATFORM12_Y,
-                Constants.PLATFORM_WIDTH - FINAL_OFFSET4_X, Constants.PLATFORM_HEIGHT));
-        platforms.add(new Platform(FINAL_PLATFORM13_X, FINAL_PLATFORM12_Y,
-                Constants.PLATFORM_WIDTH - FINAL_OFFSET5_X, Constants.PLATFORM_HEIGHT));
-        platforms.add(new Platform(FINAL_PLATFORM14_X, FINAL_PLATFORM12_Y,
-                Constants.PLATFORM_WIDTH - FINAL_OFFSET5_X, Constants.PLATFORM_HEIGHT));
-
-        platforms.add(new Platform(FINAL_PLATFORM15_X, FINAL_PLATFORM12_Y,
-                Constants.PLATFORM_WIDTH * FINAL_WIDTH_MULTIPLIER, Constants.PLATFORM_HEIGHT));
-    }
-
-    /**
-     * Initializes the items with predefined positions, images, and quiz data.
-     * Each item is associated with a quiz question and displayed at specific coordinates.
-     */
-    private void initializeItems() {
-        // Total number of questions in the quiz
-        totalQuestions = 20;
-
-        // Define quiz questions with options and correct answers
-        Quiz[] quizzes = {
-                new Quiz("Which keyword is used to inherit a class in Java?",
-                        new String[]{"extends", "implements", "inherits", "using"}, 0),
-                new Quiz("What type of inheritance is supported by Java?",
-                        new String[]{"Multiple", "Single", "Hybrid", "All of above"}, 1),
-                new Quiz("Which keyword is used to declare an abstract class?",
-                        new String[]{"abstract", "virtual", "sealed", "extends"}, 0),
-                new Quiz("Can abstract class have constructor in Java?",
-                        new String[]{"Yes", "No", "Depends on JVM", "Only static"}, 0),
-                new Quiz("Can an interface contain concrete methods?",
-                        new String[]{"No", "Yes, it can", "Only static", "Only final"}, 1),
-                new Quiz("Can static methods exist in non-static inner classes?",
-                        new String[]{"Yes", "No", "Only if final", "Depends on JVM"}, 1),
-                new Quiz("When calling overridden method on a subclass object, which is executed?",
-                        new String[]{"Superclass version", "Subclass version", "Both versions", "Random version"}, 1),
-                new Quiz("What concept allows treating a derived class object as base class object?",
-                        new String[]{"Inheritance", "Encapsulation", "Upcasting", "Abstraction"}, 2),
-                new Quiz("What symbol is used for generic type parameter?",
-                        new String[]{"<>", "{}", "[]", "()"}, 0),
-                new Quiz("What is the time complexity of selection sort?",
-                        new String[]{"O(n)", "O(n log n)", "O(n²)", "O(1)"}, 2),
-                new Quiz("What type of Queue allows addition and removal from both ends?",
-                        new String[]{"Priority Queue", "Circular Queue", "Deque", "Simple Queue"}, 2),
-                new Quiz("Which interface is parent of Set interface?",
-                        new String[]{"List", "Collection", "Map", "Queue"}, 1),
-                new Quiz("What symbol is used for wildcards in generics?",
-                        new String[]{"*", "?", "@", "$"}, 1),
-                new Quiz("When can a local inner class access a local variable?",
-                        new String[]{"If static", "If final/effectively final", "If private", "If public"}, 1),
-                new Quiz("What is ArrayList's search complexity?",
-                        new String[]{"O(1)", "O(n)", "O(log n)", "O(n²)"}, 1),
-                new Quiz("QuickSort's average complexity is:",
-                        new String[]{"O(n)", "O(n log n)", "O(n²)", "O(log n)"}, 1),
-                new Quiz("Which collection type doesn't allow duplicates?",
-                        new String[]{"ArrayList", "LinkedList", "HashSet", "Vector"}, 2),
-                new Quiz("What is the purpose of generics in Java?",
-                        new String[]{"Code reusability", "Type safety", "Better performance", "Memory management"}, 1),
-                new Quiz("Which collection implementation automatically sorts its elements?",
-                        new String[]{"ArrayList", "LinkedList", "PriorityQueue", "Vector"}, 2),
-                new Quiz("Who teaches Fall COMP2522? in 2024",
-                        new String[]{"Asif", "Brenda", "Alireza", "Chris"}, 3)
-        };
-
-        // Add items with positions, images, and corresponding quizzes
-        final double[][] positions = {
-                {1400.0, 6100.0}, {2000.0, 5600.0}, {2800.0, 5300.0}, {3400.0, 5100.0},
-                {3000.0, 4550.0}, {2600.0, 4300.0}, {2000.0, 3950.0}, {2400.0, 3700.0},
-                {2800.0, 3550.0}, {3200.0, 3350.0}, {6500.0, 950.0}, {5300.0, 330.0},
-                {4700.0, 320.0}, {4100.0, 320.0}, {3500.0, 310.0}, {2900.0, 300.0},
-                {2300.0, 250.0}, {1700.0, 250.0}, {1100.0, 250.0}, {200.0, 250.0}
-        };
-
-        for (int i = 0; i < quizzes.length; i++) {
-            items.add(new Item(positions[i][0], positions[i][1], "/images/symbol.png", quizzes[i]));
-        }
-    }
     /**
      * Starts the game loop animation timer.
-     * This begins the main game execution cycle.
+     * This begins the main game execution cycle; the timer pauses itself on static screens.
      */
     public void start() {
-        gameLoop.start();
+        startRecording();
+        if (simulation != null) {
+            simulation.start();
+        }
+        if (replay != null) {
+            gameState = GameState.PLAYING;
+        }
+        running = true;
+        syncSimulation();
+        startLoop();
     }
 
     /**
@@ -946,6 +680,14 @@ public class GameEngine {
      * This halts the game execution cycle.
      */
     public void stop() {
-        gameLoop.stop();
+        running = false;
+        stopLoop();
+        if (simulation != null) {
+            simulation.shutdown();
+        }
+        writeProfile();
+        finishInputLog();
+        stopRecording();
+        GameLogger.flush();
     }
 }
@@ -0,0 +1,489 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Item;
+import com.persianrug.entity.Platform;
+import com.persianrug.entity.Quiz;
+import com.persianrug.utils.Constants;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws the game world, menus and overlays onto a JavaFX canvas.
+ * Fonts, colors and text are prepared ahead of time and reused, so that drawing
+ * a frame in a steady state does not allocate. While paused, the game frame is
+ * captured once and the pause menu is drawn over that image on later frames.
+ *
+ * @author Homayoun Khoshi, Juhyun Park
+ * @version 2024
+ */
+public class GameRenderer {
+    private static final double CLEAR_X = 0;
+    private static final double CLEAR_Y = 0;
+    private static final double PARALLAX_X = 0.5;
+    private static final double PARALLAX_Y = 0.3;
+    private static final double SCORE_BOX_X = 10;
+    private static final double SCORE_BOX_Y = 10;
+    private static final double SCORE_BOX_WIDTH = 150;
+    private static final double SCORE_BOX_HEIGHT = 40;
+    private static final double SCORE_TEXT_X = 20;
+    private static final double SCORE_TEXT_Y = 40;
+    private static final int SCORE_FONT_SIZE = 24;
+    private static final double OVERLAY_OPACITY = 0.7;
+    private static final double PAUSE_OVERLAY_OPACITY = 0.5;
+    private static final double QUIZ_QUESTION_Y_OFFSET = 100;
+    private static final double QUIZ_OPTION_Y_SPACING = 40;
+    private static final double QUIZ_INSTRUCTION_Y_OFFSET = 200;
+    private static final int QUIZ_FONT_SIZE = 24;
+    private static final int INSTRUCTION_FONT_SIZE = 16;
+    private static final double FAIL_OVERLAY_OPACITY = 0.8;
+    private static final int FAIL_FONT_SIZE = 70;
+    private static final int FAIL_MESSAGE_FONT_SIZE = 20;
+    private static final double FAIL_MESSAGE_Y_OFFSET = 50;
+    private static final int COMPLETION_TITLE_FONT_SIZE = 72;
+    private static final int COMPLETION_TEXT_FONT_SIZE = 36;
+    private static final double COMPLETION_TITLE_Y_OFFSET = 60;
+    private static final double COMPLETION_TEXT_Y_OFFSET = 20;
+    private static final double COMPLETION_SCORE_Y_OFFSET = 70;
+    private static final int QUIZ_OPTIONS_COUNT = 4;
+    private static final double SAVE_STATUS_Y_RATIO = 0.85;
+    private static final double CENTER_X = (double) Constants.WINDOW_WIDTH / 2;
+    private static final double CENTER_Y = (double) Constants.WINDOW_HEIGHT / 2;
+    private static final String QUIZ_INSTRUCTION_TEXT = "Use UP/DOWN to select, ENTER to answer";
+    private static final String FAIL_TEXT = "Failed!";
+    private static final String COMPLETION_TITLE_TEXT = "Congratulations!";
+    private static final String COMPLETION_TEXT = "You've mastered Java OOP!";
+
+    private static final Color OVERLAY_COLOR = new Color(0, 0, 0, OVERLAY_OPACITY);
+    private static final Color FAIL_OVERLAY_COLOR = new Color(0, 0, 0, FAIL_OVERLAY_OPACITY);
+    private static final Color PAUSE_OVERLAY_COLOR = new Color(0, 0, 0, PAUSE_OVERLAY_OPACITY);
+    private static final Font SCORE_FONT = new Font("Arial Bold", SCORE_FONT_SIZE);
+    private static final Font QUIZ_FONT = new Font("Arial", QUIZ_FONT_SIZE);
+    private static final Font INSTRUCTION_FONT = new Font("Arial", INSTRUCTION_FONT_SIZE);
+    private static final Font FAIL_FONT = new Font("Arial", FAIL_FONT_SIZE);
+    private static final Font FAIL_MESSAGE_FONT = new Font("Arial", FAIL_MESSAGE_FONT_SIZE);
+    private static final Font COMPLETION_TITLE_FONT = new Font("Arial Bold", COMPLETION_TITLE_FONT_SIZE);
+    private static final Font COMPLETION_TEXT_FONT = new Font("Arial", COMPLETION_TEXT_FONT_SIZE);
+
+    /**
+     * Copies the current contents of a canvas into an image.
+     */
+    @FunctionalInterface
+    public interface FrameCapture {
+        /**
+         * Captures the canvas.
+         *
+         * @param canvas the canvas to capture
+         * @param reuse  a previously captured image to draw into, or {@code null}
+         * @return the captured image
+         */
+        WritableImage capture(Canvas canvas, WritableImage reuse);
+    }
+
+    private final GraphicsContext gc;
+    private final ParallaxBackground background;
+    private final EntityRenderer entityRenderer = new EntityRenderer();
+    private final List<Platform> visiblePlatforms = new ArrayList<>();
+    private final List<Item> visibleItems = new ArrayList<>();
+    private final RenderStats renderStats = new RenderStats();
+    private final HudText scoreText = new HudText("Score: ", "/", "");
+    private final HudText completionScoreText = new HudText("", "/", " Correct Answers");
+    private final HudText countdownText = new HudText("Returning to menu in ", "", " seconds");
+    private final String[] optionLabels = new String[QUIZ_OPTIONS_COUNT];
+    private Quiz labelledQuiz = null;
+    private SaveStatus saveStatus = SaveStatus.NONE;
+    private boolean staticLayerCacheEnabled = false;
+    private StaticLayerCache staticLayerCache = null;
+    private GameWorld cachedWorld = null;
+    private FrameCapture frameCapture = (canvas, reuse) -> canvas.snapshot(null, reuse);
+    private WritableImage pausedFrame = null;
+    private boolean pausedFrameValid = false;
+    private FrameProfiler profiler = FrameProfiler.DISABLED;
+    private ProfilerOverlay profilerOverlay = null;
+    private boolean profilerOverlayVisible = false;
+
+    /**
+     * Constructs a GameRenderer drawing onto the given graphics context.
+     *
+     * @param gc              the graphics context of the game canvas
+     * @param backgroundImage the tiled background image, or {@code null} for none
+     */
+    public GameRenderer(final GraphicsContext gc, final Image backgroundImage) {
+        this(gc, new ParallaxBackground(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT));
+        if (backgroundImage != null) {
+            background.addLayer(backgroundImage, PARALLAX_X, PARALLAX_Y);
+        }
+    }
+
+    /**
+     * Constructs a GameRenderer drawing onto the given graphics context over a layered background.
+     *
+     * @param gc         the graphics context of the game canvas
+     * @param background the parallax layers drawn behind the world
+     */
+    public GameRenderer(final GraphicsContext gc, final ParallaxBackground background) {
+        this.gc = gc;
+        this.background = background;
+    }
+
+    /**
+     * Renders a frame for the given game state.
+     *
+     * @param gameState the current game state
+     * @param world     the simulation to draw
+     * @param camera    the camera following the player
+     * @param menu      the active menu
+     * @param alpha     how far the frame lies between the last two simulation ticks
+     */
+    public void render(final GameState gameState, final GameWorld world, final Camera camera,
+                       final Menu menu, final double alpha) {
+        profiler.begin(FrameProfiler.Section.RENDER);
+        gc.clearRect(CLEAR_X, CLEAR_Y, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+
+        switch (gameState) {
+            case MENU:
+                profiler.begin(FrameProfiler.Section.MENU);
+                menu.render(gc);
+                profiler.end(FrameProfiler.Section.MENU);
+                break;
+            case PLAYING:
+                renderGame(world, camera, alpha);
+                break;
+            case PAUSED:
+                renderPausedGame(world, camera, alpha);
+                profiler.begin(FrameProfiler.Section.PAUSE_OVERLAY);
+                renderPauseScreen(menu);
+                profiler.end(FrameProfiler.Section.PAUSE_OVERLAY);
+                break;
+        }
+        if (gameState != GameState.PAUSED) {
+            pausedFrameValid = false;
+        }
+        if (profilerOverlayVisible) {
+            profilerOverlay.render(gc, Constants.WINDOW_WIDTH);
+        }
+        profiler.end(FrameProfiler.Section.RENDER);
+    }
+
+    /**
+     * Attaches a profiler that times each part of the frame and can be shown as an overlay.
+     *
+     * @param profiler the profiler to record into
+     */
+    public void setProfiler(final FrameProfiler profiler) {
+        this.profiler = profiler;
+        this.profilerOverlay = new ProfilerOverlay(profiler);
+    }
+
+    /**
+     * Shows or hides the profiler overlay. Has no effect until a profiler is attached.
+     *
+     * @param visible {@code true} to draw the overlay on top of every frame
+     */
+    public void setProfilerOverlayVisible(final boolean visible) {
+        this.profilerOverlayVisible = visible && profilerOverlay != null;
+    }
+
+    /**
+     * Checks if the profiler overlay is drawn.
+     *
+     * @return {@code true} if the overlay is visible
+     */
+    public boolean isProfilerOverlayVisible() {
+        return profilerOverlayVisible;
+    }
+
+    /**
+     * Draws the game behind the pause menu. The first paused frame is rendered in full
+     * and captured; later frames only draw the captured image, since nothing moves.
+     *
+     * @param world  the simulation to draw
+     * @param camera the camera following the player
+     * @param alpha  how far the frame lies between the last two simulation ticks
+     */
+    private void renderPausedGame(final GameWorld world, final Camera camera, final double alpha) {
+        if (pausedFrameValid) {
+            gc.drawImage(pausedFrame, 0, 0);
+            return;
+        }
+        renderGame(world, camera, alpha);
+        pausedFrame = frameCapture.capture(gc.getCanvas(), pausedFrame);
+        pausedFrameValid = true;
+    }
+
+    /**
+     * Replaces how the paused game frame is captured.
+     * The default snapshots the canvas, which must run on the JavaFX application thread.
+     *
+     * @param frameCapture the capture to use
+     */
+    public void setFrameCapture(final FrameCapture frameCapture) {
+        this.frameCapture = frameCapture;
+        this.pausedFrameValid = false;
+    }
+
+    /**
+     * Renders the main game screen including background, score, platforms, items, and player.
+     *
+     * @param world  the simulation to draw
+     * @param camera the camera following the player
+     * @param alpha  how far the frame lies between the last two simulation ticks
+     */
+    private void renderGame(final GameWorld world, final Camera camera, final double alpha) {
+        profiler.begin(FrameProfiler.Section.RENDER_GAME);
+        double cameraX = camera.getInterpolatedX(alpha);
+        double cameraY = camera.getInterpolatedY(alpha);
+
+        background.render(gc, cameraX, cameraY);
+
+        gc.setFill(OVERLAY_COLOR);
+        gc.fillRect(SCORE_BOX_X, SCORE_BOX_Y, SCORE_BOX_WIDTH, SCORE_BOX_HEIGHT);
+        gc.setFill(Color.WHITE);
+        gc.setFont(SCORE_FONT);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.fillText(scoreText.get(world.getCorrectAnswers(), world.getTotalQuestions()),
+                SCORE_TEXT_X, SCORE_TEXT_Y);
+
+        // Translate into world space and back without gc.save(), which copies the state
+        gc.translate(-cameraX, -cameraY);
+
+        renderVisibleObjects(world, cameraX, cameraY);
+
+        entityRenderer.renderPlayer(gc, world.getPlayer(), alpha);
+
+        gc.setTransform(1, 0, 0, 1, 0, 0);
+
+        if (world.isShowingQuiz() && world.getCurrentQuizItem() != null) {
+            profiler.begin(FrameProfiler.Section.QUIZ_OVERLAY);
+            renderQuiz(world);
+            profiler.end(FrameProfiler.Section.QUIZ_OVERLAY);
+        } else if (world.isShowingFailScreen()) {
+            profiler.begin(FrameProfiler.Section.FAIL_OVERLAY);
+            renderFailScreen(world);
+            profiler.end(FrameProfiler.Section.FAIL_OVERLAY);
+        }
+
+        if (world.isGameCompleted()) {
+            profiler.begin(FrameProfiler.Section.COMPLETION_OVERLAY);
+            renderCompletionMessage(world);
+            profiler.end(FrameProfiler.Section.COMPLETION_OVERLAY);
+        }
+        profiler.end(FrameProfiler.Section.RENDER_GAME);
+    }
+
+    /**
+     * Draws the platforms and uncollected items that overlap the camera window.
+     * Candidates come from the spatial grids, so off-screen objects are never visited.
+     *
+     * @param world   the simulation to draw
+     * @param cameraX the x-coordinate of the camera
+     * @param cameraY the y-coordinate of the camera
+     */
+    private void renderVisibleObjects(final GameWorld world, final double cameraX, final double cameraY) {
+        renderStats.reset();
+        double maxX = cameraX + Constants.WINDOW_WIDTH;
+        double maxY = cameraY + Constants.WINDOW_HEIGHT;
+
+        int platformCount = world.getLevel().getPlatformCount();
+        if (staticLayerCacheEnabled) {
+            StaticLayerCache cache = staticLayerCacheFor(world);
+            cache.render(gc, cameraX, cameraY, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+            renderStats.recordTiles(cache.getLastTileCount());
+            platformCount = 0;
+        } else {
+            world.getPlatformIndex().query(cameraX, cameraY, maxX, maxY, visiblePlatforms);
+            for (int i = 0; i < visiblePlatforms.size(); i++) {
+                Platform platform = visiblePlatforms.get(i);
+                if (Camera.isInView(platform, cameraX, cameraY)) {
+                    entityRenderer.renderPlatform(gc, platform);
+                    renderStats.recordDrawn();
+                }
+            }
+        }
+
+        world.getItemIndex().query(cameraX, cameraY, maxX, maxY, visibleItems);
+        for (int i = 0; i < visibleItems.size(); i++) {
+            Item item = visibleItems.get(i);
+            if (!item.isCollected() && Camera.isInView(item, cameraX, cameraY)) {
+                entityRenderer.renderItem(gc, item);
+                renderStats.recordDrawn();
+            }
+        }
+
+        renderStats.recordCulled(platformCount + world.getItems().size() - renderStats.getDrawn());
+    }
+
+    /**
+     * Gets the static layer cache for a world, creating a new one when the world changes.
+     *
+     * @param world the world being drawn
+     * @return the cache of the world's platforms
+     */
+    private StaticLayerCache staticLayerCacheFor(final GameWorld world) {
+        if (world != cachedWorld) {
+            staticLayerCache = new StaticLayerCache(world.getPlatformIndex(),
+                    Constants.STATIC_TILE_SIZE, Constants.STATIC_TILE_CACHE_SIZE);
+            staticLayerCache.attachTo(world.getChunkManager());
+            cachedWorld = world;
+        }
+        return staticLayerCache;
+    }
+
+    /**
+     * Switches between drawing platforms one by one and drawing them from pre-drawn tiles.
+     * In tile mode the render statistics count tiles separately and cover only items as objects.
+     *
+     * @param enabled {@code true} to draw platforms from the static layer cache
+     */
+    public void setStaticLayerCacheEnabled(final boolean enabled) {
+        this.staticLayerCacheEnabled = enabled;
+        if (!enabled && cachedWorld != null) {
+            cachedWorld.getChunkManager().setChangeListener(null);
+            staticLayerCache = null;
+            cachedWorld = null;
+        }
+    }
+
+    /**
+     * Gets the parallax background drawn behind the world.
+     *
+     * @return the background layers
+     */
+    public ParallaxBackground getBackground() {
+        return background;
+    }
+
+    /**
+     * Renders the quiz interface including question and options.
+     *
+     * @param world the simulation holding the open quiz
+     */
+    private void renderQuiz(final GameWorld world) {
+        gc.setFill(OVERLAY_COLOR);
+        gc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+
+        gc.setFill(Color.WHITE);
+        gc.setFont(QUIZ_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+
+        Quiz quiz = world.getCurrentQuizItem().getQuiz();
+        gc.fillText(quiz.getQuestion(), CENTER_X, CENTER_Y - QUIZ_QUESTION_Y_OFFSET);
+
+        String[] options = labelOptions(quiz);
+        for (int i = 0; i < options.length; i++) {
+            if (i == world.getSelectedOption()) {
+                gc.setFill(Color.YELLOW);
+            } else {
+                gc.setFill(Color.WHITE);
+            }
+            gc.fillText(options[i], CENTER_X, CENTER_Y + i * QUIZ_OPTION_Y_SPACING);
+        }
+
+        gc.setFill(Color.LIGHTGRAY);
+        gc.setFont(INSTRUCTION_FONT);
+        gc.fillText(QUIZ_INSTRUCTION_TEXT, CENTER_X, CENTER_Y + QUIZ_INSTRUCTION_Y_OFFSET);
+    }
+
+    /**
+     * Gets the numbered option labels of a quiz, building them only when the quiz changes.
+     *
+     * @param quiz the quiz being shown
+     * @return the numbered option labels
+     */
+    private String[] labelOptions(final Quiz quiz) {
+        if (quiz != labelledQuiz) {
+            String[] options = quiz.getOptions();
+            for (int i = 0; i < optionLabels.length; i++) {
+                optionLabels[i] = (i + 1) + ". " + options[i];
+            }
+            labelledQuiz = quiz;
+        }
+        return optionLabels;
+    }
+
+    /**
+     * Renders the failure screen when a quiz is answered incorrectly.
+     *
+     * @param world the simulation holding the fail countdown
+     */
+    private void renderFailScreen(final GameWorld world) {
+        gc.setFill(FAIL_OVERLAY_COLOR);
+        gc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+
+        gc.setFill(Color.RED);
+        gc.setFont(FAIL_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.fillText(FAIL_TEXT, CENTER_X, CENTER_Y);
+
+        gc.setFill(Color.WHITESMOKE);
+        gc.setFont(FAIL_MESSAGE_FONT);
+        gc.fillText(countdownText.get(world.getFailSecondsRemaining()),
+                CENTER_X, CENTER_Y + FAIL_MESSAGE_Y_OFFSET);
+    }
+
+    /**
+     * Renders the pause screen overlay.
+     *
+     * @param menu the pause menu
+     */
+    private void renderPauseScreen(final Menu menu) {
+        gc.setFill(PAUSE_OVERLAY_COLOR);
+        gc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+
+        menu.render(gc);
+
+        String message = saveStatus.getMessage();
+        if (message != null) {
+            gc.setFill(Color.WHITE);
+            gc.setFont(INSTRUCTION_FONT);
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.fillText(message, CENTER_X, Constants.WINDOW_HEIGHT * SAVE_STATUS_Y_RATIO);
+        }
+    }
+
+    /**
+     * Sets the save status shown on the pause screen.
+     *
+     * @param saveStatus the status of the most recent save
+     */
+    public void setSaveStatus(final SaveStatus saveStatus) {
+        this.saveStatus = saveStatus;
+    }
+
+    /**
+     * Renders the completion message when all quizzes are answered correctly.
+     *
+     * @param world the simulation holding the score
+     */
+    private void renderCompletionMessage(final GameWorld world) {
+        gc.setFill(FAIL_OVERLAY_COLOR);
+        gc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+
+        gc.setFill(Color.GOLD);
+        gc.setFont(COMPLETION_TITLE_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.fillText(COMPLETION_TITLE_TEXT, CENTER_X, CENTER_Y - COMPLETION_TITLE_Y_OFFSET);
+
+        gc.setFill(Color.WHITE);
+        gc.setFont(COMPLETION_TEXT_FONT);
+        gc.fillText(COMPLETION_TEXT, CENTER_X, CENTER_Y + COMPLETION_TEXT_Y_OFFSET);
+        gc.fillText(completionScoreText.get(world.getCorrectAnswers(), world.getTotalQuestions()),
+                CENTER_X, CENTER_Y + COMPLETION_SCORE_Y_OFFSET);
+    }
+
+    /**
+     * Gets the drawn and culled object counts of the last rendered frame.
+     *
+     * @return the render statistics
+     */
+    public RenderStats getRenderStats() {
+        return renderStats;
+    }
+}
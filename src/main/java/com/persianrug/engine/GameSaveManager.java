@@ -1,11 +1,28 @@
 package com.persianrug.engine;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import com.persianrug.entity.Item;
+import com.persianrug.utils.GameEvents;
+import com.persianrug.utils.GameLogger;
 
 /**
- * Manages game save and load functionality using serialization.
+ * Manages game save and load functionality.
+ * Saves are stored in the binary format of {@link SaveCodec}; saves written by
+ * earlier versions with Java serialization are still read and converted on load.
+ * Saves are written to a temporary file, flushed to disk and then renamed over
+ * the save file, so a crash during a save never leaves a half-written save behind.
  *
  * @author Homayoun Khoshi
  * @version 2024
@@ -17,8 +34,27 @@ public class GameSaveManager {
      */
     private static final String SAVE_FILE = "game_save.dat";
 
+    /**
+     * The suffix of the temporary file a save is written to before it is renamed.
+     */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Writes saves one at a time on a background virtual thread, in the order they were requested.
+     */
+    private static final ExecutorService SAVE_EXECUTOR = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("game-save").factory());
+
+    /**
+     * The first bytes of a Java serialization stream, used to recognise old saves.
+     */
+    private static final int SERIALIZATION_MAGIC = 0xACED0005;
+
     /**
      * Represents the saved game state.
+     * A save is an immutable snapshot, so it can be written on another thread
+     * while the game keeps running. It remains {@link Serializable} only so that
+     * old save files can still be read.
      */
     public static class GameSave implements Serializable {
 
@@ -28,22 +64,22 @@ public class GameSaveManager {
         /**
          * The x-coordinate of the player.
          */
-        double playerX;
+        final double playerX;
 
         /**
          * The y-coordinate of the player.
          */
-        double playerY;
+        final double playerY;
 
         /**
          * The number of correct answers by the player.
          */
-        int correctAnswers;
+        final int correctAnswers;
 
         /**
          * Array indicating whether each item is collected.
          */
-        boolean[] collectedItems;
+        final boolean[] collectedItems;
 
         /**
          * Constructs a {@code GameSave} instance with the specified game state.
@@ -63,19 +99,102 @@ public class GameSaveManager {
                 this.collectedItems[i] = items.get(i).isCollected();
             }
         }
+
+        /**
+         * Constructs a {@code GameSave} instance from decoded save data.
+         *
+         * @param playerX        the x-coordinate of the player
+         * @param playerY        the y-coordinate of the player
+         * @param correctAnswers the number of correct answers by the player
+         * @param collectedItems whether each item is collected; the array is copied
+         */
+        GameSave(final double playerX, final double playerY,
+                 final int correctAnswers, final boolean[] collectedItems) {
+            this.playerX = playerX;
+            this.playerY = playerY;
+            this.correctAnswers = correctAnswers;
+            this.collectedItems = collectedItems.clone();
+        }
     }
 
     /**
-     * Saves the current game state to a file.
+     * Saves the current game state to a file, blocking until it is on disk.
      *
      * @param save the game state to be saved
      */
     public static void saveGame(final GameSave save) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(SAVE_FILE))) {
-            oos.writeObject(save);
-            System.out.println("Game saved successfully");
+        try {
+            writeSave(save, Paths.get(SAVE_FILE));
+            GameLogger.info("Game saved successfully");
         } catch (IOException e) {
-            System.err.println("Error saving game: " + e.getMessage());
+            GameLogger.error(() -> "Error saving game: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the game state to the save file on a background thread.
+     *
+     * @param save the game state to be saved
+     * @return a future completing once the save is on disk, or exceptionally if it failed
+     */
+    public static CompletableFuture<Void> saveGameAsync(final GameSave save) {
+        return saveGameAsync(save, Paths.get(SAVE_FILE));
+    }
+
+    /**
+     * Saves the game state to the given file on a background thread.
+     *
+     * @param save the game state to be saved
+     * @param file the file to save to
+     * @return a future completing once the save is on disk, or exceptionally if it failed
+     */
+    static CompletableFuture<Void> saveGameAsync(final GameSave save, final Path file) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                writeSave(save, file);
+                GameLogger.info("Game saved successfully");
+            } catch (IOException e) {
+                GameLogger.error(() -> "Error saving game: " + e.getMessage());
+                throw new UncheckedIOException(e);
+            }
+        }, SAVE_EXECUTOR);
+    }
+
+    /**
+     * Writes a save to a temporary file next to the target, forces it to disk and
+     * renames it over the target.
+     *
+     * @param save the game state to be saved
+     * @param file the file to save to
+     * @throws IOException if the save could not be written or moved into place
+     */
+    static void writeSave(final GameSave save, final Path file) throws IOException {
+        GameEvents.SaveWrite event = new GameEvents.SaveWrite();
+        event.begin();
+        Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer data = ByteBuffer.wrap(SaveCodec.encode(save));
+                event.bytes = data.remaining();
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            event.succeeded = true;
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            event.path = file.toString();
+            event.commit();
         }
     }
 
@@ -85,11 +204,70 @@ public class GameSaveManager {
      * @return the loaded game state, or {@code null} if loading fails
      */
     public static GameSave loadGame() {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(SAVE_FILE))) {
-            return (GameSave) ois.readObject();
+        return loadGame(Paths.get(SAVE_FILE));
+    }
+
+    /**
+     * Loads the game state from the given file.
+     * A save in the old serialized format is rewritten in the binary format.
+     *
+     * @param file the file to load from
+     * @return the loaded game state, or {@code null} if loading fails
+     */
+    static GameSave loadGame(final Path file) {
+        GameEvents.SaveLoad event = new GameEvents.SaveLoad();
+        event.begin();
+        try {
+            byte[] data = Files.readAllBytes(file);
+            event.bytes = data.length;
+            if (SaveCodec.isBinarySave(data)) {
+                GameSave save = SaveCodec.decode(data);
+                event.succeeded = true;
+                return save;
+            }
+            if (!isSerializedSave(data)) {
+                throw new IOException("Unrecognised save format");
+            }
+            GameSave save = readSerializedSave(data);
+            writeSave(save, file);
+            GameLogger.info("Migrated save to the binary format");
+            event.migrated = true;
+            event.succeeded = true;
+            return save;
         } catch (IOException | ClassNotFoundException e) {
-            System.err.println("Error loading game: " + e.getMessage());
+            GameLogger.error(() -> "Error loading game: " + e.getMessage());
             return null;
+        } finally {
+            event.path = file.toString();
+            event.commit();
+        }
+    }
+
+    /**
+     * Checks whether the data starts with a Java serialization header.
+     *
+     * @param data the file contents
+     * @return {@code true} if the data is a serialized object stream
+     */
+    private static boolean isSerializedSave(final byte[] data) {
+        return data.length >= Integer.BYTES && ByteBuffer.wrap(data).getInt() == SERIALIZATION_MAGIC;
+    }
+
+    /**
+     * Reads a save written with Java serialization by earlier versions of the game.
+     *
+     * @param data the file contents
+     * @return the save
+     * @throws IOException            if the stream is corrupt or not a save
+     * @throws ClassNotFoundException if the stream refers to an unknown class
+     */
+    private static GameSave readSerializedSave(final byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            Object save = ois.readObject();
+            if (!(save instanceof GameSave)) {
+                throw new IOException("Not a game save");
+            }
+            return (GameSave) save;
         }
     }
 
@@ -3,6 +3,8 @@ package com.persianrug.engine;
 /**
  * Represents the various states the game can be in.
  * This enum helps in controlling the game's flow and state transitions.
+ * Only animated states need a new frame on every pulse; the others are
+ * redrawn when input changes them.
  *
  * @author Homayoun Khoshi
  * @version 2024
@@ -11,20 +13,43 @@ public enum GameState {
     /**
      * Represents the main menu state.
      */
-    MENU,
+    MENU(false),
 
     /**
      * Represents the state where the game is actively being played.
      */
-    PLAYING,
+    PLAYING(true),
 
     /**
      * Represents the state where the game is paused.
      */
-    PAUSED,
+    PAUSED(false),
 
     /**
      * Represents the state where the game is saving progress.
      */
-    SAVE_GAME
+    SAVE_GAME(false);
+
+    /**
+     * Whether the screen changes on its own while in this state.
+     */
+    private final boolean animated;
+
+    /**
+     * Constructs a game state.
+     *
+     * @param animated whether the screen changes on its own while in this state
+     */
+    GameState(final boolean animated) {
+        this.animated = animated;
+    }
+
+    /**
+     * Checks if the screen changes on its own in this state and must be redrawn every pulse.
+     *
+     * @return {@code true} if the state needs continuous rendering
+     */
+    public boolean isAnimated() {
+        return animated;
+    }
 }
@@ -0,0 +1,636 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Item;
+import com.persianrug.entity.Platform;
+import com.persianrug.entity.Player;
+import com.persianrug.utils.Constants;
+import com.persianrug.utils.GameEvents;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The headless game simulation: level geometry, the player, collectible items,
+ * collision handling and the quiz state machine.
+ * It has no dependency on a window, canvas or input toolkit, so it can be stepped
+ * as fast as the machine allows; {@link GameEngine} drives it from the JavaFX
+ * game loop and draws its state. Platforms are streamed in chunks around the player
+ * by a {@link ChunkManager}, so levels may be far larger than what fits in memory at once.
+ * Collisions read platform and item bounds straight from {@link EntityBounds} tables; the game
+ * objects exist for drawing, quizzes and saves.
+ *
+ * @author Homayoun Khoshi, Juhyun Park
+ * @version 2024
+ */
+public class GameWorld {
+    private static final int QUIZ_OPTIONS_COUNT = 4;
+    private static final int QUIZ_INITIAL_OPTION = 0;
+    private static final int FAIL_SCREEN_SECONDS = 5;
+    private static final double GROUND_OFFSET = 20.0;
+    private static final long HASH_OFFSET = 0xcbf29ce484222325L;
+    private static final long HASH_PRIME = 0x100000001b3L;
+
+    private final LevelData level;
+    private Player player;
+    private final ChunkManager platformChunks;
+    private final EntityBounds platformStore;
+    private final List<Item> items = new ArrayList<>();
+
+    /**
+     * The bounds of the items, indexed like {@link #items}, with each item's collected flag.
+     */
+    private EntityStore itemStore;
+    private SpatialGrid<Item> itemGrid;
+    private boolean inputLatched = false;
+
+    /**
+     * The index of the item whose quiz is open, or {@code -1}.
+     */
+    private int quizItem = -1;
+    private boolean showingQuiz = false;
+    private int selectedOption = 0;
+    private boolean showingFailScreen = false;
+    private int failTicksRemaining = 0;
+    private int totalQuestions;
+    private int correctAnswers = 0;
+    private boolean gameCompleted = false;
+    private long tickCount = 0;
+    private long quizOpenedTick = 0;
+    private FrameProfiler profiler = FrameProfiler.DISABLED;
+
+    /**
+     * Constructs a GameWorld with the default level and the player at its spawn point.
+     *
+     * @throws UncheckedIOException if the default level cannot be loaded
+     */
+    public GameWorld() {
+        this(loadDefaultLevel());
+    }
+
+    /**
+     * Constructs a GameWorld for the given level with the player at its spawn point,
+     * streaming platforms with the default chunk size and memory budget.
+     *
+     * @param level the level to play
+     */
+    public GameWorld(final LevelData level) {
+        this(level, Constants.CHUNK_SIZE, Constants.CHUNK_MEMORY_BUDGET);
+    }
+
+    /**
+     * Constructs a GameWorld for the given level with the player at its spawn point.
+     *
+     * @param level        the level to play
+     * @param chunkSize    the side length of a streamed chunk in pixels
+     * @param memoryBudget the approximate number of bytes resident chunks may use
+     */
+    public GameWorld(final LevelData level, final double chunkSize, final long memoryBudget) {
+        this.level = level;
+        platformChunks = new ChunkManager(level, chunkSize, memoryBudget);
+        platformStore = level.getPlatformStore();
+        player = createPlayer(level.getSpawnX(), level.getSpawnY());
+        loadAroundPlayer();
+        initializeItems();
+    }
+
+    /**
+     * Loads the level played when none is specified.
+     *
+     * @return the default level
+     * @throws UncheckedIOException if the level cannot be loaded
+     */
+    private static LevelData loadDefaultLevel() {
+        try {
+            return LevelLoader.loadResource(LevelLoader.DEFAULT_LEVEL);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Advances the simulation by one fixed tick.
+     * While the fail screen is showing only its countdown advances; while a quiz is open
+     * the input drives the quiz selection; otherwise the player moves and collides.
+     *
+     * @param input the input held during this tick
+     */
+    public void tick(final TickInput input) {
+        tickCount++;
+        if (showingFailScreen) {
+            // The player stands still, so it must not be drawn between two older positions
+            player.updatePreviousPosition();
+            if (failTicksRemaining > 0) {
+                failTicksRemaining--;
+            }
+            return;
+        }
+
+        if (!showingQuiz) {
+            handleGameplayInput(input);
+            checkItemCollisions();
+            player.update();
+            platformChunks.update(player.getX() + player.getWidth() / 2, player.getY() + player.getHeight() / 2,
+                    player.getVelocityX(), player.getVelocityY());
+            profiler.begin(FrameProfiler.Section.COLLISIONS);
+            checkCollisions();
+            profiler.end(FrameProfiler.Section.COLLISIONS);
+        } else {
+            player.updatePreviousPosition();
+            handleQuizInput(input);
+        }
+    }
+
+    /**
+     * Applies player input during regular gameplay.
+     *
+     * @param input the input held during this tick
+     */
+    private void handleGameplayInput(final TickInput input) {
+        if (input.isLeft()) {
+            player.moveLeft();
+        }
+        if (input.isRight()) {
+            player.moveRight();
+        }
+        if (input.isUp() && !inputLatched) {
+            player.jump();
+            inputLatched = true;
+        }
+        if (!input.isUp()) {
+            inputLatched = false;
+        }
+    }
+
+    /**
+     * Opens the quiz of the first uncollected item the player touches.
+     * Package-private so benchmarks can time it on its own.
+     */
+    void checkItemCollisions() {
+        double x = player.getX();
+        double y = player.getY();
+        double width = player.getWidth();
+        double height = player.getHeight();
+        int count = itemGrid.queryIndices(x, y, x + width, y + height);
+        for (int i = 0; i < count; i++) {
+            int index = itemGrid.getFoundIndex(i);
+            if (!itemStore.hasFlag(index, EntityStore.FLAG_COLLECTED)
+                    && itemStore.intersects(index, x, y, width, height)) {
+                quizItem = index;
+                showingQuiz = true;
+                selectedOption = QUIZ_INITIAL_OPTION;
+                quizOpenedTick = tickCount;
+                GameEvents.QuizOpen event = new GameEvents.QuizOpen();
+                if (event.shouldCommit()) {
+                    event.question = items.get(index).getQuiz().getQuestion();
+                    event.tick = tickCount;
+                    event.commit();
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * Applies player input while a quiz is open.
+     *
+     * @param input the input held during this tick
+     */
+    private void handleQuizInput(final TickInput input) {
+        if (input.isUp() && !inputLatched) {
+            selectedOption = (selectedOption - 1 + QUIZ_OPTIONS_COUNT) % QUIZ_OPTIONS_COUNT;
+            inputLatched = true;
+        } else if (input.isDown() && !inputLatched) {
+            selectedOption = (selectedOption + 1) % QUIZ_OPTIONS_COUNT;
+            inputLatched = true;
+        } else if (input.isEnter() && !inputLatched) {
+            processQuizAnswer();
+            inputLatched = true;
+        }
+
+        if (!input.isUp() && !input.isDown() && !input.isEnter()) {
+            inputLatched = false;
+        }
+    }
+
+    /**
+     * Processes the player's quiz answer and updates the score or starts the fail countdown.
+     */
+    private void processQuizAnswer() {
+        Item currentQuizItem = items.get(quizItem);
+        boolean correct = currentQuizItem.getQuiz().checkAnswer(selectedOption);
+        GameEvents.QuizAnswer event = new GameEvents.QuizAnswer();
+        if (event.shouldCommit()) {
+            event.question = currentQuizItem.getQuiz().getQuestion();
+            event.selectedOption = selectedOption;
+            event.correct = correct;
+            event.ticksOpen = tickCount - quizOpenedTick;
+            event.commit();
+        }
+
+        if (correct) {
+            collectItem(quizItem);
+            showingQuiz = false;
+            quizItem = -1;
+            correctAnswers++;
+
+            if (correctAnswers == totalQuestions) {
+                gameCompleted = true;
+            }
+        } else {
+            showingFailScreen = true;
+            failTicksRemaining = FAIL_SCREEN_SECONDS * Constants.TICKS_PER_SECOND;
+            showingQuiz = false;
+        }
+    }
+
+    /**
+     * Checks for collisions between the player and the ground and platforms.
+     * Package-private so benchmarks can time it on its own.
+     */
+    void checkCollisions() {
+        player.setOnGround(false);
+
+        // Check ground collision
+        if (player.getY() + player.getHeight() >= level.getHeight() - GROUND_OFFSET) {
+            player.setOnGround(true);
+        }
+
+        // Check platform collisions against the platforms near the swept player bounds
+        double minX = Math.min(player.getPreviousX(), player.getX());
+        double minY = Math.min(player.getPreviousY(), player.getY());
+        double maxX = Math.max(player.getPreviousX(), player.getX()) + player.getWidth();
+        double maxY = Math.max(player.getPreviousY(), player.getY()) + player.getHeight();
+        platformChunks.ensureResident(minX, minY, maxX, maxY);
+        int count = platformChunks.queryIndices(minX, minY, maxX, maxY);
+        for (int i = 0; i < count; i++) {
+            int index = platformChunks.getFoundIndex(i);
+            if (platformStore.intersects(index, player.getX(), player.getY(),
+                    player.getWidth(), player.getHeight())) {
+                player.handlePlatformCollision(platformStore.getX(index), platformStore.getY(index),
+                        platformStore.getWidth(index));
+            }
+        }
+    }
+
+    /**
+     * Marks an item as collected.
+     *
+     * @param index the item index
+     */
+    private void collectItem(final int index) {
+        itemStore.setFlag(index, EntityStore.FLAG_COLLECTED, true);
+        items.get(index).collect();
+    }
+
+    /**
+     * Resets the world to the start of a new game.
+     * Clears the quiz state and score, moves the player to the start and restores all items.
+     */
+    public void reset() {
+        GameEvents.WorldReset event = new GameEvents.WorldReset();
+        event.begin();
+        showingQuiz = false;
+        showingFailScreen = false;
+        failTicksRemaining = 0;
+        quizItem = -1;
+        selectedOption = 0;
+        correctAnswers = 0;
+        gameCompleted = false;
+        inputLatched = false;
+
+        player = createPlayer(level.getSpawnX(), level.getSpawnY());
+        loadAroundPlayer();
+        initializeItems();
+        event.end();
+        if (event.shouldCommit()) {
+            event.items = items.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Captures the player position, score and collected items as a save.
+     *
+     * @return the save describing the current world
+     */
+    public GameSaveManager.GameSave createSave() {
+        return new GameSaveManager.GameSave(player.getX(), player.getY(), correctAnswers, items);
+    }
+
+    /**
+     * Restores player position, score and collected items from a save.
+     *
+     * @param save the save to restore, must not be null
+     */
+    public void restore(final GameSaveManager.GameSave save) {
+        player = createPlayer(save.playerX, save.playerY);
+        loadAroundPlayer();
+        correctAnswers = save.correctAnswers;
+        gameCompleted = totalQuestions > 0 && correctAnswers == totalQuestions;
+
+        for (int i = 0; i < save.collectedItems.length && i < items.size(); i++) {
+            if (save.collectedItems[i]) {
+                collectItem(i);
+            }
+        }
+    }
+
+    /**
+     * Copies the gameplay state into a snapshot, reusing its storage.
+     *
+     * @param snapshot the snapshot to fill
+     */
+    public void captureSnapshot(final WorldSnapshot snapshot) {
+        snapshot.tick = tickCount;
+        snapshot.playerX = player.getX();
+        snapshot.playerY = player.getY();
+        snapshot.velocityX = player.getVelocityX();
+        snapshot.velocityY = player.getVelocityY();
+        snapshot.playerFlags = player.getStateFlags();
+        snapshot.waveOffset = player.getWaveOffset();
+        snapshot.inputLatched = inputLatched;
+        snapshot.showingQuiz = showingQuiz;
+        snapshot.quizItem = quizItem;
+        snapshot.selectedOption = selectedOption;
+        snapshot.quizOpenedTick = quizOpenedTick;
+        snapshot.showingFailScreen = showingFailScreen;
+        snapshot.failTicksRemaining = failTicksRemaining;
+        snapshot.correctAnswers = correctAnswers;
+        snapshot.gameCompleted = gameCompleted;
+        snapshot.setItemCount(itemStore.size());
+        for (int i = 0; i < itemStore.size(); i++) {
+            snapshot.setCollected(i, itemStore.hasFlag(i, EntityStore.FLAG_COLLECTED));
+        }
+    }
+
+    /**
+     * Puts the world back into the state of a snapshot taken from a world of the same level,
+     * including its tick count, and loads the platforms around the restored player.
+     *
+     * @param snapshot the snapshot to restore
+     */
+    public void restoreSnapshot(final WorldSnapshot snapshot) {
+        tickCount = snapshot.tick;
+        player.restoreState(snapshot.playerX, snapshot.playerY, snapshot.velocityX, snapshot.velocityY,
+                snapshot.playerFlags, snapshot.waveOffset);
+        inputLatched = snapshot.inputLatched;
+        showingQuiz = snapshot.showingQuiz;
+        quizItem = snapshot.quizItem;
+        selectedOption = snapshot.selectedOption;
+        quizOpenedTick = snapshot.quizOpenedTick;
+        showingFailScreen = snapshot.showingFailScreen;
+        failTicksRemaining = snapshot.failTicksRemaining;
+        correctAnswers = snapshot.correctAnswers;
+        gameCompleted = snapshot.gameCompleted;
+        for (int i = 0; i < items.size() && i < snapshot.getItemCount(); i++) {
+            boolean collected = snapshot.isCollected(i);
+            itemStore.setFlag(i, EntityStore.FLAG_COLLECTED, collected);
+            items.get(i).setCollected(collected);
+        }
+        loadAroundPlayer();
+    }
+
+    /**
+     * Hashes the state that decides how the game plays on: the player's position, velocity and
+     * jump state, the quiz and fail screen state, the score and which items are collected.
+     * Two worlds that hash alike after the same ticks have, in all likelihood, played out the same way.
+     * The tick count is left out, so worlds started at different times can be compared.
+     *
+     * @return a 64-bit hash of the simulation state
+     */
+    public long stateHash() {
+        long hash = HASH_OFFSET;
+        hash = mix(hash, Double.doubleToLongBits(player.getX()));
+        hash = mix(hash, Double.doubleToLongBits(player.getY()));
+        hash = mix(hash, Double.doubleToLongBits(player.getVelocityX()));
+        hash = mix(hash, Double.doubleToLongBits(player.getVelocityY()));
+        hash = mix(hash, player.getStateFlags());
+        hash = mix(hash, inputLatched);
+        hash = mix(hash, showingQuiz);
+        hash = mix(hash, showingFailScreen);
+        hash = mix(hash, gameCompleted);
+        hash = mix(hash, selectedOption);
+        hash = mix(hash, failTicksRemaining);
+        hash = mix(hash, correctAnswers);
+        hash = mix(hash, quizItem);
+        for (int i = 0; i < itemStore.size(); i++) {
+            hash = mix(hash, itemStore.hasFlag(i, EntityStore.FLAG_COLLECTED));
+        }
+        return hash;
+    }
+
+    /**
+     * Folds a value into a running FNV-1a style hash.
+     *
+     * @param hash  the hash so far
+     * @param value the value to add
+     * @return the updated hash
+     */
+    private static long mix(final long hash, final long value) {
+        return (hash ^ value) * HASH_PRIME;
+    }
+
+    /**
+     * Folds a flag into a running hash.
+     *
+     * @param hash the hash so far
+     * @param flag the flag to add
+     * @return the updated hash
+     */
+    private static long mix(final long hash, final boolean flag) {
+        return mix(hash, flag ? 1L : 0L);
+    }
+
+    /**
+     * Creates a player at the level's spawn point, kept inside the level bounds.
+     *
+     * @param x the x-coordinate of the player
+     * @param y the y-coordinate of the player
+     * @return the new player
+     */
+    private Player createPlayer(final double x, final double y) {
+        Player newPlayer = new Player(x, y);
+        newPlayer.setLevelBounds(level.getWidth(), level.getHeight());
+        return newPlayer;
+    }
+
+    /**
+     * Requests the chunks around the player and makes the visible ones resident at once,
+     * so the first frame after a spawn or load is complete.
+     */
+    private void loadAroundPlayer() {
+        double centerX = player.getX() + player.getWidth() / 2;
+        double centerY = player.getY() + player.getHeight() / 2;
+        platformChunks.update(centerX, centerY, 0, 0);
+        platformChunks.ensureResident(centerX - Constants.WINDOW_WIDTH, centerY - Constants.WINDOW_HEIGHT,
+                centerX + Constants.WINDOW_WIDTH, centerY + Constants.WINDOW_HEIGHT);
+    }
+
+    /**
+     * Creates fresh, uncollected items from the level and indexes them.
+     */
+    private void initializeItems() {
+        items.clear();
+        items.addAll(level.createItems());
+        itemStore = EntityStore.copyOf(level.getItemStore());
+        totalQuestions = items.size();
+        itemGrid = new SpatialGrid<>(items, level.getWidth(),
+                level.getHeight(), Constants.SPATIAL_CELL_SIZE);
+    }
+
+    /**
+     * Gets the level being played.
+     *
+     * @return the level data
+     */
+    public LevelData getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the player.
+     *
+     * @return the player
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the collectible items of the level.
+     *
+     * @return an unmodifiable view of the items
+     */
+    public List<Item> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Gets the spatial index of the platforms in resident chunks.
+     *
+     * @return the platform index
+     */
+    public SpatialIndex<Platform> getPlatformIndex() {
+        return platformChunks;
+    }
+
+    /**
+     * Gets the chunk streamer holding the level's platforms.
+     *
+     * @return the chunk manager
+     */
+    public ChunkManager getChunkManager() {
+        return platformChunks;
+    }
+
+    /**
+     * Gets the spatial index of the items.
+     *
+     * @return the item index
+     */
+    public SpatialIndex<Item> getItemIndex() {
+        return itemGrid;
+    }
+
+    /**
+     * Checks if a quiz is currently open.
+     *
+     * @return {@code true} if a quiz is showing
+     */
+    public boolean isShowingQuiz() {
+        return showingQuiz;
+    }
+
+    /**
+     * Gets the item whose quiz is open.
+     *
+     * @return the quiz item, or {@code null} if no quiz is open
+     */
+    public Item getCurrentQuizItem() {
+        return quizItem < 0 ? null : items.get(quizItem);
+    }
+
+    /**
+     * Gets the highlighted quiz option.
+     *
+     * @return the selected option index
+     */
+    public int getSelectedOption() {
+        return selectedOption;
+    }
+
+    /**
+     * Checks if the fail screen is showing after a wrong answer.
+     *
+     * @return {@code true} if the fail screen is showing
+     */
+    public boolean isShowingFailScreen() {
+        return showingFailScreen;
+    }
+
+    /**
+     * Checks if the fail screen has been shown for its full duration.
+     *
+     * @return {@code true} if the game should return to the menu
+     */
+    public boolean isFailScreenExpired() {
+        return showingFailScreen && failTicksRemaining == 0;
+    }
+
+    /**
+     * Gets the whole seconds left before the fail screen returns to the menu.
+     *
+     * @return the remaining seconds, rounded up
+     */
+    public int getFailSecondsRemaining() {
+        return (failTicksRemaining + Constants.TICKS_PER_SECOND - 1) / Constants.TICKS_PER_SECOND;
+    }
+
+    /**
+     * Gets the number of correctly answered quizzes.
+     *
+     * @return the score
+     */
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    /**
+     * Gets the number of quizzes in the level.
+     *
+     * @return the total number of questions
+     */
+    public int getTotalQuestions() {
+        return totalQuestions;
+    }
+
+    /**
+     * Checks if every quiz has been answered correctly.
+     *
+     * @return {@code true} if the game is completed
+     */
+    public boolean isGameCompleted() {
+        return gameCompleted;
+    }
+
+    /**
+     * Attaches a profiler that times the collision checks of each tick.
+     *
+     * @param profiler the profiler to record into
+     */
+    public void setProfiler(final FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Gets the number of ticks simulated since the world was created.
+     *
+     * @return the tick count
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+}
@@ -0,0 +1,64 @@
+package com.persianrug.engine;
+
+/**
+ * A piece of on-screen text built from fixed words around one or two numbers.
+ * The string is rebuilt only when a number changes, so drawing it every frame
+ * does not create garbage.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public class HudText {
+    private final String prefix;
+    private final String separator;
+    private final String suffix;
+    private int first;
+    private int second;
+    private boolean hasSecond;
+    private String text;
+
+    /**
+     * Constructs a HudText of the form {@code prefix first separator second suffix}.
+     *
+     * @param prefix    the text before the first number
+     * @param separator the text between the two numbers
+     * @param suffix    the text after the last number
+     */
+    public HudText(final String prefix, final String separator, final String suffix) {
+        this.prefix = prefix;
+        this.separator = separator;
+        this.suffix = suffix;
+    }
+
+    /**
+     * Gets the text for a single number, as {@code prefix value suffix}.
+     *
+     * @param value the number to show
+     * @return the cached or rebuilt text
+     */
+    public String get(final int value) {
+        if (text == null || hasSecond || first != value) {
+            first = value;
+            hasSecond = false;
+            text = prefix + value + suffix;
+        }
+        return text;
+    }
+
+    /**
+     * Gets the text for two numbers, as {@code prefix first separator second suffix}.
+     *
+     * @param firstValue  the first number to show
+     * @param secondValue the second number to show
+     * @return the cached or rebuilt text
+     */
+    public String get(final int firstValue, final int secondValue) {
+        if (text == null || !hasSecond || first != firstValue || second != secondValue) {
+            first = firstValue;
+            second = secondValue;
+            hasSecond = true;
+            text = prefix + firstValue + separator + secondValue + suffix;
+        }
+        return text;
+    }
+}
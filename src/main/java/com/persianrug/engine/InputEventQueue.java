@@ -0,0 +1,150 @@
+package com.persianrug.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free queue of timestamped key events for many producers and a single consumer.
+ * Producers claim a slot with a compare-and-set on the tail counter and publish it through
+ * a per-slot sequence number, so the thread delivering key events never waits for the
+ * simulation. Events are stored in primitive arrays and nothing is allocated per event.
+ * When the queue is full new events are rejected instead of waiting for the consumer.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+final class InputEventQueue {
+    /**
+     * The slot index mask; the capacity is a power of two.
+     */
+    private final int mask;
+
+    /**
+     * The publication sequence of each slot.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * The key of each event.
+     */
+    private final int[] keys;
+
+    /**
+     * Whether each event is a press rather than a release.
+     */
+    private final boolean[] presses;
+
+    /**
+     * The time of each event in nanoseconds.
+     */
+    private final long[] stamps;
+
+    /**
+     * The next position to be claimed by a producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The next position to be read by the consumer; only touched by the consumer.
+     */
+    private long head = 0;
+
+    /**
+     * Constructs a queue holding at least the given number of events.
+     *
+     * @param capacity the minimum capacity, rounded up to a power of two; must be positive
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    InputEventQueue(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.keys = new int[size];
+        this.presses = new boolean[size];
+        this.stamps = new long[size];
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an event if there is room. Safe to call from any thread.
+     *
+     * @param key     the key the event is for
+     * @param pressed {@code true} for a press, {@code false} for a release
+     * @param nanos   the time of the event in nanoseconds
+     * @return {@code true} if the event was queued, {@code false} if the queue was full
+     */
+    boolean offer(final int key, final boolean pressed, final long nanos) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    keys[index] = key;
+                    presses[index] = pressed;
+                    stamps[index] = nanos;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest event and passes it to the consumer.
+     * Must only be called by one thread at a time.
+     *
+     * @param consumer receives the key, kind and time of the event
+     * @return {@code true} if an event was removed, {@code false} if the queue was empty
+     */
+    boolean poll(final EventConsumer consumer) {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return false;
+        }
+        int key = keys[index];
+        boolean pressed = presses[index];
+        long nanos = stamps[index];
+        sequences.set(index, head + mask + 1);
+        head++;
+        consumer.accept(key, pressed, nanos);
+        return true;
+    }
+
+    /**
+     * Gets the number of events the queue can hold.
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Receives events removed from the queue.
+     */
+    @FunctionalInterface
+    interface EventConsumer {
+        /**
+         * Handles one key event.
+         *
+         * @param key     the key the event is for
+         * @param pressed {@code true} for a press, {@code false} for a release
+         * @param nanos   the time of the event in nanoseconds
+         */
+        void accept(int key, boolean pressed, long nanos);
+    }
+}
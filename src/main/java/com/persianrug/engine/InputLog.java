@@ -0,0 +1,428 @@
+package com.persianrug.engine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * A recording of the input of every simulation tick of one game, from which the game can be
+ * replayed exactly by {@link InputReplay}.
+ * <p>
+ * The simulation is deterministic, so the level, the state the game started from and the input
+ * of each tick are all that is needed to reproduce a run. Input is stored as a
+ * {@link TickInput#toBits() bitmask} only on the ticks where it changes, so holding a key for
+ * minutes costs a few bytes. Every {@value com.persianrug.utils.Constants#REPLAY_HASH_INTERVAL}
+ * ticks by default the recorder also stores {@link GameWorld#stateHash()}, which lets a replay
+ * prove that it is following the original run and report the first interval where it is not.
+ * <p>
+ * Encoded, a log is laid out big-endian as: a four byte magic number, a two byte format version,
+ * the seed, the level id in UTF-8, the hash interval, the starting save in the {@link SaveCodec}
+ * format, the tick count, the input changes, the state hashes and finally a CRC32 of everything
+ * before it. The level id, save, changes and hashes are each prefixed by their length. Each input change is the number of ticks since the previous change as
+ * a variable-length integer followed by one byte holding the bits that flipped.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public class InputLog {
+    /**
+     * The magic number every input log starts with, "PRIN" in ASCII.
+     */
+    public static final int MAGIC = 0x5052494E;
+
+    /**
+     * The format version written by this class.
+     */
+    public static final short VERSION = 1;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int VARINT_BITS = 7;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int VARINT_MORE = 0x80;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int MAX_VARINT_SHIFT = 28;
+
+    private final String levelId;
+    private final long seed;
+    private final int hashInterval;
+    private final GameSaveManager.GameSave start;
+    private int tickCount = 0;
+    private int changeCount = 0;
+    private int[] changeTicks = new int[INITIAL_CAPACITY];
+    private byte[] changeBits = new byte[INITIAL_CAPACITY];
+    private int hashCount = 0;
+    private long[] hashes = new long[INITIAL_CAPACITY];
+    private int lastBits = 0;
+
+    /**
+     * Constructs an empty log for a game about to start.
+     *
+     * @param levelId      the id of the level being played, as {@link LevelLoader#open} takes it
+     * @param seed         the seed of any randomness the level was built with
+     * @param hashInterval the number of ticks between stored state hashes
+     * @param start        the state the game starts from
+     * @throws IllegalArgumentException if the hash interval is not positive
+     */
+    public InputLog(final String levelId, final long seed, final int hashInterval,
+                    final GameSaveManager.GameSave start) {
+        if (hashInterval <= 0) {
+            throw new IllegalArgumentException("Hash interval must be positive: " + hashInterval);
+        }
+        this.levelId = levelId;
+        this.seed = seed;
+        this.hashInterval = hashInterval;
+        this.start = start;
+    }
+
+    /**
+     * Records the input of a tick that the world has just run, and the world's state hash
+     * if the tick ends a hash interval.
+     *
+     * @param input the input the tick ran with
+     * @param world the world after the tick
+     */
+    public void record(final TickInput input, final GameWorld world) {
+        int bits = input.toBits();
+        if (bits != lastBits) {
+            addChange(tickCount, bits);
+        }
+        tickCount++;
+        if (tickCount % hashInterval == 0) {
+            addHash(world.stateHash());
+        }
+    }
+
+    /**
+     * Appends an input change.
+     *
+     * @param tick the tick the new input starts on
+     * @param bits the input bitmask from that tick on
+     */
+    private void addChange(final int tick, final int bits) {
+        if (changeCount == changeTicks.length) {
+            changeTicks = Arrays.copyOf(changeTicks, changeCount * 2);
+            changeBits = Arrays.copyOf(changeBits, changeCount * 2);
+        }
+        changeTicks[changeCount] = tick;
+        changeBits[changeCount] = (byte) bits;
+        changeCount++;
+        lastBits = bits;
+    }
+
+    /**
+     * Appends a state hash.
+     *
+     * @param hash the world's state hash at the end of the interval
+     */
+    private void addHash(final long hash) {
+        if (hashCount == hashes.length) {
+            hashes = Arrays.copyOf(hashes, hashCount * 2);
+        }
+        hashes[hashCount++] = hash;
+    }
+
+    /**
+     * Encodes the log into a new byte array.
+     *
+     * @return the encoded log
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(seed);
+            byte[] id = levelId.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(id.length);
+            out.write(id);
+            out.writeInt(hashInterval);
+            byte[] save = SaveCodec.encode(start);
+            out.writeInt(save.length);
+            out.write(save);
+            out.writeInt(tickCount);
+
+            out.writeInt(changeCount);
+            int previousTick = 0;
+            int previousBits = 0;
+            for (int i = 0; i < changeCount; i++) {
+                writeVarInt(out, changeTicks[i] - previousTick);
+                out.writeByte(changeBits[i] ^ previousBits);
+                previousTick = changeTicks[i];
+                previousBits = changeBits[i];
+            }
+
+            out.writeInt(hashCount);
+            for (int i = 0; i < hashCount; i++) {
+                out.writeLong(hashes[i]);
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            throw new IllegalStateException("Writing to memory failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes a non-negative value seven bits at a time, low bits first.
+     *
+     * @param out   the output to write to
+     * @param value the value to write
+     * @throws IOException if the output cannot be written
+     */
+    private static void writeVarInt(final DataOutputStream out, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~VARINT_MASK) != 0) {
+            out.writeByte((remaining & VARINT_MASK) | VARINT_MORE);
+            remaining >>>= VARINT_BITS;
+        }
+        out.writeByte(remaining);
+    }
+
+    /**
+     * Decodes a log from a byte array.
+     *
+     * @param data the encoded log
+     * @return the decoded log
+     * @throws IOException if the data is not a valid log of a supported version
+     */
+    public static InputLog decode(final byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not an input log");
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported input log version: " + version);
+            }
+            int end = data.length - Integer.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, Math.max(0, end));
+            if (end < buffer.position() || (int) crc.getValue() != ByteBuffer.wrap(data, end, Integer.BYTES).getInt()) {
+                throw new IOException("Corrupt input log: checksum mismatch");
+            }
+            buffer.limit(end);
+
+            long seed = buffer.getLong();
+            String levelId = readUtf(buffer);
+            int hashInterval = buffer.getInt();
+            int saveLength = buffer.getInt();
+            if (saveLength < 0 || saveLength > buffer.remaining()) {
+                throw new IOException("Corrupt input log: bad save length " + saveLength);
+            }
+            byte[] save = new byte[saveLength];
+            buffer.get(save);
+            InputLog log = new InputLog(levelId, seed, hashInterval, SaveCodec.decode(save));
+
+            log.tickCount = buffer.getInt();
+            if (log.tickCount < 0) {
+                throw new IOException("Corrupt input log: bad tick count " + log.tickCount);
+            }
+            int changes = buffer.getInt();
+            if (changes < 0 || changes > buffer.remaining()) {
+                throw new IOException("Corrupt input log: bad change count " + changes);
+            }
+            int tick = 0;
+            int bits = 0;
+            for (int i = 0; i < changes; i++) {
+                int delta = readVarInt(buffer);
+                tick += delta;
+                bits ^= buffer.get() & BYTE_MASK;
+                if ((delta <= 0 && i > 0) || tick < 0 || tick >= log.tickCount) {
+                    throw new IOException("Corrupt input log: change outside the recording at tick " + tick);
+                }
+                log.addChange(tick, bits);
+            }
+
+            int hashes = buffer.getInt();
+            if (hashes != log.tickCount / hashInterval || hashes * Long.BYTES != buffer.remaining()) {
+                throw new IOException("Corrupt input log: bad hash count " + hashes);
+            }
+            for (int i = 0; i < hashes; i++) {
+                log.addHash(buffer.getLong());
+            }
+            return log;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupt input log: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads a UTF-8 string prefixed by its length in bytes.
+     *
+     * @param buffer the buffer to read from
+     * @return the string
+     */
+    private static String readUtf(final ByteBuffer buffer) {
+        byte[] utf = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(utf);
+        return new String(utf, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a value written by {@link #writeVarInt(DataOutputStream, int)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the value
+     * @throws IOException if the value does not fit in an int
+     */
+    private static int readVarInt(final ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift <= MAX_VARINT_SHIFT; shift += VARINT_BITS) {
+            int b = buffer.get() & BYTE_MASK;
+            value |= (b & VARINT_MASK) << shift;
+            if ((b & VARINT_MORE) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt input log: variable-length integer too long");
+    }
+
+    /**
+     * Writes the encoded log to a file, replacing it if it exists.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void write(final Path path) throws IOException {
+        Files.write(path, encode());
+    }
+
+    /**
+     * Reads a log from a file.
+     *
+     * @param path the file to read
+     * @return the decoded log
+     * @throws IOException if the file cannot be read or is not a valid log
+     */
+    public static InputLog read(final Path path) throws IOException {
+        return decode(Files.readAllBytes(path));
+    }
+
+    /**
+     * Gets the input bitmask of a tick by binary search. {@link InputReplay} walks the
+     * changes in order instead.
+     *
+     * @param tick the tick
+     * @return the bitmask held during the tick
+     */
+    public int bitsAt(final int tick) {
+        int index = changesBefore(tick + 1) - 1;
+        return index < 0 ? 0 : changeBits[index] & BYTE_MASK;
+    }
+
+    /**
+     * Counts the input changes on ticks before the given one, which is also the index of
+     * the first change on or after it.
+     *
+     * @param tick the tick
+     * @return the number of earlier changes
+     */
+    public int changesBefore(final int tick) {
+        int index = Arrays.binarySearch(changeTicks, 0, changeCount, tick);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Gets the id of the level the game was played on.
+     *
+     * @return the level id
+     */
+    public String getLevelId() {
+        return levelId;
+    }
+
+    /**
+     * Gets the seed of any randomness the level was built with.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of ticks between stored state hashes.
+     *
+     * @return the hash interval
+     */
+    public int getHashInterval() {
+        return hashInterval;
+    }
+
+    /**
+     * Gets the state the game started from.
+     *
+     * @return the starting save
+     */
+    public GameSaveManager.GameSave getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the number of recorded ticks.
+     *
+     * @return the tick count
+     */
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Gets the number of ticks where the input changed.
+     *
+     * @return the change count
+     */
+    public int getChangeCount() {
+        return changeCount;
+    }
+
+    /**
+     * Gets the tick an input change starts on.
+     *
+     * @param index the change index
+     * @return the tick
+     */
+    public int getChangeTick(final int index) {
+        return changeTicks[index];
+    }
+
+    /**
+     * Gets the input bitmask held from a change on.
+     *
+     * @param index the change index
+     * @return the bitmask
+     */
+    public int getChangeBits(final int index) {
+        return changeBits[index] & BYTE_MASK;
+    }
+
+    /**
+     * Gets the number of stored state hashes.
+     *
+     * @return the hash count
+     */
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Gets a stored state hash. Hash {@code i} was taken after tick {@code (i + 1) * hashInterval}.
+     *
+     * @param index the hash index
+     * @return the state hash
+     */
+    public long getHash(final int index) {
+        return hashes[index];
+    }
+}
@@ -1,46 +1,142 @@
 package com.persianrug.engine;
 
 import javafx.scene.input.KeyCode;
-import java.util.HashSet;
-import java.util.Set;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
 
 /**
  * Manages keyboard input for the game.
- * Tracks currently active keys and provides methods to handle key press and release events.
+ * <p>
+ * Key state is kept as bitsets indexed by key, so every lookup is a shift and a mask. Presses and
+ * releases update the live state at once and are also queued with a timestamp on a lock-free
+ * {@link InputEventQueue}. The simulation calls {@link #poll()} at the start of each tick to take
+ * the queued events: this gives it a state that stays fixed for the whole tick, the keys pressed and
+ * released since the previous tick, and the time each event waited before the simulation saw it.
+ * A key pressed and released between two ticks is still reported as pressed for one tick, so quick
+ * taps are not lost.
  *
  * @author Juhyun Park
  * @version 2024
  */
 public class InputManager {
+    private static final KeyCode[] KEYS = KeyCode.values();
+    private static final int WORD_BITS = Long.SIZE;
+    private static final int WORDS = (KEYS.length + WORD_BITS - 1) / WORD_BITS;
+    private static final int QUEUE_CAPACITY = 256;
+
+    /**
+     * The keys currently held, updated as soon as an event arrives. Safe to read from any thread.
+     */
+    private final AtomicLongArray activeKeys = new AtomicLongArray(WORDS);
+
+    /**
+     * Presses and releases waiting for the simulation.
+     */
+    private final InputEventQueue events = new InputEventQueue(QUEUE_CAPACITY);
+
+    /**
+     * The keys held as of the last poll.
+     */
+    private final long[] heldKeys = new long[WORDS];
+
+    /**
+     * The keys pressed since the poll before the last.
+     */
+    private final long[] pressedKeys = new long[WORDS];
+
+    /**
+     * The keys released since the poll before the last.
+     */
+    private final long[] releasedKeys = new long[WORDS];
+
+    /**
+     * Applies one queued event to the tick state and records how long it waited.
+     */
+    private final InputEventQueue.EventConsumer applyEvent = this::apply;
+
+    /**
+     * The source of event timestamps in nanoseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The number of events dropped because the queue was full.
+     */
+    private final AtomicInteger droppedEvents = new AtomicInteger();
 
     /**
-     * A set of currently active keys.
+     * Receives the time events wait before the simulation sees them.
      */
-    private final Set<KeyCode> activeKeys;
+    private FrameProfiler profiler = FrameProfiler.DISABLED;
 
     /**
-     * Constructs an InputManager instance.
+     * The time of the poll in progress.
+     */
+    private long pollTime = 0;
+
+    /**
+     * Whether the poll in progress records latency.
+     */
+    private boolean recordLatency = false;
+
+    /**
+     * The number of dropped events already accounted for by the tick state.
+     */
+    private int resyncedDrops = 0;
+
+    /**
+     * Constructs an InputManager stamping events with {@link System#nanoTime()}.
      */
     public InputManager() {
-        activeKeys = new HashSet<>();
+        this(System::nanoTime);
+    }
+
+    /**
+     * Constructs an InputManager stamping events with the given clock.
+     *
+     * @param clock the source of timestamps in nanoseconds
+     */
+    public InputManager(final LongSupplier clock) {
+        this.clock = clock;
     }
 
     /**
-     * Handles a key press event by adding the key to the active keys set.
+     * Handles a key press event by marking the key active and queuing the press.
      *
      * @param code the KeyCode of the key that was pressed
      */
     public void handleKeyPress(final KeyCode code) {
-        activeKeys.add(code);
+        update(code, true);
     }
 
     /**
-     * Handles a key release event by removing the key from the active keys set.
+     * Handles a key release event by marking the key inactive and queuing the release.
      *
      * @param code the KeyCode of the key that was released
      */
     public void handleKeyRelease(final KeyCode code) {
-        activeKeys.remove(code);
+        update(code, false);
+    }
+
+    /**
+     * Updates the live state of a key and queues the event for the simulation.
+     *
+     * @param code    the key
+     * @param pressed {@code true} for a press, {@code false} for a release
+     */
+    private void update(final KeyCode code, final boolean pressed) {
+        int key = code.ordinal();
+        long bit = 1L << (key % WORD_BITS);
+        if (pressed) {
+            activeKeys.getAndUpdate(key / WORD_BITS, word -> word | bit);
+        } else {
+            activeKeys.getAndUpdate(key / WORD_BITS, word -> word & ~bit);
+        }
+        if (!events.offer(key, pressed, clock.getAsLong())) {
+            droppedEvents.incrementAndGet();
+        }
     }
 
     /**
@@ -50,6 +146,140 @@ public class InputManager {
      * @return {@code true} if the key is currently pressed, otherwise false
      */
     public boolean isKeyPressed(final KeyCode code) {
-        return activeKeys.contains(code);
+        int key = code.ordinal();
+        return (activeKeys.get(key / WORD_BITS) & (1L << (key % WORD_BITS))) != 0;
+    }
+
+    /**
+     * Takes the events queued since the previous poll for the coming simulation tick, recording
+     * how long each waited. Must only be called by one thread at a time.
+     */
+    public void poll() {
+        drain(true);
+    }
+
+    /**
+     * Takes the queued events without recording their latency, for input that was already
+     * handled by a menu rather than the simulation.
+     */
+    public void skipEvents() {
+        drain(false);
+    }
+
+    /**
+     * Clears the edges of the previous tick and applies every queued event.
+     *
+     * @param latency whether to record how long the events waited
+     */
+    private void drain(final boolean latency) {
+        for (int i = 0; i < WORDS; i++) {
+            pressedKeys[i] = 0;
+            releasedKeys[i] = 0;
+        }
+        pollTime = clock.getAsLong();
+        recordLatency = latency;
+        while (events.poll(applyEvent)) {
+            // apply every queued event
+        }
+        int dropped = droppedEvents.get();
+        if (dropped != resyncedDrops) {
+            for (int i = 0; i < WORDS; i++) {
+                heldKeys[i] = activeKeys.get(i);
+            }
+            resyncedDrops = dropped;
+        }
+    }
+
+    /**
+     * Applies one queued event to the tick state.
+     *
+     * @param key     the key the event is for
+     * @param pressed {@code true} for a press, {@code false} for a release
+     * @param nanos   the time of the event
+     */
+    private void apply(final int key, final boolean pressed, final long nanos) {
+        long bit = 1L << (key % WORD_BITS);
+        int word = key / WORD_BITS;
+        if (pressed) {
+            heldKeys[word] |= bit;
+            pressedKeys[word] |= bit;
+        } else {
+            heldKeys[word] &= ~bit;
+            releasedKeys[word] |= bit;
+        }
+        if (recordLatency) {
+            profiler.record(FrameProfiler.Section.INPUT_LATENCY, pollTime - nanos);
+        }
+    }
+
+    /**
+     * Checks if a key was held at the last poll.
+     *
+     * @param code the key to check
+     * @return {@code true} if the key is held for this tick
+     */
+    public boolean isHeld(final KeyCode code) {
+        return isSet(heldKeys, code);
+    }
+
+    /**
+     * Checks if a key was pressed between the previous poll and the last one.
+     *
+     * @param code the key to check
+     * @return {@code true} if the key went down before this tick
+     */
+    public boolean wasPressed(final KeyCode code) {
+        return isSet(pressedKeys, code);
+    }
+
+    /**
+     * Checks if a key was released between the previous poll and the last one.
+     *
+     * @param code the key to check
+     * @return {@code true} if the key went up before this tick
+     */
+    public boolean wasReleased(final KeyCode code) {
+        return isSet(releasedKeys, code);
+    }
+
+    /**
+     * Checks if a key counts as down for this tick: held at the last poll, or tapped since the one before.
+     *
+     * @param code the key to check
+     * @return {@code true} if the key should act in this tick
+     */
+    public boolean isActive(final KeyCode code) {
+        return isHeld(code) || wasPressed(code);
+    }
+
+    /**
+     * Checks the bit of a key in a bitset.
+     *
+     * @param bits the bitset
+     * @param code the key
+     * @return {@code true} if the key's bit is set
+     */
+    private static boolean isSet(final long[] bits, final KeyCode code) {
+        int key = code.ordinal();
+        return (bits[key / WORD_BITS] & (1L << (key % WORD_BITS))) != 0;
+    }
+
+    /**
+     * Attaches a profiler that records the time from each key event to the tick that takes it.
+     *
+     * @param profiler the profiler to record into
+     */
+    public void setProfiler(final FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Gets the number of events dropped because the simulation did not poll for too long.
+     * Their edges are lost, but the next poll copies the held keys from the live state.
+     *
+     * @return the dropped event count
+     */
+    public int getDroppedEvents() {
+        return droppedEvents.get();
     }
 }
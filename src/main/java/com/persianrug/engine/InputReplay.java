@@ -0,0 +1,228 @@
+package com.persianrug.engine;
+
+import com.persianrug.utils.Constants;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Plays an {@link InputLog} back through a {@link GameWorld}, checking the world's state hash
+ * against the recorded one at the end of every hash interval.
+ * <p>
+ * A replay can be stepped by the game loop one tick at a time, so it is watched at normal speed,
+ * or run to the end with {@link #runToEnd()} with nothing drawn, as fast as the machine allows.
+ * Run from the command line with the path of a log, it replays the log headless and reports
+ * whether the run was reproduced and how fast it was simulated.
+ * <p>
+ * While playing, the replay keeps a {@link SnapshotIndex} of the world once a second, so
+ * {@link #seek(int)} can jump to any tick by restoring the nearest earlier snapshot and simulating
+ * at most a few seconds forward, instead of replaying from the start.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public class InputReplay {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final int EXIT_DIVERGED = 1;
+    private static final int EXIT_UNREADABLE = 2;
+
+    private final InputLog log;
+    private final GameWorld world;
+    private final TickInput input = new TickInput();
+    private final SnapshotIndex snapshots;
+    private int tick = 0;
+    private int nextChange = 0;
+    private int checkedHashes = 0;
+    private int mismatchTick = -1;
+
+    /**
+     * Constructs a replay of a log, resetting the world to the state the log starts from.
+     *
+     * @param log   the recording to play
+     * @param world the world to play it in, which must be of the recorded level
+     */
+    public InputReplay(final InputLog log, final GameWorld world) {
+        this.log = log;
+        this.world = world;
+        world.reset();
+        world.restore(log.getStart());
+        snapshots = new SnapshotIndex(Constants.REPLAY_SNAPSHOT_INTERVAL, Constants.REPLAY_SNAPSHOT_CAPACITY);
+        snapshots.offer(0, world);
+    }
+
+    /**
+     * Creates a world of the level a log was recorded on.
+     *
+     * @param log the recording
+     * @return a new world of the recorded level
+     * @throws IOException if the level cannot be loaded
+     */
+    public static GameWorld createWorld(final InputLog log) throws IOException {
+        return new GameWorld(LevelLoader.open(log.getLevelId()));
+    }
+
+    /**
+     * Runs the next recorded tick and, at the end of a hash interval, compares the world's state
+     * hash with the recorded one. The first mismatch is remembered; the replay carries on.
+     *
+     * @return {@code true} if a tick was run, {@code false} if the recording has ended
+     */
+    public boolean step() {
+        if (isFinished()) {
+            return false;
+        }
+        if (nextChange < log.getChangeCount() && log.getChangeTick(nextChange) == tick) {
+            input.setBits(log.getChangeBits(nextChange));
+            nextChange++;
+        }
+        world.tick(input);
+        tick++;
+        if (tick % log.getHashInterval() == 0) {
+            if (world.stateHash() != log.getHash(checkedHashes) && mismatchTick < 0) {
+                mismatchTick = tick;
+            }
+            checkedHashes++;
+        }
+        snapshots.offer(tick, world);
+        return true;
+    }
+
+    /**
+     * Moves the replay to a tick. Seeking back, or forward past a later snapshot, restores the
+     * nearest snapshot at or before the target first; the remaining ticks are then simulated,
+     * with their state hashes checked as usual.
+     *
+     * @param target the tick to move to, clamped to the length of the recording
+     */
+    public void seek(final int target) {
+        int clamped = Math.max(0, Math.min(target, log.getTickCount()));
+        int nearest = snapshots.floor(clamped);
+        if (clamped < tick || snapshots.getTick(nearest) > tick) {
+            world.restoreSnapshot(snapshots.get(nearest));
+            tick = snapshots.getTick(nearest);
+            nextChange = log.changesBefore(tick);
+            input.setBits(tick > 0 ? log.bitsAt(tick - 1) : 0);
+            checkedHashes = tick / log.getHashInterval();
+        }
+        while (tick < clamped) {
+            step();
+        }
+    }
+
+    /**
+     * Runs every remaining tick without drawing anything.
+     *
+     * @return the number of ticks run
+     */
+    public int runToEnd() {
+        int ran = 0;
+        while (step()) {
+            ran++;
+        }
+        return ran;
+    }
+
+    /**
+     * Checks if every recorded tick has been run.
+     *
+     * @return {@code true} if the replay has ended
+     */
+    public boolean isFinished() {
+        return tick >= log.getTickCount();
+    }
+
+    /**
+     * Checks if the replay has ended without any state hash differing from the recording.
+     *
+     * @return {@code true} if the recorded run was reproduced
+     */
+    public boolean isVerified() {
+        return isFinished() && mismatchTick < 0;
+    }
+
+    /**
+     * Gets the tick that ended the first hash interval whose state differed from the recording.
+     * The divergence happened at some tick of that interval.
+     *
+     * @return the tick of the first mismatch, or {@code -1} if there has been none
+     */
+    public int getMismatchTick() {
+        return mismatchTick;
+    }
+
+    /**
+     * Gets the number of state hashes compared so far.
+     *
+     * @return the checked hash count
+     */
+    public int getCheckedHashes() {
+        return checkedHashes;
+    }
+
+    /**
+     * Gets the number of ticks replayed so far.
+     *
+     * @return the current tick
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the input the last replayed tick ran with.
+     *
+     * @return the replayed input
+     */
+    public TickInput getInput() {
+        return input;
+    }
+
+    /**
+     * Gets the snapshots taken so far.
+     *
+     * @return the snapshot index
+     */
+    public SnapshotIndex getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Gets the world being replayed.
+     *
+     * @return the world
+     */
+    public GameWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Replays a recorded log headless as fast as possible and reports the result.
+     * Exits with status 1 if the replay diverged from the recording and 2 if the log could not be read.
+     *
+     * @param args the path of the input log
+     */
+    public static void main(final String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: InputReplay <input log>");
+            System.exit(EXIT_UNREADABLE);
+        }
+        try {
+            InputLog log = InputLog.read(Path.of(args[0]));
+            InputReplay replay = new InputReplay(log, createWorld(log));
+            long start = System.nanoTime();
+            int ticks = replay.runToEnd();
+            double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+            System.out.printf(Locale.ROOT, "Replayed %d ticks of %s in %.3f s (%.0f ticks/s), %d hashes checked%n",
+                    ticks, log.getLevelId(), seconds, ticks / seconds, replay.getCheckedHashes());
+            if (!replay.isVerified()) {
+                System.out.println("Diverged from the recording by tick " + replay.getMismatchTick());
+                System.exit(EXIT_DIVERGED);
+            }
+            System.out.println("Matches the recording");
+        } catch (IOException e) {
+            System.err.println("Error reading input log: " + e.getMessage());
+            System.exit(EXIT_UNREADABLE);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.persianrug.engine;
+
+import com.persianrug.utils.Constants;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Compiles level text into a {@link LevelFile} that the game maps instead of parsing.
+ * <p>
+ * Usage: {@code LevelCompiler <level.txt> <level.prl> [chunk size]}. The chunk index is
+ * precomputed for the given chunk size, {@link Constants#CHUNK_SIZE} by default; a world
+ * streaming the level at another size builds its own index when it is created.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+public final class LevelCompiler {
+    private static final int EXIT_USAGE = 2;
+    private static final int EXIT_FAILURE = 1;
+
+    private LevelCompiler() {
+    }
+
+    /**
+     * Compiles a level file given on the command line.
+     *
+     * @param args the source file, the output file and an optional chunk size
+     */
+    public static void main(final String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: LevelCompiler <level.txt> <level" + LevelFile.EXTENSION + "> [chunk size]");
+            System.exit(EXIT_USAGE);
+        }
+        try {
+            double chunkSize = args.length == 3 ? Double.parseDouble(args[2]) : Constants.CHUNK_SIZE;
+            LevelData level = compile(Path.of(args[0]), Path.of(args[1]), chunkSize);
+            System.out.printf(Locale.ROOT, "Compiled %s: %d platforms, %d items, %d quizzes, %d bytes%n", args[1],
+                    level.getPlatformCount(), level.getItemCount(), level.getQuizCount(), Files.size(Path.of(args[1])));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Cannot compile " + args[0] + ": " + e.getMessage());
+            System.exit(EXIT_FAILURE);
+        }
+    }
+
+    /**
+     * Parses a level's text and writes it as a compiled level.
+     *
+     * @param source    the level text
+     * @param target    the compiled level to write
+     * @param chunkSize the chunk size to precompute the chunk index for, must be positive
+     * @return the parsed level
+     * @throws IOException if the source cannot be read or is malformed, or writing fails
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public static LevelData compile(final Path source, final Path target, final double chunkSize) throws IOException {
+        if (!(chunkSize > 0)) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        LevelData level = LevelLoader.load(source);
+        LevelFile.write(level, chunkSize, target);
+        return level;
+    }
+}
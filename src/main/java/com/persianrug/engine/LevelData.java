@@ -0,0 +1,383 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Item;
+import com.persianrug.entity.Platform;
+import com.persianrug.entity.Quiz;
+
+import java.lang.foreign.Arena;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The static description of a level: its bounds, the player spawn point, the platforms,
+ * the collectible items and the quizzes they open.
+ * The bounds of platforms and items are kept in {@link EntityStore}s rather than as objects,
+ * so a level with many elements loads quickly and takes little memory; game objects are
+ * created from them with {@link #createPlatforms()} and {@link #createItems()} where needed.
+ * A finished level can also {@link #moveOffHeap move} its bounds out of the heap, and a
+ * {@link LevelFile compiled} level reads them straight from a mapped file.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+public class LevelData {
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The image used for items that do not name their own.
+     */
+    public static final String DEFAULT_ITEM_IMAGE = "/images/symbol.png";
+
+    private double width;
+    private double height;
+    private double spawnX;
+    private double spawnY;
+
+    private EntityBounds platforms = new EntityStore();
+    private EntityBounds items = new EntityStore();
+    private int[] itemQuiz = new int[INITIAL_CAPACITY];
+    private String[] itemImage = new String[INITIAL_CAPACITY];
+
+    private final List<Quiz> quizzes = new ArrayList<>();
+
+    /**
+     * The platforms of each chunk, if the level came with them precomputed.
+     */
+    private ChunkIndex chunkIndex = null;
+
+    /**
+     * Constructs an empty level with the given bounds and spawn point.
+     *
+     * @param width  the width of the level in pixels
+     * @param height the height of the level in pixels
+     * @param spawnX the x-coordinate the player starts at
+     * @param spawnY the y-coordinate the player starts at
+     */
+    public LevelData(final double width, final double height, final double spawnX, final double spawnY) {
+        this.width = width;
+        this.height = height;
+        this.spawnX = spawnX;
+        this.spawnY = spawnY;
+    }
+
+    /**
+     * Constructs a finished level from tables that were already built, as read from a compiled level.
+     *
+     * @param width      the width of the level in pixels
+     * @param height     the height of the level in pixels
+     * @param spawnX     the x-coordinate the player starts at
+     * @param spawnY     the y-coordinate the player starts at
+     * @param platforms  the platform bounds
+     * @param items      the item bounds
+     * @param itemQuiz   the quiz index of each item
+     * @param itemImage  the image resource of each item
+     * @param quizzes    the quiz bank
+     * @param chunkIndex the platforms of each chunk, or {@code null} to build them when needed
+     */
+    LevelData(final double width, final double height, final double spawnX, final double spawnY,
+              final EntityBounds platforms, final EntityBounds items, final int[] itemQuiz,
+              final String[] itemImage, final List<Quiz> quizzes, final ChunkIndex chunkIndex) {
+        this(width, height, spawnX, spawnY);
+        this.platforms = platforms;
+        this.items = items;
+        this.itemQuiz = itemQuiz;
+        this.itemImage = itemImage;
+        this.quizzes.addAll(quizzes);
+        this.chunkIndex = chunkIndex;
+    }
+
+    /**
+     * Sets the bounds of the level.
+     *
+     * @param width  the width of the level in pixels
+     * @param height the height of the level in pixels
+     */
+    void setBounds(final double width, final double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Sets the point the player starts at.
+     *
+     * @param x the spawn x-coordinate
+     * @param y the spawn y-coordinate
+     */
+    void setSpawn(final double x, final double y) {
+        this.spawnX = x;
+        this.spawnY = y;
+    }
+
+    /**
+     * Appends a platform to the level.
+     *
+     * @param x      the x-coordinate of the platform
+     * @param y      the y-coordinate of the platform
+     * @param width  the width of the platform
+     * @param height the height of the platform
+     */
+    public void addPlatform(final double x, final double y, final double width, final double height) {
+        heapStore(platforms).add(EntityStore.TYPE_PLATFORM, x, y, width, height);
+    }
+
+    /**
+     * Gets a table that can still be added to.
+     *
+     * @param table the platform or item table
+     * @return the table as a heap store
+     * @throws IllegalStateException if the table has been moved off the heap
+     */
+    private static EntityStore heapStore(final EntityBounds table) {
+        if (table instanceof EntityStore store) {
+            return store;
+        }
+        throw new IllegalStateException("The level has been moved off the heap and cannot be changed");
+    }
+
+    /**
+     * Moves the platform and item bounds out of the garbage-collected heap into memory from an arena,
+     * so a level with millions of platforms adds nothing for the collector to trace.
+     * Platforms and items can no longer be added afterwards. The arena must stay open while the
+     * level is in use and be accessible from the chunk loader thread, so a shared or automatic
+     * arena is needed.
+     *
+     * @param arena the arena to allocate from
+     */
+    public void moveOffHeap(final Arena arena) {
+        platforms = OffHeapEntityStore.copyOf(platforms, arena);
+        items = OffHeapEntityStore.copyOf(items, arena);
+    }
+
+    /**
+     * Appends a quiz to the level's quiz bank.
+     *
+     * @param quiz the quiz to add
+     * @return the index items use to refer to the quiz
+     */
+    public int addQuiz(final Quiz quiz) {
+        quizzes.add(quiz);
+        return quizzes.size() - 1;
+    }
+
+    /**
+     * Appends a collectible item to the level.
+     *
+     * @param x     the x-coordinate of the item
+     * @param y     the y-coordinate of the item
+     * @param quiz  the index of the quiz the item opens
+     * @param image the image resource of the item, or {@code null} for the default
+     * @throws IllegalArgumentException if the quiz index does not refer to a quiz
+     */
+    public void addItem(final double x, final double y, final int quiz, final String image) {
+        if (quiz < 0 || quiz >= quizzes.size()) {
+            throw new IllegalArgumentException("Unknown quiz index: " + quiz);
+        }
+        int index = heapStore(items).add(EntityStore.TYPE_ITEM, x, y, Item.ITEM_SIZE, Item.ITEM_SIZE);
+        if (index == itemQuiz.length) {
+            int capacity = index * 2;
+            itemQuiz = Arrays.copyOf(itemQuiz, capacity);
+            itemImage = Arrays.copyOf(itemImage, capacity);
+        }
+        itemQuiz[index] = quiz;
+        itemImage[index] = image == null ? DEFAULT_ITEM_IMAGE : image;
+    }
+
+    /**
+     * Creates a platform object for every platform in the level.
+     *
+     * @return the platforms, in file order
+     */
+    public List<Platform> createPlatforms() {
+        List<Platform> created = new ArrayList<>(platforms.size());
+        for (int i = 0; i < platforms.size(); i++) {
+            created.add(createPlatform(i));
+        }
+        return created;
+    }
+
+    /**
+     * Creates a fresh, uncollected item object for every item in the level.
+     *
+     * @return the items, in file order
+     */
+    public List<Item> createItems() {
+        List<Item> created = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            created.add(new Item(items.getX(i), items.getY(i), itemImage[i], quizzes.get(itemQuiz[i])));
+        }
+        return created;
+    }
+
+    /**
+     * Gets the width of the level.
+     *
+     * @return the width in pixels
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the level.
+     *
+     * @return the height in pixels
+     */
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the x-coordinate the player starts at.
+     *
+     * @return the spawn x-coordinate
+     */
+    public double getSpawnX() {
+        return spawnX;
+    }
+
+    /**
+     * Gets the y-coordinate the player starts at.
+     *
+     * @return the spawn y-coordinate
+     */
+    public double getSpawnY() {
+        return spawnY;
+    }
+
+    /**
+     * Gets the number of platforms in the level.
+     *
+     * @return the platform count
+     */
+    public int getPlatformCount() {
+        return platforms.size();
+    }
+
+    /**
+     * Gets the x-coordinate of a platform.
+     *
+     * @param index the platform index
+     * @return the x-coordinate
+     */
+    public double getPlatformX(final int index) {
+        return platforms.getX(index);
+    }
+
+    /**
+     * Gets the y-coordinate of a platform.
+     *
+     * @param index the platform index
+     * @return the y-coordinate
+     */
+    public double getPlatformY(final int index) {
+        return platforms.getY(index);
+    }
+
+    /**
+     * Gets the width of a platform.
+     *
+     * @param index the platform index
+     * @return the width
+     */
+    public double getPlatformWidth(final int index) {
+        return platforms.getWidth(index);
+    }
+
+    /**
+     * Gets the height of a platform.
+     *
+     * @param index the platform index
+     * @return the height
+     */
+    public double getPlatformHeight(final int index) {
+        return platforms.getHeight(index);
+    }
+
+    /**
+     * Creates the platform object for a single platform.
+     *
+     * @param index the platform index
+     * @return a new platform
+     */
+    public Platform createPlatform(final int index) {
+        return new Platform(platforms.getX(index), platforms.getY(index),
+                platforms.getWidth(index), platforms.getHeight(index));
+    }
+
+    /**
+     * Gets the number of items in the level.
+     *
+     * @return the item count
+     */
+    public int getItemCount() {
+        return items.size();
+    }
+
+    /**
+     * Gets the bounds of the level's platforms, indexed like {@link #createPlatform(int)}.
+     *
+     * @return the platform bounds
+     */
+    public EntityBounds getPlatformStore() {
+        return platforms;
+    }
+
+    /**
+     * Gets the bounds of the level's items, indexed like {@link #createItems()}.
+     * Worlds take a {@link EntityStore#copyOf copy} to track which items are collected.
+     *
+     * @return the item bounds
+     */
+    public EntityBounds getItemStore() {
+        return items;
+    }
+
+    /**
+     * Gets the index of the quiz an item opens.
+     *
+     * @param index the item index
+     * @return the quiz index
+     */
+    int getItemQuiz(final int index) {
+        return itemQuiz[index];
+    }
+
+    /**
+     * Gets the image resource of an item.
+     *
+     * @param index the item index
+     * @return the image path
+     */
+    String getItemImage(final int index) {
+        return itemImage[index];
+    }
+
+    /**
+     * Gets a quiz from the level's quiz bank.
+     *
+     * @param index the quiz index
+     * @return the quiz
+     */
+    Quiz getQuiz(final int index) {
+        return quizzes.get(index);
+    }
+
+    /**
+     * Gets the precomputed platforms of each chunk.
+     *
+     * @return the chunk index, or {@code null} if the level has none
+     */
+    ChunkIndex getChunkIndex() {
+        return chunkIndex;
+    }
+
+    /**
+     * Gets the number of quizzes in the level's quiz bank.
+     *
+     * @return the quiz count
+     */
+    public int getQuizCount() {
+        return quizzes.size();
+    }
+}
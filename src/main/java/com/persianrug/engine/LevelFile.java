@@ -0,0 +1,354 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Quiz;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes and opens compiled level files, which are mapped into memory instead of parsed.
+ * <p>
+ * A compiled level holds everything {@link LevelLoader} would build from a level's text, laid
+ * out the way the game reads it. All numbers are little-endian and every table starts on an
+ * 8-byte boundary:
+ * <pre>
+ * header       magic "PRLV", version, bounds, spawn point, chunk size, table counts and offsets
+ * platforms    one {@link OffHeapEntityStore#LAYOUT} record per platform
+ * items        one {@link OffHeapEntityStore#LAYOUT} record per item
+ * item info    the quiz index and image index of each item, as two ints
+ * chunk starts the start of each chunk's entries, plus the total, as ints
+ * chunk entries the platform indices of all chunks, as ints
+ * strings      the item images and the quiz bank
+ * </pre>
+ * Opening a level maps the file once and checks the header; the platform table and the
+ * precomputed chunk index are then read in place, so a level with a million platforms opens
+ * in about the time it takes to map it. Only the items and quizzes, which are few, are decoded.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+public final class LevelFile {
+    /**
+     * The usual extension of compiled level files.
+     */
+    public static final String EXTENSION = ".prl";
+
+    /**
+     * The size of the header in bytes.
+     */
+    public static final int HEADER_BYTES = 128;
+
+    private static final int MAGIC = 0x50524C56; // "PRLV"
+    private static final int VERSION = 1;
+    private static final int ALIGNMENT = Long.BYTES;
+    private static final long RECORD_BYTES = OffHeapEntityStore.LAYOUT.byteSize();
+    private static final int ITEM_INFO_BYTES = 2 * Integer.BYTES;
+
+    private LevelFile() {
+    }
+
+    /**
+     * Compiles a level, precomputing its chunks at the given size, and writes it to a file,
+     * replacing the file if it exists.
+     *
+     * @param level     the level to write
+     * @param chunkSize the chunk size the game streams the level with
+     * @param file      the file to write
+     * @throws IOException if writing fails
+     */
+    public static void write(final LevelData level, final double chunkSize, final Path file) throws IOException {
+        EntityBounds platforms = level.getPlatformStore();
+        EntityBounds items = level.getItemStore();
+        ChunkIndex chunks = ChunkIndex.build(platforms, level.getWidth(), level.getHeight(), chunkSize);
+
+        Map<String, Integer> images = new LinkedHashMap<>();
+        ByteBuffer itemInfo = buffer(items.size() * ITEM_INFO_BYTES);
+        for (int i = 0; i < items.size(); i++) {
+            itemInfo.putInt(level.getItemQuiz(i));
+            itemInfo.putInt(images.computeIfAbsent(level.getItemImage(i), image -> images.size()));
+        }
+        ByteBuffer starts = buffer((chunks.getChunkCount() + 1) * Integer.BYTES);
+        for (int chunk = 0; chunk <= chunks.getChunkCount(); chunk++) {
+            starts.putInt(chunk == chunks.getChunkCount() ? chunks.getEntryCount() : chunks.start(chunk));
+        }
+        ByteBuffer entries = buffer(chunks.getEntryCount() * Integer.BYTES);
+        for (int e = 0; e < chunks.getEntryCount(); e++) {
+            entries.putInt(chunks.entry(e));
+        }
+        ByteBuffer strings = ByteBuffer.wrap(encodeStrings(level, images.keySet()));
+
+        long platformOffset = HEADER_BYTES;
+        long itemOffset = platformOffset + platforms.size() * RECORD_BYTES;
+        long itemInfoOffset = itemOffset + items.size() * RECORD_BYTES;
+        long startsOffset = align(itemInfoOffset + itemInfo.capacity());
+        long entriesOffset = align(startsOffset + starts.capacity());
+        long stringsOffset = align(entriesOffset + entries.capacity());
+        long fileSize = stringsOffset + strings.capacity();
+
+        ByteBuffer header = buffer(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION)
+                .putDouble(level.getWidth()).putDouble(level.getHeight())
+                .putDouble(level.getSpawnX()).putDouble(level.getSpawnY()).putDouble(chunkSize)
+                .putInt(platforms.size()).putInt(items.size())
+                .putInt(chunks.getColumns()).putInt(chunks.getRows())
+                .putInt(chunks.getEntryCount()).putInt(0)
+                .putLong(platformOffset).putLong(itemOffset).putLong(itemInfoOffset)
+                .putLong(startsOffset).putLong(entriesOffset).putLong(stringsOffset).putLong(fileSize);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header.flip());
+            OffHeapEntityStore.writeRecords(platforms, channel);
+            OffHeapEntityStore.writeRecords(items, channel);
+            writeFully(channel, itemInfo.flip());
+            channel.position(startsOffset);
+            writeFully(channel, starts.flip());
+            channel.position(entriesOffset);
+            writeFully(channel, entries.flip());
+            channel.position(stringsOffset);
+            writeFully(channel, strings);
+        }
+    }
+
+    /**
+     * Opens a compiled level by mapping it into memory. The platform table and chunk index are
+     * read from the mapping in place; only the header, items and quizzes are decoded.
+     *
+     * @param file  the compiled level
+     * @param arena the arena the mapping belongs to; it must stay open while the level is in use and
+     *              be accessible from the chunk loader thread, so a shared or automatic arena is needed
+     * @return the level
+     * @throws IOException if the file cannot be read or is not a valid compiled level
+     */
+    public static LevelData open(final Path file, final Arena arena) throws IOException {
+        MemorySegment data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a compiled level: " + file);
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+        }
+        ByteBuffer header = data.asSlice(0, HEADER_BYTES).asByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a compiled level: " + file);
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported compiled level version " + version + ": " + file);
+        }
+        double width = header.getDouble();
+        double height = header.getDouble();
+        double spawnX = header.getDouble();
+        double spawnY = header.getDouble();
+        double chunkSize = header.getDouble();
+        int platformCount = header.getInt();
+        int itemCount = header.getInt();
+        int columns = header.getInt();
+        int rows = header.getInt();
+        int entryCount = header.getInt();
+        header.getInt();
+        long platformOffset = header.getLong();
+        long itemOffset = header.getLong();
+        long itemInfoOffset = header.getLong();
+        long startsOffset = header.getLong();
+        long entriesOffset = header.getLong();
+        long stringsOffset = header.getLong();
+        long fileSize = header.getLong();
+
+        if (fileSize != data.byteSize() || !(width > 0) || !(height > 0) || !(chunkSize > 0)
+                || platformCount < 0 || itemCount < 0 || columns <= 0 || rows <= 0 || entryCount < 0
+                || (long) columns * rows >= Integer.MAX_VALUE) {
+            throw new IOException("Corrupt compiled level header: " + file);
+        }
+        MemorySegment platformTable = section(data, platformOffset, platformCount * RECORD_BYTES, file);
+        MemorySegment itemTable = section(data, itemOffset, itemCount * RECORD_BYTES, file);
+        MemorySegment itemInfo = section(data, itemInfoOffset, (long) itemCount * ITEM_INFO_BYTES, file);
+        MemorySegment starts = section(data, startsOffset, ((long) columns * rows + 1) * Integer.BYTES, file);
+        MemorySegment entries = section(data, entriesOffset, (long) entryCount * Integer.BYTES, file);
+        MemorySegment strings = section(data, stringsOffset, fileSize - stringsOffset, file);
+
+        ChunkIndex chunkIndex;
+        try {
+            chunkIndex = new ChunkIndex(chunkSize, columns, rows, platformCount, ints(starts), ints(entries));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt chunk index in " + file + ": " + e.getMessage(), e);
+        }
+
+        List<String> images = new ArrayList<>();
+        List<Quiz> quizzes = new ArrayList<>();
+        decodeStrings(strings, images, quizzes, file);
+        IntBuffer info = ints(itemInfo);
+        int[] itemQuiz = new int[itemCount];
+        String[] itemImage = new String[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            int quiz = info.get();
+            int image = info.get();
+            if (quiz < 0 || quiz >= quizzes.size() || image < 0 || image >= images.size()) {
+                throw new IOException("Corrupt item table in " + file + " at item " + i);
+            }
+            itemQuiz[i] = quiz;
+            itemImage[i] = images.get(image);
+        }
+
+        return new LevelData(width, height, spawnX, spawnY,
+                new OffHeapEntityStore(platformTable), new OffHeapEntityStore(itemTable),
+                itemQuiz, itemImage, quizzes, chunkIndex);
+    }
+
+    /**
+     * Checks if a file starts like a compiled level.
+     *
+     * @param file the file to check
+     * @return {@code true} if the file begins with the compiled level magic number
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isLevelFile(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = buffer(Integer.BYTES);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // read the whole magic number
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Encodes the item images and the quiz bank.
+     *
+     * @param level  the level
+     * @param images the distinct item images, in the order items refer to them
+     * @return the encoded strings
+     * @throws IOException if encoding fails
+     */
+    private static byte[] encodeStrings(final LevelData level, final Iterable<String> images) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            List<String> imageList = new ArrayList<>();
+            images.forEach(imageList::add);
+            out.writeInt(imageList.size());
+            for (String image : imageList) {
+                out.writeUTF(image);
+            }
+            out.writeInt(level.getQuizCount());
+            for (int i = 0; i < level.getQuizCount(); i++) {
+                Quiz quiz = level.getQuiz(i);
+                out.writeUTF(quiz.getQuestion());
+                String[] options = quiz.getOptions();
+                out.writeInt(options.length);
+                for (String option : options) {
+                    out.writeUTF(option);
+                }
+                out.writeInt(quiz.getCorrectAnswer());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the item images and the quiz bank.
+     *
+     * @param strings the encoded strings
+     * @param images  the list to fill with the item images
+     * @param quizzes the list to fill with the quizzes
+     * @param file    the file being opened, for error messages
+     * @throws IOException if the strings are corrupt
+     */
+    private static void decodeStrings(final MemorySegment strings, final List<String> images,
+                                      final List<Quiz> quizzes, final Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(strings.toArray(ValueLayout.JAVA_BYTE)))) {
+            int imageCount = in.readInt();
+            for (int i = 0; i < imageCount; i++) {
+                images.add(in.readUTF());
+            }
+            int quizCount = in.readInt();
+            for (int i = 0; i < quizCount; i++) {
+                String question = in.readUTF();
+                String[] options = new String[in.readInt()];
+                for (int o = 0; o < options.length; o++) {
+                    options[o] = in.readUTF();
+                }
+                quizzes.add(new Quiz(question, options, in.readInt()));
+            }
+        } catch (IOException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Corrupt strings in " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets a table of the mapped file, checking that it is aligned and inside the file.
+     *
+     * @param data   the whole file
+     * @param offset the position of the table
+     * @param size   the size of the table in bytes
+     * @param file   the file being opened, for error messages
+     * @return the table
+     * @throws IOException if the table does not fit the file
+     */
+    private static MemorySegment section(final MemorySegment data, final long offset, final long size,
+                                         final Path file) throws IOException {
+        if (offset < HEADER_BYTES || offset % ALIGNMENT != 0 || size < 0 || offset > data.byteSize() - size) {
+            throw new IOException("Corrupt compiled level: table at " + offset + " does not fit " + file);
+        }
+        return data.asSlice(offset, size);
+    }
+
+    /**
+     * Views a table of the mapped file as little-endian ints.
+     *
+     * @param table the table
+     * @return the ints, read in place
+     */
+    private static IntBuffer ints(final MemorySegment table) {
+        return table.asByteBuffer().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Allocates a little-endian buffer.
+     *
+     * @param size the capacity in bytes
+     * @return the buffer
+     */
+    private static ByteBuffer buffer(final int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Rounds a position up to the table alignment.
+     *
+     * @param position the position
+     * @return the aligned position
+     */
+    private static long align(final long position) {
+        return (position + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * Writes all remaining bytes of a buffer at the current position of a channel.
+     *
+     * @param channel the channel to write to
+     * @param data    the bytes to write
+     * @throws IOException if writing fails
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Item;
+import com.persianrug.entity.Quiz;
+import com.persianrug.utils.Constants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Generates levels of any size from a seed.
+ * <p>
+ * The level is divided into square regions, and each region is laid out by its own task on a
+ * {@link ForkJoinPool} with a random generator seeded from the level seed and the region's
+ * position. The regions are then joined in a fixed order, so a seed always gives the same level,
+ * however many threads generate it. The result is written straight into the level's
+ * {@link EntityStore}s.
+ * <p>
+ * Within a region, platforms sit on a jittered lattice whose spacing follows the player's jump:
+ * rows are a fraction of the height a jump reaches apart and columns a fraction of the distance
+ * it carries. The {@link DifficultyCurve} sets that fraction along the way from the spawn point
+ * in the bottom-left corner to the top-right corner, from an easy single jump to a stretched
+ * double jump, and narrows the platforms as it rises. The density is the share of lattice
+ * points that hold a platform. Some platforms carry an item, opening a quiz from the quiz bank
+ * of the {@link LevelLoader#DEFAULT_LEVEL default level}.
+ * <p>
+ * Every setting is part of the {@link #getLevelId() level id}, which {@link LevelLoader#open}
+ * accepts, so saves, input logs and bug reports can refer to a generated level and get the
+ * same level back.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+public final class LevelGenerator {
+    /**
+     * The prefix of the ids of generated levels.
+     */
+    public static final String LEVEL_ID_PREFIX = "generated:";
+
+    /**
+     * The density used when a level id gives only a seed.
+     */
+    public static final double DEFAULT_DENSITY = 0.7;
+
+    private static final String ID_SEPARATOR = ":";
+    private static final int SHORT_ID_FIELDS = 1;
+    private static final int FULL_ID_FIELDS = 7;
+    private static final double REGION_SIZE = Constants.CHUNK_SIZE;
+    private static final double GROUND_HEIGHT = 20;
+    private static final double SPAWN_X = 300;
+    private static final double ITEM_CHANCE = 0.04;
+    private static final double ITEM_CLEARANCE = 10;
+    private static final double JITTER = 0.2;
+    private static final int INITIAL_ITEM_CAPACITY = 16;
+
+    /**
+     * The height the player rises with a single jump, stepped tick by tick like the player.
+     */
+    private static final double SINGLE_JUMP_HEIGHT = rise(Constants.JUMP_FORCE);
+
+    /**
+     * The height the player rises with a double jump taken at the top of the first.
+     */
+    private static final double DOUBLE_JUMP_HEIGHT = SINGLE_JUMP_HEIGHT + rise(Constants.DOUBLE_JUMP_FORCE);
+
+    /**
+     * The horizontal distance the player carries during a single jump back to its starting height.
+     */
+    private static final double JUMP_REACH = Constants.PLAYER_SPEED * Constants.FRICTION
+            * 2 * -Constants.JUMP_FORCE / Constants.GRAVITY;
+
+    private static final double EASY_RISE = 0.5 * SINGLE_JUMP_HEIGHT;
+    private static final double HARD_RISE = 0.75 * DOUBLE_JUMP_HEIGHT;
+    private static final double EASY_GAP = 0.15 * JUMP_REACH;
+    private static final double HARD_GAP = 0.7 * JUMP_REACH;
+    private static final double EASY_WIDTH = 1.5 * Constants.PLATFORM_WIDTH;
+    private static final double HARD_WIDTH = 0.6 * Constants.PLATFORM_WIDTH;
+
+    /**
+     * How hard the level is at each point of the way through it.
+     * The difficulty at a progress {@code p} between 0 and 1 is
+     * {@code start + (end - start) * p^exponent}, where 0 is the easiest layout and 1 the hardest.
+     *
+     * @param start    the difficulty at the spawn point, between 0 and 1
+     * @param end      the difficulty at the far corner, between 0 and 1
+     * @param exponent how the difficulty ramps up; 1 is linear, larger values keep the start easy longer
+     */
+    public record DifficultyCurve(double start, double end, double exponent) {
+        /**
+         * The curve used when a level id gives only a seed.
+         */
+        public static final DifficultyCurve DEFAULT = new DifficultyCurve(0.1, 0.9, 1.5);
+
+        /**
+         * Checks the curve.
+         *
+         * @throws IllegalArgumentException if a difficulty is outside 0 to 1 or the exponent is not positive
+         */
+        public DifficultyCurve {
+            if (!(start >= 0 && start <= 1) || !(end >= 0 && end <= 1)) {
+                throw new IllegalArgumentException("Difficulty must be between 0 and 1");
+            }
+            if (!(exponent > 0) || Double.isInfinite(exponent)) {
+                throw new IllegalArgumentException("Difficulty exponent must be positive");
+            }
+        }
+
+        /**
+         * Gets the difficulty at a point of the way through the level.
+         *
+         * @param progress how far through the level, from 0 at the spawn point to 1 at the far corner
+         * @return the difficulty, between 0 and 1
+         */
+        public double at(final double progress) {
+            return start + (end - start) * Math.pow(Math.clamp(progress, 0.0, 1.0), exponent);
+        }
+    }
+
+    /**
+     * The platforms and items generated for one region.
+     *
+     * @param platforms the platform bounds
+     * @param items     the item bounds
+     * @param itemQuiz  the quiz index of each item
+     */
+    private record Region(EntityStore platforms, EntityStore items, int[] itemQuiz) {
+    }
+
+    private final long seed;
+    private final double width;
+    private final double height;
+    private final double density;
+    private final DifficultyCurve difficulty;
+
+    /**
+     * Constructs a generator for levels with the given settings.
+     *
+     * @param seed       the seed the whole level follows from
+     * @param width      the width of the level in pixels
+     * @param height     the height of the level in pixels
+     * @param density    the share of lattice points that hold a platform, above 0 and at most 1
+     * @param difficulty how hard the level gets on the way through it
+     * @throws IllegalArgumentException if the size is too small to play or the density is out of range
+     */
+    public LevelGenerator(final long seed, final double width, final double height, final double density,
+                          final DifficultyCurve difficulty) {
+        if (!(width >= Constants.WINDOW_WIDTH) || !(height >= Constants.WINDOW_HEIGHT)
+                || Double.isInfinite(width) || Double.isInfinite(height)) {
+            throw new IllegalArgumentException("Level must be at least the size of the window");
+        }
+        if (!(density > 0 && density <= 1)) {
+            throw new IllegalArgumentException("Density must be above 0 and at most 1");
+        }
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.density = density;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Creates the generator a level id was made by: either {@code generated:<seed>}, using the
+     * default size, density and difficulty, or the full id from {@link #getLevelId()}.
+     *
+     * @param levelId the level id
+     * @return the generator
+     * @throws IllegalArgumentException if the id is not a valid generated level id
+     */
+    public static LevelGenerator fromLevelId(final String levelId) {
+        if (!isGeneratedLevelId(levelId)) {
+            throw new IllegalArgumentException("Not a generated level: " + levelId);
+        }
+        String[] fields = levelId.substring(LEVEL_ID_PREFIX.length()).split(ID_SEPARATOR, -1);
+        try {
+            long seed = Long.parseLong(fields[0]);
+            if (fields.length == SHORT_ID_FIELDS) {
+                return new LevelGenerator(seed, Constants.LEVEL_WIDTH, Constants.LEVEL_HEIGHT,
+                        DEFAULT_DENSITY, DifficultyCurve.DEFAULT);
+            }
+            if (fields.length == FULL_ID_FIELDS) {
+                return new LevelGenerator(seed, Double.parseDouble(fields[1]), Double.parseDouble(fields[2]),
+                        Double.parseDouble(fields[3]), new DifficultyCurve(Double.parseDouble(fields[4]),
+                        Double.parseDouble(fields[5]), Double.parseDouble(fields[6])));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed generated level id: " + levelId, e);
+        }
+        throw new IllegalArgumentException("Malformed generated level id: " + levelId);
+    }
+
+    /**
+     * Checks if a level id names a generated level.
+     *
+     * @param levelId the level id
+     * @return {@code true} if the id starts with {@value #LEVEL_ID_PREFIX}
+     */
+    public static boolean isGeneratedLevelId(final String levelId) {
+        return levelId.startsWith(LEVEL_ID_PREFIX);
+    }
+
+    /**
+     * Gets the id of the level this generator makes, holding every setting it was made with.
+     *
+     * @return the level id
+     */
+    public String getLevelId() {
+        return LEVEL_ID_PREFIX + String.join(ID_SEPARATOR, Long.toString(seed), Double.toString(width),
+                Double.toString(height), Double.toString(density), Double.toString(difficulty.start()),
+                Double.toString(difficulty.end()), Double.toString(difficulty.exponent()));
+    }
+
+    /**
+     * Generates the level on the common fork/join pool.
+     *
+     * @return the level
+     * @throws IOException if the quiz bank cannot be loaded
+     */
+    public LevelData generate() throws IOException {
+        return generate(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates the level, laying out its regions in parallel on the given pool.
+     * The level is the same whatever the pool.
+     *
+     * @param pool the pool to run the region tasks on
+     * @return the level
+     * @throws IOException if the quiz bank cannot be loaded
+     */
+    public LevelData generate(final ForkJoinPool pool) throws IOException {
+        List<Quiz> quizzes = quizBank();
+        int columns = ChunkIndex.chunksAlong(width, REGION_SIZE);
+        int rows = ChunkIndex.chunksAlong(height, REGION_SIZE);
+        List<ForkJoinTask<Region>> tasks = new ArrayList<>(columns * rows);
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int regionColumn = column;
+                int regionRow = row;
+                tasks.add(pool.submit(() -> generateRegion(regionColumn, regionRow, quizzes.size())));
+            }
+        }
+
+        Region[] regions = new Region[tasks.size()];
+        int platformCount = 1;
+        int itemCount = 0;
+        for (int i = 0; i < regions.length; i++) {
+            regions[i] = tasks.get(i).join();
+            platformCount += regions[i].platforms().size();
+            itemCount += regions[i].items().size();
+        }
+
+        EntityStore platforms = new EntityStore(platformCount);
+        EntityStore items = new EntityStore(itemCount);
+        int[] itemQuiz = new int[itemCount];
+        platforms.add(EntityStore.TYPE_PLATFORM, 0, height - GROUND_HEIGHT, width, GROUND_HEIGHT);
+        for (Region region : regions) {
+            append(region.platforms(), platforms);
+            System.arraycopy(region.itemQuiz(), 0, itemQuiz, items.size(), region.items().size());
+            append(region.items(), items);
+        }
+        String[] itemImage = new String[itemCount];
+        Arrays.fill(itemImage, LevelData.DEFAULT_ITEM_IMAGE);
+
+        return new LevelData(width, height, SPAWN_X, height - GROUND_HEIGHT - Constants.PLAYER_HEIGHT,
+                platforms, items, itemQuiz, itemImage, quizzes, null);
+    }
+
+    /**
+     * Lays out the platforms and items of one region. Safe to call from any thread.
+     *
+     * @param column    the region column
+     * @param row       the region row
+     * @param quizCount the number of quizzes items can open
+     * @return the region's platforms and items
+     */
+    private Region generateRegion(final int column, final int row, final int quizCount) {
+        SplittableRandom random = new SplittableRandom(regionSeed(column, row));
+        double minX = column * REGION_SIZE;
+        double maxX = Math.min(width, minX + REGION_SIZE);
+        double minY = row * REGION_SIZE;
+        double maxY = Math.min(height - GROUND_HEIGHT, minY + REGION_SIZE);
+        double progress = ((minX + maxX) / 2 / width + 1 - (minY + maxY) / 2 / height) / 2;
+        double level = difficulty.at(progress);
+
+        double rise = lerp(EASY_RISE, HARD_RISE, level);
+        double platformWidth = lerp(EASY_WIDTH, HARD_WIDTH, level);
+        double spacing = platformWidth + lerp(EASY_GAP, HARD_GAP, level);
+
+        EntityStore platforms = new EntityStore();
+        EntityStore items = new EntityStore();
+        int[] itemQuiz = new int[INITIAL_ITEM_CAPACITY];
+        int line = 0;
+        for (double baseY = maxY - rise; baseY >= minY; baseY -= rise, line++) {
+            double offset = (line % 2) * spacing / 2;
+            for (double baseX = minX + offset; baseX < maxX; baseX += spacing) {
+                if (random.nextDouble() >= density) {
+                    continue;
+                }
+                double x = Math.clamp(baseX + (random.nextDouble() - 0.5) * JITTER * spacing,
+                        0, width - platformWidth);
+                double y = Math.max(0, baseY + (random.nextDouble() - 0.5) * JITTER * rise);
+                platforms.add(EntityStore.TYPE_PLATFORM, x, y, platformWidth, Constants.PLATFORM_HEIGHT);
+
+                if (random.nextDouble() < ITEM_CHANCE && y - Item.ITEM_SIZE - ITEM_CLEARANCE >= 0) {
+                    int item = items.add(EntityStore.TYPE_ITEM, x + (platformWidth - Item.ITEM_SIZE) / 2,
+                            y - Item.ITEM_SIZE - ITEM_CLEARANCE, Item.ITEM_SIZE, Item.ITEM_SIZE);
+                    if (item == itemQuiz.length) {
+                        itemQuiz = Arrays.copyOf(itemQuiz, item * 2);
+                    }
+                    itemQuiz[item] = random.nextInt(quizCount);
+                }
+            }
+        }
+        return new Region(platforms, items, itemQuiz);
+    }
+
+    /**
+     * Derives the seed of a region from the level seed and the region's position, so that
+     * each region can be generated on its own.
+     *
+     * @param column the region column
+     * @param row    the region row
+     * @return the region seed
+     */
+    private long regionSeed(final int column, final int row) {
+        return new SplittableRandom(seed ^ ((long) row << Integer.SIZE | column)).nextLong();
+    }
+
+    /**
+     * Loads the quizzes items can open.
+     *
+     * @return the quiz bank of the default level
+     * @throws IOException if the default level cannot be loaded
+     */
+    private static List<Quiz> quizBank() throws IOException {
+        LevelData source = LevelLoader.loadResource(LevelLoader.DEFAULT_LEVEL);
+        List<Quiz> quizzes = new ArrayList<>(source.getQuizCount());
+        for (int i = 0; i < source.getQuizCount(); i++) {
+            quizzes.add(source.getQuiz(i));
+        }
+        return quizzes;
+    }
+
+    /**
+     * Appends every entity of one store to another.
+     *
+     * @param source the entities to append
+     * @param target the store to append to
+     */
+    private static void append(final EntityStore source, final EntityStore target) {
+        for (int i = 0; i < source.size(); i++) {
+            target.add(source.getType(i), source.getX(i), source.getY(i), source.getWidth(i), source.getHeight(i));
+        }
+    }
+
+    /**
+     * Finds the height reached from a jump with the given upward velocity.
+     *
+     * @param force the jump velocity in pixels per tick, negative for upwards
+     * @return the height risen before falling again
+     */
+    private static double rise(final double force) {
+        double velocity = force;
+        double y = 0;
+        double top = 0;
+        while (velocity < 0) {
+            velocity += Constants.GRAVITY;
+            y += velocity;
+            top = Math.min(top, y);
+        }
+        return -top;
+    }
+
+    /**
+     * Interpolates linearly between two values.
+     *
+     * @param easy  the value at difficulty 0
+     * @param hard  the value at difficulty 1
+     * @param level the difficulty
+     * @return the interpolated value
+     */
+    private static double lerp(final double easy, final double hard, final double level) {
+        return easy + (hard - easy) * level;
+    }
+}
@@ -0,0 +1,315 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Quiz;
+import com.persianrug.utils.Constants;
+import com.persianrug.utils.GameLogger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.foreign.Arena;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads level files into {@link LevelData}.
+ * <p>
+ * A level file is UTF-8 text with one record per line. Blank lines and lines starting
+ * with {@code #} are ignored. The records are:
+ * <pre>
+ * bounds   &lt;width&gt; &lt;height&gt;
+ * spawn    &lt;x&gt; &lt;y&gt;
+ * platform &lt;x&gt; &lt;y&gt; &lt;width&gt; &lt;height&gt;
+ * quiz     &lt;correct option&gt; &lt;question&gt;|&lt;option&gt;|&lt;option&gt;|&lt;option&gt;|&lt;option&gt;
+ * item     &lt;x&gt; &lt;y&gt; &lt;quiz index&gt; [&lt;image path&gt;]
+ * </pre>
+ * Quizzes are numbered from zero in the order they appear, and an item may only refer
+ * to a quiz declared above it. A level without {@code bounds} uses
+ * {@link Constants#LEVEL_WIDTH} and {@link Constants#LEVEL_HEIGHT}.
+ * The file is read line by line straight into the level's arrays.
+ * <p>
+ * Levels can also be compiled into {@link LevelFile}s with {@link LevelCompiler}; {@link #load}
+ * recognizes them and maps them instead of parsing.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+public final class LevelLoader {
+    /**
+     * The level loaded when no other level is chosen.
+     */
+    public static final String DEFAULT_LEVEL = "/levels/level1.txt";
+
+    private static final char COMMENT = '#';
+    private static final char OPTION_SEPARATOR = '|';
+    private static final int QUIZ_OPTIONS_COUNT = 4;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private LevelLoader() {
+    }
+
+    /**
+     * Loads a level from a classpath resource.
+     *
+     * @param resourcePath the absolute resource path, for example {@code /levels/level1.txt}
+     * @return the loaded level
+     * @throws IOException if the resource is missing or malformed
+     */
+    public static LevelData loadResource(final String resourcePath) throws IOException {
+        InputStream in = LevelLoader.class.getResourceAsStream(resourcePath);
+        if (in == null) {
+            throw new IOException("Level not found: " + resourcePath);
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return parse(reader, resourcePath);
+        }
+    }
+
+    /**
+     * Loads a level by the id saves and replays refer to it by: a {@link LevelGenerator generated}
+     * level, a classpath resource if one has that path, otherwise a level file.
+     *
+     * @param levelId the generated level id, resource path or file path of the level
+     * @return the loaded level
+     * @throws IOException if the level is missing or malformed
+     */
+    public static LevelData open(final String levelId) throws IOException {
+        if (LevelGenerator.isGeneratedLevelId(levelId)) {
+            try {
+                return LevelGenerator.fromLevelId(levelId).generate();
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+        if (LevelLoader.class.getResource(levelId) != null) {
+            return loadResource(levelId);
+        }
+        Path file = Path.of(levelId);
+        if (!Files.isRegularFile(file)) {
+            throw new IOException("Level not found: " + levelId);
+        }
+        return load(file);
+    }
+
+    /**
+     * Loads a level from a file. A compiled level is mapped into memory from an automatic
+     * arena, which is released once the level is no longer used.
+     *
+     * @param file the level file, as text or compiled
+     * @return the loaded level
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static LevelData load(final Path file) throws IOException {
+        if (LevelFile.isLevelFile(file)) {
+            return LevelFile.open(file, Arena.ofAuto());
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(reader, file.toString());
+        }
+    }
+
+    /**
+     * Parses a level from a reader.
+     *
+     * @param reader     the reader supplying the level text
+     * @param sourceName the name of the source, used in error messages
+     * @return the parsed level
+     * @throws IOException if the text cannot be read or is malformed
+     */
+    public static LevelData parse(final Reader reader, final String sourceName) throws IOException {
+        long start = System.nanoTime();
+        LevelData level = new LevelData(Constants.LEVEL_WIDTH, Constants.LEVEL_HEIGHT, 0, 0);
+        BufferedReader lines = reader instanceof BufferedReader
+                ? (BufferedReader) reader : new BufferedReader(reader);
+        LineCursor cursor = new LineCursor();
+        String line;
+        int lineNumber = 0;
+
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            cursor.reset(line);
+            if (cursor.atEnd() || cursor.peek() == COMMENT) {
+                continue;
+            }
+            try {
+                parseRecord(cursor, level);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(sourceName + ":" + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        GameLogger.debug(() -> String.format("Loaded %s: %d platforms, %d items in %.2f ms",
+                sourceName, level.getPlatformCount(), level.getItemCount(), elapsed / NANOS_PER_MILLI));
+        return level;
+    }
+
+    /**
+     * Parses one record into the level.
+     *
+     * @param cursor the cursor positioned at the record keyword
+     * @param level  the level being built
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    private static void parseRecord(final LineCursor cursor, final LevelData level) {
+        String keyword = cursor.nextWord();
+        switch (keyword) {
+            case "bounds":
+                level.setBounds(cursor.nextPositive(), cursor.nextPositive());
+                break;
+            case "spawn":
+                level.setSpawn(cursor.nextNumber(), cursor.nextNumber());
+                break;
+            case "platform":
+                level.addPlatform(cursor.nextNumber(), cursor.nextNumber(),
+                        cursor.nextPositive(), cursor.nextPositive());
+                break;
+            case "quiz":
+                int answer = cursor.nextInt();
+                String[] parts = cursor.rest().split("\\" + OPTION_SEPARATOR, -1);
+                if (parts.length != QUIZ_OPTIONS_COUNT + 1) {
+                    throw new IllegalArgumentException("quiz needs a question and "
+                            + QUIZ_OPTIONS_COUNT + " options");
+                }
+                String[] options = new String[QUIZ_OPTIONS_COUNT];
+                System.arraycopy(parts, 1, options, 0, QUIZ_OPTIONS_COUNT);
+                level.addQuiz(new Quiz(parts[0], options, answer));
+                return;
+            case "item":
+                double x = cursor.nextNumber();
+                double y = cursor.nextNumber();
+                int quiz = cursor.nextInt();
+                String image = cursor.atEnd() ? null : cursor.nextWord();
+                level.addItem(x, y, quiz, image);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown record '" + keyword + "'");
+        }
+        if (!cursor.atEnd()) {
+            throw new IllegalArgumentException("unexpected text after " + keyword + " record");
+        }
+    }
+
+    /**
+     * Walks the whitespace-separated fields of a single line.
+     */
+    private static final class LineCursor {
+        private String line;
+        private int position;
+
+        /**
+         * Points the cursor at the first field of a new line.
+         *
+         * @param newLine the line to read
+         */
+        void reset(final String newLine) {
+            line = newLine;
+            position = 0;
+            skipSpaces();
+        }
+
+        /**
+         * Checks if every field of the line has been read.
+         *
+         * @return {@code true} if only whitespace remains
+         */
+        boolean atEnd() {
+            return position >= line.length();
+        }
+
+        /**
+         * Gets the next character without consuming it.
+         *
+         * @return the next character
+         */
+        char peek() {
+            return line.charAt(position);
+        }
+
+        /**
+         * Reads the next whitespace-delimited field.
+         *
+         * @return the field
+         * @throws IllegalArgumentException if the line has no more fields
+         */
+        String nextWord() {
+            if (atEnd()) {
+                throw new IllegalArgumentException("missing field");
+            }
+            int start = position;
+            while (position < line.length() && !Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+            String word = line.substring(start, position);
+            skipSpaces();
+            return word;
+        }
+
+        /**
+         * Reads the next field as a number.
+         *
+         * @return the number
+         * @throws IllegalArgumentException if the field is missing or not a number
+         */
+        double nextNumber() {
+            String word = nextWord();
+            try {
+                return Double.parseDouble(word);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("'" + word + "' is not a number");
+            }
+        }
+
+        /**
+         * Reads the next field as a whole number.
+         *
+         * @return the number
+         * @throws IllegalArgumentException if the field is missing or not an integer
+         */
+        int nextInt() {
+            String word = nextWord();
+            try {
+                return Integer.parseInt(word);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("'" + word + "' is not an integer");
+            }
+        }
+
+        /**
+         * Reads the next field as a number greater than zero.
+         *
+         * @return the number
+         * @throws IllegalArgumentException if the field is missing, not a number or not positive
+         */
+        double nextPositive() {
+            double value = nextNumber();
+            if (!(value > 0)) {
+                throw new IllegalArgumentException("expected a positive number but found " + value);
+            }
+            return value;
+        }
+
+        /**
+         * Reads everything left on the line.
+         *
+         * @return the remaining text, with trailing whitespace removed
+         */
+        String rest() {
+            String rest = line.substring(position).stripTrailing();
+            position = line.length();
+            return rest;
+        }
+
+        /**
+         * Advances past any whitespace.
+         */
+        private void skipSpaces() {
+            while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
@@ -27,6 +27,14 @@ public class Menu {
     private static final String TITLE_PAUSE_MENU = "Paused";
     private static final String INSTRUCTION_TEXT =
             "Use UP/DOWN arrows to select and ENTER to confirm";
+    private static final String[] MAIN_MENU_OPTIONS = {"New Game", "Load Game", "Exit"};
+    private static final String[] PAUSE_MENU_OPTIONS = {"Resume", "Save Game", "Back to Menu"};
+
+    // Styles are built once and reused so rendering the menu does not allocate
+    private static final Color BACKGROUND_COLOR = new Color(0, 0, 0, MENU_BACKGROUND_OPACITY);
+    private static final Font TITLE_FONT = new Font("Arial Bold", TITLE_FONT_SIZE);
+    private static final Font OPTION_FONT = new Font("Arial", OPTION_FONT_SIZE);
+    private static final Font INSTRUCTION_FONT = new Font("Arial", INSTRUCTION_FONT_SIZE);
 
     /**
      * The options available in the current menu.
@@ -54,7 +62,7 @@ public class Menu {
      * Sets the menu options to the main menu options.
      */
     public void setMainMenuOptions() {
-        options = new String[]{"New Game", "Load Game", "Exit"};
+        options = MAIN_MENU_OPTIONS;
         isMainMenu = true;
     }
 
@@ -62,7 +70,7 @@ public class Menu {
      * Sets the menu options to the pause menu options.
      */
     public void setPauseMenuOptions() {
-        options = new String[]{"Resume", "Save Game", "Back to Menu"};
+        options = PAUSE_MENU_OPTIONS;
         isMainMenu = false;
     }
 
@@ -98,7 +106,7 @@ public class Menu {
      */
     public void render(final GraphicsContext gc) {
         // Draw semi-transparent background
-        gc.setFill(new Color(0, 0, 0, MENU_BACKGROUND_OPACITY));
+        gc.setFill(BACKGROUND_COLOR);
         gc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
 
         // Determine the title based on the menu type
@@ -111,7 +119,7 @@ public class Menu {
 
         // Draw title
         gc.setFill(Color.WHITE);
-        gc.setFont(new Font("Arial Bold", TITLE_FONT_SIZE));
+        gc.setFont(TITLE_FONT);
         gc.setTextAlign(TextAlignment.CENTER);
         gc.fillText(
                 title,
@@ -120,7 +128,7 @@ public class Menu {
         );
 
         // Draw menu options
-        gc.setFont(new Font("Arial", OPTION_FONT_SIZE));
+        gc.setFont(OPTION_FONT);
         for (int i = 0; i < options.length; i++) {
             if (i == selectedOption) {
                 gc.setFill(Color.YELLOW);
@@ -136,7 +144,7 @@ public class Menu {
 
         // Draw instructions
         gc.setFill(Color.LIGHTGRAY);
-        gc.setFont(new Font("Arial", INSTRUCTION_FONT_SIZE));
+        gc.setFont(INSTRUCTION_FONT);
         gc.fillText(
                 INSTRUCTION_TEXT,
                 (double) Constants.WINDOW_WIDTH / 2,
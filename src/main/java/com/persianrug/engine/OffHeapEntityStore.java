@@ -0,0 +1,319 @@
+package com.persianrug.engine;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only table of entity bounds in a {@link MemorySegment}, outside the garbage-collected heap.
+ * <p>
+ * Each entity is one {@link #LAYOUT} record: its x, y, width and height as little-endian doubles,
+ * then its type id and flags as little-endian ints. The same bytes are used in memory and in
+ * files, so a table can be mapped straight from a file with {@link #map} and read in place,
+ * without copying or parsing. Levels with millions of platforms then add nothing for the
+ * garbage collector to trace, and pages of the file are only read when a query reaches them.
+ * <p>
+ * A table file written by {@link #write} holds a {@value #HEADER_BYTES}-byte header (magic number,
+ * version and entity count) followed by the records. Level files embed tables the same way.
+ * <p>
+ * The segment must stay alive while the store is used. Chunks are built on a background thread,
+ * so stores read by a world should come from a shared or automatic {@link Arena}.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+public final class OffHeapEntityStore implements EntityBounds {
+    private static final ValueLayout.OfDouble COORDINATE = ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt FIELD = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The layout of one entity record.
+     */
+    public static final StructLayout LAYOUT = MemoryLayout.structLayout(
+            COORDINATE.withName("x"),
+            COORDINATE.withName("y"),
+            COORDINATE.withName("width"),
+            COORDINATE.withName("height"),
+            FIELD.withName("type"),
+            FIELD.withName("flags")
+    ).withName("entity");
+
+    /**
+     * The size of a table file header in bytes, a multiple of the record alignment.
+     */
+    public static final int HEADER_BYTES = 16;
+
+    private static final long STRIDE = LAYOUT.byteSize();
+    private static final long X = offset("x");
+    private static final long Y = offset("y");
+    private static final long WIDTH = offset("width");
+    private static final long HEIGHT = offset("height");
+    private static final long TYPE = offset("type");
+    private static final long FLAGS = offset("flags");
+    private static final int MAGIC = 0x50524554; // "PRET"
+    private static final int VERSION = 1;
+
+    private final MemorySegment segment;
+    private final int count;
+
+    /**
+     * Wraps a segment holding whole entity records. Nothing is copied.
+     *
+     * @param segment the records, aligned to 8 bytes
+     * @throws IllegalArgumentException if the segment is not a whole number of aligned records
+     */
+    public OffHeapEntityStore(final MemorySegment segment) {
+        if (segment.byteSize() % STRIDE != 0 || segment.byteSize() / STRIDE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Not a table of entity records: " + segment.byteSize() + " bytes");
+        }
+        if (segment.isNative() && segment.address() % LAYOUT.byteAlignment() != 0) {
+            throw new IllegalArgumentException("Entity records must be aligned to "
+                    + LAYOUT.byteAlignment() + " bytes");
+        }
+        this.segment = segment;
+        this.count = (int) (segment.byteSize() / STRIDE);
+    }
+
+    /**
+     * Copies a table of entities into memory allocated from an arena.
+     *
+     * @param source the entities to copy
+     * @param arena  the arena to allocate from; the store is valid until it is closed
+     * @return the off-heap copy
+     */
+    public static OffHeapEntityStore copyOf(final EntityBounds source, final Arena arena) {
+        MemorySegment segment = arena.allocate(Math.max(STRIDE, STRIDE * source.size()), LAYOUT.byteAlignment());
+        for (int i = 0; i < source.size(); i++) {
+            long base = i * STRIDE;
+            segment.set(COORDINATE, base + X, source.getX(i));
+            segment.set(COORDINATE, base + Y, source.getY(i));
+            segment.set(COORDINATE, base + WIDTH, source.getWidth(i));
+            segment.set(COORDINATE, base + HEIGHT, source.getHeight(i));
+            segment.set(FIELD, base + TYPE, source.getType(i));
+            segment.set(FIELD, base + FLAGS, source.getFlags(i));
+        }
+        return new OffHeapEntityStore(segment.asSlice(0, STRIDE * source.size()));
+    }
+
+    /**
+     * Maps a table of entity records from part of a file, read-only. Nothing is read until
+     * the records are accessed.
+     *
+     * @param channel the open file
+     * @param offset  the position of the first record, a multiple of 8
+     * @param count   the number of records
+     * @param arena   the arena the mapping belongs to; it is unmapped when the arena is closed
+     * @return a store reading the file in place
+     * @throws IOException if the table is misaligned, does not fit in the file or cannot be mapped
+     */
+    public static OffHeapEntityStore map(final FileChannel channel, final long offset, final int count,
+                                         final Arena arena) throws IOException {
+        long size = count * STRIDE;
+        if (count < 0 || offset < 0 || offset % LAYOUT.byteAlignment() != 0 || offset + size > channel.size()) {
+            throw new IOException("Entity table of " + count + " records at " + offset + " does not fit the file");
+        }
+        return new OffHeapEntityStore(channel.map(FileChannel.MapMode.READ_ONLY, offset, size, arena));
+    }
+
+    /**
+     * Writes the records of a table of entities at the current position of a channel.
+     *
+     * @param source  the entities to write
+     * @param channel the channel to write to
+     * @throws IOException if writing fails
+     */
+    public static void writeRecords(final EntityBounds source, final FileChannel channel) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            ByteBuffer records = copyOf(source, arena).segment.asByteBuffer();
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+        }
+    }
+
+    /**
+     * Writes a table of entities to a table file, replacing it if it exists.
+     *
+     * @param source the entities to write
+     * @param file   the file to write
+     * @throws IOException if writing fails
+     */
+    public static void write(final EntityBounds source, final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(source.size()).putInt(0).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            writeRecords(source, channel);
+        }
+    }
+
+    /**
+     * Maps a table file written by {@link #write}, checking its header.
+     *
+     * @param file  the file to map
+     * @param arena the arena the mapping belongs to
+     * @return a store reading the file in place
+     * @throws IOException if the file cannot be read or is not a table file
+     */
+    public static OffHeapEntityStore open(final Path file, final Arena arena) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read the whole header
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not an entity table file: " + file);
+            }
+            return map(channel, HEADER_BYTES, header.getInt(), arena);
+        }
+    }
+
+    /**
+     * Gets the byte offset of a field within a record.
+     *
+     * @param name the field name
+     * @return the offset
+     */
+    private static long offset(final String name) {
+        return LAYOUT.byteOffset(MemoryLayout.PathElement.groupElement(name));
+    }
+
+    /**
+     * Gets the segment holding the records.
+     *
+     * @return the segment
+     */
+    public MemorySegment segment() {
+        return segment;
+    }
+
+    /**
+     * Gets the number of entities in the table.
+     *
+     * @return the entity count
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the x-coordinate of an entity.
+     *
+     * @param index the entity index
+     * @return the x-coordinate
+     */
+    @Override
+    public double getX(final int index) {
+        return segment.get(COORDINATE, index * STRIDE + X);
+    }
+
+    /**
+     * Gets the y-coordinate of an entity.
+     *
+     * @param index the entity index
+     * @return the y-coordinate
+     */
+    @Override
+    public double getY(final int index) {
+        return segment.get(COORDINATE, index * STRIDE + Y);
+    }
+
+    /**
+     * Gets the width of an entity.
+     *
+     * @param index the entity index
+     * @return the width
+     */
+    @Override
+    public double getWidth(final int index) {
+        return segment.get(COORDINATE, index * STRIDE + WIDTH);
+    }
+
+    /**
+     * Gets the height of an entity.
+     *
+     * @param index the entity index
+     * @return the height
+     */
+    @Override
+    public double getHeight(final int index) {
+        return segment.get(COORDINATE, index * STRIDE + HEIGHT);
+    }
+
+    /**
+     * Gets the type id of an entity.
+     *
+     * @param index the entity index
+     * @return the type id
+     */
+    @Override
+    public byte getType(final int index) {
+        return (byte) segment.get(FIELD, index * STRIDE + TYPE);
+    }
+
+    /**
+     * Gets the flag bits of an entity.
+     *
+     * @param index the entity index
+     * @return the flags
+     */
+    @Override
+    public int getFlags(final int index) {
+        return segment.get(FIELD, index * STRIDE + FLAGS);
+    }
+
+    /**
+     * Checks if an entity overlaps a box, reading its record once.
+     *
+     * @param index the entity index
+     * @param boxX  the x-coordinate of the box
+     * @param boxY  the y-coordinate of the box
+     * @param boxW  the width of the box
+     * @param boxH  the height of the box
+     * @return {@code true} if the entity and the box intersect
+     */
+    @Override
+    public boolean intersects(final int index, final double boxX, final double boxY,
+                              final double boxW, final double boxH) {
+        long base = index * STRIDE;
+        double x = segment.get(COORDINATE, base + X);
+        double y = segment.get(COORDINATE, base + Y);
+        return boxX < x + segment.get(COORDINATE, base + WIDTH)
+                && boxX + boxW > x
+                && boxY < y + segment.get(COORDINATE, base + HEIGHT)
+                && boxY + boxH > y;
+    }
+
+    /**
+     * Checks if an entity touches or overlaps a rectangle given by its edges, reading its record once.
+     *
+     * @param index the entity index
+     * @param minX  the left edge of the rectangle
+     * @param minY  the top edge of the rectangle
+     * @param maxX  the right edge of the rectangle
+     * @param maxY  the bottom edge of the rectangle
+     * @return {@code true} if the entity reaches into the rectangle
+     */
+    @Override
+    public boolean overlaps(final int index, final double minX, final double minY,
+                            final double maxX, final double maxY) {
+        long base = index * STRIDE;
+        double x = segment.get(COORDINATE, base + X);
+        double y = segment.get(COORDINATE, base + Y);
+        return x <= maxX && x + segment.get(COORDINATE, base + WIDTH) >= minX
+                && y <= maxY && y + segment.get(COORDINATE, base + HEIGHT) >= minY;
+    }
+}
@@ -0,0 +1,236 @@
+package com.persianrug.engine;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.ImagePattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws a stack of repeating background images that scroll slower than the world.
+ * <p>
+ * Each layer's image is pre-composited once into a wrap-around buffer: the image repeated
+ * enough times to cover the view plus one extra copy in each direction. Any view position
+ * then maps to a single rectangle of that buffer, so every layer costs exactly one blit per
+ * frame regardless of the image or window size. Alternatively layers can be filled with an
+ * {@link ImagePattern}, which needs no buffer but creates a new pattern whenever the view
+ * scrolls.
+ * <p>
+ * Layers are drawn in the order they were added, back to front.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public class ParallaxBackground {
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /**
+     * A single scrolling image and its pre-composited buffer.
+     */
+    private static final class Layer {
+        private final Image image;
+        private final double factorX;
+        private final double factorY;
+        private WritableImage composite;
+        private ImagePattern pattern;
+        private double patternX = Double.NaN;
+        private double patternY = Double.NaN;
+
+        /**
+         * Constructs a layer.
+         *
+         * @param image   the repeating image
+         * @param factorX the horizontal scroll speed relative to the camera
+         * @param factorY the vertical scroll speed relative to the camera
+         */
+        private Layer(final Image image, final double factorX, final double factorY) {
+            this.image = image;
+            this.factorX = factorX;
+            this.factorY = factorY;
+        }
+    }
+
+    private final double viewWidth;
+    private final double viewHeight;
+    private final List<Layer> layers = new ArrayList<>();
+    private boolean patternFill = false;
+    private int lastBlitCount = 0;
+
+    /**
+     * Constructs an empty background for a view of the given size.
+     *
+     * @param viewWidth  the width of the view in pixels, must be positive
+     * @param viewHeight the height of the view in pixels, must be positive
+     * @throws IllegalArgumentException if a view dimension is not positive
+     */
+    public ParallaxBackground(final double viewWidth, final double viewHeight) {
+        if (viewWidth <= 0 || viewHeight <= 0) {
+            throw new IllegalArgumentException("View dimensions must be positive");
+        }
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+    }
+
+    /**
+     * Adds a layer in front of the existing ones.
+     * A factor of {@code 0} keeps the layer fixed and {@code 1} scrolls it with the world.
+     *
+     * @param image   the repeating image, must have a positive size
+     * @param factorX the horizontal scroll speed relative to the camera
+     * @param factorY the vertical scroll speed relative to the camera
+     * @throws IllegalArgumentException if the image has no pixels
+     */
+    public void addLayer(final Image image, final double factorX, final double factorY) {
+        if (image.getWidth() < 1 || image.getHeight() < 1) {
+            throw new IllegalArgumentException("Background image must not be empty");
+        }
+        layers.add(new Layer(image, factorX, factorY));
+    }
+
+    /**
+     * Chooses between blitting the pre-composited buffers and filling with image patterns.
+     *
+     * @param enabled {@code true} to fill layers with image patterns
+     */
+    public void setPatternFill(final boolean enabled) {
+        this.patternFill = enabled;
+    }
+
+    /**
+     * Draws all layers for the given camera position in screen coordinates.
+     *
+     * @param gc      the graphics context to draw on, with an identity transform
+     * @param cameraX the world x-coordinate of the view's left edge
+     * @param cameraY the world y-coordinate of the view's top edge
+     */
+    public void render(final GraphicsContext gc, final double cameraX, final double cameraY) {
+        lastBlitCount = 0;
+        for (int i = 0; i < layers.size(); i++) {
+            Layer layer = layers.get(i);
+            double offsetX = wrap(cameraX * layer.factorX, layer.image.getWidth());
+            double offsetY = wrap(cameraY * layer.factorY, layer.image.getHeight());
+            if (patternFill) {
+                gc.setFill(patternFor(layer, offsetX, offsetY));
+                gc.fillRect(0, 0, viewWidth, viewHeight);
+            } else {
+                gc.drawImage(compositeFor(layer), offsetX, offsetY, viewWidth, viewHeight,
+                        0, 0, viewWidth, viewHeight);
+            }
+            lastBlitCount++;
+        }
+    }
+
+    /**
+     * Gets the offset into a repeating image that lies under the view's edge.
+     *
+     * @param position the scrolled position of the view
+     * @param period   the size of the image along the axis
+     * @return the offset, at least {@code 0} and less than {@code period}
+     */
+    static double wrap(final double position, final double period) {
+        double offset = position % period;
+        if (offset < 0) {
+            offset += period;
+        }
+        return offset >= period ? 0 : offset;
+    }
+
+    /**
+     * Gets a layer's wrap-around buffer, compositing it on first use.
+     *
+     * @param layer the layer to draw
+     * @return the buffer holding the layer's image repeated over the view and one more copy
+     */
+    private WritableImage compositeFor(final Layer layer) {
+        if (layer.composite == null) {
+            layer.composite = composite(layer.image, viewWidth, viewHeight);
+        }
+        return layer.composite;
+    }
+
+    /**
+     * Gets a pattern anchored at the given offset, reusing the previous one if it did not move.
+     *
+     * @param layer   the layer to draw
+     * @param offsetX the horizontal offset into the image
+     * @param offsetY the vertical offset into the image
+     * @return the pattern to fill the view with
+     */
+    private static ImagePattern patternFor(final Layer layer, final double offsetX, final double offsetY) {
+        if (layer.pattern == null || offsetX != layer.patternX || offsetY != layer.patternY) {
+            layer.pattern = new ImagePattern(layer.image, -offsetX, -offsetY,
+                    layer.image.getWidth(), layer.image.getHeight(), false);
+            layer.patternX = offsetX;
+            layer.patternY = offsetY;
+        }
+        return layer.pattern;
+    }
+
+    /**
+     * Repeats an image into a buffer large enough that any view-sized window starting
+     * inside the first copy fits without wrapping.
+     *
+     * @param image      the repeating image
+     * @param viewWidth  the width of the view
+     * @param viewHeight the height of the view
+     * @return the composited buffer
+     */
+    static WritableImage composite(final Image image, final double viewWidth, final double viewHeight) {
+        int tileWidth = (int) image.getWidth();
+        int tileHeight = (int) image.getHeight();
+        int columns = (int) Math.ceil(viewWidth / tileWidth) + 1;
+        int rows = (int) Math.ceil(viewHeight / tileHeight) + 1;
+
+        int[] pixels = new int[tileWidth * tileHeight];
+        PixelReader reader = image.getPixelReader();
+        reader.getPixels(0, 0, tileWidth, tileHeight, PixelFormat.getIntArgbInstance(), pixels, 0, tileWidth);
+
+        WritableImage buffer = new WritableImage(columns * tileWidth, rows * tileHeight);
+        PixelWriter writer = buffer.getPixelWriter();
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                writer.setPixels(column * tileWidth, row * tileHeight, tileWidth, tileHeight,
+                        PixelFormat.getIntArgbInstance(), pixels, 0, tileWidth);
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Gets the number of layers.
+     *
+     * @return the layer count
+     */
+    public int getLayerCount() {
+        return layers.size();
+    }
+
+    /**
+     * Gets the number of blits or fills issued by the last call to {@link #render}.
+     *
+     * @return the draw count, one per layer
+     */
+    public int getLastBlitCount() {
+        return lastBlitCount;
+    }
+
+    /**
+     * Gets the approximate memory held by the composited buffers, assuming 4 bytes per pixel.
+     *
+     * @return the buffer size in bytes
+     */
+    public long getBufferBytes() {
+        long bytes = 0;
+        for (Layer layer : layers) {
+            if (layer.composite != null) {
+                bytes += (long) layer.composite.getWidth() * (long) layer.composite.getHeight() * BYTES_PER_PIXEL;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,126 @@
+package com.persianrug.engine;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Locale;
+
+/**
+ * Draws the frame profiler's statistics in the corner of the screen: frames per second,
+ * frame time percentiles, how a frame's work splits between updating and rendering, and how
+ * long key presses wait before the simulation sees them.
+ * The text is rebuilt about twice a second from the profiler's histograms, so drawing
+ * the overlay in between does not allocate.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public final class ProfilerOverlay {
+    private static final long REFRESH_NANOS = 500_000_000L;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double PERCENT = 100.0;
+    private static final double P50 = 50;
+    private static final double P95 = 95;
+    private static final double P99 = 99;
+    private static final double BOX_OPACITY = 0.7;
+    private static final double BOX_WIDTH = 330;
+    private static final double BOX_HEIGHT = 100;
+    private static final double BOX_MARGIN = 10;
+    private static final double TEXT_PADDING = 8;
+    private static final double LINE_HEIGHT = 20;
+    private static final int FONT_SIZE = 14;
+    private static final int LINE_COUNT = 4;
+    private static final Font FONT = new Font("Monospaced", FONT_SIZE);
+    private static final Color BOX_COLOR = new Color(0, 0, 0, BOX_OPACITY);
+
+    private final FrameProfiler profiler;
+    private final String[] lines = new String[LINE_COUNT];
+    private long lastFrameCount = 0;
+    private long lastFrameTotal = 0;
+
+    /**
+     * Constructs an overlay showing the given profiler.
+     *
+     * @param profiler the profiler to report on
+     */
+    public ProfilerOverlay(final FrameProfiler profiler) {
+        this.profiler = profiler;
+        refresh();
+    }
+
+    /**
+     * Draws the overlay in the top right corner of a view in screen coordinates.
+     *
+     * @param gc        the graphics context to draw on
+     * @param viewWidth the width of the view
+     */
+    public void render(final GraphicsContext gc, final double viewWidth) {
+        TimingHistogram frames = profiler.getHistogram(FrameProfiler.Section.FRAME);
+        if (frames.getTotal() - lastFrameTotal >= REFRESH_NANOS || frames.getTotal() < lastFrameTotal) {
+            refresh();
+        }
+
+        double left = viewWidth - BOX_WIDTH - BOX_MARGIN;
+        gc.setFill(BOX_COLOR);
+        gc.fillRect(left, BOX_MARGIN, BOX_WIDTH, BOX_HEIGHT);
+        gc.setFill(Color.LIME);
+        gc.setFont(FONT);
+        gc.setTextAlign(TextAlignment.LEFT);
+        for (int i = 0; i < lines.length; i++) {
+            gc.fillText(lines[i], left + TEXT_PADDING, BOX_MARGIN + (i + 1) * LINE_HEIGHT);
+        }
+    }
+
+    /**
+     * Rebuilds the overlay text from the current histograms.
+     * Frames per second cover the frames since the previous refresh; the other
+     * figures cover everything recorded since the profiler was last reset. When the simulation
+     * has a thread of its own no frame spends time updating, so the mean tick is shown instead,
+     * without a split, since ticks then run alongside rendering rather than before it.
+     */
+    void refresh() {
+        TimingHistogram frames = profiler.getHistogram(FrameProfiler.Section.FRAME);
+        long frameCount = frames.getCount() - lastFrameCount;
+        long frameTotal = frames.getTotal() - lastFrameTotal;
+        double fps = frameCount <= 0 || frameTotal <= 0 ? 0 : frameCount * NANOS_PER_SECOND / frameTotal;
+        lastFrameCount = frames.getCount();
+        lastFrameTotal = frames.getTotal();
+
+        TimingHistogram updates = profiler.getHistogram(FrameProfiler.Section.UPDATE);
+        TimingHistogram ticks = profiler.getHistogram(FrameProfiler.Section.TICK);
+        double update = updates.getMean();
+        double render = profiler.getHistogram(FrameProfiler.Section.RENDER).getMean();
+        double work = update + render;
+        double updateShare = work > 0 ? update / work * PERCENT : 0;
+
+        lines[0] = String.format(Locale.ROOT, "FPS %.0f", fps);
+        lines[1] = String.format(Locale.ROOT, "frame p50 %.1f p95 %.1f p99 %.1f max %.1f ms",
+                frames.getPercentile(P50) / NANOS_PER_MILLI, frames.getPercentile(P95) / NANOS_PER_MILLI,
+                frames.getPercentile(P99) / NANOS_PER_MILLI, frames.getMax() / NANOS_PER_MILLI);
+        if (updates.getCount() == 0 && ticks.getCount() > 0) {
+            lines[2] = String.format(Locale.ROOT, "tick %.2f ms (thread)  render %.2f ms",
+                    ticks.getMean() / NANOS_PER_MILLI, render / NANOS_PER_MILLI);
+        } else {
+            lines[2] = String.format(Locale.ROOT, "update %.2f ms  render %.2f ms  (%.0f%%/%.0f%%)",
+                    update / NANOS_PER_MILLI, render / NANOS_PER_MILLI, updateShare,
+                    work > 0 ? PERCENT - updateShare : 0);
+        }
+        TimingHistogram input = profiler.getHistogram(FrameProfiler.Section.INPUT_LATENCY);
+        lines[3] = String.format(Locale.ROOT, "input p50 %.1f p95 %.1f max %.1f ms",
+                input.getPercentile(P50) / NANOS_PER_MILLI, input.getPercentile(P95) / NANOS_PER_MILLI,
+                input.getMax() / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Gets a line of the overlay text.
+     *
+     * @param line the line index
+     * @return the text of the line
+     */
+    String getLine(final int line) {
+        return lines[line];
+    }
+}
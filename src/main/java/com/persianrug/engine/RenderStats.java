@@ -0,0 +1,87 @@
+package com.persianrug.engine;
+
+/**
+ * Counts how many world objects were drawn and how many were culled in a frame.
+ * Used to confirm that the number of draw calls stays bounded by what is on screen
+ * rather than growing with the size of the level.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public class RenderStats {
+    /**
+     * The number of objects drawn in the current frame.
+     */
+    private int drawn;
+
+    /**
+     * The number of objects skipped in the current frame.
+     */
+    private int culled;
+
+    /**
+     * The number of pre-drawn static layer tiles drawn in the current frame.
+     */
+    private int tiles;
+
+    /**
+     * Clears the counters at the start of a frame.
+     */
+    public void reset() {
+        drawn = 0;
+        culled = 0;
+        tiles = 0;
+    }
+
+    /**
+     * Records that an object was drawn.
+     */
+    public void recordDrawn() {
+        drawn++;
+    }
+
+    /**
+     * Records that objects were skipped because they were off screen or hidden.
+     *
+     * @param count the number of skipped objects
+     */
+    public void recordCulled(final int count) {
+        culled += count;
+    }
+
+    /**
+     * Records that pre-drawn static layer tiles were drawn in place of individual platforms.
+     *
+     * @param count the number of tiles drawn
+     */
+    public void recordTiles(final int count) {
+        tiles += count;
+    }
+
+    /**
+     * Gets the number of objects drawn in the last frame.
+     *
+     * @return the number of drawn objects
+     */
+    public int getDrawn() {
+        return drawn;
+    }
+
+    /**
+     * Gets the number of objects skipped in the last frame.
+     *
+     * @return the number of skipped objects
+     */
+    public int getCulled() {
+        return culled;
+    }
+
+    /**
+     * Gets the number of static layer tiles drawn in the last frame.
+     *
+     * @return the number of drawn tiles
+     */
+    public int getTiles() {
+        return tiles;
+    }
+}
@@ -0,0 +1,158 @@
+package com.persianrug.engine;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Encodes and decodes {@link GameSaveManager.GameSave} in a compact binary format.
+ * <p>
+ * A save is laid out big-endian as: a four byte magic number, a two byte format
+ * version, the player position as two doubles, the number of correct answers,
+ * the number of items, the collected flags packed eight to a byte, and finally a
+ * CRC32 of everything before it.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+public final class SaveCodec {
+    /**
+     * The magic number every binary save starts with, "PRSV" in ASCII.
+     */
+    public static final int MAGIC = 0x50525356;
+
+    /**
+     * The format version written by this codec.
+     */
+    public static final short VERSION = 1;
+
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES;
+    private static final int BODY_BYTES = Double.BYTES * 2 + Integer.BYTES * 2;
+    private static final int CHECKSUM_BYTES = Integer.BYTES;
+    private static final int BITS_PER_BYTE = 8;
+
+    private SaveCodec() {
+    }
+
+    /**
+     * Encodes a save into a new byte array.
+     *
+     * @param save the save to encode
+     * @return the encoded save
+     */
+    public static byte[] encode(final GameSaveManager.GameSave save) {
+        boolean[] collected = save.collectedItems;
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize(collected.length));
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putDouble(save.playerX);
+        buffer.putDouble(save.playerY);
+        buffer.putInt(save.correctAnswers);
+        buffer.putInt(collected.length);
+
+        for (int i = 0; i < collected.length; i += BITS_PER_BYTE) {
+            int bits = 0;
+            for (int bit = 0; bit < BITS_PER_BYTE && i + bit < collected.length; bit++) {
+                if (collected[i + bit]) {
+                    bits |= 1 << bit;
+                }
+            }
+            buffer.put((byte) bits);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * Writes an encoded save to the given output.
+     *
+     * @param save the save to encode
+     * @param out  the output to write to
+     * @throws IOException if the output cannot be written
+     */
+    public static void write(final GameSaveManager.GameSave save, final DataOutput out) throws IOException {
+        out.write(encode(save));
+    }
+
+    /**
+     * Decodes a save from a byte array.
+     *
+     * @param data the encoded save
+     * @return the decoded save
+     * @throws IOException if the data is not a valid save of a supported version
+     */
+    public static GameSaveManager.GameSave decode(final byte[] data) throws IOException {
+        return read(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Reads a save from the buffer's current position, advancing it past the save.
+     *
+     * @param buffer the buffer holding the encoded save
+     * @return the decoded save
+     * @throws IOException if the data is not a valid save of a supported version
+     */
+    public static GameSaveManager.GameSave read(final ByteBuffer buffer) throws IOException {
+        int start = buffer.position();
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a binary save file");
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported save version: " + version);
+            }
+            double playerX = buffer.getDouble();
+            double playerY = buffer.getDouble();
+            int correctAnswers = buffer.getInt();
+            int itemCount = buffer.getInt();
+            if (itemCount < 0 || itemCount > (buffer.remaining() - CHECKSUM_BYTES) * BITS_PER_BYTE) {
+                throw new IOException("Corrupt save: bad item count " + itemCount);
+            }
+
+            boolean[] collected = new boolean[itemCount];
+            for (int i = 0; i < itemCount; i += BITS_PER_BYTE) {
+                int bits = buffer.get();
+                for (int bit = 0; bit < BITS_PER_BYTE && i + bit < itemCount; bit++) {
+                    collected[i + bit] = (bits & (1 << bit)) != 0;
+                }
+            }
+
+            int end = buffer.position();
+            int storedCrc = buffer.getInt();
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().position(start).limit(end));
+            if ((int) crc.getValue() != storedCrc) {
+                throw new IOException("Corrupt save: checksum mismatch");
+            }
+            return new GameSaveManager.GameSave(playerX, playerY, correctAnswers, collected);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Corrupt save: truncated", e);
+        }
+    }
+
+    /**
+     * Checks whether the data starts with the binary save magic number.
+     *
+     * @param data the data to check
+     * @return {@code true} if the data looks like a binary save
+     */
+    public static boolean isBinarySave(final byte[] data) {
+        return data.length >= Integer.BYTES && ByteBuffer.wrap(data).getInt() == MAGIC;
+    }
+
+    /**
+     * Gets the encoded size of a save with the given number of items.
+     *
+     * @param itemCount the number of items
+     * @return the encoded size in bytes
+     */
+    public static int encodedSize(final int itemCount) {
+        return HEADER_BYTES + BODY_BYTES + (itemCount + BITS_PER_BYTE - 1) / BITS_PER_BYTE + CHECKSUM_BYTES;
+    }
+}
@@ -0,0 +1,53 @@
+package com.persianrug.engine;
+
+/**
+ * Represents the progress of the most recent save request.
+ * Each status carries the message shown on the pause screen.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+public enum SaveStatus {
+    /**
+     * No save has been requested since the game was started or loaded.
+     */
+    NONE(null),
+
+    /**
+     * A save is being written in the background.
+     */
+    SAVING("Saving..."),
+
+    /**
+     * The last save was written successfully.
+     */
+    SAVED("Game saved"),
+
+    /**
+     * The last save could not be written; the previous save file is left untouched.
+     */
+    FAILED("Save failed");
+
+    /**
+     * The message shown for this status, or {@code null} if nothing is shown.
+     */
+    private final String message;
+
+    /**
+     * Constructs a save status with the given message.
+     *
+     * @param message the message to show, or {@code null} for none
+     */
+    SaveStatus(final String message) {
+        this.message = message;
+    }
+
+    /**
+     * Gets the message shown for this status.
+     *
+     * @return the message, or {@code null} if nothing is shown
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,173 @@
+package com.persianrug.engine;
+
+import com.persianrug.utils.Constants;
+import com.persianrug.utils.GameLogger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the game simulation on its own thread at a fixed tick rate, independent of rendering.
+ * <p>
+ * While active, the thread runs the ticks that are due, publishes the world to a
+ * {@link SnapshotExchange} and sleeps until the next tick. The rendering thread draws whatever
+ * snapshot is latest, so a slow frame no longer delays physics and a slow tick no longer drops
+ * frames. Key events reach the simulation through the lock-free queue of {@link InputManager}.
+ * <p>
+ * The world belongs to this thread while it is active. Other threads may change the world only
+ * after {@link #deactivate()} has returned; it waits for a tick in progress to finish, which takes
+ * well under a millisecond. A tick can also hand control back itself, for example when the game
+ * must return to the menu: the thread then deactivates and calls its halt callback.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public final class SimulationThread {
+    private static final long JOIN_TIMEOUT_MILLIS = 1_000;
+
+    /**
+     * One tick of the simulation.
+     */
+    @FunctionalInterface
+    public interface Tick {
+        /**
+         * Advances the world by one tick.
+         *
+         * @return {@code true} to keep simulating, {@code false} to stop and hand the world back
+         */
+        boolean run();
+    }
+
+    private final GameWorld world;
+    private final SnapshotExchange exchange;
+    private final Tick tick;
+    private final Runnable onHalt;
+    private final FixedTimestep timestep;
+    private final Thread thread;
+
+    /**
+     * Set while the thread may be touching the world.
+     */
+    private final AtomicBoolean busy = new AtomicBoolean();
+
+    private volatile boolean active = false;
+    private volatile boolean restart = false;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs an inactive simulation thread; it is not started until {@link #start()}.
+     *
+     * @param world    the world the ticks advance
+     * @param exchange the exchange to publish the world to after each batch of ticks
+     * @param tick     runs one tick
+     * @param onHalt   called on the simulation thread after a tick asked to stop
+     */
+    public SimulationThread(final GameWorld world, final SnapshotExchange exchange,
+                            final Tick tick, final Runnable onHalt) {
+        this.world = world;
+        this.exchange = exchange;
+        this.tick = tick;
+        this.onHalt = onHalt;
+        this.timestep = new FixedTimestep(Constants.TICKS_PER_SECOND, Constants.MAX_TICKS_PER_FRAME);
+        this.thread = Thread.ofPlatform().name("simulation").daemon().unstarted(this::run);
+    }
+
+    /**
+     * Starts the thread. It idles until activated.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Lets the simulation run, taking ownership of the world. Time spent inactive is not simulated.
+     */
+    public void activate() {
+        if (!active) {
+            restart = true;
+            active = true;
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Stops the simulation and waits until no tick is running, handing the world back to the caller.
+     */
+    public void deactivate() {
+        active = false;
+        while (busy.get()) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Checks if the simulation is running ticks.
+     *
+     * @return {@code true} if the simulation owns the world
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Stops the thread and waits briefly for it to end.
+     */
+    public void shutdown() {
+        running = false;
+        deactivate();
+        LockSupport.unpark(thread);
+        try {
+            thread.join(JOIN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The simulation loop: runs due ticks while active and sleeps in between.
+     */
+    private void run() {
+        while (running) {
+            busy.set(true);
+            if (!active) {
+                busy.set(false);
+                LockSupport.park(this);
+                continue;
+            }
+            if (restart) {
+                restart = false;
+                timestep.reset();
+            }
+
+            long now = System.nanoTime();
+            int ticks = timestep.advance(now);
+            boolean halted = false;
+            try {
+                for (int i = 0; i < ticks && active; i++) {
+                    if (!tick.run()) {
+                        halted = true;
+                        break;
+                    }
+                }
+                if (ticks > 0) {
+                    exchange.publish(world);
+                }
+            } catch (RuntimeException e) {
+                GameLogger.error("Simulation tick failed: " + e);
+                halted = true;
+            }
+            if (halted) {
+                active = false;
+            }
+            busy.set(false);
+
+            if (halted) {
+                onHalt.run();
+            } else {
+                long wait = (long) ((1 - timestep.getAlpha()) * timestep.getStepNanos());
+                LockSupport.parkNanos(this, Math.max(wait, TimeUnit.MICROSECONDS.toNanos(1)));
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.persianrug.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands the latest {@link WorldSnapshot} from the simulation thread to the rendering thread
+ * without locks or allocation.
+ * <p>
+ * Three snapshots rotate between the two threads: the producer fills its back buffer and swaps
+ * it with the middle one, and the consumer swaps its front buffer with the middle one whenever
+ * the middle holds something it has not seen. Each swap is a single atomic exchange, so neither
+ * side ever waits for the other, the producer never overwrites what the consumer is reading,
+ * and the consumer always gets the most recently completed snapshot. Snapshots the consumer was
+ * too slow to take are simply replaced.
+ * <p>
+ * One thread may publish and one thread may take at a time. The producer role can move between
+ * threads only while the previous producer is known to have stopped publishing.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public class SnapshotExchange {
+    private static final int BUFFERS = 3;
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100;
+
+    private final WorldSnapshot[] buffers = new WorldSnapshot[BUFFERS];
+
+    /**
+     * The index of the middle buffer, with {@link #FRESH} set if it has not been taken.
+     */
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    /**
+     * The buffer the producer writes next; only touched by the producer.
+     */
+    private int back = 0;
+
+    /**
+     * The buffer the consumer last took; only touched by the consumer.
+     */
+    private int front = 2;
+
+    /**
+     * Constructs an exchange with nothing published yet.
+     */
+    public SnapshotExchange() {
+        for (int i = 0; i < BUFFERS; i++) {
+            buffers[i] = new WorldSnapshot();
+        }
+    }
+
+    /**
+     * Captures the world into the back buffer and makes it the latest snapshot.
+     *
+     * @param world the world to publish
+     */
+    public void publish(final GameWorld world) {
+        world.captureSnapshot(buffers[back]);
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Checks if a snapshot has been published since the last one taken.
+     *
+     * @return {@code true} if {@link #take(GameWorld)} would restore a new snapshot
+     */
+    public boolean hasUpdate() {
+        return (middle.get() & FRESH) != 0;
+    }
+
+    /**
+     * Restores the latest snapshot into a world, if one was published since the last call.
+     *
+     * @param view the world to restore the snapshot into
+     * @return {@code true} if a new snapshot was restored
+     */
+    public boolean take(final GameWorld view) {
+        if (!hasUpdate()) {
+            return false;
+        }
+        front = middle.getAndSet(front) & INDEX_MASK;
+        view.restoreSnapshot(buffers[front]);
+        return true;
+    }
+}
@@ -0,0 +1,132 @@
+package com.persianrug.engine;
+
+import java.util.Arrays;
+
+/**
+ * Periodic {@link WorldSnapshot}s of a replay, ordered by tick, so that seeking can restore
+ * the nearest earlier snapshot and simulate only the few ticks after it.
+ * <p>
+ * A snapshot is taken every {@code interval} ticks. The index has a fixed capacity; when it fills up,
+ * every other snapshot is dropped and the interval doubles, so a run of any length stays covered
+ * from its first tick with bounded memory. Snapshot objects are allocated once and then reused.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public class SnapshotIndex {
+    private final WorldSnapshot[] snapshots;
+    private final int[] ticks;
+    private int interval;
+    private int count = 0;
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param interval the number of ticks between snapshots to start with
+     * @param capacity the largest number of snapshots kept
+     * @throws IllegalArgumentException if the interval is not positive or the capacity is below two
+     */
+    public SnapshotIndex(final int interval, final int capacity) {
+        if (interval <= 0 || capacity < 2) {
+            throw new IllegalArgumentException("Bad snapshot interval " + interval + " or capacity " + capacity);
+        }
+        this.interval = interval;
+        this.snapshots = new WorldSnapshot[capacity];
+        this.ticks = new int[capacity];
+    }
+
+    /**
+     * Takes a snapshot of the world if the tick is due one and is past the latest snapshot.
+     * Ticks that are simulated again after seeking back are therefore not captured twice.
+     *
+     * @param tick  the replay tick the world is at
+     * @param world the world to capture
+     * @return {@code true} if a snapshot was taken
+     */
+    public boolean offer(final int tick, final GameWorld world) {
+        if (tick % interval != 0 || (count > 0 && tick <= ticks[count - 1])) {
+            return false;
+        }
+        if (count == snapshots.length) {
+            thin();
+            if (tick % interval != 0) {
+                return false;
+            }
+        }
+        if (snapshots[count] == null) {
+            snapshots[count] = new WorldSnapshot();
+        }
+        world.captureSnapshot(snapshots[count]);
+        ticks[count] = tick;
+        count++;
+        return true;
+    }
+
+    /**
+     * Drops the snapshots that are not on a multiple of twice the interval and doubles it.
+     * Dropped snapshot objects are moved behind the kept ones to be reused.
+     */
+    private void thin() {
+        interval *= 2;
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (ticks[i] % interval == 0) {
+                WorldSnapshot snapshot = snapshots[kept];
+                snapshots[kept] = snapshots[i];
+                snapshots[i] = snapshot;
+                ticks[kept] = ticks[i];
+                kept++;
+            }
+        }
+        count = kept;
+    }
+
+    /**
+     * Finds the latest snapshot at or before a tick.
+     *
+     * @param tick the replay tick
+     * @return the position of the snapshot, or {@code -1} if every snapshot is later
+     */
+    public int floor(final int tick) {
+        int index = Arrays.binarySearch(ticks, 0, count, tick);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Gets the replay tick of a snapshot.
+     *
+     * @param index the position of the snapshot
+     * @return the tick it was taken at
+     */
+    public int getTick(final int index) {
+        return ticks[index];
+    }
+
+    /**
+     * Gets a snapshot.
+     *
+     * @param index the position of the snapshot
+     * @return the snapshot
+     */
+    public WorldSnapshot get(final int index) {
+        return snapshots[index];
+    }
+
+    /**
+     * Gets the number of snapshots held.
+     *
+     * @return the snapshot count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the current number of ticks between snapshots.
+     *
+     * @return the interval
+     */
+    public int getInterval() {
+        return interval;
+    }
+}
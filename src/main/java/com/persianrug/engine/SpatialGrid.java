@@ -0,0 +1,276 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.GameObject;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * A static uniform-grid spatial index over a fixed set of game objects.
+ * The level is divided into square cells and every object is registered in each cell
+ * its bounding box overlaps. Queries only visit the cells overlapping the query area,
+ * so their cost depends on the local object density instead of the total object count.
+ * The grid is built once and must be rebuilt if objects are added, removed or moved.
+ *
+ * @param <T> the type of game object stored in the grid
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+public class SpatialGrid<T extends GameObject> implements SpatialIndex<T> {
+    private static final int INITIAL_QUERY_CAPACITY = 64;
+
+    /**
+     * The indexed objects, in the order they were supplied.
+     */
+    private final List<T> objects;
+
+    /**
+     * The side length of a cell in pixels.
+     */
+    private final double cellSize;
+
+    /**
+     * The number of cell columns.
+     */
+    private final int columns;
+
+    /**
+     * The number of cell rows.
+     */
+    private final int rows;
+
+    /**
+     * For each cell, the offset of its first entry in {@link #cellEntries}.
+     * Has one extra element so that the entries of cell {@code c} are
+     * {@code cellStart[c]} (inclusive) to {@code cellStart[c + 1]} (exclusive).
+     */
+    private final int[] cellStart;
+
+    /**
+     * The object indices of all cells, stored back to back.
+     */
+    private final int[] cellEntries;
+
+    /**
+     * The query stamp each object was last reported in, used to report an object
+     * spanning several cells only once per query.
+     */
+    private final int[] visitedStamp;
+
+    /**
+     * Scratch buffer holding the object indices found by the current query.
+     */
+    private int[] found = new int[INITIAL_QUERY_CAPACITY];
+
+    /**
+     * The stamp of the current query.
+     */
+    private int stamp = 0;
+
+    /**
+     * The number of cell entries inspected by the most recent query.
+     */
+    private int lastCandidateCount = 0;
+
+    /**
+     * Builds a grid over the given objects covering a level of the given size.
+     * Objects extending past the level bounds are registered in the nearest edge cells.
+     *
+     * @param objects     the objects to index, must not be null
+     * @param levelWidth  the width of the indexed area in pixels, must be positive
+     * @param levelHeight the height of the indexed area in pixels, must be positive
+     * @param cellSize    the side length of a cell in pixels, must be positive
+     * @throws IllegalArgumentException if a dimension or the cell size is not positive
+     */
+    public SpatialGrid(final List<T> objects, final double levelWidth,
+                       final double levelHeight, final double cellSize) {
+        if (levelWidth <= 0 || levelHeight <= 0) {
+            throw new IllegalArgumentException("Level dimensions must be positive");
+        }
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.objects = List.copyOf(objects);
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(levelWidth / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(levelHeight / cellSize));
+        this.cellStart = new int[columns * rows + 1];
+        this.visitedStamp = new int[this.objects.size()];
+
+        // First pass counts entries per cell, second pass fills them in
+        for (T object : this.objects) {
+            forEachCell(object, cell -> cellStart[cell + 1]++);
+        }
+        for (int cell = 0; cell < columns * rows; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        this.cellEntries = new int[cellStart[columns * rows]];
+        int[] fill = Arrays.copyOf(cellStart, columns * rows);
+        for (int i = 0; i < this.objects.size(); i++) {
+            final int index = i;
+            forEachCell(this.objects.get(i), cell -> cellEntries[fill[cell]++] = index);
+        }
+    }
+
+    /**
+     * Finds every object whose cells overlap the given rectangle.
+     * The result may contain objects that are near but not inside the rectangle,
+     * so callers still perform their exact intersection test. Results are reported
+     * in the order the objects were supplied to the grid, each at most once.
+     *
+     * @param minX the left edge of the query rectangle
+     * @param minY the top edge of the query rectangle
+     * @param maxX the right edge of the query rectangle
+     * @param maxY the bottom edge of the query rectangle
+     * @param out  the list to fill with the found objects; it is cleared first
+     */
+    @Override
+    public void query(final double minX, final double minY,
+                      final double maxX, final double maxY, final List<T> out) {
+        out.clear();
+        int count = queryIndices(minX, minY, maxX, maxY);
+        for (int i = 0; i < count; i++) {
+            out.add(objects.get(found[i]));
+        }
+    }
+
+    /**
+     * Finds every object whose cells overlap the given rectangle by its position in the list
+     * the grid was built from, so callers keeping the objects' data elsewhere need not touch
+     * the objects. The indices are read with {@link #getFoundIndex(int)}, in ascending order,
+     * and stay valid until the next query.
+     *
+     * @param minX the left edge of the query rectangle
+     * @param minY the top edge of the query rectangle
+     * @param maxX the right edge of the query rectangle
+     * @param maxY the bottom edge of the query rectangle
+     * @return the number of objects found
+     */
+    public int queryIndices(final double minX, final double minY, final double maxX, final double maxY) {
+        lastCandidateCount = 0;
+        if (objects.isEmpty()) {
+            return 0;
+        }
+        nextStamp();
+
+        int firstColumn = column(minX);
+        int lastColumn = column(maxX);
+        int firstRow = row(minY);
+        int lastRow = row(maxY);
+        int count = 0;
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                for (int e = cellStart[cell]; e < cellStart[cell + 1]; e++) {
+                    int index = cellEntries[e];
+                    lastCandidateCount++;
+                    if (visitedStamp[index] != stamp) {
+                        visitedStamp[index] = stamp;
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count * 2);
+                        }
+                        found[count++] = index;
+                    }
+                }
+            }
+        }
+
+        Arrays.sort(found, 0, count);
+        return count;
+    }
+
+    /**
+     * Gets an object found by the last {@link #queryIndices} call.
+     *
+     * @param i the position in the result, below the count it returned
+     * @return the index of the object in the list the grid was built from
+     */
+    public int getFoundIndex(final int i) {
+        return found[i];
+    }
+
+    /**
+     * Gets the number of objects in the grid.
+     *
+     * @return the number of indexed objects
+     */
+    @Override
+    public int size() {
+        return objects.size();
+    }
+
+    /**
+     * Gets the number of cell entries inspected by the most recent query.
+     * This is the per-query work and is independent of the total object count.
+     *
+     * @return the number of inspected entries
+     */
+    public int getLastCandidateCount() {
+        return lastCandidateCount;
+    }
+
+    /**
+     * Advances the query stamp, clearing the visited marks when it wraps around.
+     */
+    private void nextStamp() {
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visitedStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Calls the action for every cell overlapped by the object's bounding box.
+     *
+     * @param object the object to locate
+     * @param action the action receiving each cell index
+     */
+    private void forEachCell(final GameObject object, final IntConsumer action) {
+        int firstColumn = column(object.getX());
+        int lastColumn = column(object.getX() + object.getWidth());
+        int firstRow = row(object.getY());
+        int lastRow = row(object.getY() + object.getHeight());
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                action.accept(row * columns + column);
+            }
+        }
+    }
+
+    /**
+     * Converts an x-coordinate to a clamped column index.
+     *
+     * @param x the x-coordinate
+     * @return the column index
+     */
+    private int column(final double x) {
+        return clamp((int) Math.floor(x / cellSize), columns);
+    }
+
+    /**
+     * Converts a y-coordinate to a clamped row index.
+     *
+     * @param y the y-coordinate
+     * @return the row index
+     */
+    private int row(final double y) {
+        return clamp((int) Math.floor(y / cellSize), rows);
+    }
+
+    /**
+     * Clamps a cell coordinate to the grid.
+     *
+     * @param value the coordinate
+     * @param limit the number of cells along the axis
+     * @return the clamped coordinate
+     */
+    private static int clamp(final int value, final int limit) {
+        if (value < 0) {
+            return 0;
+        }
+        return Math.min(value, limit - 1);
+    }
+}
@@ -0,0 +1,35 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.GameObject;
+
+import java.util.List;
+
+/**
+ * A spatial lookup of game objects by area, used for collision checks and viewport culling.
+ *
+ * @param <T> the type of game object in the index
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+public interface SpatialIndex<T extends GameObject> {
+    /**
+     * Finds the objects near the given rectangle.
+     * The result may contain objects that are near but not inside the rectangle,
+     * so callers still perform their exact intersection test. Each object is reported
+     * at most once, in a stable order.
+     *
+     * @param minX the left edge of the query rectangle
+     * @param minY the top edge of the query rectangle
+     * @param maxX the right edge of the query rectangle
+     * @param maxY the bottom edge of the query rectangle
+     * @param out  the list to fill with the found objects; it is cleared first
+     */
+    void query(double minX, double minY, double maxX, double maxY, List<T> out);
+
+    /**
+     * Gets the number of objects the index can currently report.
+     *
+     * @return the number of queryable objects
+     */
+    int size();
+}
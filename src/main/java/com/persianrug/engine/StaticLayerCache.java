@@ -0,0 +1,262 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Platform;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Caches the static platforms of a level as pre-drawn square tile images.
+ * <p>
+ * Platforms never move, so instead of drawing every visible platform each frame the level is
+ * cut into tiles and each tile is rasterized once. A frame then draws only the tiles overlapping
+ * the view. With tiles at least as large as the window that is at most four images, however
+ * many platforms the level has. A fixed number of tiles is kept; the least recently drawn tile
+ * is reused when a new one is needed. Tiles must be invalidated when the platforms under them
+ * change, which {@link #attachTo(ChunkManager)} does automatically for streamed chunks.
+ * <p>
+ * All methods must be called from the thread that renders.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public class StaticLayerCache {
+    private static final long NO_TILE = Long.MIN_VALUE;
+    private static final int KEY_SHIFT = 32;
+    private static final long KEY_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Draws a set of platforms into a tile image.
+     */
+    @FunctionalInterface
+    public interface Rasterizer {
+        /**
+         * Draws the platforms overlapping a tile into an image.
+         *
+         * @param platforms the platforms overlapping the tile, in world coordinates
+         * @param tileX     the world x-coordinate of the tile's left edge
+         * @param tileY     the world y-coordinate of the tile's top edge
+         * @param tileSize  the side length of the tile in pixels
+         * @param reuse     an evicted tile image of the same size to draw into, or {@code null}
+         * @return the tile image
+         */
+        WritableImage rasterize(List<Platform> platforms, double tileX, double tileY,
+                                int tileSize, WritableImage reuse);
+    }
+
+    private final SpatialIndex<Platform> platforms;
+    private final int tileSize;
+    private final Rasterizer rasterizer;
+    private final long[] keys;
+    private final WritableImage[] images;
+    private final long[] lastUsed;
+    private final List<Platform> tilePlatforms = new ArrayList<>();
+    private long frame = 0;
+    private int lastTileCount = 0;
+    private long rasterizeCount = 0;
+
+    /**
+     * Constructs a cache that rasterizes tiles with a JavaFX canvas snapshot.
+     *
+     * @param platforms the platforms to draw
+     * @param tileSize  the side length of a tile in pixels, must be positive
+     * @param maxTiles  the number of tiles kept, must be at least four
+     * @throws IllegalArgumentException if the tile size or tile count is too small
+     */
+    public StaticLayerCache(final SpatialIndex<Platform> platforms, final int tileSize, final int maxTiles) {
+        this(platforms, tileSize, maxTiles, snapshotRasterizer(tileSize));
+    }
+
+    /**
+     * Constructs a cache that rasterizes tiles with the given rasterizer.
+     *
+     * @param platforms  the platforms to draw
+     * @param tileSize   the side length of a tile in pixels, must be positive
+     * @param maxTiles   the number of tiles kept, must be at least four
+     * @param rasterizer draws platforms into tile images
+     * @throws IllegalArgumentException if the tile size or tile count is too small
+     */
+    public StaticLayerCache(final SpatialIndex<Platform> platforms, final int tileSize,
+                            final int maxTiles, final Rasterizer rasterizer) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive");
+        }
+        if (maxTiles < 4) {
+            throw new IllegalArgumentException("At least four tiles are needed to cover the view");
+        }
+        this.platforms = platforms;
+        this.tileSize = tileSize;
+        this.rasterizer = rasterizer;
+        this.keys = new long[maxTiles];
+        this.images = new WritableImage[maxTiles];
+        this.lastUsed = new long[maxTiles];
+        Arrays.fill(keys, NO_TILE);
+    }
+
+    /**
+     * Creates a rasterizer that draws platforms the way the game renders them onto an
+     * off-screen canvas and snapshots it. Must run on the JavaFX application thread.
+     *
+     * @param tileSize the side length of a tile in pixels
+     * @return the rasterizer
+     */
+    public static Rasterizer snapshotRasterizer(final int tileSize) {
+        Canvas canvas = new Canvas(tileSize, tileSize);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        EntityRenderer entityRenderer = new EntityRenderer();
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        return (tilePlatforms, tileX, tileY, size, reuse) -> {
+            gc.clearRect(0, 0, size, size);
+            gc.translate(-tileX, -tileY);
+            for (int i = 0; i < tilePlatforms.size(); i++) {
+                entityRenderer.renderPlatform(gc, tilePlatforms.get(i));
+            }
+            gc.setTransform(1, 0, 0, 1, 0, 0);
+            return canvas.snapshot(parameters, reuse);
+        };
+    }
+
+    /**
+     * Invalidates tiles whenever a chunk of the manager is loaded or evicted.
+     *
+     * @param chunks the chunk manager streaming the platforms
+     */
+    public void attachTo(final ChunkManager chunks) {
+        chunks.setChangeListener(this::invalidate);
+    }
+
+    /**
+     * Draws the tiles overlapping the view, rasterizing any that are missing.
+     * The graphics context must already be translated into world coordinates.
+     *
+     * @param gc      the graphics context to draw on
+     * @param cameraX the world x-coordinate of the view's left edge
+     * @param cameraY the world y-coordinate of the view's top edge
+     * @param width   the width of the view
+     * @param height  the height of the view
+     */
+    public void render(final GraphicsContext gc, final double cameraX, final double cameraY,
+                       final double width, final double height) {
+        frame++;
+        lastTileCount = 0;
+        int firstColumn = (int) Math.floor(cameraX / tileSize);
+        int lastColumn = (int) Math.floor((cameraX + width - 1) / tileSize);
+        int firstRow = (int) Math.floor(cameraY / tileSize);
+        int lastRow = (int) Math.floor((cameraY + height - 1) / tileSize);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                WritableImage tile = tile(column, row);
+                gc.drawImage(tile, (double) column * tileSize, (double) row * tileSize);
+                lastTileCount++;
+            }
+        }
+    }
+
+    /**
+     * Drops every tile overlapping the given world rectangle so it is redrawn when next needed.
+     *
+     * @param minX the left edge of the changed area
+     * @param minY the top edge of the changed area
+     * @param maxX the right edge of the changed area
+     * @param maxY the bottom edge of the changed area
+     */
+    public void invalidate(final double minX, final double minY, final double maxX, final double maxY) {
+        int firstColumn = (int) Math.floor(minX / tileSize);
+        int lastColumn = (int) Math.floor(maxX / tileSize);
+        int firstRow = (int) Math.floor(minY / tileSize);
+        int lastRow = (int) Math.floor(maxY / tileSize);
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == NO_TILE) {
+                continue;
+            }
+            int column = (int) (keys[slot] >> KEY_SHIFT);
+            int row = (int) keys[slot];
+            if (column >= firstColumn && column <= lastColumn && row >= firstRow && row <= lastRow) {
+                keys[slot] = NO_TILE;
+            }
+        }
+    }
+
+    /**
+     * Drops every tile.
+     */
+    public void invalidateAll() {
+        Arrays.fill(keys, NO_TILE);
+    }
+
+    /**
+     * Gets a tile image, rasterizing it into the least recently used slot if it is not cached.
+     *
+     * @param column the tile column
+     * @param row    the tile row
+     * @return the tile image
+     */
+    private WritableImage tile(final int column, final int row) {
+        long key = ((long) column << KEY_SHIFT) | (row & KEY_MASK);
+        int victim = -1;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == key) {
+                lastUsed[slot] = frame;
+                return images[slot];
+            }
+            // Prefer an empty slot, otherwise the least recently drawn tile
+            if (keys[slot] == NO_TILE) {
+                if (victim < 0 || keys[victim] != NO_TILE) {
+                    victim = slot;
+                }
+            } else if (victim < 0 || keys[victim] != NO_TILE && lastUsed[slot] < lastUsed[victim]) {
+                victim = slot;
+            }
+        }
+
+        double tileX = (double) column * tileSize;
+        double tileY = (double) row * tileSize;
+        platforms.query(tileX, tileY, tileX + tileSize, tileY + tileSize, tilePlatforms);
+        images[victim] = rasterizer.rasterize(tilePlatforms, tileX, tileY, tileSize, images[victim]);
+        keys[victim] = key;
+        lastUsed[victim] = frame;
+        rasterizeCount++;
+        return images[victim];
+    }
+
+    /**
+     * Gets the number of tiles drawn by the last call to {@link #render}.
+     *
+     * @return the tile count
+     */
+    public int getLastTileCount() {
+        return lastTileCount;
+    }
+
+    /**
+     * Gets the number of tiles rasterized so far.
+     *
+     * @return the rasterization count
+     */
+    public long getRasterizeCount() {
+        return rasterizeCount;
+    }
+
+    /**
+     * Gets the number of tiles currently cached.
+     *
+     * @return the cached tile count
+     */
+    public int getCachedTileCount() {
+        int count = 0;
+        for (long key : keys) {
+            if (key != NO_TILE) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,131 @@
+package com.persianrug.engine;
+
+/**
+ * The player input applied to a single simulation tick.
+ * Holds plain flags so the simulation does not depend on any windowing toolkit;
+ * the front end fills it from its own keyboard state before every tick.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public class TickInput {
+    /**
+     * The bit of {@link #toBits()} set while left is held.
+     */
+    public static final int LEFT = 1;
+
+    /**
+     * The bit of {@link #toBits()} set while right is held.
+     */
+    public static final int RIGHT = 1 << 1;
+
+    /**
+     * The bit of {@link #toBits()} set while up is held.
+     */
+    public static final int UP = 1 << 2;
+
+    /**
+     * The bit of {@link #toBits()} set while down is held.
+     */
+    public static final int DOWN = 1 << 3;
+
+    /**
+     * The bit of {@link #toBits()} set while confirm is held.
+     */
+    public static final int ENTER = 1 << 4;
+
+    private boolean left;
+    private boolean right;
+    private boolean up;
+    private boolean down;
+    private boolean enter;
+
+    /**
+     * Sets all input flags at once.
+     *
+     * @param left  whether the left control is held
+     * @param right whether the right control is held
+     * @param up    whether the up control is held
+     * @param down  whether the down control is held
+     * @param enter whether the confirm control is held
+     */
+    public void set(final boolean left, final boolean right, final boolean up,
+                    final boolean down, final boolean enter) {
+        this.left = left;
+        this.right = right;
+        this.up = up;
+        this.down = down;
+        this.enter = enter;
+    }
+
+    /**
+     * Clears all input flags.
+     */
+    public void clear() {
+        set(false, false, false, false, false);
+    }
+
+    /**
+     * Sets all input flags from a bitmask of {@link #LEFT}, {@link #RIGHT}, {@link #UP},
+     * {@link #DOWN} and {@link #ENTER}.
+     *
+     * @param bits the held controls
+     */
+    public void setBits(final int bits) {
+        set((bits & LEFT) != 0, (bits & RIGHT) != 0, (bits & UP) != 0, (bits & DOWN) != 0, (bits & ENTER) != 0);
+    }
+
+    /**
+     * Packs the input flags into a bitmask, as recorded in an {@link InputLog}.
+     *
+     * @return the held controls as a bitmask
+     */
+    public int toBits() {
+        return (left ? LEFT : 0) | (right ? RIGHT : 0) | (up ? UP : 0) | (down ? DOWN : 0) | (enter ? ENTER : 0);
+    }
+
+    /**
+     * Checks if the left control is held.
+     *
+     * @return {@code true} if left is held
+     */
+    public boolean isLeft() {
+        return left;
+    }
+
+    /**
+     * Checks if the right control is held.
+     *
+     * @return {@code true} if right is held
+     */
+    public boolean isRight() {
+        return right;
+    }
+
+    /**
+     * Checks if the up control is held.
+     *
+     * @return {@code true} if up is held
+     */
+    public boolean isUp() {
+        return up;
+    }
+
+    /**
+     * Checks if the down control is held.
+     *
+     * @return {@code true} if down is held
+     */
+    public boolean isDown() {
+        return down;
+    }
+
+    /**
+     * Checks if the confirm control is held.
+     *
+     * @return {@code true} if confirm is held
+     */
+    public boolean isEnter() {
+        return enter;
+    }
+}
@@ -0,0 +1,145 @@
+package com.persianrug.engine;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size histogram of durations in nanoseconds.
+ * <p>
+ * Buckets are log-linear: every power of two is split into sixteen equal buckets,
+ * so a reported percentile is never more than about 6% above the true value. All buckets are
+ * allocated up front and recording is a few shifts and an array increment, so timings can be
+ * taken every frame without creating garbage. Durations of 2<sup>40</sup> ns (about 18 minutes)
+ * or more are counted in the last bucket; the exact maximum is tracked separately.
+ * <p>
+ * Not thread-safe; record and read from the same thread.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public class TimingHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final double PERCENT = 100.0;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count = 0;
+    private long total = 0;
+    private long max = 0;
+
+    /**
+     * Records a duration. Negative durations are counted as zero.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(final long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        count++;
+        total += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Gets the duration that the given share of recorded durations do not exceed.
+     *
+     * @param percentile the percentile, from {@code 0} to {@code 100}
+     * @return the upper bound of the bucket holding the percentile, or {@code 0} if nothing was recorded
+     */
+    public long getPercentile(final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / PERCENT * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(upperBound(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Clears all recorded durations.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     *
+     * @return the sample count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the sum of all recorded durations.
+     *
+     * @return the total in nanoseconds
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the mean recorded duration.
+     *
+     * @return the mean in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Gets the longest recorded duration.
+     *
+     * @return the maximum in nanoseconds
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Finds the bucket of a duration.
+     *
+     * @param value the non-negative duration
+     * @return the bucket index
+     */
+    static int bucketOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Gets the largest duration that falls into a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the inclusive upper bound in nanoseconds
+     */
+    static long upperBound(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long low = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return low + (1L << shift) - 1;
+    }
+}
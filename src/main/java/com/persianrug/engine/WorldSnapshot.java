@@ -0,0 +1,184 @@
+package com.persianrug.engine;
+
+/**
+ * The complete gameplay state of a {@link GameWorld} at one tick: the player's position,
+ * velocity, jump state and animation phase, which items are collected, the quiz and fail screen state and the score.
+ * <p>
+ * A snapshot is filled by {@link GameWorld#captureSnapshot(WorldSnapshot)} and put back with
+ * {@link GameWorld#restoreSnapshot(WorldSnapshot)}. It holds only primitives, with the collected
+ * flags packed into a reused array of bits, so recapturing into the same snapshot allocates nothing
+ * and costs a few nanoseconds per item. Restoring a snapshot and running the same input reproduces the
+ * original run exactly, down to the phase of the player's waving animation.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public class WorldSnapshot {
+    private static final int WORD_BITS = Long.SIZE;
+
+    /**
+     * The world's tick count.
+     */
+    long tick;
+
+    /**
+     * The player's x-coordinate.
+     */
+    double playerX;
+
+    /**
+     * The player's y-coordinate.
+     */
+    double playerY;
+
+    /**
+     * The player's horizontal velocity.
+     */
+    double velocityX;
+
+    /**
+     * The player's vertical velocity.
+     */
+    double velocityY;
+
+    /**
+     * The player's jump and facing state from {@link com.persianrug.entity.Player#getStateFlags()}.
+     */
+    int playerFlags;
+
+    /**
+     * The phase of the player's waving animation from {@link com.persianrug.entity.Player#getWaveOffset()}.
+     */
+    double waveOffset;
+
+    /**
+     * Whether a held control is waiting to be released before it acts again.
+     */
+    boolean inputLatched;
+
+    /**
+     * Whether a quiz is open.
+     */
+    boolean showingQuiz;
+
+    /**
+     * The index of the item whose quiz is open, or {@code -1}.
+     */
+    int quizItem;
+
+    /**
+     * The highlighted quiz option.
+     */
+    int selectedOption;
+
+    /**
+     * The tick the open quiz was opened on.
+     */
+    long quizOpenedTick;
+
+    /**
+     * Whether the fail screen is showing.
+     */
+    boolean showingFailScreen;
+
+    /**
+     * The ticks left on the fail screen.
+     */
+    int failTicksRemaining;
+
+    /**
+     * The number of correctly answered quizzes.
+     */
+    int correctAnswers;
+
+    /**
+     * Whether every quiz has been answered correctly.
+     */
+    boolean gameCompleted;
+
+    private int itemCount = 0;
+    private long[] collected = new long[0];
+
+    /**
+     * Sizes the collected flags for a number of items, keeping the array when it is large enough.
+     *
+     * @param count the number of items
+     */
+    void setItemCount(final int count) {
+        int words = (count + WORD_BITS - 1) / WORD_BITS;
+        if (collected.length < words) {
+            collected = new long[words];
+        }
+        itemCount = count;
+    }
+
+    /**
+     * Sets whether an item is collected.
+     *
+     * @param index       the item index
+     * @param isCollected whether the item is collected
+     */
+    void setCollected(final int index, final boolean isCollected) {
+        long bit = 1L << (index % WORD_BITS);
+        if (isCollected) {
+            collected[index / WORD_BITS] |= bit;
+        } else {
+            collected[index / WORD_BITS] &= ~bit;
+        }
+    }
+
+    /**
+     * Checks if an item was collected.
+     *
+     * @param index the item index
+     * @return {@code true} if the item was collected
+     */
+    public boolean isCollected(final int index) {
+        return (collected[index / WORD_BITS] & (1L << (index % WORD_BITS))) != 0;
+    }
+
+    /**
+     * Gets the number of items the snapshot holds flags for.
+     *
+     * @return the item count
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Gets the tick count of the world when the snapshot was taken.
+     *
+     * @return the tick
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the x-coordinate of the player.
+     *
+     * @return the player's x-coordinate
+     */
+    public double getPlayerX() {
+        return playerX;
+    }
+
+    /**
+     * Gets the y-coordinate of the player.
+     *
+     * @return the player's y-coordinate
+     */
+    public double getPlayerY() {
+        return playerY;
+    }
+
+    /**
+     * Gets the number of correctly answered quizzes.
+     *
+     * @return the score
+     */
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+}
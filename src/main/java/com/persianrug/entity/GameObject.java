@@ -1,12 +1,10 @@
 package com.persianrug.entity;
 
-import javafx.scene.canvas.GraphicsContext;
-
 import java.util.Objects;
 
 /**
  * Represents a base class for all game objects, providing common properties and behaviors
- * such as position, dimensions, and rendering.
+ * such as position and dimensions. Game objects are drawn by the engine's renderer.
  * @author Juhyun Park
  * @version 2024
  */
@@ -64,14 +62,6 @@ public abstract class GameObject {
      */
     public abstract void update();
 
-    /**
-     * Renders the game object on the specified GraphicsContext.
-     * This method is abstract and must be implemented by subclasses.
-     *
-     * @param gc the GraphicsContext to render the game object on.
-     */
-    public abstract void render(GraphicsContext gc);
-
     /**
      * Determines if this game object intersects with another game object.
      *
@@ -145,6 +135,26 @@ public abstract class GameObject {
     public double getPreviousY() {
         return previousY;
     }
+
+    /**
+     * Gets the x-coordinate blended between the previous and current position.
+     *
+     * @param alpha the interpolation factor, 0 for the previous and 1 for the current position.
+     * @return the interpolated x-coordinate.
+     */
+    public double getInterpolatedX(final double alpha) {
+        return previousX + (x - previousX) * alpha;
+    }
+
+    /**
+     * Gets the y-coordinate blended between the previous and current position.
+     *
+     * @param alpha the interpolation factor, 0 for the previous and 1 for the current position.
+     * @return the interpolated y-coordinate.
+     */
+    public double getInterpolatedY(final double alpha) {
+        return previousY + (y - previousY) * alpha;
+    }
     /**
      * Checks if two account objects are equal based on the game.
      * @param object the object to compare
@@ -1,9 +1,6 @@
 package com.persianrug.entity;
 
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
-
-import java.net.URL;
+import com.persianrug.utils.GameLogger;
 
 /**
  * Represents an item in the game that can be collected by the player.
@@ -12,8 +9,12 @@ import java.net.URL;
  * @version 2024
  */
 public class Item extends GameObject {
-    private static final int ITEM_SIZE = 50;
-    private Image itemImage;
+    /**
+     * The width and height of every item.
+     */
+    public static final int ITEM_SIZE = 50;
+
+    private final String imagePath;
     private boolean collected = false;
     private final Quiz quiz;
 
@@ -27,22 +28,8 @@ public class Item extends GameObject {
      */
     public Item(final double x, final double y, final String imagePath, final Quiz quiz) {
         super(x, y, ITEM_SIZE, ITEM_SIZE);
+        this.imagePath = imagePath;
         this.quiz = quiz;
-        loadImage(imagePath);
-    }
-
-    /**
-     * Loads the image for the item from the specified path.
-     *
-     * @param imagePath the relative path to the image file.
-     * @throws RuntimeException if the image resource cannot be found.
-     */
-    private void loadImage(final String imagePath) {
-        URL resourceUrl = getClass().getResource(imagePath);
-        if (resourceUrl == null) {
-            throw new RuntimeException("Resource not found: " + imagePath);
-        }
-        itemImage = new Image(resourceUrl.toString());
     }
 
     /**
@@ -53,15 +40,12 @@ public class Item extends GameObject {
     }
 
     /**
-     * Renders the item on the given GraphicsContext if it has not been collected.
+     * Gets the resource path of the image representing the item.
      *
-     * @param gc the GraphicsContext to render the item on.
+     * @return the image path.
      */
-    @Override
-    public void render(final GraphicsContext gc) {
-        if (!collected && itemImage != null) {
-            gc.drawImage(itemImage, x, y, width, height);
-        }
+    public String getImagePath() {
+        return imagePath;
     }
 
     /**
@@ -78,7 +62,16 @@ public class Item extends GameObject {
      */
     public void collect() {
         this.collected = true;
-        System.out.println("Item collected!");
+        GameLogger.info("Item collected!");
+    }
+
+    /**
+     * Sets whether the item has been collected, without logging, when earlier state is restored.
+     *
+     * @param collected {@code true} if the item has been collected
+     */
+    public void setCollected(final boolean collected) {
+        this.collected = collected;
     }
 
     /**
@@ -1,10 +1,5 @@
 package com.persianrug.entity;
 
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
-import javafx.scene.paint.Color;
-
-import java.net.URL;
 import java.util.Objects;
 
 /**
@@ -14,7 +9,6 @@ import java.util.Objects;
  * @version 2024
  */
 public class Platform extends GameObject {
-    private Image platformImage; // Image representation of the platform
     private final boolean isGroundPlatform; // Indicates if the platform is at ground level
     private final int platform = 7480; // Y-coordinate considered as ground level
 
@@ -29,26 +23,6 @@ public class Platform extends GameObject {
     public Platform(final double x, final double y, final double width, final double height) {
         super(x, y, width, height);
         this.isGroundPlatform = (y == platform);
-        if (!isGroundPlatform) {
-            loadImage();
-        }
-    }
-
-    /**
-     * Loads the image resource for the platform if it is not a ground-level platform.
-     */
-    private void loadImage() {
-        URL resourceUrl = getClass().getResource("/images/platform.png");
-        if (resourceUrl == null) {
-            System.err.println("Platform image loading failed: "
-                    + "Resource not found at /images/platform.png");
-            return;
-        }
-        try {
-            platformImage = new Image(resourceUrl.toString());
-        } catch (Exception e) {
-            System.err.println("Platform image loading failed: " + e.getMessage());
-        }
     }
 
     /**
@@ -60,19 +34,13 @@ public class Platform extends GameObject {
     }
 
     /**
-     * Renders the platform on the given {@link GraphicsContext}.
-     * Ground-level platforms are rendered as a solid color, while floating platforms use an image.
+     * Checks if the platform is at ground level.
+     * Ground-level platforms are drawn as a solid color, while floating platforms use an image.
      *
-     * @param gc the {@link GraphicsContext} to render the platform on.
+     * @return {@code true} if the platform is a ground platform, {@code false} otherwise.
      */
-    @Override
-    public void render(final GraphicsContext gc) {
-        if (isGroundPlatform) {
-            gc.setFill(Color.SLATEGRAY);
-            gc.fillRect(x, y, width, height);
-        } else if (platformImage != null) {
-            gc.drawImage(platformImage, x, y, width, height);
-        }
+    public boolean isGroundPlatform() {
+        return isGroundPlatform;
     }
 
     /**
@@ -93,8 +61,7 @@ public class Platform extends GameObject {
             return false;
         }
         Platform platform1 = (Platform) object;
-        return isGroundPlatform == platform1.isGroundPlatform
-                && Objects.equals(platformImage, platform1.platformImage);
+        return isGroundPlatform == platform1.isGroundPlatform;
     }
 
     /**
@@ -104,7 +71,7 @@ public class Platform extends GameObject {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), platformImage, isGroundPlatform, platform);
+        return Objects.hash(super.hashCode(), isGroundPlatform, platform);
     }
 
     /**
@@ -115,8 +82,7 @@ public class Platform extends GameObject {
     @Override
     public String toString() {
         return "Platform{"
-                + "platformImage=" + platformImage
-                + ", isGroundPlatform=" + isGroundPlatform
+                + "isGroundPlatform=" + isGroundPlatform
                 + ", platform=" + platform
                 + '}';
     }
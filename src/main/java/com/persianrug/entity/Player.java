@@ -1,10 +1,8 @@
 package com.persianrug.entity;
 
 import com.persianrug.utils.Constants;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
+import com.persianrug.utils.GameLogger;
 
-import java.net.URL;
 import java.util.Objects;
 
 /**
@@ -14,17 +12,21 @@ import java.util.Objects;
  * @version 2024
  */
 public class Player extends GameObject {
+    private static final int ON_GROUND = 1;
+    private static final int CAN_DOUBLE_JUMP = 1 << 1;
+    private static final int DOUBLE_JUMPING = 1 << 2;
+    private static final int FACING_RIGHT = 1 << 3;
     private double velocityX = 0;
     private double velocityY = 0;
     private boolean onGround = false;
     private boolean canDoubleJump = false;
-    private Image characterLeftImage;
-    private Image characterRightImage;
     private boolean isFacingRight = true;
     private boolean isDoubleJumping = false;
     private final double waveAmp = 5;
     private double waveOffset = 0;
     private final double waveSpeed = 0.1;
+    private double levelWidth = Constants.LEVEL_WIDTH;
+    private double levelHeight = Constants.LEVEL_HEIGHT;
 
     /**
      * Constructs a Player object with the specified initial position.
@@ -34,32 +36,18 @@ public class Player extends GameObject {
      */
     public Player(final double x, final double y) {
         super(x, y, Constants.PLAYER_WIDTH, Constants.PLAYER_HEIGHT);
-        loadCharacterImages();
     }
 
     /**
-     * Loads character images for left and right facing directions.
-     * Throws a runtime exception if the images are not found.
+     * Sets the bounds the player is kept inside.
+     * Until this is called the bounds are {@link Constants#LEVEL_WIDTH} by {@link Constants#LEVEL_HEIGHT}.
+     *
+     * @param width  the width of the level
+     * @param height the height of the level
      */
-    private void loadCharacterImages() {
-        try {
-            URL leftImageUrl = getClass().getResource("/images/character_left.png");
-            URL rightImageUrl = getClass().getResource("/images/character_right.png");
-
-            if (leftImageUrl == null) {
-                throw new RuntimeException("Resource not found: /images/character_left.png");
-            }
-            if (rightImageUrl == null) {
-                throw new RuntimeException("Resource not found: /images/character_right.png");
-            }
-
-            characterLeftImage = new Image(leftImageUrl.toString());
-            characterRightImage = new Image(rightImageUrl.toString());
-
-            System.out.println("Character images loaded successfully");
-        } catch (Exception e) {
-            System.err.println("Character image loading failed: " + e.getMessage());
-        }
+    public void setLevelBounds(final double width, final double height) {
+        this.levelWidth = width;
+        this.levelHeight = height;
     }
 
     /**
@@ -92,43 +80,52 @@ public class Player extends GameObject {
             x = 0;
             velocityX = 0;
         }
-        if (x > Constants.LEVEL_WIDTH - width) {
-            x = Constants.LEVEL_WIDTH - width;
+        if (x > levelWidth - width) {
+            x = levelWidth - width;
             velocityX = 0;
         }
 
         // Handle landing on the ground
-        if (y > Constants.LEVEL_HEIGHT - height) {
-            y = Constants.LEVEL_HEIGHT - height;
+        if (y > levelHeight - height) {
+            y = levelHeight - height;
             velocityY = 0;
             onGround = true;
             canDoubleJump = false;
             isDoubleJumping = false;
         }
 
-        System.out.println("onGround: " + onGround + ", canDoubleJump: "
-                + canDoubleJump + ", isDoubleJumping: " + isDoubleJumping);
+        // Checked first so that the capturing lambda is not created on every tick
+        if (GameLogger.isEnabled(GameLogger.Level.DEBUG)) {
+            GameLogger.debug(() -> "onGround: " + onGround + ", canDoubleJump: "
+                    + canDoubleJump + ", isDoubleJumping: " + isDoubleJumping);
+        }
     }
 
     /**
-     * Renders the player with a waving animation effect on the given GraphicsContext.
+     * Checks which way the player faces, the direction it last moved in.
      *
-     * @param gc the GraphicsContext to render the player on.
+     * @return {@code true} if the player faces right, {@code false} if it faces left.
      */
-    @Override
-    public void render(final GraphicsContext gc) {
-        Image currentImage;
-        if (isFacingRight) {
-            currentImage = characterRightImage;
-        } else {
-            currentImage = characterLeftImage;
-        }
+    public boolean isFacingRight() {
+        return isFacingRight;
+    }
 
-        if (currentImage != null) {
-            double wave = Math.sin(waveOffset) * waveAmp;
+    /**
+     * Gets how far the waving animation currently shifts the player's image vertically.
+     *
+     * @return the vertical offset of the image.
+     */
+    public double getWaveHeight() {
+        return Math.sin(waveOffset) * waveAmp;
+    }
 
-            gc.drawImage(currentImage, x, y + wave, width, height);
-        }
+    /**
+     * Gets the phase of the waving animation, which advances every update.
+     *
+     * @return the animation phase.
+     */
+    public double getWaveOffset() {
+        return waveOffset;
     }
 
     /**
@@ -140,12 +137,12 @@ public class Player extends GameObject {
             onGround = false;
             canDoubleJump = true;
             isDoubleJumping = false;
-            System.out.println("First Jump!");
+            GameLogger.debug("First Jump!");
         } else if (canDoubleJump && !isDoubleJumping) {
             velocityY = Constants.DOUBLE_JUMP_FORCE;
             canDoubleJump = false;
             isDoubleJumping = true;
-            System.out.println("Double Jump!");
+            GameLogger.debug("Double Jump!");
         }
     }
 
@@ -169,9 +166,20 @@ public class Player extends GameObject {
      * @param platform the platform to check for collision.
      */
     public void handlePlatformCollision(final Platform platform) {
-        double platformTop = platform.getY();
-        double platformLeft = platform.getX();
-        double platformRight = platform.getX() + platform.getWidth();
+        handlePlatformCollision(platform.getX(), platform.getY(), platform.getWidth());
+    }
+
+    /**
+     * Handles collision between the player and a platform given by its bounds,
+     * for callers that keep platforms in primitive arrays rather than as objects.
+     *
+     * @param platformLeft  the x-coordinate of the platform.
+     * @param platformTop   the y-coordinate of the platform.
+     * @param platformWidth the width of the platform.
+     */
+    public void handlePlatformCollision(final double platformLeft, final double platformTop,
+                                        final double platformWidth) {
+        double platformRight = platformLeft + platformWidth;
 
         if (velocityY > 0
                 && getPreviousY() + height <= platformTop
@@ -183,7 +191,7 @@ public class Player extends GameObject {
             onGround = true;
             canDoubleJump = false;
             isDoubleJumping = false;
-            System.out.println("Landing on platform!");
+            GameLogger.debug("Landing on platform!");
         }
     }
 
@@ -236,6 +244,41 @@ public class Player extends GameObject {
         return onGround;
     }
 
+    /**
+     * Packs the player's jump and facing state into a bitmask for {@link #restoreState}.
+     *
+     * @return the state flags
+     */
+    public int getStateFlags() {
+        return (onGround ? ON_GROUND : 0) | (canDoubleJump ? CAN_DOUBLE_JUMP : 0)
+                | (isDoubleJumping ? DOUBLE_JUMPING : 0) | (isFacingRight ? FACING_RIGHT : 0);
+    }
+
+    /**
+     * Puts the player back into a previously captured state. The previous position is set to
+     * the restored one, so the player is not drawn sweeping across the level.
+     *
+     * @param newX          the x-coordinate
+     * @param newY          the y-coordinate
+     * @param newVelocityX  the horizontal velocity
+     * @param newVelocityY  the vertical velocity
+     * @param flags         the state flags from {@link #getStateFlags()}
+     * @param newWaveOffset the phase of the waving animation from {@link #getWaveOffset()}
+     */
+    public void restoreState(final double newX, final double newY, final double newVelocityX,
+                             final double newVelocityY, final int flags, final double newWaveOffset) {
+        x = newX;
+        y = newY;
+        velocityX = newVelocityX;
+        velocityY = newVelocityY;
+        onGround = (flags & ON_GROUND) != 0;
+        canDoubleJump = (flags & CAN_DOUBLE_JUMP) != 0;
+        isDoubleJumping = (flags & DOUBLE_JUMPING) != 0;
+        isFacingRight = (flags & FACING_RIGHT) != 0;
+        waveOffset = newWaveOffset;
+        updatePreviousPosition();
+    }
+
     /**
      * Sets the player's y-coordinate.
      *
@@ -284,9 +327,7 @@ public class Player extends GameObject {
                 && onGround == player.onGround && canDoubleJump == player.canDoubleJump
                 && isFacingRight == player.isFacingRight
                 && isDoubleJumping == player.isDoubleJumping
-                && Double.compare(waveOffset, player.waveOffset) == 0
-                && Objects.equals(characterLeftImage, player.characterLeftImage)
-                && Objects.equals(characterRightImage, player.characterRightImage);
+                && Double.compare(waveOffset, player.waveOffset) == 0;
     }
     /**
      * Generates a hash code based on the player.
@@ -295,7 +336,7 @@ public class Player extends GameObject {
     @Override
     public int hashCode() {
         return Objects.hash(super.hashCode(), velocityX, velocityY, onGround,
-                canDoubleJump, characterLeftImage, characterRightImage, isFacingRight,
+                canDoubleJump, isFacingRight,
                 isDoubleJumping, waveAmp, waveOffset, waveSpeed);
     }
     /**
@@ -309,8 +350,6 @@ public class Player extends GameObject {
                 + ", velocityY=" + velocityY
                 + ", onGround=" + onGround
                 + ", canDoubleJump=" + canDoubleJump
-                + ", characterLeftImage=" + characterLeftImage
-                + ", characterRightImage=" + characterRightImage
                 + ", isFacingRight=" + isFacingRight
                 + ", isDoubleJumping=" + isDoubleJumping
                 + ", waveAmp=" + waveAmp
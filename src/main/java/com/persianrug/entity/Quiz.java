@@ -1,5 +1,7 @@
 package com.persianrug.entity;
 
+import com.persianrug.utils.GameLogger;
+
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -56,6 +58,15 @@ public class Quiz {
         return options.clone();
     }
 
+    /**
+     * Returns the index of the correct answer.
+     *
+     * @return The index of the correct option (0-based).
+     */
+    public int getCorrectAnswer() {
+        return correctAnswer;
+    }
+
     /**
      * Checks whether the selected answer is correct.
      *
@@ -65,9 +76,9 @@ public class Quiz {
     public boolean checkAnswer(final int selectedAnswer) {
         boolean isCorrect = selectedAnswer == correctAnswer;
         if (isCorrect) {
-            System.out.println("Answer checked: Correct!");
+            GameLogger.info("Answer checked: Correct!");
         } else {
-            System.out.println("Answer checked: Wrong!");
+            GameLogger.info("Answer checked: Wrong!");
         }
         return isCorrect;
     }
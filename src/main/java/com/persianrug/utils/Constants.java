@@ -21,32 +21,42 @@ public final class Constants {
     public static final int WINDOW_HEIGHT = 600;
 
     /**
-     * The width of the game level in pixels.
+     * The default width of a game level in pixels, used when a level file does not declare its bounds.
      */
     public static final double LEVEL_WIDTH = 7500;
 
     /**
-     * The height of the game level in pixels.
+     * The default height of a game level in pixels, used when a level file does not declare its bounds.
      */
     public static final double LEVEL_HEIGHT = 7500;
 
     /**
-     * The horizontal movement speed of the player in pixels per frame.
+     * The number of fixed simulation ticks per second.
+     */
+    public static final int TICKS_PER_SECOND = 60;
+
+    /**
+     * The maximum number of simulation ticks run for a single rendered frame.
+     */
+    public static final int MAX_TICKS_PER_FRAME = 5;
+
+    /**
+     * The horizontal movement speed of the player in pixels per tick.
      */
     public static final double PLAYER_SPEED = 6.5;
 
     /**
-     * The gravitational acceleration applied to the player in pixels per frame squared.
+     * The gravitational acceleration applied to the player in pixels per tick squared.
      */
     public static final double GRAVITY = 0.6;
 
     /**
-     * The initial upward force applied when the player jumps, in pixels per frame.
+     * The initial upward force applied when the player jumps, in pixels per tick.
      */
     public static final double JUMP_FORCE = -18.5;
 
     /**
-     * The initial upward force applied when the player performs a double jump, in pixels per frame.
+     * The initial upward force applied when the player performs a double jump, in pixels per tick.
      */
     public static final double DOUBLE_JUMP_FORCE = -17.5;
 
@@ -65,6 +75,47 @@ public final class Constants {
      */
     public static final double PLATFORM_HEIGHT = 25;
 
+    /**
+     * The side length of a spatial index cell in pixels.
+     */
+    public static final double SPATIAL_CELL_SIZE = 256;
+
+    /**
+     * The side length in pixels of a pre-drawn static layer tile.
+     * At least as large as the window, so a frame never needs more than four tiles.
+     */
+    public static final int STATIC_TILE_SIZE = 1024;
+
+    /**
+     * The number of pre-drawn static layer tiles kept in memory.
+     */
+    public static final int STATIC_TILE_CACHE_SIZE = 8;
+
+    /**
+     * The side length in pixels of a streamed level chunk.
+     */
+    public static final double CHUNK_SIZE = 2048;
+
+    /**
+     * The approximate memory in bytes that resident level chunks may use.
+     */
+    public static final long CHUNK_MEMORY_BUDGET = 16L * 1024 * 1024;
+
+    /**
+     * The number of ticks between the state hashes an input recording stores to verify its replay.
+     */
+    public static final int REPLAY_HASH_INTERVAL = 60;
+
+    /**
+     * The number of ticks between the world snapshots a replay keeps for seeking.
+     */
+    public static final int REPLAY_SNAPSHOT_INTERVAL = 60;
+
+    /**
+     * The largest number of world snapshots a replay keeps; beyond it they are thinned out.
+     */
+    public static final int REPLAY_SNAPSHOT_CAPACITY = 4096;
+
     /**
      * The width of the player character in pixels.
      */
@@ -0,0 +1,339 @@
+package com.persianrug.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Java Flight Recorder events emitted by the game, so that hitches can be lined up with
+ * garbage collection, I/O and other JVM activity in a recording.
+ * <p>
+ * Every event is disabled by default and costs only an enabled check until a recording turns
+ * it on. The settings file {@value #SETTINGS} enables all of them; combine it with the JDK's
+ * own settings, for example
+ * {@code -XX:StartFlightRecording:settings=default,settings=persianrug.jfc,filename=game.jfr},
+ * and open the file in JDK Mission Control. {@link #startRecording(Path)} does the same from
+ * inside the game.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public final class GameEvents {
+    /**
+     * The classpath location of the recording settings that enable the game's events.
+     */
+    public static final String SETTINGS = "/jfr/persianrug.jfc";
+
+    private static final String CATEGORY = "Persian Rug";
+    private static final String JDK_SETTINGS = "default";
+
+    /**
+     * Private constructor to prevent instantiation of the utility class.
+     */
+    private GameEvents() {
+    }
+
+    /**
+     * Checks if frame events are being recorded. The game loop checks this before creating
+     * an event, so frames are not allocated while no recording wants them.
+     *
+     * @return {@code true} if a recording has frame events enabled
+     */
+    public static boolean isFrameEnabled() {
+        return FrameTypeHolder.TYPE.isEnabled();
+    }
+
+    /**
+     * Starts a recording with the JDK's default settings plus the game's events.
+     * The recording is written to the destination when it is stopped.
+     *
+     * @param destination the file to write the recording to
+     * @return the running recording
+     * @throws IOException if the settings cannot be read or the destination cannot be used
+     */
+    public static Recording startRecording(final Path destination) throws IOException {
+        Map<String, String> settings;
+        try {
+            settings = new HashMap<>(Configuration.getConfiguration(JDK_SETTINGS).getSettings());
+        } catch (ParseException e) {
+            throw new IOException("Malformed JDK recording settings: " + e.getMessage(), e);
+        }
+        settings.putAll(gameSettings().getSettings());
+        Recording recording = new Recording(settings);
+        recording.setName(CATEGORY);
+        recording.setToDisk(true);
+        recording.setDestination(destination);
+        recording.start();
+        return recording;
+    }
+
+    /**
+     * Reads the settings that enable the game's events.
+     *
+     * @return the game's recording configuration
+     * @throws IOException if the settings resource is missing or malformed
+     */
+    public static Configuration gameSettings() throws IOException {
+        InputStream in = GameEvents.class.getResourceAsStream(SETTINGS);
+        if (in == null) {
+            throw new IOException("Resource not found: " + SETTINGS);
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        } catch (ParseException e) {
+            throw new IOException("Malformed recording settings: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Holds the frame event type, registering it with Flight Recorder on first use.
+     */
+    private static final class FrameTypeHolder {
+        private static final EventType TYPE = EventType.getEventType(Frame.class);
+    }
+
+    /**
+     * One pulse of the game loop: its simulation ticks and the rendered frame.
+     */
+    @Name("com.persianrug.Frame")
+    @Label("Frame")
+    @Category({CATEGORY, "Engine"})
+    @Description("One pulse of the game loop")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Frame extends Event {
+        /**
+         * The game state the frame was drawn in.
+         */
+        @Label("State")
+        public String state;
+
+        /**
+         * The number of simulation ticks run in the pulse.
+         */
+        @Label("Ticks")
+        public int ticks;
+
+        /**
+         * The time spent running the ticks.
+         */
+        @Label("Update Time")
+        @Timespan(Timespan.NANOSECONDS)
+        public long updateNanos;
+
+        /**
+         * The time spent drawing the frame.
+         */
+        @Label("Render Time")
+        @Timespan(Timespan.NANOSECONDS)
+        public long renderNanos;
+
+        /**
+         * The number of world objects drawn.
+         */
+        @Label("Drawn Objects")
+        public int drawn;
+
+        /**
+         * The number of world objects culled.
+         */
+        @Label("Culled Objects")
+        public int culled;
+
+        /**
+         * The number of platforms currently loaded.
+         */
+        @Label("Resident Platforms")
+        public int residentPlatforms;
+    }
+
+    /**
+     * A save file written to disk.
+     */
+    @Name("com.persianrug.SaveWrite")
+    @Label("Save Write")
+    @Category({CATEGORY, "Saves"})
+    @Description("Encoding a save and atomically replacing the save file")
+    @Enabled(false)
+    public static final class SaveWrite extends Event {
+        /**
+         * The save file.
+         */
+        @Label("Path")
+        public String path;
+
+        /**
+         * The size of the encoded save.
+         */
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        /**
+         * Whether the file was written and moved into place.
+         */
+        @Label("Succeeded")
+        public boolean succeeded;
+    }
+
+    /**
+     * A save file read from disk.
+     */
+    @Name("com.persianrug.SaveLoad")
+    @Label("Save Load")
+    @Category({CATEGORY, "Saves"})
+    @Description("Reading and decoding a save file")
+    @Enabled(false)
+    public static final class SaveLoad extends Event {
+        /**
+         * The save file.
+         */
+        @Label("Path")
+        public String path;
+
+        /**
+         * The size of the file.
+         */
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        /**
+         * Whether the save was in the old serialized format and was rewritten.
+         */
+        @Label("Migrated")
+        public boolean migrated;
+
+        /**
+         * Whether a save was returned.
+         */
+        @Label("Succeeded")
+        public boolean succeeded;
+    }
+
+    /**
+     * An image resource decoded into pixels.
+     */
+    @Name("com.persianrug.ImageDecode")
+    @Label("Image Decode")
+    @Category({CATEGORY, "Assets"})
+    @Description("Decoding an image resource on its first use")
+    @Enabled(false)
+    public static final class ImageDecode extends Event {
+        /**
+         * The resource path of the image.
+         */
+        @Label("Path")
+        public String path;
+
+        /**
+         * The width of the image in pixels.
+         */
+        @Label("Width")
+        public int width;
+
+        /**
+         * The height of the image in pixels.
+         */
+        @Label("Height")
+        public int height;
+
+        /**
+         * The approximate size of the decoded pixels.
+         */
+        @Label("Decoded Size")
+        @DataAmount
+        public long bytes;
+    }
+
+    /**
+     * A quiz shown to the player after touching an item.
+     */
+    @Name("com.persianrug.QuizOpen")
+    @Label("Quiz Open")
+    @Category({CATEGORY, "Gameplay"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class QuizOpen extends Event {
+        /**
+         * The question asked.
+         */
+        @Label("Question")
+        public String question;
+
+        /**
+         * The simulation tick the quiz opened on.
+         */
+        @Label("Tick")
+        public long tick;
+    }
+
+    /**
+     * An answer given to an open quiz.
+     */
+    @Name("com.persianrug.QuizAnswer")
+    @Label("Quiz Answer")
+    @Category({CATEGORY, "Gameplay"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class QuizAnswer extends Event {
+        /**
+         * The question answered.
+         */
+        @Label("Question")
+        public String question;
+
+        /**
+         * The index of the chosen option.
+         */
+        @Label("Selected Option")
+        public int selectedOption;
+
+        /**
+         * Whether the answer was correct.
+         */
+        @Label("Correct")
+        public boolean correct;
+
+        /**
+         * The number of simulation ticks the quiz was open.
+         */
+        @Label("Ticks Open")
+        public long ticksOpen;
+    }
+
+    /**
+     * The world reset to the start of a new game.
+     */
+    @Name("com.persianrug.WorldReset")
+    @Label("World Reset")
+    @Category({CATEGORY, "Gameplay"})
+    @Description("Resetting the player, items and streamed platforms for a new game")
+    @Enabled(false)
+    public static final class WorldReset extends Event {
+        /**
+         * The number of items restored.
+         */
+        @Label("Items")
+        public int items;
+    }
+}
@@ -0,0 +1,288 @@
+package com.persianrug.utils;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * A lightweight leveled logger for the game engine.
+ * Messages below the current level are discarded after a single field read, and
+ * {@link Supplier} overloads build the message only when it will be written.
+ * Accepted messages go into a lock-free ring buffer and are printed by a background
+ * daemon thread, so the game thread never waits on console output.
+ * The initial level can be chosen with the {@code persianrug.log.level} system property.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public final class GameLogger {
+
+    /**
+     * The severity of a log message, in increasing order.
+     */
+    public enum Level {
+        /**
+         * Detailed diagnostics, such as per-tick state.
+         */
+        DEBUG,
+
+        /**
+         * Notable game events.
+         */
+        INFO,
+
+        /**
+         * Recoverable problems.
+         */
+        WARN,
+
+        /**
+         * Failures.
+         */
+        ERROR,
+
+        /**
+         * Disables all logging when used as the threshold.
+         */
+        OFF
+    }
+
+    private static final String LEVEL_PROPERTY = "persianrug.log.level";
+    private static final int BUFFER_CAPACITY = 4096;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * The queued messages waiting to be printed.
+     */
+    private static final LogRingBuffer BUFFER = new LogRingBuffer(BUFFER_CAPACITY);
+
+    /**
+     * Guards the single consumer side of the buffer; producers never take it.
+     */
+    private static final Object DRAIN_LOCK = new Object();
+
+    /**
+     * The number of messages dropped because the buffer was full.
+     */
+    private static final AtomicLong DROPPED = new AtomicLong();
+
+    /**
+     * The lowest level that is written.
+     */
+    private static volatile Level threshold = parseLevel(System.getProperty(LEVEL_PROPERTY));
+
+    static {
+        Thread drainer = new Thread(GameLogger::drainLoop, "game-logger");
+        drainer.setDaemon(true);
+        drainer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(GameLogger::flush, "game-logger-flush"));
+    }
+
+    private GameLogger() {
+    }
+
+    /**
+     * Sets the lowest level that is written.
+     *
+     * @param level the new threshold, must not be null
+     */
+    public static void setLevel(final Level level) {
+        threshold = level;
+    }
+
+    /**
+     * Gets the lowest level that is written.
+     *
+     * @return the current threshold
+     */
+    public static Level getLevel() {
+        return threshold;
+    }
+
+    /**
+     * Checks if messages of the given level are written.
+     *
+     * @param level the level to check
+     * @return {@code true} if the level is enabled
+     */
+    public static boolean isEnabled(final Level level) {
+        return level.ordinal() >= threshold.ordinal();
+    }
+
+    /**
+     * Logs a debug message built only if debug logging is enabled.
+     *
+     * @param message supplies the message
+     */
+    public static void debug(final Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) {
+            enqueue(Level.DEBUG, message.get());
+        }
+    }
+
+    /**
+     * Logs a constant debug message.
+     *
+     * @param message the message
+     */
+    public static void debug(final String message) {
+        log(Level.DEBUG, message);
+    }
+
+    /**
+     * Logs an informational message built only if info logging is enabled.
+     *
+     * @param message supplies the message
+     */
+    public static void info(final Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            enqueue(Level.INFO, message.get());
+        }
+    }
+
+    /**
+     * Logs a constant informational message.
+     *
+     * @param message the message
+     */
+    public static void info(final String message) {
+        log(Level.INFO, message);
+    }
+
+    /**
+     * Logs a warning built only if warnings are enabled.
+     *
+     * @param message supplies the message
+     */
+    public static void warn(final Supplier<String> message) {
+        if (isEnabled(Level.WARN)) {
+            enqueue(Level.WARN, message.get());
+        }
+    }
+
+    /**
+     * Logs a constant warning.
+     *
+     * @param message the message
+     */
+    public static void warn(final String message) {
+        log(Level.WARN, message);
+    }
+
+    /**
+     * Logs an error built only if errors are enabled.
+     *
+     * @param message supplies the message
+     */
+    public static void error(final Supplier<String> message) {
+        if (isEnabled(Level.ERROR)) {
+            enqueue(Level.ERROR, message.get());
+        }
+    }
+
+    /**
+     * Logs a constant error.
+     *
+     * @param message the message
+     */
+    public static void error(final String message) {
+        log(Level.ERROR, message);
+    }
+
+    /**
+     * Writes every queued message before returning.
+     * Called on shutdown, and useful before reading the console in tests.
+     */
+    public static void flush() {
+        synchronized (DRAIN_LOCK) {
+            while (BUFFER.poll(GameLogger::write)) {
+                // keep draining
+            }
+        }
+    }
+
+    /**
+     * Gets the number of messages dropped because the buffer was full.
+     *
+     * @return the number of dropped messages
+     */
+    public static long getDroppedCount() {
+        return DROPPED.get();
+    }
+
+    /**
+     * Queues a message if its level is enabled.
+     *
+     * @param level   the level of the message
+     * @param message the message
+     */
+    private static void log(final Level level, final String message) {
+        if (isEnabled(level)) {
+            enqueue(level, message);
+        }
+    }
+
+    /**
+     * Adds a message to the ring buffer, counting it as dropped if the buffer is full.
+     *
+     * @param level   the level of the message
+     * @param message the message
+     */
+    private static void enqueue(final Level level, final String message) {
+        if (!BUFFER.offer(level, message)) {
+            DROPPED.incrementAndGet();
+        }
+    }
+
+    /**
+     * Runs on the background thread, printing messages as they arrive.
+     */
+    private static void drainLoop() {
+        while (true) {
+            boolean wrote = false;
+            synchronized (DRAIN_LOCK) {
+                while (BUFFER.poll(GameLogger::write)) {
+                    wrote = true;
+                }
+            }
+            if (!wrote) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Prints one message, sending warnings and errors to standard error.
+     *
+     * @param level   the level of the message
+     * @param message the message
+     */
+    private static void write(final Level level, final String message) {
+        PrintStream stream;
+        if (level.ordinal() >= Level.WARN.ordinal()) {
+            stream = System.err;
+        } else {
+            stream = System.out;
+        }
+        stream.println("[" + level + "] " + message);
+    }
+
+    /**
+     * Parses a level name, falling back to {@link Level#INFO}.
+     *
+     * @param value the level name, may be null
+     * @return the parsed level
+     */
+    private static Level parseLevel(final String value) {
+        if (value == null) {
+            return Level.INFO;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.persianrug.utils;
+
+import javafx.scene.image.Image;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A shared, thread-safe registry of decoded images keyed by resource path.
+ * Each image is decoded the first time it is requested and the same instance is
+ * handed to every later caller, so entities that share a sprite share its pixels.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+public final class ImageCache {
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /**
+     * The decoded images by resource path.
+     */
+    private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+
+    /**
+     * The number of requests served from the cache.
+     */
+    private static final AtomicLong HITS = new AtomicLong();
+
+    /**
+     * The number of requests that had to decode an image.
+     */
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    /**
+     * The approximate number of bytes held by the decoded images.
+     */
+    private static final AtomicLong DECODED_BYTES = new AtomicLong();
+
+    /**
+     * The default decoder, which loads the image synchronously.
+     */
+    private static final Function<URL, Image> DEFAULT_DECODER = url -> new Image(url.toString());
+
+    /**
+     * Turns a resource into an image; replaced in tests, which run without the JavaFX toolkit.
+     */
+    private static volatile Function<URL, Image> decoder = DEFAULT_DECODER;
+
+    private ImageCache() {
+    }
+
+    /**
+     * Gets the image for a classpath resource, decoding it on first use.
+     *
+     * @param path the absolute resource path of the image, for example {@code /images/platform.png}
+     * @return the shared decoded image
+     * @throws RuntimeException if the resource cannot be found or decoded
+     */
+    public static Image get(final String path) {
+        Image image = IMAGES.get(path);
+        if (image != null) {
+            HITS.incrementAndGet();
+            return image;
+        }
+        return IMAGES.computeIfAbsent(path, ImageCache::decode);
+    }
+
+    /**
+     * Decodes an image resource and records it in the statistics.
+     *
+     * @param path the absolute resource path of the image
+     * @return the decoded image
+     * @throws RuntimeException if the resource cannot be found or decoded
+     */
+    private static Image decode(final String path) {
+        URL resourceUrl = ImageCache.class.getResource(path);
+        if (resourceUrl == null) {
+            throw new RuntimeException("Resource not found: " + path);
+        }
+        GameEvents.ImageDecode event = new GameEvents.ImageDecode();
+        event.begin();
+        Image image = decoder.apply(resourceUrl);
+        if (image.isError()) {
+            throw new RuntimeException("Cannot decode " + path + ": " + image.getException());
+        }
+        long bytes = (long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL;
+        MISSES.incrementAndGet();
+        DECODED_BYTES.addAndGet(bytes);
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.width = (int) image.getWidth();
+            event.height = (int) image.getHeight();
+            event.bytes = bytes;
+            event.commit();
+        }
+        return image;
+    }
+
+    /**
+     * Gets the number of requests served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public static long getHits() {
+        return HITS.get();
+    }
+
+    /**
+     * Gets the number of requests that decoded a new image.
+     *
+     * @return the number of cache misses
+     */
+    public static long getMisses() {
+        return MISSES.get();
+    }
+
+    /**
+     * Gets the approximate memory held by decoded images, assuming 4 bytes per pixel.
+     *
+     * @return the decoded size in bytes
+     */
+    public static long getDecodedBytes() {
+        return DECODED_BYTES.get();
+    }
+
+    /**
+     * Gets the number of distinct images currently cached.
+     *
+     * @return the number of cached images
+     */
+    public static int size() {
+        return IMAGES.size();
+    }
+
+    /**
+     * Replaces the function that decodes images, or restores the default.
+     *
+     * @param replacement the decoder to use, or {@code null} for the default
+     */
+    static void setDecoder(final Function<URL, Image> replacement) {
+        decoder = replacement == null ? DEFAULT_DECODER : replacement;
+    }
+
+    /**
+     * Removes all cached images and resets the statistics.
+     */
+    public static void clear() {
+        IMAGES.clear();
+        HITS.set(0);
+        MISSES.set(0);
+        DECODED_BYTES.set(0);
+    }
+}
@@ -0,0 +1,141 @@
+package com.persianrug.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free queue of log entries for many producers and a single consumer.
+ * Producers claim a slot with a compare-and-set on the tail counter and publish it through
+ * a per-slot sequence number, so logging never blocks the game thread. When the buffer is
+ * full new entries are rejected instead of waiting for the consumer.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+final class LogRingBuffer {
+    /**
+     * The slot index mask; the capacity is a power of two.
+     */
+    private final int mask;
+
+    /**
+     * The publication sequence of each slot.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * The level of each entry.
+     */
+    private final GameLogger.Level[] levels;
+
+    /**
+     * The message of each entry.
+     */
+    private final String[] messages;
+
+    /**
+     * The next position to be claimed by a producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The next position to be read by the consumer; only touched by the consumer.
+     */
+    private long head = 0;
+
+    /**
+     * Constructs a buffer holding at least the given number of entries.
+     *
+     * @param capacity the minimum capacity, rounded up to a power of two; must be positive
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    LogRingBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.levels = new GameLogger.Level[size];
+        this.messages = new String[size];
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an entry if there is room. Safe to call from any thread.
+     *
+     * @param level   the level of the entry
+     * @param message the message of the entry
+     * @return {@code true} if the entry was queued, {@code false} if the buffer was full
+     */
+    boolean offer(final GameLogger.Level level, final String message) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    levels[index] = level;
+                    messages[index] = message;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest entry and passes it to the consumer.
+     * Must only be called by one thread at a time.
+     *
+     * @param consumer receives the level and message of the entry
+     * @return {@code true} if an entry was removed, {@code false} if the buffer was empty
+     */
+    boolean poll(final EntryConsumer consumer) {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return false;
+        }
+        GameLogger.Level level = levels[index];
+        String message = messages[index];
+        levels[index] = null;
+        messages[index] = null;
+        sequences.set(index, head + mask + 1);
+        head++;
+        consumer.accept(level, message);
+        return true;
+    }
+
+    /**
+     * Gets the number of entries the buffer can hold.
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Receives entries removed from the buffer.
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+        /**
+         * Handles one log entry.
+         *
+         * @param level   the level of the entry
+         * @param message the message of the entry
+         */
+        void accept(GameLogger.Level level, String message);
+    }
+}
@@ -2,6 +2,7 @@ module com.persianrug {
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.graphics;
+    requires jdk.jfr;
 
     exports com.persianrug;
 }
\ No newline at end of file
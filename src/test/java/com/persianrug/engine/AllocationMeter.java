@@ -0,0 +1,45 @@
+package com.persianrug.engine;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures how many bytes the current thread allocates while running a piece of code, for
+ * tests that check a hot path does not allocate. A test using it is skipped on a JVM that
+ * cannot count allocations per thread.
+ *
+ * @author Juhyun Park
+ * @version 2024
+ */
+final class AllocationMeter {
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * Runs an action repeatedly and reports what one call allocates on average. The warm-up
+     * calls are not measured, so that class loading and compilation do not count.
+     *
+     * @param action the code to measure
+     * @param warmup the number of calls to make before measuring
+     * @param runs   the number of calls to measure, must be positive
+     * @return the average number of bytes allocated per measured call
+     */
+    static double bytesPerCall(final Runnable action, final int warmup, final int runs) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < warmup; i++) {
+            action.run();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < runs; i++) {
+            action.run();
+        }
+        return (double) (threads.getThreadAllocatedBytes(threadId) - before) / runs;
+    }
+}
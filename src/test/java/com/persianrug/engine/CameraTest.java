@@ -65,4 +65,23 @@ class CameraTest {
         camera.update(bottomPlayer);
         assertEquals(Constants.LEVEL_HEIGHT - Constants.WINDOW_HEIGHT, camera.getY(), DELTA);
     }
+
+    @Test
+    void testCameraInterpolatesBetweenUpdates() {
+        Camera camera = new Camera();
+        Player farPlayer = new Player(2000, 2000);
+        camera.update(farPlayer);
+        assertEquals(0, camera.getInterpolatedX(0), DELTA);
+        assertEquals(camera.getX(), camera.getInterpolatedX(1), DELTA);
+        assertEquals(camera.getY() / 2, camera.getInterpolatedY(0.5), DELTA);
+    }
+
+    @Test
+    void testIsInViewAtCameraPosition() {
+        Player visible = new Player(1000, 1000);
+        Player offScreen = new Player(1000 + Constants.WINDOW_WIDTH + 10, 1000);
+        assertTrue(Camera.isInView(visible, 800, 800));
+        assertFalse(Camera.isInView(offScreen, 800, 800));
+        assertFalse(Camera.isInView(visible, 1000 + visible.getWidth(), 800));
+    }
 }
\ No newline at end of file
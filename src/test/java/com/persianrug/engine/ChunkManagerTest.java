@@ -0,0 +1,214 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Platform;
+import com.persianrug.utils.GameLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkManagerTest {
+    private static final double CHUNK_SIZE = 1024;
+    private static final long LARGE_BUDGET = Long.MAX_VALUE;
+
+    private GameLogger.Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = GameLogger.getLevel();
+        GameLogger.setLevel(GameLogger.Level.OFF);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GameLogger.setLevel(previousLevel);
+    }
+
+    private static LevelData randomLevel(int count) {
+        Random random = new Random(7);
+        LevelData level = new LevelData(10_000, 10_000, 0, 0);
+        for (int i = 0; i < count; i++) {
+            level.addPlatform(random.nextDouble() * 9_500, random.nextDouble() * 9_500,
+                    20 + random.nextDouble() * 400, 25);
+        }
+        return level;
+    }
+
+    /**
+     * Builds a level many screens wide with a continuous floor of short platforms.
+     */
+    private static LevelData corridor(double width) {
+        LevelData level = new LevelData(width, 2_000, 100, 1_900);
+        for (double x = 0; x < width; x += 500) {
+            level.addPlatform(x, 1_980, 500, 20);
+        }
+        return level;
+    }
+
+    @Test
+    void testNothingIsResidentUntilRequested() {
+        ChunkManager chunks = new ChunkManager(randomLevel(500), CHUNK_SIZE, LARGE_BUDGET);
+        List<Platform> out = new ArrayList<>();
+
+        chunks.query(0, 0, 10_000, 10_000, out);
+
+        assertTrue(out.isEmpty());
+        assertEquals(0, chunks.size());
+    }
+
+    @Test
+    void testResidentQueryMatchesBruteForce() {
+        LevelData level = randomLevel(2_000);
+        ChunkManager chunks = new ChunkManager(level, CHUNK_SIZE, LARGE_BUDGET);
+        chunks.ensureResident(0, 0, 10_000, 10_000);
+        List<Platform> out = new ArrayList<>();
+        Random random = new Random(11);
+
+        for (int q = 0; q < 200; q++) {
+            double x = random.nextDouble() * 9_000;
+            double y = random.nextDouble() * 9_000;
+            chunks.query(x, y, x + 300, y + 200, out);
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < level.getPlatformCount(); i++) {
+                if (level.getPlatformX(i) <= x + 300 && level.getPlatformX(i) + level.getPlatformWidth(i) >= x
+                        && level.getPlatformY(i) <= y + 200 && level.getPlatformY(i) + level.getPlatformHeight(i) >= y) {
+                    expected.add(i);
+                }
+            }
+            assertEquals(expected.size(), out.size());
+            for (int k = 0; k < expected.size(); k++) {
+                assertEquals(level.getPlatformX(expected.get(k)), out.get(k).getX());
+                assertEquals(level.getPlatformY(expected.get(k)), out.get(k).getY());
+            }
+        }
+    }
+
+    @Test
+    void testPlatformSpanningChunksIsSharedAndReportedOnce() {
+        LevelData level = new LevelData(4_096, 1_024, 0, 0);
+        level.addPlatform(0, 500, 4_096, 20);
+        ChunkManager chunks = new ChunkManager(level, CHUNK_SIZE, LARGE_BUDGET);
+        chunks.ensureResident(0, 0, 4_096, 1_024);
+        List<Platform> left = new ArrayList<>();
+        List<Platform> all = new ArrayList<>();
+
+        chunks.query(0, 400, 100, 600, left);
+        chunks.query(0, 400, 4_096, 600, all);
+
+        assertEquals(1, all.size());
+        assertSame(left.get(0), all.get(0));
+        assertEquals(1, chunks.size());
+    }
+
+    @Test
+    void testQueryOnlySeesResidentChunks() {
+        LevelData level = new LevelData(4_096, 1_024, 0, 0);
+        level.addPlatform(100, 500, 100, 20);
+        level.addPlatform(3_000, 500, 100, 20);
+        ChunkManager chunks = new ChunkManager(level, CHUNK_SIZE, LARGE_BUDGET);
+        chunks.ensureResident(0, 0, 500, 1_000);
+        List<Platform> out = new ArrayList<>();
+
+        chunks.query(0, 0, 4_096, 1_024, out);
+
+        assertEquals(1, out.size());
+        assertEquals(100, out.get(0).getX());
+    }
+
+    @Test
+    void testUpdateLoadsAroundCenterInBackground() {
+        ChunkManager chunks = new ChunkManager(randomLevel(500), CHUNK_SIZE, LARGE_BUDGET);
+
+        chunks.update(5_000, 5_000, 0, 0);
+        chunks.awaitLoads();
+        chunks.update(5_000, 5_000, 0, 0);
+
+        assertTrue(chunks.getResidentChunkCount() > 0);
+        assertTrue(chunks.getResidentChunkCount() < chunks.getChunkCount());
+        assertEquals(0, chunks.getSynchronousLoadCount());
+    }
+
+    @Test
+    void testFailedBackgroundLoadIsRetried() {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        LevelData level = new LevelData(10_000, 10_000, 0, 0) {
+            @Override
+            public Platform createPlatform(final int index) {
+                if (failing.get()) {
+                    throw new IllegalStateException("corrupt platform " + index);
+                }
+                return super.createPlatform(index);
+            }
+        };
+        level.addPlatform(5_000, 5_000, 100, 25);
+        ChunkManager chunks = new ChunkManager(level, CHUNK_SIZE, LARGE_BUDGET);
+
+        chunks.update(5_000, 5_000, 0, 0);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), chunks::awaitLoads);
+        chunks.update(5_000, 5_000, 0, 0);
+        assertEquals(0, chunks.size());
+        chunks.awaitLoads();
+
+        failing.set(false);
+        chunks.update(5_000, 5_000, 0, 0);
+        chunks.awaitLoads();
+        chunks.update(5_000, 5_000, 0, 0);
+        assertEquals(1, chunks.size());
+    }
+
+    @Test
+    void testPrefetchKeepsUpWithRunningPlayer() {
+        LevelData level = corridor(200_000);
+        GameWorld world = new GameWorld(level, CHUNK_SIZE, 16 * 1024);
+        ChunkManager chunks = world.getChunkManager();
+        long initialSynchronousLoads = chunks.getSynchronousLoadCount();
+        TickInput input = new TickInput();
+        input.set(false, true, false, false, false);
+
+        for (int i = 0; i < 3_000; i++) {
+            world.tick(input);
+            chunks.awaitLoads();
+        }
+
+        assertTrue(world.getPlayer().getX() > 10 * CHUNK_SIZE, "Player should cross many chunks");
+        assertTrue(world.getPlayer().isOnGround(), "Player should stay on the streamed floor");
+        assertEquals(initialSynchronousLoads, chunks.getSynchronousLoadCount(),
+                "Chunks ahead of the player should be loaded before it reaches them");
+    }
+
+    @Test
+    void testResidentChunksStayWithinBudget() {
+        LevelData level = corridor(200_000);
+        long budget = 4 * 1024;
+        GameWorld world = new GameWorld(level, CHUNK_SIZE, budget);
+        ChunkManager chunks = world.getChunkManager();
+        TickInput input = new TickInput();
+        input.set(false, true, false, false, false);
+
+        for (int i = 0; i < 3_000; i++) {
+            world.tick(input);
+            chunks.awaitLoads();
+            assertTrue(chunks.getResidentBytes() <= budget);
+        }
+
+        assertTrue(chunks.getEvictionCount() > 0);
+        assertTrue(chunks.size() < level.getPlatformCount());
+        List<Platform> out = new ArrayList<>();
+        chunks.query(0, 0, 1_000, 2_000, out);
+        assertTrue(out.isEmpty(), "Chunks left far behind should be evicted");
+    }
+
+    @Test
+    void testRejectsNonPositiveChunkSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ChunkManager(randomLevel(1), 0, LARGE_BUDGET));
+    }
+}
@@ -0,0 +1,87 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Platform;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityStoreTest {
+    private static final int ENTITIES = 10_000;
+
+    @Test
+    void testAddGrowsAndKeepsFields() {
+        EntityStore store = new EntityStore(1);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, store.add(EntityStore.TYPE_PLATFORM, i, i * 2, 10, 5));
+        }
+        store.add(EntityStore.TYPE_ITEM, 1, 2, 50, 50);
+
+        assertEquals(101, store.size());
+        assertEquals(99, store.getX(99));
+        assertEquals(198, store.getY(99));
+        assertEquals(10, store.getWidth(99));
+        assertEquals(5, store.getHeight(99));
+        assertEquals(EntityStore.TYPE_ITEM, store.getType(100));
+        assertFalse(store.hasFlag(100, EntityStore.FLAG_COLLECTED));
+    }
+
+    @Test
+    void testCopyHasIndependentFlags() {
+        EntityStore store = new EntityStore();
+        store.add(EntityStore.TYPE_ITEM, 0, 0, 50, 50);
+        EntityStore copy = store.copy();
+
+        copy.setFlag(0, EntityStore.FLAG_COLLECTED, true);
+        assertTrue(copy.hasFlag(0, EntityStore.FLAG_COLLECTED));
+        assertFalse(store.hasFlag(0, EntityStore.FLAG_COLLECTED));
+
+        copy.setFlag(0, EntityStore.FLAG_COLLECTED, false);
+        assertFalse(copy.hasFlag(0, EntityStore.FLAG_COLLECTED));
+    }
+
+    @Test
+    void testIntersectsMatchesGameObjects() {
+        Random random = new Random(7);
+        EntityStore store = new EntityStore();
+        for (int i = 0; i < ENTITIES; i++) {
+            double x = random.nextInt(1_000);
+            double y = random.nextInt(1_000);
+            double width = 1 + random.nextInt(100);
+            double height = 1 + random.nextInt(100);
+            Platform box = new Platform(random.nextInt(1_000), random.nextInt(1_000), 40, 60);
+            store.add(EntityStore.TYPE_PLATFORM, x, y, width, height);
+            assertEquals(box.intersects(new Platform(x, y, width, height)),
+                    store.intersects(i, box.getX(), box.getY(), box.getWidth(), box.getHeight()));
+        }
+    }
+
+    @Test
+    void testOverlapsCountsTouchingEdges() {
+        EntityStore store = new EntityStore();
+        store.add(EntityStore.TYPE_PLATFORM, 100, 100, 50, 10);
+
+        assertTrue(store.overlaps(0, 150, 110, 200, 200));
+        assertFalse(store.overlaps(0, 151, 100, 200, 200));
+        assertFalse(store.intersects(0, 150, 100, 10, 10));
+    }
+
+    @Test
+    void testStoreTakesLessMemoryThanObjects() {
+        LevelData level = new LevelData(1_000, 1_000, 0, 0);
+        for (int i = 0; i < ENTITIES; i++) {
+            level.addPlatform(i, i, 100, 20);
+        }
+
+        List<Platform> objects = level.createPlatforms();
+        EntityStore store = EntityStore.copyOf(level.getPlatformStore());
+        double objectBytes = AllocationMeter.bytesPerCall(level::createPlatforms, 0, 1);
+        double storeBytes = AllocationMeter.bytesPerCall(() -> EntityStore.copyOf(level.getPlatformStore()), 0, 1);
+
+        assertEquals(objects.size(), store.size());
+        assertTrue(storeBytes * 2 < objectBytes,
+                "Store used " + storeBytes + " bytes, objects " + objectBytes + " bytes");
+    }
+}
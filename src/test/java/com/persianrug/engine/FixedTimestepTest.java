@@ -0,0 +1,78 @@
+package com.persianrug.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedTimestepTest {
+    private static final double DELTA = 0.001;
+    private static final int TICKS_PER_SECOND = 60;
+    private static final int MAX_STEPS = 5;
+    private FixedTimestep timestep;
+    private long step;
+
+    @BeforeEach
+    void setUp() {
+        timestep = new FixedTimestep(TICKS_PER_SECOND, MAX_STEPS);
+        step = timestep.getStepNanos();
+    }
+
+    @Test
+    void testFirstFrameRunsNoTicks() {
+        assertEquals(0, timestep.advance(1_000_000L));
+        assertEquals(0, timestep.getAlpha(), DELTA);
+    }
+
+    @Test
+    void testOneTickPerFrameAtTickRate() {
+        long now = 0;
+        timestep.advance(now);
+        for (int i = 0; i < 10; i++) {
+            now += step;
+            assertEquals(1, timestep.advance(now));
+        }
+    }
+
+    @Test
+    void testHighRefreshRateRunsSameTicksPerSecond() {
+        long now = 0;
+        timestep.advance(now);
+        int ticks = 0;
+        long frame = 1_000_000_000L / 144;
+        for (int i = 0; i < 144; i++) {
+            now += frame;
+            ticks += timestep.advance(now);
+        }
+        assertTrue(Math.abs(ticks - TICKS_PER_SECOND) <= 1, "Expected about 60 ticks, got " + ticks);
+    }
+
+    @Test
+    void testAlphaReflectsLeftoverTime() {
+        timestep.advance(0);
+        assertEquals(0, timestep.advance(step / 2));
+        assertEquals(0.5, timestep.getAlpha(), DELTA);
+    }
+
+    @Test
+    void testCatchUpIsCapped() {
+        timestep.advance(0);
+        assertEquals(MAX_STEPS, timestep.advance(step * 100));
+        assertEquals(100 - MAX_STEPS, timestep.getDroppedSteps());
+        assertEquals(1, timestep.advance(step * 101));
+    }
+
+    @Test
+    void testResetForgetsElapsedTime() {
+        timestep.advance(0);
+        timestep.reset();
+        assertEquals(0, timestep.advance(step * 50));
+        assertEquals(1, timestep.advance(step * 51));
+    }
+
+    @Test
+    void testInvalidArgumentsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new FixedTimestep(0, MAX_STEPS));
+        assertThrows(IllegalArgumentException.class, () -> new FixedTimestep(TICKS_PER_SECOND, 0));
+    }
+}
@@ -0,0 +1,109 @@
+package com.persianrug.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameProfilerTest {
+    private static final long FRAME_NANOS = 16_000_000L;
+    private static final int ALLOCATION_RUNS = 10_000;
+    private static final double MAX_BYTES_PER_FRAME = 0.1;
+
+    private long now = 1_000_000_000L;
+    private final FrameProfiler profiler = new FrameProfiler(() -> now);
+
+    private void simulateFrame(long updateNanos, long renderNanos) {
+        profiler.frame(now);
+        profiler.begin(FrameProfiler.Section.UPDATE);
+        now += updateNanos;
+        profiler.end(FrameProfiler.Section.UPDATE);
+        profiler.begin(FrameProfiler.Section.RENDER);
+        now += renderNanos;
+        profiler.end(FrameProfiler.Section.RENDER);
+        now += FRAME_NANOS - updateNanos - renderNanos;
+    }
+
+    @Test
+    void testSectionsAndFramesAreRecorded() {
+        for (int i = 0; i < 100; i++) {
+            simulateFrame(1_000_000, 3_000_000);
+        }
+
+        assertEquals(99, profiler.getHistogram(FrameProfiler.Section.FRAME).getCount());
+        assertEquals(FRAME_NANOS, profiler.getHistogram(FrameProfiler.Section.FRAME).getMax());
+        assertEquals(1_000_000, profiler.getHistogram(FrameProfiler.Section.UPDATE).getMean());
+        assertEquals(3_000_000, profiler.getHistogram(FrameProfiler.Section.RENDER).getMean());
+    }
+
+    @Test
+    void testPauseDoesNotCountIdleTimeAsAFrame() {
+        simulateFrame(0, 0);
+        simulateFrame(0, 0);
+        profiler.pause();
+        now += 60_000_000_000L;
+        simulateFrame(0, 0);
+        simulateFrame(0, 0);
+
+        assertEquals(2, profiler.getHistogram(FrameProfiler.Section.FRAME).getCount());
+        assertEquals(FRAME_NANOS, profiler.getHistogram(FrameProfiler.Section.FRAME).getMax());
+    }
+
+    @Test
+    void testCsvHasOneRowPerSection(@TempDir Path dir) throws IOException {
+        simulateFrame(1_000_000, 2_000_000);
+        simulateFrame(1_000_000, 2_000_000);
+        Path csv = dir.resolve("profile.csv");
+
+        profiler.writeCsv(csv);
+
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals("section,count,mean_us,p50_us,p95_us,p99_us,max_us", lines.get(0));
+        assertEquals(FrameProfiler.Section.values().length + 1, lines.size());
+        assertTrue(lines.contains("update,2,1000.000,1000.000,1000.000,1000.000,1000.000"));
+        assertTrue(lines.get(1).startsWith("frame,1,16000.000,"));
+    }
+
+    @Test
+    void testOverlayShowsFpsAndSplit() {
+        for (int i = 0; i < 61; i++) {
+            simulateFrame(1_000_000, 3_000_000);
+        }
+        ProfilerOverlay overlay = new ProfilerOverlay(profiler);
+
+        assertEquals("FPS 63", overlay.getLine(0));
+        assertTrue(overlay.getLine(1).startsWith("frame p50 16.0"), overlay.getLine(1));
+        assertEquals("update 1.00 ms  render 3.00 ms  (25%/75%)", overlay.getLine(2));
+    }
+
+    @Test
+    void testOverlayShowsTickCostWhenSimulationHasItsOwnThread() {
+        for (int i = 0; i < 61; i++) {
+            profiler.frame(now);
+            profiler.record(FrameProfiler.Section.TICK, 250_000);
+            profiler.record(FrameProfiler.Section.RENDER, 3_000_000);
+            now += FRAME_NANOS;
+        }
+        ProfilerOverlay overlay = new ProfilerOverlay(profiler);
+
+        assertEquals("tick 0.25 ms (thread)  render 3.00 ms", overlay.getLine(2));
+    }
+
+    @Test
+    void testTimingDoesNotAllocate() {
+        FrameProfiler real = new FrameProfiler();
+
+        double allocated = AllocationMeter.bytesPerCall(() -> {
+            real.frame(System.nanoTime());
+            real.begin(FrameProfiler.Section.TICK);
+            real.end(FrameProfiler.Section.TICK);
+        }, ALLOCATION_RUNS, ALLOCATION_RUNS);
+
+        assertTrue(allocated < MAX_BYTES_PER_FRAME, "Timing allocated " + allocated + " bytes per frame");
+    }
+}
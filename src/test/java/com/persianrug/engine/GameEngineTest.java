@@ -60,4 +60,10 @@ public class GameEngineTest {
         assertTrue(inputManager.isKeyPressed(javafx.scene.input.KeyCode.SPACE));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testOnlyPlayingIsAnimated() {
+        assertTrue(GameState.PLAYING.isAnimated());
+        assertFalse(GameState.MENU.isAnimated());
+        assertFalse(GameState.PAUSED.isAnimated());
+    }
+}
@@ -0,0 +1,76 @@
+package com.persianrug.engine;
+
+import com.persianrug.utils.GameLogger;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.WritableImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRendererTest {
+    private static final int WARMUP_FRAMES = 500;
+    private static final int MEASURED_FRAMES = 200;
+    private static final long MAX_BYTES_PER_FRAME = 256;
+
+    private GameLogger.Level previousLevel;
+    private GameRenderer renderer;
+    private GameWorld world;
+    private Camera camera;
+    private Menu menu;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = GameLogger.getLevel();
+        GameLogger.setLevel(GameLogger.Level.OFF);
+        Canvas canvas = new Canvas(800, 600);
+        renderer = new GameRenderer(canvas.getGraphicsContext2D(), new WritableImage(256, 256));
+        world = new GameWorld();
+        camera = new Camera();
+        menu = new Menu();
+        camera.update(world.getPlayer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        GameLogger.setLevel(previousLevel);
+    }
+
+    @Test
+    void testRenderCountsVisibleObjects() {
+        renderer.render(GameState.PLAYING, world, camera, menu, 1.0);
+        RenderStats stats = renderer.getRenderStats();
+        assertTrue(stats.getDrawn() > 0);
+        assertTrue(stats.getDrawn() < world.getLevel().getPlatformCount() + world.getItems().size());
+    }
+
+    @Test
+    void testSteadyStateFrameDoesNotAllocate() {
+        double perFrame = AllocationMeter.bytesPerCall(
+                () -> renderer.render(GameState.PLAYING, world, camera, menu, 1.0), WARMUP_FRAMES, MEASURED_FRAMES);
+
+        assertTrue(perFrame <= MAX_BYTES_PER_FRAME,
+                "Rendering allocated " + perFrame + " bytes per frame");
+    }
+
+    @Test
+    void testPausedFrameIsCapturedOnceAndReused() {
+        int[] captures = {0};
+        renderer.setFrameCapture((canvas, reuse) -> {
+            captures[0]++;
+            return reuse != null ? reuse : new WritableImage(800, 600);
+        });
+        menu.setPauseMenuOptions();
+
+        for (int i = 0; i < 10; i++) {
+            renderer.render(GameState.PAUSED, world, camera, menu, 1.0);
+            menu.moveDown();
+        }
+        assertEquals(1, captures[0]);
+
+        renderer.render(GameState.PLAYING, world, camera, menu, 1.0);
+        renderer.render(GameState.PAUSED, world, camera, menu, 1.0);
+        assertEquals(2, captures[0]);
+    }
+}
@@ -1,8 +1,18 @@
 package com.persianrug.engine;
 import com.persianrug.entity.Item;
+import com.persianrug.utils.GameEvents;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,6 +36,115 @@ class GameSaveManagerTest {
         assertNull(loadedSave, "Loaded save should be null for non-existent save file");
     }
 
+    @Test
+    void testAsyncSaveRoundTrip(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("save.dat");
+        GameSaveManager.GameSave save = new GameSaveManager.GameSave(120, 340, 2,
+                List.of(createTestItem(0, 0, true), createTestItem(10, 0, false)));
+
+        GameSaveManager.saveGameAsync(save, file).get(5, TimeUnit.SECONDS);
+
+        GameSaveManager.GameSave loaded = GameSaveManager.loadGame(file);
+        assertNotNull(loaded);
+        assertEquals(120, loaded.playerX);
+        assertEquals(340, loaded.playerY);
+        assertEquals(2, loaded.correctAnswers);
+        assertArrayEquals(new boolean[]{true, false}, loaded.collectedItems);
+    }
+
+    @Test
+    void testSaveLeavesNoTempFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("save.dat");
+        GameSaveManager.writeSave(new GameSaveManager.GameSave(1, 2, 0, List.of()), file);
+
+        assertTrue(Files.exists(file));
+        assertFalse(Files.exists(dir.resolve("save.dat.tmp")));
+    }
+
+    @Test
+    void testSaveReplacesPreviousSave(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("save.dat");
+        GameSaveManager.writeSave(new GameSaveManager.GameSave(1, 2, 0, List.of()), file);
+        GameSaveManager.writeSave(new GameSaveManager.GameSave(3, 4, 5, List.of()), file);
+
+        GameSaveManager.GameSave loaded = GameSaveManager.loadGame(file);
+        assertNotNull(loaded);
+        assertEquals(3, loaded.playerX);
+        assertEquals(5, loaded.correctAnswers);
+    }
+
+    @Test
+    void testFailedAsyncSaveCompletesExceptionally(@TempDir Path dir) {
+        Path file = dir.resolve("missing").resolve("save.dat");
+        var future = GameSaveManager.saveGameAsync(
+                new GameSaveManager.GameSave(1, 2, 0, List.of()), file);
+
+        assertThrows(CompletionException.class, future::join);
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void testLegacySerializedSaveIsMigrated(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("save.dat");
+        GameSaveManager.GameSave legacy = new GameSaveManager.GameSave(50, 60, 3,
+                List.of(createTestItem(0, 0, false), createTestItem(10, 0, true)));
+        try (var oos = new java.io.ObjectOutputStream(Files.newOutputStream(file))) {
+            oos.writeObject(legacy);
+        }
+
+        GameSaveManager.GameSave loaded = GameSaveManager.loadGame(file);
+
+        assertNotNull(loaded);
+        assertEquals(50, loaded.playerX);
+        assertEquals(3, loaded.correctAnswers);
+        assertArrayEquals(new boolean[]{false, true}, loaded.collectedItems);
+        assertTrue(SaveCodec.isBinarySave(Files.readAllBytes(file)));
+    }
+
+    @Test
+    void testSaveAndLoadAreRecordedAsFlightEvents(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("save.dat");
+        GameSaveManager.GameSave save = new GameSaveManager.GameSave(1, 2, 0,
+                List.of(createTestItem(0, 0, true)));
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording(GameEvents.gameSettings())) {
+            recording.start();
+            GameSaveManager.writeSave(save, file);
+            GameSaveManager.loadGame(file);
+            recording.stop();
+            Path jfr = dir.resolve("save.jfr");
+            recording.dump(jfr);
+            events = RecordingFile.readAllEvents(jfr);
+        }
+
+        RecordedEvent write = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.persianrug.SaveWrite")).findFirst().orElseThrow();
+        RecordedEvent load = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.persianrug.SaveLoad")).findFirst().orElseThrow();
+        assertEquals(Files.size(file), write.getLong("bytes"));
+        assertTrue(write.getBoolean("succeeded"));
+        assertEquals(Files.size(file), load.getLong("bytes"));
+        assertFalse(load.getBoolean("migrated"));
+    }
+
+    @Test
+    void testUnrecognisedSaveLoadsAsNull(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("save.dat");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5});
+
+        assertNull(GameSaveManager.loadGame(file));
+    }
+
+    @Test
+    void testSaveIsSnapshotOfItems() {
+        Item item = new Item(0, 0, "/dummy/image/path", null);
+        GameSaveManager.GameSave save = new GameSaveManager.GameSave(0, 0, 0, List.of(item));
+        item.collect();
+
+        assertFalse(save.collectedItems[0]);
+    }
+
     private void saveGame(GameSaveManager.GameSave save) {
         try (var oos = new java.io.ObjectOutputStream(new java.io.FileOutputStream(TEST_SAVE_FILE))) {
             oos.writeObject(save);
@@ -0,0 +1,204 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Item;
+import com.persianrug.entity.Player;
+import com.persianrug.utils.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameWorldTest {
+    private static final int HEADLESS_TICKS = 100_000;
+    private static final int ALLOCATION_RUNS = 10_000;
+    private static final double MAX_BYTES_PER_CAPTURE = 0.1;
+    private GameWorld world;
+    private TickInput input;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld();
+        input = new TickInput();
+    }
+
+    @Test
+    void testWorldBuildsLevelWithoutGraphics() {
+        assertTrue(world.getPlatformIndex().size() > 0);
+        assertEquals(20, world.getItems().size());
+        assertEquals(20, world.getTotalQuestions());
+    }
+
+    @Test
+    void testPlayerSettlesOnGround() {
+        for (int i = 0; i < Constants.TICKS_PER_SECOND; i++) {
+            world.tick(input);
+        }
+        Player player = world.getPlayer();
+        assertTrue(player.isOnGround(), "Player should come to rest on the ground");
+        double groundTop = world.getLevel().getPlatformY(0);
+        assertEquals(groundTop - player.getHeight(), player.getY(), 0.001);
+    }
+
+    @Test
+    void testHoldingRightMovesPlayer() {
+        double startX = world.getPlayer().getX();
+        input.set(false, true, false, false, false);
+        for (int i = 0; i < 10; i++) {
+            world.tick(input);
+        }
+        assertTrue(world.getPlayer().getX() > startX);
+    }
+
+    @Test
+    void testTouchingItemOpensQuiz() {
+        touchFirstItem();
+        assertTrue(world.isShowingQuiz());
+        assertSame(world.getItems().get(0), world.getCurrentQuizItem());
+    }
+
+    @Test
+    void testPlayerIsNotInterpolatedBehindQuiz() {
+        world.getPlayer().moveRight();
+        touchFirstItem();
+        world.tick(input);
+
+        Player player = world.getPlayer();
+        assertEquals(player.getX(), player.getInterpolatedX(0));
+        assertEquals(player.getY(), player.getInterpolatedY(0));
+    }
+
+    @Test
+    void testCorrectAnswerCollectsItem() {
+        touchFirstItem();
+        input.set(false, false, false, false, true);
+        world.tick(input);
+
+        Item item = world.getItems().get(0);
+        assertTrue(item.isCollected());
+        assertFalse(world.isShowingQuiz());
+        assertEquals(1, world.getCorrectAnswers());
+    }
+
+    @Test
+    void testWrongAnswerShowsFailScreenUntilExpired() {
+        touchFirstItem();
+        input.set(false, false, false, true, false);
+        world.tick(input);
+        input.clear();
+        world.tick(input);
+        input.set(false, false, false, false, true);
+        world.tick(input);
+
+        assertTrue(world.isShowingFailScreen());
+        assertEquals(5, world.getFailSecondsRemaining());
+        for (int i = 0; i < 5 * Constants.TICKS_PER_SECOND; i++) {
+            assertFalse(world.isFailScreenExpired());
+            world.tick(input);
+        }
+        assertTrue(world.isFailScreenExpired());
+    }
+
+    @Test
+    void testResetRestoresItemsAndScore() {
+        touchFirstItem();
+        input.set(false, false, false, false, true);
+        world.tick(input);
+        world.reset();
+
+        assertEquals(0, world.getCorrectAnswers());
+        assertFalse(world.getItems().get(0).isCollected());
+        assertFalse(world.isShowingQuiz());
+    }
+
+    @Test
+    void testSaveRoundTrip() {
+        touchFirstItem();
+        input.set(false, false, false, false, true);
+        world.tick(input);
+        GameSaveManager.GameSave save = world.createSave();
+
+        GameWorld restored = new GameWorld();
+        restored.restore(save);
+
+        assertEquals(1, restored.getCorrectAnswers());
+        assertTrue(restored.getItems().get(0).isCollected());
+        assertEquals(world.getPlayer().getX(), restored.getPlayer().getX(), 0.001);
+    }
+
+    @Test
+    void testCompletionFollowsLevelQuizCount() {
+        GameWorld empty = new GameWorld(new LevelData(1_000, 1_000, 100, 100));
+        empty.tick(input);
+        assertEquals(0, empty.getTotalQuestions());
+        assertFalse(empty.isGameCompleted(), "A level without items is not completed before it starts");
+
+        int total = world.getTotalQuestions();
+        boolean[] collected = new boolean[world.getItems().size()];
+        Arrays.fill(collected, true);
+        GameWorld restored = new GameWorld();
+        restored.restore(new GameSaveManager.GameSave(0, 0, total, collected));
+        assertTrue(restored.isGameCompleted());
+        restored.restore(new GameSaveManager.GameSave(0, 0, total - 1, collected));
+        assertFalse(restored.isGameCompleted());
+    }
+
+    @Test
+    void testRunsManyTicksHeadless() {
+        assertTimeout(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < HEADLESS_TICKS; i++) {
+                boolean right = (i / 120) % 2 == 0;
+                input.set(!right, right, i % 45 == 0, false, false);
+                world.tick(input);
+                if (world.isShowingQuiz()) {
+                    world.reset();
+                }
+            }
+        });
+        assertEquals(HEADLESS_TICKS, world.getTickCount());
+    }
+
+    @Test
+    void testSnapshotRestoresEarlierState() {
+        input.set(false, true, true, false, false);
+        for (int i = 0; i < 30; i++) {
+            world.tick(input);
+        }
+        input.clear();
+        touchFirstItem();
+        WorldSnapshot snapshot = new WorldSnapshot();
+        world.captureSnapshot(snapshot);
+        long hash = world.stateHash();
+        long tick = world.getTickCount();
+
+        input.set(false, false, false, false, true);
+        world.tick(input);
+        assertTrue(world.getItems().get(0).isCollected());
+
+        world.restoreSnapshot(snapshot);
+        assertEquals(hash, world.stateHash());
+        assertEquals(tick, world.getTickCount());
+        assertTrue(world.isShowingQuiz());
+        assertSame(world.getItems().get(0), world.getCurrentQuizItem());
+        assertFalse(world.getItems().get(0).isCollected());
+    }
+
+    @Test
+    void testSnapshotCaptureDoesNotAllocate() {
+        WorldSnapshot snapshot = new WorldSnapshot();
+
+        double allocated = AllocationMeter.bytesPerCall(
+                () -> world.captureSnapshot(snapshot), ALLOCATION_RUNS, ALLOCATION_RUNS);
+
+        assertTrue(allocated < MAX_BYTES_PER_CAPTURE, "Capturing a snapshot allocated " + allocated + " bytes");
+    }
+
+    private void touchFirstItem() {
+        Item item = world.getItems().get(0);
+        world.getPlayer().setX(item.getX());
+        world.getPlayer().setY(item.getY());
+        world.tick(input);
+    }
+}
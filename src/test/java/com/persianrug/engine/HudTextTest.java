@@ -0,0 +1,36 @@
+package com.persianrug.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HudTextTest {
+
+    @Test
+    void testFormatsTwoNumbers() {
+        HudText text = new HudText("Score: ", "/", "");
+        assertEquals("Score: 3/20", text.get(3, 20));
+    }
+
+    @Test
+    void testFormatsSingleNumber() {
+        HudText text = new HudText("Returning to menu in ", "", " seconds");
+        assertEquals("Returning to menu in 5 seconds", text.get(5));
+    }
+
+    @Test
+    void testReusesStringWhileValuesUnchanged() {
+        HudText text = new HudText("Score: ", "/", "");
+        String first = text.get(3, 20);
+        assertSame(first, text.get(3, 20));
+    }
+
+    @Test
+    void testRebuildsWhenValueChanges() {
+        HudText text = new HudText("Score: ", "/", "");
+        String first = text.get(3, 20);
+        String second = text.get(4, 20);
+        assertNotSame(first, second);
+        assertEquals("Score: 4/20", second);
+    }
+}
@@ -0,0 +1,71 @@
+package com.persianrug.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputEventQueueTest {
+
+    @Test
+    void testCapacityRoundedToPowerOfTwo() {
+        assertEquals(8, new InputEventQueue(5).capacity());
+        assertEquals(16, new InputEventQueue(16).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new InputEventQueue(0));
+    }
+
+    @Test
+    void testEventsComeOutInOrder() {
+        InputEventQueue queue = new InputEventQueue(4);
+        queue.offer(3, true, 100);
+        queue.offer(3, false, 250);
+
+        List<String> out = new ArrayList<>();
+        while (queue.poll((key, pressed, nanos) -> out.add(key + ":" + pressed + "@" + nanos))) {
+            // drain
+        }
+        assertEquals(List.of("3:true@100", "3:false@250"), out);
+    }
+
+    @Test
+    void testFullQueueRejectsEvents() {
+        InputEventQueue queue = new InputEventQueue(2);
+        assertTrue(queue.offer(1, true, 0));
+        assertTrue(queue.offer(1, false, 0));
+        assertFalse(queue.offer(2, true, 0));
+
+        assertTrue(queue.poll((key, pressed, nanos) -> { }));
+        assertTrue(queue.offer(2, true, 0));
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 1000;
+        InputEventQueue queue = new InputEventQueue(producers * perProducer);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int id = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    assertTrue(queue.offer(id, true, i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Set<Long> seen = new HashSet<>();
+        while (queue.poll((key, pressed, nanos) -> seen.add(key * 1_000_000L + nanos))) {
+            // drain
+        }
+        assertEquals(producers * perProducer, seen.size());
+    }
+}
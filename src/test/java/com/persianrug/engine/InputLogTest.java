@@ -0,0 +1,114 @@
+package com.persianrug.engine;
+
+import com.persianrug.utils.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputLogTest {
+    private static final int TEN_MINUTES = 10 * 60 * Constants.TICKS_PER_SECOND;
+    private GameWorld world;
+    private TickInput input;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld();
+        input = new TickInput();
+    }
+
+    private InputLog newLog() {
+        return new InputLog(LevelLoader.DEFAULT_LEVEL, 42, Constants.REPLAY_HASH_INTERVAL, world.createSave());
+    }
+
+    private void play(final InputLog log, final int bits, final int ticks) {
+        input.setBits(bits);
+        for (int i = 0; i < ticks; i++) {
+            world.tick(input);
+            log.record(input, world);
+        }
+    }
+
+    @Test
+    void testTickInputBitsRoundTrip() {
+        for (int bits = 0; bits < 32; bits++) {
+            input.setBits(bits);
+            assertEquals(bits, input.toBits());
+        }
+        input.set(true, false, true, false, true);
+        assertEquals(TickInput.LEFT | TickInput.UP | TickInput.ENTER, input.toBits());
+    }
+
+    @Test
+    void testOnlyChangesAreStored() {
+        InputLog log = newLog();
+        play(log, TickInput.RIGHT, 100);
+        play(log, TickInput.RIGHT | TickInput.UP, 5);
+        play(log, 0, 95);
+
+        assertEquals(200, log.getTickCount());
+        assertEquals(3, log.getChangeCount());
+        assertEquals(0, log.getChangeTick(0));
+        assertEquals(100, log.getChangeTick(1));
+        assertEquals(105, log.getChangeTick(2));
+        assertEquals(TickInput.RIGHT, log.bitsAt(99));
+        assertEquals(TickInput.RIGHT | TickInput.UP, log.bitsAt(104));
+        assertEquals(0, log.bitsAt(150));
+        assertEquals(200 / Constants.REPLAY_HASH_INTERVAL, log.getHashCount());
+    }
+
+    @Test
+    void testEncodeDecodeRoundTrip() throws IOException {
+        InputLog log = newLog();
+        play(log, TickInput.LEFT, 70);
+        play(log, TickInput.UP, 1);
+        play(log, 0, 300);
+
+        InputLog decoded = InputLog.decode(log.encode());
+        assertEquals(LevelLoader.DEFAULT_LEVEL, decoded.getLevelId());
+        assertEquals(42, decoded.getSeed());
+        assertEquals(log.getHashInterval(), decoded.getHashInterval());
+        assertEquals(log.getTickCount(), decoded.getTickCount());
+        assertEquals(log.getChangeCount(), decoded.getChangeCount());
+        for (int i = 0; i < log.getChangeCount(); i++) {
+            assertEquals(log.getChangeTick(i), decoded.getChangeTick(i));
+            assertEquals(log.getChangeBits(i), decoded.getChangeBits(i));
+        }
+        assertEquals(log.getHashCount(), decoded.getHashCount());
+        for (int i = 0; i < log.getHashCount(); i++) {
+            assertEquals(log.getHash(i), decoded.getHash(i));
+        }
+    }
+
+    @Test
+    void testHeldInputIsCompact() {
+        InputLog log = newLog();
+        play(log, TickInput.RIGHT, TEN_MINUTES);
+        int hashBytes = log.getHashCount() * Long.BYTES;
+        assertTrue(log.encode().length - hashBytes < 128,
+                "Ten minutes of one held key should take a few bytes of input");
+    }
+
+    @Test
+    void testCorruptLogIsRejected() {
+        InputLog log = newLog();
+        play(log, TickInput.RIGHT, 120);
+        byte[] data = log.encode();
+        data[data.length / 2] ^= 1;
+        assertThrows(IOException.class, () -> InputLog.decode(data));
+        assertThrows(IOException.class, () -> InputLog.decode(new byte[] {1, 2, 3}));
+    }
+
+    @Test
+    void testWriteAndRead(@TempDir final Path dir) throws IOException {
+        InputLog log = newLog();
+        play(log, TickInput.RIGHT, 90);
+        Path file = dir.resolve("game.rec");
+        log.write(file);
+        assertEquals(90, InputLog.read(file).getTickCount());
+    }
+}
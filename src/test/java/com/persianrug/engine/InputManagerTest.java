@@ -7,10 +7,12 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class InputManagerTest {
     private InputManager inputManager;
+    private long now;
 
     @BeforeEach
     void setUp() {
         inputManager = new InputManager();
+        now = 1_000_000_000L;
     }
 
     @Test
@@ -55,4 +57,73 @@ class InputManagerTest {
         assertFalse(inputManager.isKeyPressed(KeyCode.SPACE), "No key should be active initially");
         assertFalse(inputManager.isKeyPressed(KeyCode.ESCAPE), "No key should be active initially");
     }
+
+    @Test
+    void testTickStateChangesOnlyOnPoll() {
+        inputManager.handleKeyPress(KeyCode.LEFT);
+        assertFalse(inputManager.isHeld(KeyCode.LEFT), "Events wait for the next tick");
+
+        inputManager.poll();
+        assertTrue(inputManager.isHeld(KeyCode.LEFT));
+        assertTrue(inputManager.wasPressed(KeyCode.LEFT));
+
+        inputManager.poll();
+        assertTrue(inputManager.isHeld(KeyCode.LEFT));
+        assertFalse(inputManager.wasPressed(KeyCode.LEFT), "Edges last one tick");
+
+        inputManager.handleKeyRelease(KeyCode.LEFT);
+        inputManager.poll();
+        assertFalse(inputManager.isHeld(KeyCode.LEFT));
+        assertTrue(inputManager.wasReleased(KeyCode.LEFT));
+    }
+
+    @Test
+    void testTapBetweenTicksIsNotLost() {
+        inputManager.handleKeyPress(KeyCode.UP);
+        inputManager.handleKeyRelease(KeyCode.UP);
+        assertFalse(inputManager.isKeyPressed(KeyCode.UP));
+
+        inputManager.poll();
+        assertFalse(inputManager.isHeld(KeyCode.UP));
+        assertTrue(inputManager.isActive(KeyCode.UP), "A tap counts as down for one tick");
+
+        inputManager.poll();
+        assertFalse(inputManager.isActive(KeyCode.UP));
+    }
+
+    @Test
+    void testLatencyIsRecorded() {
+        InputManager timed = new InputManager(() -> now);
+        FrameProfiler profiler = new FrameProfiler(() -> now);
+        timed.setProfiler(profiler);
+
+        timed.handleKeyPress(KeyCode.RIGHT);
+        now += 4_000_000;
+        timed.handleKeyRelease(KeyCode.RIGHT);
+        now += 1_000_000;
+        timed.poll();
+
+        TimingHistogram latency = profiler.getHistogram(FrameProfiler.Section.INPUT_LATENCY);
+        assertEquals(2, latency.getCount());
+        assertEquals(5_000_000, latency.getMax());
+
+        timed.handleKeyPress(KeyCode.ENTER);
+        timed.skipEvents();
+        assertEquals(2, latency.getCount(), "Menu input is not counted");
+        assertTrue(timed.isHeld(KeyCode.ENTER));
+    }
+
+    @Test
+    void testOverflowResyncsHeldKeys() {
+        for (int i = 0; i < 1_000; i++) {
+            inputManager.handleKeyPress(KeyCode.A);
+            inputManager.handleKeyRelease(KeyCode.A);
+        }
+        inputManager.handleKeyPress(KeyCode.D);
+        assertTrue(inputManager.getDroppedEvents() > 0);
+
+        inputManager.poll();
+        assertFalse(inputManager.isHeld(KeyCode.A));
+        assertTrue(inputManager.isHeld(KeyCode.D));
+    }
 }
@@ -0,0 +1,130 @@
+package com.persianrug.engine;
+
+import com.persianrug.utils.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputReplayTest {
+    private static final int RECORDED_TICKS = 20 * Constants.TICKS_PER_SECOND;
+    private GameWorld world;
+    private TickInput input;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld();
+        input = new TickInput();
+    }
+
+    /**
+     * Plays a scripted game of running right and jumping, recording it.
+     */
+    private InputLog record() {
+        InputLog log = new InputLog(LevelLoader.DEFAULT_LEVEL, 0, Constants.REPLAY_HASH_INTERVAL, world.createSave());
+        for (int tick = 0; tick < RECORDED_TICKS; tick++) {
+            boolean jump = tick % 45 < 3;
+            boolean back = tick % 400 > 350;
+            input.set(back, !back, jump, false, tick % 7 == 0);
+            world.tick(input);
+            log.record(input, world);
+        }
+        return log;
+    }
+
+    @Test
+    void testReplayReproducesRecordedGame() throws IOException {
+        InputLog log = InputLog.decode(record().encode());
+        long recordedHash = world.stateHash();
+        double recordedX = world.getPlayer().getX();
+
+        InputReplay replay = new InputReplay(log, InputReplay.createWorld(log));
+        assertEquals(RECORDED_TICKS, replay.runToEnd());
+        assertTrue(replay.isVerified());
+        assertEquals(log.getHashCount(), replay.getCheckedHashes());
+        assertEquals(recordedHash, replay.getWorld().stateHash());
+        assertEquals(recordedX, replay.getWorld().getPlayer().getX());
+        assertFalse(replay.step());
+    }
+
+    @Test
+    void testReplayResetsTheWorldItIsGiven() {
+        InputLog log = record();
+        InputReplay replay = new InputReplay(log, world);
+        replay.runToEnd();
+        assertTrue(replay.isVerified());
+    }
+
+    @Test
+    void testReplayStartsFromRecordedSave() {
+        world.restore(new GameSaveManager.GameSave(500, 100, 0, world.getItems()));
+        InputLog log = record();
+        long recordedHash = world.stateHash();
+
+        InputReplay replay = new InputReplay(log, new GameWorld());
+        replay.runToEnd();
+        assertTrue(replay.isVerified());
+        assertEquals(recordedHash, replay.getWorld().stateHash());
+    }
+
+    @Test
+    void testDivergenceIsReported() {
+        InputLog log = record();
+        GameWorld other = new GameWorld();
+        InputReplay replay = new InputReplay(log, other);
+        for (int i = 0; i < Constants.REPLAY_HASH_INTERVAL * 2; i++) {
+            replay.step();
+        }
+        other.getPlayer().setX(other.getPlayer().getX() + 1);
+        replay.runToEnd();
+
+        assertFalse(replay.isVerified());
+        assertEquals(Constants.REPLAY_HASH_INTERVAL * 3, replay.getMismatchTick());
+    }
+
+    @Test
+    void testSeekMatchesReplayFromStart() {
+        InputLog log = record();
+        InputReplay straight = new InputReplay(log, new GameWorld());
+        for (int i = 0; i < 700; i++) {
+            straight.step();
+        }
+
+        InputReplay seeking = new InputReplay(log, new GameWorld());
+        seeking.seek(1000);
+        assertEquals(1000, seeking.getTick());
+        seeking.seek(700);
+        assertEquals(700, seeking.getTick());
+        assertEquals(straight.getWorld().stateHash(), seeking.getWorld().stateHash());
+
+        seeking.runToEnd();
+        assertTrue(seeking.isVerified());
+        assertEquals(log.getHashCount(), seeking.getCheckedHashes());
+    }
+
+    @Test
+    void testSeekBackRestoresNearestSnapshot() {
+        InputLog log = record();
+        InputReplay replay = new InputReplay(log, new GameWorld());
+        replay.runToEnd();
+        assertEquals(RECORDED_TICKS / Constants.REPLAY_SNAPSHOT_INTERVAL + 1, replay.getSnapshots().size());
+
+        replay.seek(0);
+        assertEquals(0, replay.getTick());
+        replay.seek(Constants.REPLAY_SNAPSHOT_INTERVAL * 5 + 1);
+        assertEquals(Constants.REPLAY_SNAPSHOT_INTERVAL * 5 + 1, replay.getTick());
+        replay.seek(RECORDED_TICKS * 2);
+        assertTrue(replay.isVerified());
+    }
+
+    @Test
+    void testStateHashTracksGameplay() {
+        GameWorld other = new GameWorld();
+        assertEquals(world.stateHash(), other.stateHash());
+        input.set(false, true, false, false, false);
+        world.tick(input);
+        assertNotEquals(world.stateHash(), other.stateHash());
+    }
+}
@@ -0,0 +1,126 @@
+package com.persianrug.engine;
+
+import com.persianrug.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.Arena;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static com.persianrug.engine.LevelTestSupport.assertSameEntities;
+import static com.persianrug.engine.LevelTestSupport.play;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelFileTest {
+    private static final int PLATFORM_COUNT_OFFSET = 48;
+
+    private static Path sourceLevel(final Path dir) throws IOException {
+        Path source = dir.resolve("level.txt");
+        try (InputStream in = LevelFileTest.class.getResourceAsStream(LevelLoader.DEFAULT_LEVEL)) {
+            Files.copy(in, source);
+        }
+        return source;
+    }
+
+    @Test
+    void testCompiledLevelMatchesSource(@TempDir Path dir) throws IOException {
+        Path compiled = dir.resolve("level" + LevelFile.EXTENSION);
+        LevelData source = LevelCompiler.compile(sourceLevel(dir), compiled, Constants.CHUNK_SIZE);
+
+        assertTrue(LevelFile.isLevelFile(compiled));
+        assertFalse(LevelFile.isLevelFile(dir.resolve("level.txt")));
+        LevelData level = LevelLoader.load(compiled);
+        assertEquals(source.getWidth(), level.getWidth());
+        assertEquals(source.getHeight(), level.getHeight());
+        assertEquals(source.getSpawnX(), level.getSpawnX());
+        assertEquals(source.getSpawnY(), level.getSpawnY());
+        assertInstanceOf(OffHeapEntityStore.class, level.getPlatformStore());
+        assertSameEntities(source.getPlatformStore(), level.getPlatformStore());
+        assertSameEntities(source.getItemStore(), level.getItemStore());
+        assertEquals(source.getQuizCount(), level.getQuizCount());
+        for (int i = 0; i < source.getItemCount(); i++) {
+            assertEquals(source.getItemQuiz(i), level.getItemQuiz(i));
+            assertEquals(source.getItemImage(i), level.getItemImage(i));
+            assertEquals(source.getQuiz(source.getItemQuiz(i)), level.getQuiz(level.getItemQuiz(i)));
+        }
+
+        ChunkIndex expected = ChunkIndex.build(source.getPlatformStore(), source.getWidth(), source.getHeight(),
+                Constants.CHUNK_SIZE);
+        ChunkIndex mapped = level.getChunkIndex();
+        assertNotNull(mapped);
+        assertTrue(mapped.fits(level, Constants.CHUNK_SIZE));
+        assertEquals(expected.getEntryCount(), mapped.getEntryCount());
+        for (int chunk = 0; chunk < expected.getChunkCount(); chunk++) {
+            assertEquals(expected.start(chunk), mapped.start(chunk));
+            assertEquals(expected.end(chunk), mapped.end(chunk));
+        }
+        for (int e = 0; e < expected.getEntryCount(); e++) {
+            assertEquals(expected.entry(e), mapped.entry(e));
+        }
+    }
+
+    @Test
+    void testCompiledLevelPlaysLikeTextLevel(@TempDir Path dir) throws IOException {
+        Path source = sourceLevel(dir);
+        Path compiled = dir.resolve("level" + LevelFile.EXTENSION);
+        LevelCompiler.compile(source, compiled, Constants.CHUNK_SIZE / 4);
+
+        long expected = play(new GameWorld(LevelLoader.load(source)));
+        assertEquals(expected, play(new GameWorld(LevelLoader.open(compiled.toString()))));
+        assertEquals(expected, play(new GameWorld(LevelLoader.load(compiled),
+                Constants.CHUNK_SIZE, Constants.CHUNK_MEMORY_BUDGET)), "An index for another chunk size is rebuilt");
+    }
+
+    @Test
+    void testCorruptFilesAreRejected(@TempDir Path dir) throws IOException {
+        Path compiled = dir.resolve("level" + LevelFile.EXTENSION);
+        LevelCompiler.compile(sourceLevel(dir), compiled, Constants.CHUNK_SIZE);
+        byte[] bytes = Files.readAllBytes(compiled);
+
+        Path broken = dir.resolve("broken" + LevelFile.EXTENSION);
+        Files.write(broken, Arrays.copyOf(bytes, bytes.length - 1));
+        assertCorrupt(broken);
+
+        byte[] version = bytes.clone();
+        version[Integer.BYTES]++;
+        Files.write(broken, version);
+        assertCorrupt(broken);
+
+        byte[] offset = bytes.clone();
+        ByteBuffer.wrap(offset).order(ByteOrder.LITTLE_ENDIAN).putLong(LevelFile.HEADER_BYTES - 3 * Long.BYTES,
+                bytes.length);
+        Files.write(broken, offset);
+        assertCorrupt(broken);
+
+        Files.write(broken, Arrays.copyOf(bytes, LevelFile.HEADER_BYTES / 2));
+        assertCorrupt(broken);
+
+        ByteBuffer header = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int platformCount = header.getInt(PLATFORM_COUNT_OFFSET);
+        int startsOffset = (int) header.getLong(LevelFile.HEADER_BYTES - 4 * Long.BYTES);
+        int entriesOffset = (int) header.getLong(LevelFile.HEADER_BYTES - 3 * Long.BYTES);
+        for (int platform : new int[] {platformCount, -1}) {
+            byte[] entry = bytes.clone();
+            ByteBuffer.wrap(entry).order(ByteOrder.LITTLE_ENDIAN).putInt(entriesOffset, platform);
+            Files.write(broken, entry);
+            assertCorrupt(broken);
+        }
+        byte[] starts = bytes.clone();
+        ByteBuffer.wrap(starts).order(ByteOrder.LITTLE_ENDIAN).putInt(startsOffset + Integer.BYTES, Integer.MAX_VALUE);
+        Files.write(broken, starts);
+        assertCorrupt(broken);
+        assertThrows(IOException.class, () -> LevelLoader.open(dir.resolve("missing.prl").toString()));
+    }
+
+    private static void assertCorrupt(final Path file) {
+        try (Arena arena = Arena.ofConfined()) {
+            assertThrows(IOException.class, () -> LevelFile.open(file, arena));
+        }
+    }
+}
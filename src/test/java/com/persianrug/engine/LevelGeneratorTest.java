@@ -0,0 +1,110 @@
+package com.persianrug.engine;
+
+import com.persianrug.engine.LevelGenerator.DifficultyCurve;
+import com.persianrug.utils.Constants;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelGeneratorTest {
+    private static final double SIZE = 10_000;
+
+    private static LevelGenerator generator(final long seed, final DifficultyCurve difficulty) {
+        return new LevelGenerator(seed, SIZE, SIZE, 0.8, difficulty);
+    }
+
+    private static void assertSameLevel(final LevelData expected, final LevelData actual) {
+        assertEquals(expected.getPlatformCount(), actual.getPlatformCount());
+        assertEquals(expected.getItemCount(), actual.getItemCount());
+        EntityBounds expectedPlatforms = expected.getPlatformStore();
+        EntityBounds actualPlatforms = actual.getPlatformStore();
+        for (int i = 0; i < expected.getPlatformCount(); i++) {
+            assertEquals(expectedPlatforms.getX(i), actualPlatforms.getX(i));
+            assertEquals(expectedPlatforms.getY(i), actualPlatforms.getY(i));
+            assertEquals(expectedPlatforms.getWidth(i), actualPlatforms.getWidth(i));
+        }
+        for (int i = 0; i < expected.getItemCount(); i++) {
+            assertEquals(expected.getItemStore().getX(i), actual.getItemStore().getX(i));
+            assertEquals(expected.getItemStore().getY(i), actual.getItemStore().getY(i));
+            assertEquals(expected.getItemQuiz(i), actual.getItemQuiz(i));
+        }
+    }
+
+    private static double averageWidth(final LevelData level) {
+        double total = 0;
+        for (int i = 1; i < level.getPlatformCount(); i++) {
+            total += level.getPlatformWidth(i);
+        }
+        return total / (level.getPlatformCount() - 1);
+    }
+
+    @Test
+    void testSameSeedGivesSameLevelOnAnyPool() throws IOException {
+        LevelGenerator generator = generator(42, DifficultyCurve.DEFAULT);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool wide = new ForkJoinPool(4);
+        try {
+            LevelData expected = generator.generate(single);
+            assertSameLevel(expected, generator.generate(wide));
+            assertSameLevel(expected, generator(42, DifficultyCurve.DEFAULT).generate());
+            assertNotEquals(expected.getPlatformY(1), generator(43, DifficultyCurve.DEFAULT).generate().getPlatformY(1));
+        } finally {
+            single.shutdown();
+            wide.shutdown();
+        }
+    }
+
+    @Test
+    void testLayoutStaysInsideLevel() throws IOException {
+        LevelData level = generator(7, DifficultyCurve.DEFAULT).generate();
+
+        assertTrue(level.getPlatformCount() > 100);
+        assertTrue(level.getItemCount() > 0);
+        EntityBounds platforms = level.getPlatformStore();
+        for (int i = 0; i < level.getPlatformCount(); i++) {
+            assertTrue(platforms.getX(i) >= 0 && platforms.getX(i) + platforms.getWidth(i) <= SIZE);
+            assertTrue(platforms.getY(i) >= 0 && platforms.getY(i) + platforms.getHeight(i) <= SIZE);
+        }
+        for (int i = 0; i < level.getItemCount(); i++) {
+            assertTrue(level.getItemQuiz(i) >= 0 && level.getItemQuiz(i) < level.getQuizCount());
+            assertTrue(level.getItemStore().getY(i) >= 0);
+        }
+        assertEquals(SIZE - Constants.PLAYER_HEIGHT, level.getSpawnY() + platforms.getHeight(0));
+    }
+
+    @Test
+    void testHarderCurveSpreadsNarrowerPlatforms() throws IOException {
+        LevelData easy = generator(1, new DifficultyCurve(0, 0, 1)).generate();
+        LevelData hard = generator(1, new DifficultyCurve(1, 1, 1)).generate();
+
+        assertTrue(hard.getPlatformCount() < easy.getPlatformCount());
+        assertTrue(averageWidth(hard) < averageWidth(easy));
+        assertEquals(0.1, DifficultyCurve.DEFAULT.at(0), 1e-9);
+        assertEquals(0.9, DifficultyCurve.DEFAULT.at(1), 1e-9);
+    }
+
+    @Test
+    void testLevelIdReproducesLevel() throws IOException {
+        LevelGenerator generator = new LevelGenerator(-5, 4000, 3000, 0.5, new DifficultyCurve(0.2, 0.7, 2));
+        String levelId = generator.getLevelId();
+
+        assertEquals(levelId, LevelGenerator.fromLevelId(levelId).getLevelId());
+        LevelData level = LevelLoader.open(levelId);
+        assertSameLevel(generator.generate(), level);
+        assertEquals(4000, level.getWidth());
+        assertEquals(Constants.LEVEL_WIDTH, LevelLoader.open("generated:9").getWidth());
+        assertThrows(IOException.class, () -> LevelLoader.open("generated:9:1000"));
+        assertThrows(IllegalArgumentException.class, () -> new LevelGenerator(1, SIZE, SIZE, 0, DifficultyCurve.DEFAULT));
+        assertThrows(IllegalArgumentException.class, () -> new DifficultyCurve(0, 1.5, 1));
+    }
+
+    @Test
+    void testGeneratedLevelPlays() throws IOException {
+        GameWorld world = new GameWorld(LevelLoader.open("generated:3"));
+        LevelTestSupport.play(world);
+        assertTrue(world.getPlayer().getX() > world.getLevel().getSpawnX());
+    }
+}
@@ -0,0 +1,230 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Item;
+import com.persianrug.entity.Platform;
+import com.persianrug.entity.Quiz;
+import com.persianrug.utils.Constants;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelLoaderTest {
+    /**
+     * The layout of the level as it was built in code before it moved to a level file.
+     */
+    private static final double[][] ORIGINAL_PLATFORMS = {
+            {0, 7480, 7500, 20}, {300, 7000, 180, 25}, {600, 6700, 180, 25}, {900, 6400, 180, 25},
+            {1200, 6200, 150, 25}, {1400, 6300, 100, 25}, {1600, 6000, 150, 25}, {2000, 5800, 150, 25},
+            {2200, 5900, 100, 25}, {2400, 5600, 150, 25}, {2800, 5400, 150, 25}, {3000, 5500, 100, 25},
+            {3200, 5200, 150, 25}, {3600, 5200, 160, 25}, {3425, 5325, 110, 25}, {3250, 4950, 160, 25},
+            {2900, 4700, 160, 25}, {2725, 4825, 110, 25}, {2550, 4450, 160, 25}, {2200, 4200, 160, 25},
+            {2025, 4325, 110, 25}, {2000, 4000, 140, 25}, {2400, 3800, 140, 25}, {2600, 3700, 90, 25},
+            {2800, 3600, 140, 25}, {3200, 3400, 140, 25}, {3400, 3300, 90, 25}, {3600, 3200, 140, 25},
+            {4000, 3000, 140, 25}, {4200, 2900, 90, 25}, {4400, 3000, 145, 25}, {4210, 3110, 95, 25},
+            {4020, 2780, 145, 25}, {3640, 2560, 145, 25}, {3450, 2670, 95, 25}, {3260, 2340, 145, 25},
+            {2880, 2120, 145, 25}, {2690, 2230, 95, 25}, {2600, 2400, 135, 25}, {2750, 2310, 80, 25},
+            {3300, 2220, 135, 25}, {3200, 2040, 135, 25}, {3900, 1860, 135, 25}, {4050, 1770, 80, 25},
+            {3800, 1680, 135, 25}, {4500, 1500, 135, 25}, {4400, 1320, 135, 25}, {4550, 1230, 80, 25},
+            {5100, 1140, 135, 25}, {4500, 1800, 130, 25}, {4850, 1650, 130, 25}, {5200, 1500, 130, 25},
+            {5550, 1350, 130, 25}, {5900, 1200, 130, 25}, {6250, 1050, 130, 25}, {6500, 1000, 180, 25},
+            {6800, 800, 150, 25}, {7100, 600, 150, 25}, {6800, 500, 120, 25}, {6400, 450, 120, 25},
+            {5900, 400, 120, 25}, {5300, 380, 100, 25}, {4700, 370, 100, 25}, {4100, 370, 100, 25},
+            {3500, 360, 100, 25}, {2900, 350, 80, 25}, {2300, 300, 80, 25}, {1700, 300, 70, 25},
+            {1100, 300, 70, 25}, {200, 300, 360, 25}
+    };
+    private static final double[][] ORIGINAL_ITEMS = {
+            {1400, 6100}, {2000, 5600}, {2800, 5300}, {3400, 5100}, {3000, 4550},
+            {2600, 4300}, {2000, 3950}, {2400, 3700}, {2800, 3550}, {3200, 3350},
+            {6500, 950}, {5300, 330}, {4700, 320}, {4100, 320}, {3500, 310},
+            {2900, 300}, {2300, 250}, {1700, 250}, {1100, 250}, {200, 250}
+    };
+    private static final String[][] ORIGINAL_QUIZZES = {
+            {"Which keyword is used to inherit a class in Java?",
+                "extends", "implements", "inherits", "using"},
+            {"What type of inheritance is supported by Java?",
+                "Multiple", "Single", "Hybrid", "All of above"},
+            {"Which keyword is used to declare an abstract class?",
+                "abstract", "virtual", "sealed", "extends"},
+            {"Can abstract class have constructor in Java?", "Yes", "No", "Depends on JVM", "Only static"},
+            {"Can an interface contain concrete methods?", "No", "Yes, it can", "Only static", "Only final"},
+            {"Can static methods exist in non-static inner classes?",
+                "Yes", "No", "Only if final", "Depends on JVM"},
+            {"When calling overridden method on a subclass object, which is executed?",
+                "Superclass version", "Subclass version", "Both versions", "Random version"},
+            {"What concept allows treating a derived class object as base class object?",
+                "Inheritance", "Encapsulation", "Upcasting", "Abstraction"},
+            {"What symbol is used for generic type parameter?", "<>", "{}", "[]", "()"},
+            {"What is the time complexity of selection sort?", "O(n)", "O(n log n)", "O(n\u00B2)", "O(1)"},
+            {"What type of Queue allows addition and removal from both ends?",
+                "Priority Queue", "Circular Queue", "Deque", "Simple Queue"},
+            {"Which interface is parent of Set interface?", "List", "Collection", "Map", "Queue"},
+            {"What symbol is used for wildcards in generics?", "*", "?", "@", "$"},
+            {"When can a local inner class access a local variable?",
+                "If static", "If final/effectively final", "If private", "If public"},
+            {"What is ArrayList's search complexity?", "O(1)", "O(n)", "O(log n)", "O(n\u00B2)"},
+            {"QuickSort's average complexity is:", "O(n)", "O(n log n)", "O(n\u00B2)", "O(log n)"},
+            {"Which collection type doesn't allow duplicates?",
+                "ArrayList", "LinkedList", "HashSet", "Vector"},
+            {"What is the purpose of generics in Java?",
+                "Code reusability", "Type safety", "Better performance", "Memory management"},
+            {"Which collection implementation automatically sorts its elements?",
+                "ArrayList", "LinkedList", "PriorityQueue", "Vector"},
+            {"Who teaches Fall COMP2522? in 2024", "Asif", "Brenda", "Alireza", "Chris"}
+    };
+    private static final int[] ORIGINAL_ANSWERS = {0, 1, 0, 0, 1, 1, 1, 2, 0, 2, 2, 1, 1, 1, 1, 1, 2, 1, 2, 3};
+
+    private static LevelData parse(String text) throws IOException {
+        return LevelLoader.parse(new StringReader(text), "test");
+    }
+
+    @Test
+    void testDefaultLevelLoads() throws IOException {
+        LevelData level = LevelLoader.loadResource(LevelLoader.DEFAULT_LEVEL);
+
+        assertEquals(7500, level.getWidth());
+        assertEquals(7500, level.getHeight());
+        assertEquals(300, level.getSpawnX());
+        assertEquals(7440, level.getSpawnY());
+        assertEquals(70, level.getPlatformCount());
+        assertEquals(20, level.getQuizCount());
+        assertEquals(20, level.getItemCount());
+    }
+
+    @Test
+    void testDefaultLevelMatchesOriginalLayout() throws IOException {
+        LevelData level = LevelLoader.loadResource(LevelLoader.DEFAULT_LEVEL);
+
+        assertEquals(ORIGINAL_PLATFORMS.length, level.getPlatformCount());
+        for (int i = 0; i < ORIGINAL_PLATFORMS.length; i++) {
+            assertEquals(ORIGINAL_PLATFORMS[i][0], level.getPlatformX(i), "platform " + i);
+            assertEquals(ORIGINAL_PLATFORMS[i][1], level.getPlatformY(i), "platform " + i);
+            assertEquals(ORIGINAL_PLATFORMS[i][2], level.getPlatformWidth(i), "platform " + i);
+            assertEquals(ORIGINAL_PLATFORMS[i][3], level.getPlatformHeight(i), "platform " + i);
+        }
+        List<Item> items = level.createItems();
+        assertEquals(ORIGINAL_ITEMS.length, items.size());
+        for (int i = 0; i < ORIGINAL_ITEMS.length; i++) {
+            assertEquals(ORIGINAL_ITEMS[i][0], items.get(i).getX(), "item " + i);
+            assertEquals(ORIGINAL_ITEMS[i][1], items.get(i).getY(), "item " + i);
+            assertEquals(LevelData.DEFAULT_ITEM_IMAGE, level.getItemImage(i));
+            Quiz quiz = items.get(i).getQuiz();
+            assertEquals(ORIGINAL_QUIZZES[i][0], quiz.getQuestion(), "quiz " + i);
+            assertArrayEquals(Arrays.copyOfRange(ORIGINAL_QUIZZES[i], 1, 5), quiz.getOptions(), "quiz " + i);
+            assertEquals(ORIGINAL_ANSWERS[i], quiz.getCorrectAnswer(), "quiz " + i);
+        }
+    }
+
+    @Test
+    void testParsesAllRecords() throws IOException {
+        LevelData level = parse("""
+                # a comment
+                bounds 2000 1000
+
+                spawn 10 900
+                platform 0 980 2000 20
+                quiz 2 Pick C|A|B|C|D
+                item 50 900 0
+                item 80 900 0 /images/other.png
+                """);
+
+        assertEquals(2000, level.getWidth());
+        assertEquals(1000, level.getHeight());
+        assertEquals(10, level.getSpawnX());
+        assertEquals(900, level.getSpawnY());
+
+        List<Platform> platforms = level.createPlatforms();
+        assertEquals(1, platforms.size());
+        assertEquals(980, platforms.get(0).getY());
+        assertEquals(2000, platforms.get(0).getWidth());
+
+        List<Item> items = level.createItems();
+        assertEquals(2, items.size());
+        assertEquals("Pick C", items.get(0).getQuiz().getQuestion());
+        assertTrue(items.get(0).getQuiz().checkAnswer(2));
+        assertSame(items.get(0).getQuiz(), items.get(1).getQuiz());
+    }
+
+    @Test
+    void testMissingBoundsUseDefaults() throws IOException {
+        LevelData level = parse("platform 0 0 10 10\n");
+
+        assertEquals(Constants.LEVEL_WIDTH, level.getWidth());
+        assertEquals(Constants.LEVEL_HEIGHT, level.getHeight());
+    }
+
+    @Test
+    void testCreateItemsReturnsFreshItems() throws IOException {
+        LevelData level = parse("quiz 0 Q|A|B|C|D\nitem 0 0 0\n");
+        Item first = level.createItems().get(0);
+        first.collect();
+
+        assertFalse(level.createItems().get(0).isCollected());
+    }
+
+    @Test
+    void testErrorReportsLineNumber() {
+        IOException e = assertThrows(IOException.class,
+                () -> parse("bounds 100 100\nplatform 0 zero 10 10\n"));
+
+        assertTrue(e.getMessage().startsWith("test:2:"), e.getMessage());
+    }
+
+    @Test
+    void testRejectsFractionalIndices() {
+        IOException answer = assertThrows(IOException.class, () -> parse("quiz 1.9 Q|A|B|C|D\n"));
+        assertTrue(answer.getMessage().startsWith("test:1:"), answer.getMessage());
+        IOException item = assertThrows(IOException.class,
+                () -> parse("quiz 0 Q|A|B|C|D\nitem 10 10 0.5\n"));
+        assertTrue(item.getMessage().startsWith("test:2:"), item.getMessage());
+    }
+
+    @Test
+    void testRejectsUnknownRecord() {
+        assertThrows(IOException.class, () -> parse("ladder 0 0 10\n"));
+    }
+
+    @Test
+    void testRejectsItemBeforeItsQuiz() {
+        assertThrows(IOException.class, () -> parse("item 0 0 0\nquiz 0 Q|A|B|C|D\n"));
+    }
+
+    @Test
+    void testRejectsQuizWithWrongOptionCount() {
+        assertThrows(IOException.class, () -> parse("quiz 0 Q|A|B|C\n"));
+    }
+
+    @Test
+    void testRejectsTrailingFields() {
+        assertThrows(IOException.class, () -> parse("platform 0 0 10 10 10\n"));
+    }
+
+    @Test
+    void testRejectsNonPositiveSize() {
+        assertThrows(IOException.class, () -> parse("platform 0 0 0 10\n"));
+    }
+
+    @Test
+    void testMissingResourceThrows() {
+        assertThrows(IOException.class, () -> LevelLoader.loadResource("/levels/missing.txt"));
+    }
+
+    @Test
+    void testWorldUsesLevelBounds() throws IOException {
+        LevelData level = parse("bounds 1000 800\nspawn 990 700\nplatform 0 780 1000 20\n");
+        GameWorld world = new GameWorld(level);
+        TickInput input = new TickInput();
+        input.set(false, true, false, false, false);
+
+        for (int i = 0; i < 60; i++) {
+            world.tick(input);
+        }
+
+        assertEquals(1000 - world.getPlayer().getWidth(), world.getPlayer().getX());
+        assertEquals(0, world.getTotalQuestions());
+    }
+}
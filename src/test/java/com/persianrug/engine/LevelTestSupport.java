@@ -0,0 +1,61 @@
+package com.persianrug.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks shared by the tests that load the same level in different ways: a comparison of
+ * entity tables, and a scripted run that plays several worlds with the same input.
+ *
+ * @author Homayoun Khoshi
+ * @version 2024
+ */
+final class LevelTestSupport {
+    /**
+     * The number of ticks a scripted run lasts, ten seconds of play.
+     */
+    static final int TICKS = 600;
+
+    private static final int WALK_CYCLE = 120;
+    private static final int WALK_RIGHT = 90;
+    private static final int JUMP_INTERVAL = 40;
+
+    private LevelTestSupport() {
+    }
+
+    /**
+     * Asserts that two entity tables hold the same bounds, types and flags in the same order.
+     *
+     * @param expected the table to compare against
+     * @param actual   the table to check
+     */
+    static void assertSameEntities(final EntityBounds expected, final EntityBounds actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getX(i), actual.getX(i));
+            assertEquals(expected.getY(i), actual.getY(i));
+            assertEquals(expected.getWidth(i), actual.getWidth(i));
+            assertEquals(expected.getHeight(i), actual.getHeight(i));
+            assertEquals(expected.getType(i), actual.getType(i));
+            assertEquals(expected.getFlags(i), actual.getFlags(i));
+        }
+    }
+
+    /**
+     * Plays worlds side by side for {@link #TICKS} ticks with the same input: walking mostly
+     * right, turning back for a while every two seconds, and jumping every 40 ticks.
+     *
+     * @param worlds the worlds to play
+     * @return the state hash of the first world at the end
+     */
+    static long play(final GameWorld... worlds) {
+        TickInput input = new TickInput();
+        for (int i = 0; i < TICKS; i++) {
+            boolean right = i % WALK_CYCLE < WALK_RIGHT;
+            input.set(!right, right, i % JUMP_INTERVAL == 0, false, false);
+            for (GameWorld world : worlds) {
+                world.tick(input);
+            }
+        }
+        return worlds[0].stateHash();
+    }
+}
@@ -0,0 +1,82 @@
+package com.persianrug.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.persianrug.engine.LevelTestSupport.assertSameEntities;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapEntityStoreTest {
+    private static EntityStore sample() {
+        EntityStore store = new EntityStore();
+        store.add(EntityStore.TYPE_PLATFORM, 0, 980, 2000, 20);
+        store.add(EntityStore.TYPE_PLATFORM, 120.5, 300.25, 180, 25);
+        store.add(EntityStore.TYPE_ITEM, 400, 500, 50, 50);
+        store.setFlag(2, EntityStore.FLAG_COLLECTED, true);
+        return store;
+    }
+
+    @Test
+    void testCopyMatchesSource() {
+        EntityStore source = sample();
+        try (Arena arena = Arena.ofConfined()) {
+            OffHeapEntityStore store = OffHeapEntityStore.copyOf(source, arena);
+
+            assertSameEntities(source, store);
+            assertEquals(source.size() * OffHeapEntityStore.LAYOUT.byteSize(), store.segment().byteSize());
+            assertTrue(store.intersects(1, 150, 310, 10, 10));
+            assertTrue(store.overlaps(0, 2000, 1000, 2100, 1100), "Touching edges overlap");
+            assertFalse(store.intersects(0, 2000, 970, 10, 10), "Touching edges do not intersect");
+            assertSameEntities(source, EntityStore.copyOf(store));
+        }
+    }
+
+    @Test
+    void testTableFileRoundTrip(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("platforms.bin");
+        OffHeapEntityStore.write(sample(), file);
+
+        try (Arena arena = Arena.ofConfined()) {
+            assertSameEntities(sample(), OffHeapEntityStore.open(file, arena));
+        }
+    }
+
+    @Test
+    void testBadTablesAreRejected(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("platforms.bin");
+        OffHeapEntityStore.write(sample(), file);
+
+        try (Arena arena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThrows(IOException.class, () -> OffHeapEntityStore.map(channel, 4, 1, arena));
+            assertThrows(IOException.class, () -> OffHeapEntityStore.map(channel, OffHeapEntityStore.HEADER_BYTES,
+                    4, arena));
+        }
+        Path text = dir.resolve("level.txt");
+        Files.writeString(text, "bounds 100 100 and then some more text");
+        try (Arena arena = Arena.ofConfined()) {
+            assertThrows(IOException.class, () -> OffHeapEntityStore.open(text, arena));
+        }
+    }
+
+    @Test
+    void testOffHeapLevelPlaysLikeHeapLevel() throws IOException {
+        LevelData heapLevel = LevelLoader.loadResource(LevelLoader.DEFAULT_LEVEL);
+        LevelData offHeapLevel = LevelLoader.loadResource(LevelLoader.DEFAULT_LEVEL);
+        offHeapLevel.moveOffHeap(Arena.ofAuto());
+        assertInstanceOf(OffHeapEntityStore.class, offHeapLevel.getPlatformStore());
+        assertThrows(IllegalStateException.class, () -> offHeapLevel.addPlatform(0, 0, 10, 10));
+
+        GameWorld heapWorld = new GameWorld(heapLevel);
+        GameWorld offHeapWorld = new GameWorld(offHeapLevel);
+        assertEquals(LevelTestSupport.play(heapWorld, offHeapWorld), offHeapWorld.stateHash());
+        assertEquals(heapWorld.getPlayer().getY(), offHeapWorld.getPlayer().getY());
+    }
+}
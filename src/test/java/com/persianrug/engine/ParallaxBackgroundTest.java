@@ -0,0 +1,88 @@
+package com.persianrug.engine;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallaxBackgroundTest {
+    private static final double VIEW_WIDTH = 800;
+    private static final double VIEW_HEIGHT = 600;
+
+    private final GraphicsContext gc = new Canvas(VIEW_WIDTH, VIEW_HEIGHT).getGraphicsContext2D();
+
+    private static WritableImage gradient(int width, int height) {
+        WritableImage image = new WritableImage(width, height);
+        PixelWriter writer = image.getPixelWriter();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                writer.setArgb(x, y, 0xFF000000 | (x << 8) | y);
+            }
+        }
+        return image;
+    }
+
+    @Test
+    void testCompositeRepeatsImageSeamlessly() {
+        WritableImage tile = gradient(100, 70);
+        WritableImage buffer = ParallaxBackground.composite(tile, VIEW_WIDTH, VIEW_HEIGHT);
+        PixelReader tilePixels = tile.getPixelReader();
+        PixelReader bufferPixels = buffer.getPixelReader();
+
+        assertTrue(buffer.getWidth() >= VIEW_WIDTH + tile.getWidth());
+        assertTrue(buffer.getHeight() >= VIEW_HEIGHT + tile.getHeight());
+        for (int y = 0; y < buffer.getHeight(); y += 13) {
+            for (int x = 0; x < buffer.getWidth(); x += 17) {
+                assertEquals(tilePixels.getArgb(x % 100, y % 70), bufferPixels.getArgb(x, y));
+            }
+        }
+    }
+
+    @Test
+    void testWrapStaysWithinOnePeriod() {
+        assertEquals(0, ParallaxBackground.wrap(0, 100));
+        assertEquals(50, ParallaxBackground.wrap(250, 100));
+        assertEquals(75, ParallaxBackground.wrap(-25, 100));
+        assertEquals(0, ParallaxBackground.wrap(-1e-20, 100));
+    }
+
+    @Test
+    void testOneBlitPerLayerAtAnyWindowSize() {
+        ParallaxBackground small = new ParallaxBackground(VIEW_WIDTH, VIEW_HEIGHT);
+        ParallaxBackground large = new ParallaxBackground(3840, 2160);
+        for (ParallaxBackground background : new ParallaxBackground[] {small, large}) {
+            background.addLayer(gradient(64, 64), 0.2, 0.1);
+            background.addLayer(gradient(300, 200), 0.5, 0.3);
+            background.addLayer(gradient(1000, 50), 0.8, 0);
+        }
+
+        for (double x = -500; x < 10_000; x += 777) {
+            small.render(gc, x, x / 2);
+            large.render(gc, x, x / 2);
+            assertEquals(3, small.getLastBlitCount());
+            assertEquals(3, large.getLastBlitCount());
+        }
+        assertTrue(large.getBufferBytes() > small.getBufferBytes());
+    }
+
+    @Test
+    void testPatternFillNeedsNoBuffer() {
+        ParallaxBackground background = new ParallaxBackground(VIEW_WIDTH, VIEW_HEIGHT);
+        background.addLayer(gradient(64, 64), 0.5, 0.3);
+        background.setPatternFill(true);
+
+        background.render(gc, 1_234, 567);
+
+        assertEquals(1, background.getLastBlitCount());
+        assertEquals(0, background.getBufferBytes());
+    }
+
+    @Test
+    void testRejectsEmptyView() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallaxBackground(0, VIEW_HEIGHT));
+    }
+}
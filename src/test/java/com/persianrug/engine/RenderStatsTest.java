@@ -0,0 +1,28 @@
+package com.persianrug.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderStatsTest {
+
+    @Test
+    void testCountsDrawnAndCulled() {
+        RenderStats stats = new RenderStats();
+        stats.recordDrawn();
+        stats.recordDrawn();
+        stats.recordCulled(5);
+        assertEquals(2, stats.getDrawn());
+        assertEquals(5, stats.getCulled());
+    }
+
+    @Test
+    void testResetClearsCounters() {
+        RenderStats stats = new RenderStats();
+        stats.recordDrawn();
+        stats.recordCulled(3);
+        stats.reset();
+        assertEquals(0, stats.getDrawn());
+        assertEquals(0, stats.getCulled());
+    }
+}
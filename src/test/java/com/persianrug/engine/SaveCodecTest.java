@@ -0,0 +1,113 @@
+package com.persianrug.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveCodecTest {
+
+    private static GameSaveManager.GameSave sampleSave(int itemCount) {
+        boolean[] collected = new boolean[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            collected[i] = i % 3 == 0;
+        }
+        return new GameSaveManager.GameSave(1234.5, 6789.25, 7, collected);
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        GameSaveManager.GameSave save = sampleSave(20);
+
+        GameSaveManager.GameSave decoded = SaveCodec.decode(SaveCodec.encode(save));
+
+        assertEquals(save.playerX, decoded.playerX);
+        assertEquals(save.playerY, decoded.playerY);
+        assertEquals(save.correctAnswers, decoded.correctAnswers);
+        assertArrayEquals(save.collectedItems, decoded.collectedItems);
+    }
+
+    @Test
+    void testRoundTripWithPartialLastByte() throws IOException {
+        for (int count : new int[]{0, 1, 7, 8, 9, 63, 65}) {
+            GameSaveManager.GameSave save = sampleSave(count);
+            assertArrayEquals(save.collectedItems, SaveCodec.decode(SaveCodec.encode(save)).collectedItems);
+        }
+    }
+
+    @Test
+    void testEncodedSizeIsCompact() throws IOException {
+        GameSaveManager.GameSave save = sampleSave(20);
+        byte[] encoded = SaveCodec.encode(save);
+
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(serialized)) {
+            oos.writeObject(save);
+        }
+
+        assertEquals(SaveCodec.encodedSize(20), encoded.length);
+        assertEquals(37, encoded.length);
+        assertTrue(encoded.length * 4 < serialized.size());
+    }
+
+    @Test
+    void testWriteMatchesEncode() throws IOException {
+        GameSaveManager.GameSave save = sampleSave(20);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SaveCodec.write(save, new DataOutputStream(bytes));
+
+        assertArrayEquals(SaveCodec.encode(save), bytes.toByteArray());
+    }
+
+    @Test
+    void testReadAdvancesBuffer() throws IOException {
+        byte[] encoded = SaveCodec.encode(sampleSave(20));
+        ByteBuffer buffer = ByteBuffer.allocate(encoded.length + 3);
+        buffer.put(encoded).put(new byte[]{1, 2, 3}).flip();
+
+        SaveCodec.read(buffer);
+
+        assertEquals(3, buffer.remaining());
+    }
+
+    @Test
+    void testRejectsCorruptedData() {
+        byte[] encoded = SaveCodec.encode(sampleSave(20));
+        encoded[10] ^= 0x01;
+
+        IOException e = assertThrows(IOException.class, () -> SaveCodec.decode(encoded));
+        assertTrue(e.getMessage().contains("checksum"));
+    }
+
+    @Test
+    void testRejectsWrongMagic() {
+        byte[] encoded = SaveCodec.encode(sampleSave(4));
+        encoded[0] = 0;
+
+        assertFalse(SaveCodec.isBinarySave(encoded));
+        assertThrows(IOException.class, () -> SaveCodec.decode(encoded));
+    }
+
+    @Test
+    void testRejectsUnknownVersion() {
+        byte[] encoded = SaveCodec.encode(sampleSave(4));
+        ByteBuffer.wrap(encoded).putShort(Integer.BYTES, (short) (SaveCodec.VERSION + 1));
+
+        IOException e = assertThrows(IOException.class, () -> SaveCodec.decode(encoded));
+        assertTrue(e.getMessage().contains("version"));
+    }
+
+    @Test
+    void testRejectsTruncatedData() {
+        byte[] encoded = SaveCodec.encode(sampleSave(20));
+
+        assertThrows(IOException.class,
+                () -> SaveCodec.decode(Arrays.copyOf(encoded, encoded.length - 2)));
+    }
+}
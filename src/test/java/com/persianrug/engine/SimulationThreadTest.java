@@ -0,0 +1,95 @@
+package com.persianrug.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationThreadTest {
+    private static final long TIMEOUT_MILLIS = 5_000;
+    private static final long SETTLE_MILLIS = 100;
+
+    private GameWorld world;
+    private SnapshotExchange exchange;
+    private SimulationThread simulation;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld();
+        exchange = new SnapshotExchange();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (simulation != null) {
+            simulation.shutdown();
+        }
+    }
+
+    @Test
+    void testRunsTicksOnlyWhileActive() throws InterruptedException {
+        AtomicInteger ticks = new AtomicInteger();
+        simulation = new SimulationThread(world, exchange, () -> {
+            ticks.incrementAndGet();
+            return true;
+        }, () -> { });
+        simulation.start();
+
+        Thread.sleep(SETTLE_MILLIS);
+        assertEquals(0, ticks.get(), "An inactive simulation does not tick");
+
+        simulation.activate();
+        assertTrue(simulation.isActive());
+        assertTrue(waitFor(() -> ticks.get() >= 3), "The simulation ticks once activated");
+        assertTrue(exchange.hasUpdate(), "Ticks are published");
+
+        simulation.deactivate();
+        int stopped = ticks.get();
+        Thread.sleep(SETTLE_MILLIS);
+        assertEquals(stopped, ticks.get(), "No tick runs after deactivate returns");
+    }
+
+    @Test
+    void testTickCanHaltSimulation() throws InterruptedException {
+        CountDownLatch halted = new CountDownLatch(1);
+        simulation = new SimulationThread(world, exchange, () -> false, halted::countDown);
+        simulation.start();
+        simulation.activate();
+
+        assertTrue(halted.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        assertFalse(simulation.isActive());
+    }
+
+    @Test
+    void testFailingTickHaltsSimulation() throws InterruptedException {
+        CountDownLatch halted = new CountDownLatch(1);
+        simulation = new SimulationThread(world, exchange, () -> {
+            throw new IllegalStateException("broken tick");
+        }, halted::countDown);
+        simulation.start();
+        simulation.activate();
+
+        assertTrue(halted.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        assertFalse(simulation.isActive());
+    }
+
+    /**
+     * Waits until a condition holds or the timeout passes.
+     */
+    private static boolean waitFor(final BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,84 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotExchangeTest {
+    private static final int PUBLISHES = 2_000;
+
+    @Test
+    void testTakeRestoresLatestPublish() {
+        GameWorld world = new GameWorld();
+        GameWorld view = new GameWorld(world.getLevel());
+        SnapshotExchange exchange = new SnapshotExchange();
+
+        moveTo(world, 120);
+        exchange.publish(world);
+        moveTo(world, 240);
+        exchange.publish(world);
+
+        assertTrue(exchange.hasUpdate());
+        assertTrue(exchange.take(view));
+        assertEquals(240, view.getPlayer().getX(), "Only the latest snapshot is taken");
+        assertFalse(exchange.hasUpdate());
+        assertFalse(exchange.take(view), "Nothing new was published");
+    }
+
+    @Test
+    void testViewKeepsPlayerAnimation() {
+        GameWorld world = new GameWorld();
+        GameWorld view = new GameWorld(world.getLevel());
+        SnapshotExchange exchange = new SnapshotExchange();
+        TickInput input = new TickInput();
+
+        for (int i = 0; i < 10; i++) {
+            world.tick(input);
+        }
+        exchange.publish(world);
+        assertTrue(exchange.take(view));
+
+        assertNotEquals(0, world.getPlayer().getWaveHeight());
+        assertEquals(world.getPlayer().getWaveHeight(), view.getPlayer().getWaveHeight());
+    }
+
+    @Test
+    void testConcurrentTakesSeeWholeSnapshotsInOrder() throws InterruptedException {
+        GameWorld world = new GameWorld();
+        GameWorld view = new GameWorld(world.getLevel());
+        SnapshotExchange exchange = new SnapshotExchange();
+        AtomicBoolean done = new AtomicBoolean();
+
+        Thread producer = new Thread(() -> {
+            for (int i = 1; i <= PUBLISHES; i++) {
+                moveTo(world, i);
+                exchange.publish(world);
+            }
+            done.set(true);
+        });
+        producer.start();
+
+        double last = 0;
+        while (!done.get() || exchange.hasUpdate()) {
+            if (exchange.take(view)) {
+                double x = view.getPlayer().getX();
+                assertEquals(x, view.getPlayer().getY(), "A snapshot mixes two publishes");
+                assertTrue(x >= last, "Snapshots went back in time");
+                last = x;
+            }
+        }
+        producer.join();
+        assertEquals(PUBLISHES, last, "The last publish is always taken");
+    }
+
+    /**
+     * Places the player at the same x and y, so a torn snapshot would show up as a mismatch.
+     */
+    private static void moveTo(final GameWorld world, final double position) {
+        Player player = world.getPlayer();
+        player.restoreState(position, position, 0, 0, player.getStateFlags(), player.getWaveOffset());
+    }
+}
@@ -0,0 +1,58 @@
+package com.persianrug.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotIndexTest {
+    private GameWorld world;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld();
+    }
+
+    @Test
+    void testSnapshotsAreTakenOnInterval() {
+        SnapshotIndex index = new SnapshotIndex(10, 8);
+        for (int tick = 0; tick <= 35; tick++) {
+            index.offer(tick, world);
+        }
+        assertEquals(4, index.size());
+        assertEquals(30, index.getTick(3));
+        assertFalse(index.offer(20, world), "Ticks before the latest snapshot are not captured again");
+    }
+
+    @Test
+    void testFloorFindsLatestEarlierSnapshot() {
+        SnapshotIndex index = new SnapshotIndex(10, 8);
+        for (int tick = 0; tick <= 50; tick += 10) {
+            index.offer(tick, world);
+        }
+        assertEquals(0, index.floor(0));
+        assertEquals(2, index.floor(29));
+        assertEquals(3, index.floor(30));
+        assertEquals(5, index.floor(1_000));
+        assertEquals(-1, new SnapshotIndex(10, 8).floor(5));
+    }
+
+    @Test
+    void testFullIndexThinsOutAndKeepsStart() {
+        SnapshotIndex index = new SnapshotIndex(10, 4);
+        for (int tick = 0; tick <= 100; tick += 10) {
+            index.offer(tick, world);
+        }
+        assertEquals(40, index.getInterval());
+        assertEquals(3, index.size());
+        assertEquals(0, index.getTick(0));
+        assertEquals(40, index.getTick(1));
+        assertEquals(80, index.getTick(2));
+    }
+
+    @Test
+    void testBadArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotIndex(0, 8));
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotIndex(10, 1));
+    }
+}
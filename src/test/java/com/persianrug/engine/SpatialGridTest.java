@@ -0,0 +1,125 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.GameObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialGridTest {
+    private static final double CELL_SIZE = 256;
+    private static final double LATTICE_SPACING = 300;
+
+    // Lightweight collider so the tests do not depend on image loading
+    static class Box extends GameObject {
+        Box(double x, double y, double width, double height) {
+            super(x, y, width, height);
+        }
+
+        @Override
+        public void update() {
+        }
+    }
+
+    @Test
+    void testQueryFindsOverlappingObjects() {
+        Box near = new Box(100, 100, 50, 20);
+        Box far = new Box(5000, 5000, 50, 20);
+        SpatialGrid<Box> grid = new SpatialGrid<>(List.of(near, far), 7500, 7500, CELL_SIZE);
+        List<Box> out = new ArrayList<>();
+
+        grid.query(90, 90, 140, 140, out);
+
+        assertEquals(List.of(near), out);
+    }
+
+    @Test
+    void testObjectSpanningCellsReportedOnce() {
+        Box ground = new Box(0, 7480, 7500, 20);
+        SpatialGrid<Box> grid = new SpatialGrid<>(List.of(ground), 7500, 7500, CELL_SIZE);
+        List<Box> out = new ArrayList<>();
+
+        grid.query(0, 7400, 7500, 7500, out);
+
+        assertEquals(1, out.size());
+    }
+
+    @Test
+    void testResultsKeepInsertionOrder() {
+        List<Box> boxes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            boxes.add(new Box(500 - i * 40, 100, 30, 30));
+        }
+        SpatialGrid<Box> grid = new SpatialGrid<>(boxes, 7500, 7500, CELL_SIZE);
+        List<Box> out = new ArrayList<>();
+
+        grid.query(0, 0, 1000, 1000, out);
+
+        assertEquals(boxes, out);
+    }
+
+    @Test
+    void testObjectsOutsideLevelAreClampedToEdgeCells() {
+        Box outside = new Box(-100, 8000, 50, 50);
+        SpatialGrid<Box> grid = new SpatialGrid<>(List.of(outside), 7500, 7500, CELL_SIZE);
+        List<Box> out = new ArrayList<>();
+
+        grid.query(-200, 7900, 0, 8100, out);
+
+        assertEquals(List.of(outside), out);
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        Random random = new Random(42);
+        List<Box> boxes = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            boxes.add(new Box(random.nextDouble() * 7500, random.nextDouble() * 7500,
+                    20 + random.nextDouble() * 300, 25));
+        }
+        SpatialGrid<Box> grid = new SpatialGrid<>(boxes, 7500, 7500, CELL_SIZE);
+        List<Box> out = new ArrayList<>();
+
+        for (int q = 0; q < 200; q++) {
+            Box probe = new Box(random.nextDouble() * 7500, random.nextDouble() * 7500, 40, 60);
+            grid.query(probe.getX(), probe.getY(),
+                    probe.getX() + probe.getWidth(), probe.getY() + probe.getHeight(), out);
+            for (Box box : boxes) {
+                if (probe.intersects(box)) {
+                    assertTrue(out.contains(box), "Grid query missed an intersecting object");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testQueryCostIsFlatAtOneHundredThousandPlatforms() {
+        int smallCost = latticeQueryCost(1_000);
+        int largeCost = latticeQueryCost(100_000);
+
+        assertTrue(smallCost > 0);
+        assertEquals(smallCost, largeCost,
+                "Per-query work should depend on local density, not on the platform count");
+    }
+
+    /**
+     * Builds a lattice of platforms at constant density and returns the number of
+     * cell entries a player-sized swept query has to inspect.
+     */
+    private int latticeQueryCost(final int count) {
+        int side = (int) Math.ceil(Math.sqrt(count));
+        List<Box> boxes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boxes.add(new Box((i % side) * LATTICE_SPACING, (double) (i / side) * LATTICE_SPACING, 180, 25));
+        }
+        double extent = side * LATTICE_SPACING;
+        SpatialGrid<Box> grid = new SpatialGrid<>(boxes, extent, extent, CELL_SIZE);
+        List<Box> out = new ArrayList<>();
+
+        grid.query(4000, 4000, 4060, 4080, out);
+        return grid.getLastCandidateCount();
+    }
+}
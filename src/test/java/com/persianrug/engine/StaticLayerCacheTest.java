@@ -0,0 +1,122 @@
+package com.persianrug.engine;
+
+import com.persianrug.entity.Platform;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaticLayerCacheTest {
+    private static final int TILE_SIZE = 1024;
+    private static final int MAX_TILES = 4;
+    private static final double VIEW_WIDTH = 800;
+    private static final double VIEW_HEIGHT = 600;
+
+    private final GraphicsContext gc = new Canvas(VIEW_WIDTH, VIEW_HEIGHT).getGraphicsContext2D();
+
+    // Records the platforms handed to each tile instead of drawing them
+    private final List<Integer> rasterizedPlatformCounts = new ArrayList<>();
+    private final StaticLayerCache.Rasterizer recorder = (platforms, tileX, tileY, size, reuse) -> {
+        rasterizedPlatformCounts.add(platforms.size());
+        return reuse != null ? reuse : new WritableImage(size, size);
+    };
+
+    private static SpatialIndex<Platform> randomPlatforms(int count) {
+        Random random = new Random(3);
+        List<Platform> platforms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            platforms.add(new Platform(random.nextDouble() * 9_500, random.nextDouble() * 9_500,
+                    20 + random.nextDouble() * 400, 25));
+        }
+        return new SpatialGrid<>(platforms, 10_000, 10_000, 256);
+    }
+
+    @Test
+    void testTilesAreReusedAcrossFrames() {
+        StaticLayerCache cache = new StaticLayerCache(randomPlatforms(200), TILE_SIZE, MAX_TILES, recorder);
+
+        cache.render(gc, 100, 100, VIEW_WIDTH, VIEW_HEIGHT);
+        long firstFrame = cache.getRasterizeCount();
+        for (int i = 0; i < 50; i++) {
+            cache.render(gc, 100 + i, 100, VIEW_WIDTH, VIEW_HEIGHT);
+        }
+
+        assertEquals(1, firstFrame);
+        assertEquals(firstFrame, cache.getRasterizeCount());
+    }
+
+    @Test
+    void testTileCountDoesNotDependOnPlatformCount() {
+        StaticLayerCache sparse = new StaticLayerCache(randomPlatforms(100), TILE_SIZE, MAX_TILES, recorder);
+        StaticLayerCache dense = new StaticLayerCache(randomPlatforms(100_000), TILE_SIZE, MAX_TILES, recorder);
+
+        for (double x = 0; x < 9_000; x += 370) {
+            sparse.render(gc, x, x * 0.8, VIEW_WIDTH, VIEW_HEIGHT);
+            dense.render(gc, x, x * 0.8, VIEW_WIDTH, VIEW_HEIGHT);
+
+            assertTrue(dense.getLastTileCount() <= 4);
+            assertEquals(sparse.getLastTileCount(), dense.getLastTileCount());
+        }
+    }
+
+    @Test
+    void testLeastRecentlyUsedTileIsEvicted() {
+        StaticLayerCache cache = new StaticLayerCache(randomPlatforms(200), TILE_SIZE, MAX_TILES, recorder);
+
+        // Four single-tile views fill the cache, then the first one is drawn again
+        cache.render(gc, 100, 100, VIEW_WIDTH, VIEW_HEIGHT);
+        cache.render(gc, 1_100, 100, VIEW_WIDTH, VIEW_HEIGHT);
+        cache.render(gc, 2_100, 100, VIEW_WIDTH, VIEW_HEIGHT);
+        cache.render(gc, 3_100, 100, VIEW_WIDTH, VIEW_HEIGHT);
+        cache.render(gc, 100, 100, VIEW_WIDTH, VIEW_HEIGHT);
+        assertEquals(4, cache.getRasterizeCount());
+
+        // A fifth tile evicts the second, which is now the least recently drawn
+        cache.render(gc, 4_100, 100, VIEW_WIDTH, VIEW_HEIGHT);
+        cache.render(gc, 100, 100, VIEW_WIDTH, VIEW_HEIGHT);
+        assertEquals(5, cache.getRasterizeCount());
+        cache.render(gc, 1_100, 100, VIEW_WIDTH, VIEW_HEIGHT);
+        assertEquals(6, cache.getRasterizeCount());
+        assertEquals(MAX_TILES, cache.getCachedTileCount());
+    }
+
+    @Test
+    void testInvalidateOnlyRedrawsAffectedTiles() {
+        StaticLayerCache cache = new StaticLayerCache(randomPlatforms(200), TILE_SIZE, MAX_TILES, recorder);
+        cache.render(gc, 600, 600, VIEW_WIDTH, VIEW_HEIGHT);
+        assertEquals(4, cache.getRasterizeCount());
+
+        cache.invalidate(1_100, 1_100, 1_200, 1_200);
+        cache.render(gc, 600, 600, VIEW_WIDTH, VIEW_HEIGHT);
+
+        assertEquals(5, cache.getRasterizeCount());
+        assertEquals(4, cache.getCachedTileCount());
+    }
+
+    @Test
+    void testChunkLoadInvalidatesTiles() {
+        LevelData level = new LevelData(4_096, 4_096, 0, 0);
+        level.addPlatform(100, 500, 300, 20);
+        ChunkManager chunks = new ChunkManager(level, 1_024, Long.MAX_VALUE);
+        StaticLayerCache cache = new StaticLayerCache(chunks, TILE_SIZE, MAX_TILES, recorder);
+        cache.attachTo(chunks);
+
+        cache.render(gc, 0, 0, VIEW_WIDTH, VIEW_HEIGHT);
+        chunks.ensureResident(0, 0, 500, 600);
+        cache.render(gc, 0, 0, VIEW_WIDTH, VIEW_HEIGHT);
+
+        assertEquals(List.of(0, 1), rasterizedPlatformCounts);
+    }
+
+    @Test
+    void testRejectsTooFewTiles() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new StaticLayerCache(randomPlatforms(1), TILE_SIZE, 3, recorder));
+    }
+}
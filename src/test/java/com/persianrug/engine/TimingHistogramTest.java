@@ -0,0 +1,71 @@
+package com.persianrug.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingHistogramTest {
+    private static final double MAX_RELATIVE_ERROR = 1.0 / 16;
+
+    @Test
+    void testEmptyHistogramReportsZero() {
+        TimingHistogram histogram = new TimingHistogram();
+
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        TimingHistogram histogram = new TimingHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(5, histogram.getPercentile(50));
+        assertEquals(10, histogram.getPercentile(100));
+        assertEquals(5.5, histogram.getMean());
+    }
+
+    @Test
+    void testBucketsAreContiguous() {
+        for (int bucket = 1; bucket < 500; bucket++) {
+            assertEquals(bucket, TimingHistogram.bucketOf(TimingHistogram.upperBound(bucket)));
+            assertEquals(bucket, TimingHistogram.bucketOf(TimingHistogram.upperBound(bucket - 1) + 1));
+        }
+    }
+
+    @Test
+    void testPercentilesMatchSortedSamplesWithinBucketError() {
+        Random random = new Random(5);
+        long[] samples = new long[10_000];
+        TimingHistogram histogram = new TimingHistogram();
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = 1_000_000 + (long) (random.nextGaussian() * 200_000) + (i % 100 == 0 ? 30_000_000 : 0);
+            histogram.record(samples[i]);
+        }
+        Arrays.sort(samples);
+
+        for (double percentile : new double[] {50, 95, 99, 99.9}) {
+            long exact = samples[(int) Math.ceil(percentile / 100 * samples.length) - 1];
+            long reported = histogram.getPercentile(percentile);
+            assertTrue(reported >= exact, "p" + percentile + " should not be under-reported");
+            assertTrue(reported <= exact * (1 + MAX_RELATIVE_ERROR), "p" + percentile + " is too coarse");
+        }
+        assertEquals(samples[samples.length - 1], histogram.getMax());
+    }
+
+    @Test
+    void testResetClearsSamples() {
+        TimingHistogram histogram = new TimingHistogram();
+        histogram.record(123_456);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+}
@@ -1,6 +1,5 @@
 package com.persianrug.entity;
 
-import javafx.scene.canvas.GraphicsContext;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,10 +17,6 @@ class GameObjectTest {
             x += 1;
             y += 1;
         }
-
-        @Override
-        public void render(GraphicsContext gc) {
-        }
     }
 
     // Test data
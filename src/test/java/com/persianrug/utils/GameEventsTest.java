@@ -0,0 +1,56 @@
+package com.persianrug.utils;
+
+import com.persianrug.engine.GameWorld;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventsTest {
+    private static final List<Class<?>> EVENTS = List.of(GameEvents.Frame.class, GameEvents.SaveWrite.class,
+            GameEvents.SaveLoad.class, GameEvents.ImageDecode.class, GameEvents.QuizOpen.class,
+            GameEvents.QuizAnswer.class, GameEvents.WorldReset.class);
+
+    @Test
+    void testSettingsEnableEveryGameEvent() throws Exception {
+        Map<String, String> settings = GameEvents.gameSettings().getSettings();
+
+        for (Class<?> event : EVENTS) {
+            String name = EventType.getEventType(event.asSubclass(jdk.jfr.Event.class)).getName();
+            assertEquals("true", settings.get(name + "#enabled"), name);
+        }
+    }
+
+    @Test
+    void testEventsAreOffWithoutRecording() {
+        assertFalse(GameEvents.isFrameEnabled());
+    }
+
+    @Test
+    void testRecordingCapturesWorldReset(@TempDir Path dir) throws Exception {
+        GameWorld world = new GameWorld();
+        Path file = dir.resolve("game.jfr");
+
+        try (Recording recording = new Recording(GameEvents.gameSettings())) {
+            recording.start();
+            assertTrue(GameEvents.isFrameEnabled());
+            world.reset();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> resets = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("com.persianrug.WorldReset"))
+                .toList();
+        assertEquals(1, resets.size());
+        assertEquals(world.getItems().size(), resets.get(0).getInt("items"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.persianrug.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLoggerTest {
+    private GameLogger.Level originalLevel;
+    private PrintStream originalOut;
+    private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() {
+        GameLogger.flush();
+        originalLevel = GameLogger.getLevel();
+        originalOut = System.out;
+        System.setOut(new PrintStream(captured, true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        GameLogger.flush();
+        System.setOut(originalOut);
+        GameLogger.setLevel(originalLevel);
+    }
+
+    @Test
+    void testDisabledLevelDoesNotBuildMessage() {
+        GameLogger.setLevel(GameLogger.Level.INFO);
+        AtomicBoolean built = new AtomicBoolean(false);
+        GameLogger.debug(() -> {
+            built.set(true);
+            return "expensive";
+        });
+        assertFalse(built.get(), "Suppliers must not run for disabled levels");
+    }
+
+    @Test
+    void testEnabledMessageIsWritten() {
+        GameLogger.setLevel(GameLogger.Level.DEBUG);
+        GameLogger.debug(() -> "landing at " + 42);
+        GameLogger.flush();
+        assertTrue(captured.toString().contains("[DEBUG] landing at 42"));
+    }
+
+    @Test
+    void testOffDisablesEverything() {
+        GameLogger.setLevel(GameLogger.Level.OFF);
+        assertFalse(GameLogger.isEnabled(GameLogger.Level.ERROR));
+        GameLogger.info("hidden");
+        GameLogger.flush();
+        assertFalse(captured.toString().contains("hidden"));
+    }
+}
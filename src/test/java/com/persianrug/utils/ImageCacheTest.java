@@ -0,0 +1,92 @@
+package com.persianrug.utils;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageCacheTest {
+    private static final String PLATFORM = "/images/platform.png";
+    private static final String SYMBOL = "/images/symbol.png";
+    private static final int WIDTH = 30;
+    private static final int HEIGHT = 20;
+
+    private final AtomicInteger decodes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ImageCache.clear();
+        ImageCache.setDecoder(url -> {
+            decodes.incrementAndGet();
+            return new WritableImage(WIDTH, HEIGHT);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        ImageCache.setDecoder(null);
+        ImageCache.clear();
+    }
+
+    @Test
+    void testImageIsDecodedOnceAndShared() {
+        Image first = ImageCache.get(PLATFORM);
+        Image second = ImageCache.get(PLATFORM);
+
+        assertSame(first, second);
+        assertEquals(1, decodes.get());
+        assertEquals(1, ImageCache.getHits());
+        assertEquals(1, ImageCache.getMisses());
+        assertEquals(1, ImageCache.size());
+        assertEquals(WIDTH * HEIGHT * 4, ImageCache.getDecodedBytes());
+
+        assertNotSame(first, ImageCache.get(SYMBOL));
+        assertEquals(2, decodes.get());
+        assertEquals(2, ImageCache.getMisses());
+    }
+
+    @Test
+    void testMissingResourceThrowsAndIsNotCached() {
+        Exception exception = assertThrows(RuntimeException.class, () -> ImageCache.get("/images/missing.png"));
+        assertEquals("Resource not found: /images/missing.png", exception.getMessage());
+        assertEquals(0, ImageCache.size());
+        assertEquals(0, ImageCache.getMisses());
+        assertEquals(0, decodes.get());
+    }
+
+    @Test
+    void testFailedDecodeIsRetried() {
+        ImageCache.setDecoder(url -> {
+            decodes.incrementAndGet();
+            throw new IllegalStateException("corrupt");
+        });
+
+        assertThrows(IllegalStateException.class, () -> ImageCache.get(PLATFORM));
+        assertThrows(IllegalStateException.class, () -> ImageCache.get(PLATFORM));
+        assertEquals(2, decodes.get(), "A failed decode must not be served from the cache");
+        assertEquals(0, ImageCache.getHits());
+        assertEquals(0, ImageCache.getMisses());
+        assertEquals(0, ImageCache.size());
+    }
+
+    @Test
+    void testClearResetsStatistics() {
+        Image before = ImageCache.get(PLATFORM);
+        ImageCache.get(PLATFORM);
+
+        ImageCache.clear();
+
+        assertEquals(0, ImageCache.getHits());
+        assertEquals(0, ImageCache.getMisses());
+        assertEquals(0, ImageCache.getDecodedBytes());
+        assertEquals(0, ImageCache.size());
+        assertNotSame(before, ImageCache.get(PLATFORM));
+        assertEquals(2, decodes.get());
+        assertEquals(1, ImageCache.getMisses());
+    }
+}
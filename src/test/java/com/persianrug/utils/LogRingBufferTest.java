@@ -0,0 +1,70 @@
+package com.persianrug.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRingBufferTest {
+
+    @Test
+    void testCapacityRoundedToPowerOfTwo() {
+        assertEquals(8, new LogRingBuffer(5).capacity());
+        assertEquals(16, new LogRingBuffer(16).capacity());
+    }
+
+    @Test
+    void testEntriesComeOutInOrder() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        buffer.offer(GameLogger.Level.INFO, "first");
+        buffer.offer(GameLogger.Level.WARN, "second");
+
+        List<String> out = new ArrayList<>();
+        while (buffer.poll((level, message) -> out.add(level + ":" + message))) {
+            // drain
+        }
+        assertEquals(List.of("INFO:first", "WARN:second"), out);
+    }
+
+    @Test
+    void testFullBufferRejectsEntries() {
+        LogRingBuffer buffer = new LogRingBuffer(2);
+        assertTrue(buffer.offer(GameLogger.Level.INFO, "a"));
+        assertTrue(buffer.offer(GameLogger.Level.INFO, "b"));
+        assertFalse(buffer.offer(GameLogger.Level.INFO, "c"));
+
+        assertTrue(buffer.poll((level, message) -> { }));
+        assertTrue(buffer.offer(GameLogger.Level.INFO, "c"));
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 1000;
+        LogRingBuffer buffer = new LogRingBuffer(producers * perProducer);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int id = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    assertTrue(buffer.offer(GameLogger.Level.DEBUG, id + "-" + i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Set<String> seen = new HashSet<>();
+        while (buffer.poll((level, message) -> seen.add(message))) {
+            // drain
+        }
+        assertEquals(producers * perProducer, seen.size());
+    }
+}